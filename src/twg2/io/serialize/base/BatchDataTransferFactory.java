@@ -0,0 +1,71 @@
+package twg2.io.serialize.base;
+
+import java.io.IOException;
+
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+
+/** A {@link DataTransferFactory} which reads and writes records a batch at a time.<br>
+ * A batch of same-shape records can be written as one tight loop, resolving field names once per batch
+ * (for example with {@link FieldName} constants) and skipping per-record dispatch and bookkeeping.
+ * The default methods read and write one record at a time, implementations override them with faster batch loops.<br>
+ * {@link DataTransferableFactory#writeBlock(DataTransferOutput, String, DataTransferFactory, java.util.List) writeBlock()} and
+ * {@link DataTransferableFactory#readBlock(DataTransferInput, String, DataTransferFactory) readBlock()} use the batch methods
+ * when given a batch factory, using arrays created by {@link #newBatch(int)}.
+ * @param <T> the type of object that can be read/written by this factory.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public interface BatchDataTransferFactory<T> extends DataTransferFactory<T> {
+
+	/** Create an array to hold a batch of records, for example {@code new Item[size]}
+	 * @param size the length of the array
+	 * @return a new array of {@code T}
+	 */
+	public T[] newBatch(int size);
+
+
+	/** Write a batch of records to the current block
+	 * @param out the data output stream to write the records to
+	 * @param items the records to write
+	 * @param off the offset of the first record in {@code items}
+	 * @param len the number of records to write
+	 * @throws IOException if there is an error writing data to the output stream
+	 */
+	public default void writeBatch(DataTransferOutput out, T[] items, int off, int len) throws IOException {
+		for(int i = off, end = off + len; i < end; i++) {
+			writeData(out, items[i]);
+		}
+	}
+
+
+	/** Read records from the current block until the end of the block is reached or {@code len} records have been read.
+	 * The end of the block is not consumed.
+	 * If this factory {@link #canReloadObjects() can reload objects}, records are read into the non-null elements of {@code dst}.
+	 * @param in the data input stream to read the records from
+	 * @param blockName the name of the current block, used to detect the end of the block,
+	 * see {@link DataTransferableFactory#isEndOfBlock(DataElement, String)}
+	 * @param dst the array to store the records in
+	 * @param off the offset in {@code dst} at which to store the first record
+	 * @param len the maximum number of records to read
+	 * @return the number of records read, less than {@code len} only if the end of the block was reached
+	 * @throws IOException if there is an error reading data from the input stream
+	 */
+	public default int readBatch(DataTransferInput in, String blockName, T[] dst, int off, int len) throws IOException {
+		int count = 0;
+		while(count < len && !DataTransferableFactory.isEndOfBlock(in.peekNext(), blockName)) {
+			dst[off + count] = DataTransferableFactory.reloadData(in, this, dst[off + count]);
+			count++;
+		}
+		return count;
+	}
+
+
+	/** Read records from the current block into {@code dst}
+	 * @see #readBatch(DataTransferInput, String, Object[], int, int)
+	 */
+	public default int readBatch(DataTransferInput in, String blockName, T[] dst) throws IOException {
+		return readBatch(in, blockName, dst, 0, dst.length);
+	}
+
+}
@@ -277,6 +277,7 @@ public class DataProxy {
 
 	public void setBoolean(String name, boolean val) {
 		this.name = name;
+		this.isArray = false;
 		this.curPrimitive = val ? 1 : 0;
 		this.type = PrimitiveOrString.BOOLEAN;
 	}
@@ -284,6 +285,7 @@ public class DataProxy {
 
 	public void setByte(String name, byte val) {
 		this.name = name;
+		this.isArray = false;
 		this.curPrimitive = val;
 		this.type = PrimitiveOrString.BYTE;
 	}
@@ -291,6 +293,7 @@ public class DataProxy {
 
 	public void setChar(String name, char val) {
 		this.name = name;
+		this.isArray = false;
 		this.curPrimitive = val;
 		this.type = PrimitiveOrString.CHAR;
 	}
@@ -298,6 +301,7 @@ public class DataProxy {
 
 	public void setDouble(String name, double val) {
 		this.name = name;
+		this.isArray = false;
 		this.curPrimitive = Double.doubleToRawLongBits(val);
 		this.type = PrimitiveOrString.DOUBLE;
 	}
@@ -305,6 +309,7 @@ public class DataProxy {
 
 	public void setFloat(String name, float val) {
 		this.name = name;
+		this.isArray = false;
 		this.curPrimitive = Float.floatToRawIntBits(val);
 		this.type = PrimitiveOrString.FLOAT;
 	}
@@ -312,6 +317,7 @@ public class DataProxy {
 
 	public void setInt(String name, int val) {
 		this.name = name;
+		this.isArray = false;
 		this.curPrimitive = val;
 		this.type = PrimitiveOrString.INT;
 	}
@@ -319,6 +325,7 @@ public class DataProxy {
 
 	public void setLong(String name, long val) {
 		this.name = name;
+		this.isArray = false;
 		this.curPrimitive = val;
 		this.type = PrimitiveOrString.LONG;
 	}
@@ -326,6 +333,7 @@ public class DataProxy {
 
 	public void setShort(String name, short val) {
 		this.name = name;
+		this.isArray = false;
 		this.curPrimitive = val;
 		this.type = PrimitiveOrString.SHORT;
 	}
@@ -333,6 +341,7 @@ public class DataProxy {
 
 	public void setString(String name, String val) {
 		this.name = name;
+		this.isArray = false;
 		this.curObj = val;
 		this.type = PrimitiveOrString.STRING;
 	}
@@ -481,6 +490,7 @@ public class DataProxy {
 
 	private void setArray(String name, Object ary, int off, int len, PrimitiveOrString type) {
 		this.name = name;
+		this.isArray = true;
 		this.curPrimitive = ((long)len << 32) | off;
 		this.curObj = ary;
 		this.type = type;
@@ -47,7 +47,9 @@ public interface DataTransferFactory<T> {
 	 * reflected by the value returned by {@link #canReloadObjects()}.<br/>
 	 * For example, a factory that manages immutable objects will not be able
 	 * to load new data into an existing immutable object so this method could
-	 * throw an exception.
+	 * throw an exception.<br/>
+	 * {@link DataTransferableFactory#reloadBlock(DataTransferInput, String, DataTransferFactory, java.util.List) reloadBlock()}
+	 * uses this method to re-read blocks of records into reused objects.
 	 * @param inputStream the data input stream to read data from
 	 * @param obj the object to read into, implementations should define what is
 	 * done if this is null (for example create a new instance).
@@ -6,6 +6,8 @@ package twg2.io.serialize.base;
  */
 public enum DataTransferFormat {
 	XML,
-	JSON;
+	JSON,
+	/** the compact binary format, see {@link twg2.io.serialize.binary.BinaryFormat} */
+	BINARY;
 
 }
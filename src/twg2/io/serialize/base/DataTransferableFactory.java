@@ -9,15 +9,25 @@ import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.reader.RecordFilter;
+import twg2.io.serialize.base.reader.RecordRejectedException;
 import twg2.io.serialize.base.writer.DataTransferOutput;
 import twg2.io.serialize.base.writer.WritableObject;
+import twg2.io.serialize.binary.BinaryLazyRecord;
+import twg2.io.serialize.binary.BinaryReader;
+import twg2.io.serialize.binary.BinaryWriter;
+import twg2.io.serialize.json.JsonLazyRecord;
 import twg2.io.serialize.json.JsonReader;
 import twg2.io.serialize.json.JsonWriter;
+import twg2.io.serialize.json.Utf8JsonReader;
 import twg2.io.serialize.xml.XmlHandler;
+import twg2.io.serialize.xml.XmlOutputWriter;
 import twg2.text.stringEscape.StringEscape;
 
 /** A set of static functions for creating {@link DataTransferInput} and {@link DataTransferOutput} streams
@@ -26,6 +36,9 @@ import twg2.text.stringEscape.StringEscape;
  */
 public class DataTransferableFactory {
 	private static Charset defaultCharset = Charset.forName("UTF-8");
+	private static boolean useUtf8JsonReader = false;
+	/** the number of records read at a time from a {@link BatchDataTransferFactory} */
+	private static final int READ_BATCH_SIZE = 64;
 
 
 	public static final Charset getDefaultCharset() {
@@ -38,6 +51,20 @@ public class DataTransferableFactory {
 	}
 
 
+	public static final boolean isUseUtf8JsonReader() {
+		return useUtf8JsonReader;
+	}
+
+
+	/**
+	 * @param useUtf8Reader true to create {@link Utf8JsonReader} JSON readers for {@code UTF-8} byte streams,
+	 * false to create Jackson based {@link JsonReader} readers
+	 */
+	public static final void setUseUtf8JsonReader(boolean useUtf8Reader) {
+		useUtf8JsonReader = useUtf8Reader;
+	}
+
+
 	/**
 	 * @param type the format of the reader stream to create
 	 * @param file the file source to read data from
@@ -49,9 +76,11 @@ public class DataTransferableFactory {
 	public static DataTransferInput createReader(DataTransferFormat type, File file, boolean doBuffer) throws IOException {
 		switch(type) {
 		case JSON:
-			return new JsonReader(file);
+			return useUtf8JsonReader ? new Utf8JsonReader(file) : new JsonReader(file);
 		case XML:
 			return XmlHandler.createXMLReader(new FileInputStream(file), true, defaultCharset, true, true);
+		case BINARY:
+			return new BinaryReader(file);
 		default:
 			throw new AssertionError("unknown format type: " + type);
 		}
@@ -64,6 +93,8 @@ public class DataTransferableFactory {
 			return new JsonReader(reader);
 		case XML:
 			return XmlHandler.createXMLReader(reader, true, true, true);
+		case BINARY:
+			throw new IllegalArgumentException("cannot read " + type + " data from a character stream");
 		default:
 			throw new AssertionError("unknown format type: " + type);
 		}
@@ -74,9 +105,11 @@ public class DataTransferableFactory {
 			throws IOException {
 		switch(type) {
 		case JSON:
-			return new JsonReader(in);
+			return useUtf8JsonReader ? new Utf8JsonReader(in) : new JsonReader(in);
 		case XML:
 			return XmlHandler.createXMLReader(in, true, defaultCharset, true, true);
+		case BINARY:
+			return new BinaryReader(in);
 		default:
 			throw new AssertionError("unknown format type: " + type);
 		}
@@ -87,9 +120,34 @@ public class DataTransferableFactory {
 			throws IOException {
 		switch(type) {
 		case JSON:
-			return new JsonReader(in, charset);
+			return useUtf8JsonReader && StandardCharsets.UTF_8.equals(charset) ? new Utf8JsonReader(in) : new JsonReader(in, charset);
 		case XML:
 			return XmlHandler.createXMLReader(in, true, charset, true, true);
+		case BINARY:
+			return new BinaryReader(in);
+		default:
+			throw new AssertionError("unknown format type: " + type);
+		}
+	}
+
+
+	/** Create a reader over an in-memory buffer, JSON and XML data are read directly from the buffer
+	 * by a {@link Utf8JsonReader} and an {@link twg2.io.serialize.xml.XmlPullTokenizer XmlPullTokenizer}
+	 * @param type the format of the data in the buffer
+	 * @param buf the buffer containing the data, JSON and XML data must be encoded as {@code UTF-8}
+	 * @param off the offset of the data in {@code buf}
+	 * @param len the number of bytes of data in {@code buf}
+	 * @return the new {@link DataTransferInput} stream created from the buffer
+	 * @throws IOException
+	 */
+	public static DataTransferInput createReader(DataTransferFormat type, byte[] buf, int off, int len) throws IOException {
+		switch(type) {
+		case JSON:
+			return new Utf8JsonReader(buf, off, len);
+		case XML:
+			return XmlHandler.createXMLReader(buf, off, len, true, true);
+		case BINARY:
+			return new BinaryReader(buf, off, len);
 		default:
 			throw new AssertionError("unknown format type: " + type);
 		}
@@ -111,6 +169,30 @@ public class DataTransferableFactory {
 			return new JsonWriter(file);
 		case XML:
 			return XmlHandler.createXMLWriter(new FileOutputStream(file), true, defaultCharset);
+		case BINARY:
+			return new BinaryWriter(file);
+		default:
+			throw new AssertionError("unknown format type: " + type);
+		}
+	}
+
+
+	/** Open an existing document to append to it, see {@link JsonWriter#openForAppend(File, int)} and {@link XmlOutputWriter#openForAppend(File, int, Charset)}
+	 * @param type the format of the existing document
+	 * @param file the document to append to
+	 * @param openBlocks the number of blocks at the end of the document to reopen, counting the outermost block as 1
+	 * @return a {@link DataTransferOutput} stream which writes after the last field of the innermost reopened block,
+	 * the reopened blocks are closed when the stream is closed
+	 * @throws IOException if there is an error opening the file or the document does not end with {@code openBlocks} closed blocks
+	 */
+	public static DataTransferOutput createAppendWriter(DataTransferFormat type, File file, int openBlocks) throws IOException {
+		switch(type) {
+		case JSON:
+			return JsonWriter.openForAppend(file, openBlocks);
+		case XML:
+			return XmlOutputWriter.openForAppend(file, openBlocks, defaultCharset);
+		case BINARY:
+			throw new IllegalArgumentException("cannot append to " + type + " documents");
 		default:
 			throw new AssertionError("unknown format type: " + type);
 		}
@@ -123,6 +205,8 @@ public class DataTransferableFactory {
 			return new JsonWriter(writer);
 		case XML:
 			return XmlHandler.createXMLWriter(writer, true, defaultCharset);
+		case BINARY:
+			throw new IllegalArgumentException("cannot write " + type + " data to a character stream");
 		default:
 			throw new AssertionError("unknown format type: " + type);
 		}
@@ -136,6 +220,8 @@ public class DataTransferableFactory {
 			return new JsonWriter(out);
 		case XML:
 			return XmlHandler.createXMLWriter(out, true, defaultCharset);
+		case BINARY:
+			return new BinaryWriter(out);
 		default:
 			throw new AssertionError("unknown format type: " + type);
 		}
@@ -149,6 +235,8 @@ public class DataTransferableFactory {
 			return new JsonWriter(out, charset);
 		case XML:
 			return XmlHandler.createXMLWriter(out, true, charset);
+		case BINARY:
+			return new BinaryWriter(out);
 		default:
 			throw new AssertionError("unknown format type: " + type);
 		}
@@ -265,12 +353,25 @@ public class DataTransferableFactory {
 	}
 
 
+	/** Write a block of records, if {@code writer} is a {@link BatchDataTransferFactory} the records are written as one batch
+	 * @param out the output stream to write to
+	 * @param blockName the name of the block containing the records
+	 * @param writer the factory to write the records with
+	 * @param elements the records to write
+	 */
 	public static final <T> void writeBlock(DataTransferOutput out, String blockName,
 			DataTransferFactory<T> writer, List<? extends T> elements)
 			throws IOException {
 		out.writeStartBlock(blockName);
-		for(int i = 0, size = elements.size(); i < size; i++) {
-			writer.writeData(out, elements.get(i));
+		if(writer instanceof BatchDataTransferFactory) {
+			BatchDataTransferFactory<T> batchWriter = (BatchDataTransferFactory<T>)writer;
+			T[] items = elements.toArray(batchWriter.newBatch(elements.size()));
+			batchWriter.writeBatch(out, items, 0, items.length);
+		}
+		else {
+			for(int i = 0, size = elements.size(); i < size; i++) {
+				writer.writeData(out, elements.get(i));
+			}
 		}
 		out.writeEndBlock();
 	}
@@ -286,21 +387,247 @@ public class DataTransferableFactory {
 
 	public static final <T> void readBlock(DataTransferInput in, String blockName, DataTransferFactory<T> reader, List<? super T> dst)
 			throws IOException {
+		readBlock(in, blockName, reader, null, dst);
+	}
+
+
+	/** Read a block of records, skipping records which do not pass a filter.
+	 * Records are tested while they are being read and the remainder of a rejected record is skipped
+	 * without being converted or passed to {@code reader}.
+	 * If there is no filter and {@code reader} is a {@link BatchDataTransferFactory}, the records are read in batches.
+	 * @param in the input stream to read from
+	 * @param blockName the name of the block containing the records
+	 * @param reader the factory to read each record with
+	 * @param filter the filter records must pass, null to read all records
+	 * @return the records which passed {@code filter}
+	 */
+	public static final <T> List<T> readBlock(DataTransferInput in, String blockName, DataTransferFactory<T> reader, RecordFilter filter)
+			throws IOException {
+		List<T> ary = new ArrayList<>();
+		readBlock(in, blockName, reader, filter, ary);
+		return ary;
+	}
+
+
+	public static final <T> void readBlock(DataTransferInput in, String blockName, DataTransferFactory<T> reader, RecordFilter filter,
+			List<? super T> dst) throws IOException {
 		in.readStartBlock(blockName);
+		DataElement tag;
+		if(filter == null && reader instanceof BatchDataTransferFactory) {
+			readBatches(in, blockName, (BatchDataTransferFactory<T>)reader, dst);
+			tag = in.peekNext();
+		}
+		else {
+			if(filter != null) {
+				in.setRecordFilter(filter);
+			}
+			try {
+				tag = in.peekNext();
+				while(!tag.isEndBlock() ||
+						// TODO: Note: case for empty element being reported as a start and end element 
+						(!tag.getName().equals(blockName) && tag.getContent().length() == 0)) {
+					try {
+						dst.add(reader.readData(in));
+					} catch(RecordRejectedException rre) {
+						in.skipRecord();
+					}
+					tag = in.peekNext();
+				}
+			} finally {
+				if(filter != null) {
+					in.setRecordFilter(null);
+				}
+			}
+		}
+		in.readEndBlock();
+		if(!tag.getName().equals(blockName)) {
+			throw new IOException("incorrect closing block name '" + tag.getName() + "', expected '" + blockName + "'");
+		}
+	}
+
+
+	/** Read the records of the current block in batches of {@link #READ_BATCH_SIZE}, the end of the block is not consumed
+	 */
+	private static final <T> void readBatches(DataTransferInput in, String blockName, BatchDataTransferFactory<T> reader, List<? super T> dst) throws IOException {
+		T[] batch = reader.newBatch(READ_BATCH_SIZE);
+		int count;
+		do {
+			count = reader.readBatch(in, blockName, batch, 0, batch.length);
+			for(int i = 0; i < count; i++) {
+				dst.add(batch[i]);
+				batch[i] = null;
+			}
+		} while(count == batch.length);
+	}
+
+
+	/** Check whether a tag peeked inside a block is the end of the block.
+	 * Some readers report an empty element as both a start and an end element,
+	 * so an end element with a different name than the block and no content is not the end of the block
+	 * @param tag the next tag, from {@link DataTransferInput#peekNext()}
+	 * @param blockName the name of the current block
+	 * @return true if {@code tag} is null or ends the block named {@code blockName}
+	 */
+	public static final boolean isEndOfBlock(DataElement tag, String blockName) {
+		return tag == null || (tag.isEndBlock() && (tag.getName().equals(blockName) || tag.getContent() == null || tag.getContent().length() > 0));
+	}
+
+
+	/** Read a record into an existing object when possible.
+	 * Factories can use this to reuse nested objects, for example {@code obj.part = reloadData(in, partFactory, obj.part)}
+	 * @param in the input stream to read from
+	 * @param reader the factory to read the record with
+	 * @param obj the object to read the record into, can be null
+	 * @return {@code obj} if it is not null and {@code reader} {@link DataTransferFactory#canReloadObjects() can reload objects},
+	 * otherwise a new object read by {@code reader}
+	 */
+	public static final <T> T reloadData(DataTransferInput in, DataTransferFactory<T> reader, T obj) throws IOException {
+		if(obj != null && reader.canReloadObjects()) {
+			reader.readData(in, obj);
+			return obj;
+		}
+		return reader.readData(in);
+	}
+
+
+	/** Read a block of records into a pool of reusable objects.
+	 * The first records are read into the pool's existing objects (see {@link #reloadData(DataTransferInput, DataTransferFactory, Object)}),
+	 * records beyond the size of the pool are read as new objects and added to the pool,
+	 * so once the largest block has been read, re-reading blocks of the same shape does not allocate records.
+	 * Pooled objects after the last record read are not modified.
+	 * @param in the input stream to read from
+	 * @param blockName the name of the block containing the records
+	 * @param reader the factory to read each record with
+	 * @param pool the reusable objects, the records read are {@code pool.get(0)} to {@code pool.get(count - 1)}
+	 * @return the number of records read
+	 */
+	public static final <T> int reloadBlock(DataTransferInput in, String blockName, DataTransferFactory<T> reader, List<T> pool)
+			throws IOException {
+		in.readStartBlock(blockName);
+		int count = 0;
 		DataElement tag = in.peekNext();
-		@SuppressWarnings("unused")
-		int i = 0;
-		while(!tag.isEndBlock() ||
-				// TODO: Note: case for empty element being reported as a start and end element 
-				(!tag.getName().equals(blockName) && tag.getContent().length() == 0)) {
-			dst.add(reader.readData(in));
+		while(!isEndOfBlock(tag, blockName)) {
+			if(count < pool.size()) {
+				T obj = pool.get(count);
+				T res = reloadData(in, reader, obj);
+				if(res != obj) {
+					pool.set(count, res);
+				}
+			}
+			else {
+				pool.add(reader.readData(in));
+			}
+			count++;
 			tag = in.peekNext();
-			i++;
 		}
 		in.readEndBlock();
 		if(!tag.getName().equals(blockName)) {
 			throw new IOException("incorrect closing block name '" + tag.getName() + "', expected '" + blockName + "'");
 		}
+		return count;
+	}
+
+
+	/** Read a block of records into an array of reusable objects.
+	 * Records are read into the existing objects of {@code dst} (see {@link #reloadData(DataTransferInput, DataTransferFactory, Object)}),
+	 * null elements are replaced by new objects.
+	 * If {@code reader} is a {@link BatchDataTransferFactory}, the records are read as one batch.
+	 * @param in the input stream to read from
+	 * @param blockName the name of the block containing the records
+	 * @param reader the factory to read each record with
+	 * @param dst the reusable objects
+	 * @param off the offset in {@code dst} of the first record
+	 * @return the number of records read
+	 * @throws IOException if the block contains more than {@code dst.length - off} records, or there is an error reading the records
+	 */
+	public static final <T> int reloadBlock(DataTransferInput in, String blockName, DataTransferFactory<T> reader, T[] dst, int off)
+			throws IOException {
+		in.readStartBlock(blockName);
+		int count = 0;
+		DataElement tag;
+		if(reader instanceof BatchDataTransferFactory) {
+			count = ((BatchDataTransferFactory<T>)reader).readBatch(in, blockName, dst, off, dst.length - off);
+			tag = in.peekNext();
+		}
+		else {
+			tag = in.peekNext();
+			while(off + count < dst.length && !isEndOfBlock(tag, blockName)) {
+				dst[off + count] = reloadData(in, reader, dst[off + count]);
+				count++;
+				tag = in.peekNext();
+			}
+		}
+		if(!isEndOfBlock(tag, blockName)) {
+			throw new IOException("block '" + blockName + "' contains more than " + (dst.length - off) + " records");
+		}
+		in.readEndBlock();
+		if(!tag.getName().equals(blockName)) {
+			throw new IOException("incorrect closing block name '" + tag.getName() + "', expected '" + blockName + "'");
+		}
+		return count;
+	}
+
+
+	/** Create a factory for {@link DataTransferable} objects.
+	 * Since a {@link DataTransferable} reads its data into itself, the factory {@link DataTransferFactory#canReloadObjects() can reload objects}
+	 * and can be used with {@link #reloadBlock(DataTransferInput, String, DataTransferFactory, List)}
+	 * @param constructor creates a new object to read a record into
+	 * @return a factory which reads and writes objects using their {@link DataTransferable} methods
+	 */
+	public static final <T extends DataTransferable> DataTransferFactory<T> transferableFactory(Supplier<? extends T> constructor) {
+		return new DataTransferFactory<T>() {
+			@Override
+			public boolean canReloadObjects() {
+				return true;
+			}
+
+			@Override
+			public void writeData(DataTransferOutput out, T obj) throws IOException {
+				obj.writeData(out);
+			}
+
+			@Override
+			public T readData(DataTransferInput in) throws IOException {
+				T obj = constructor.get();
+				obj.readData(in);
+				return obj;
+			}
+
+			@Override
+			public void readData(DataTransferInput in, T obj) throws IOException {
+				obj.readData(in);
+			}
+		};
+	}
+
+
+	/** Read a block of records as {@link LazyRecord} views over {@code buf}.
+	 * Records are located without decoding their fields and each field is only decoded when it is first accessed.
+	 * @param type the format of the data, {@link DataTransferFormat#JSON} or {@link DataTransferFormat#BINARY}
+	 * @param buf the encoded data, shared by the returned records
+	 * @param off the offset of the data in {@code buf}
+	 * @param len the number of bytes of data in {@code buf}
+	 * @param blockName the name of the top level block containing the records
+	 * @return a lazy record for each block inside {@code blockName}
+	 * @throws IOException if the block cannot be found or the data is malformed
+	 */
+	public static final List<LazyRecord> readLazyBlock(DataTransferFormat type, byte[] buf, int off, int len, String blockName)
+			throws IOException {
+		switch(type) {
+		case JSON:
+			return JsonLazyRecord.readBlock(buf, off, len, blockName);
+		case BINARY:
+			return BinaryLazyRecord.readBlock(buf, off, len, blockName);
+		case XML:
+			throw new IllegalArgumentException("lazy records are not supported for " + type + " data");
+		default:
+			throw new AssertionError("unknown format type: " + type);
+		}
+	}
+
+
+	public static final List<LazyRecord> readLazyBlock(DataTransferFormat type, byte[] buf, String blockName) throws IOException {
+		return readLazyBlock(type, buf, 0, buf.length, blockName);
 	}
 
 }
@@ -0,0 +1,147 @@
+package twg2.io.serialize.base;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/** A field or block name encoded once for every format, so writers copy the name's pre-encoded form instead of
+ * escaping and encoding the name each time it is written, and readers compare the name's encoded bytes to the
+ * input's raw name bytes instead of decoding the input's names.<br>
+ * Create field names once, for example as static constants next to a {@link DataTransferFactory}, and pass them to the
+ * {@code ...Field()} methods of {@link twg2.io.serialize.base.writer.PrimitiveWriter} and
+ * {@link twg2.io.serialize.base.reader.PrimitiveReader}, such as {@code writeIntField(FieldName, int)}.<br>
+ * The name string is interned, so readers which return canonical name strings, such as Jackson's interned field names,
+ * match it by reference.<br>
+ * The arrays returned by the getters are shared and must not be modified.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class FieldName {
+	private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+	private final String name;
+	private final byte[] utf8;
+	private final char[] jsonEscaped;
+	private final byte[] jsonEscapedUtf8;
+	private final char[] xmlOpenTag;
+	private final char[] xmlCloseTag;
+
+
+	private FieldName(String name) {
+		this.name = name.intern();
+		this.utf8 = name.getBytes(StandardCharsets.UTF_8);
+		String escaped = escapeJson(name);
+		this.jsonEscaped = escaped.toCharArray();
+		this.jsonEscapedUtf8 = escaped.getBytes(StandardCharsets.UTF_8);
+		this.xmlOpenTag = ("<" + name + ">").toCharArray();
+		this.xmlCloseTag = ("</" + name + ">").toCharArray();
+	}
+
+
+	/** Create a field name
+	 * @param name the name
+	 * @return the encoded field name
+	 */
+	public static FieldName of(String name) {
+		return new FieldName(Objects.requireNonNull(name, "name"));
+	}
+
+
+	/**
+	 * @return the name, an interned string
+	 */
+	public String getName() {
+		return name;
+	}
+
+
+	/**
+	 * @return the UTF-8 bytes of the name
+	 */
+	public byte[] getUtf8() {
+		return utf8;
+	}
+
+
+	/**
+	 * @return the name's chars escaped for a JSON string, without the enclosing quotes
+	 */
+	public char[] getJsonEscaped() {
+		return jsonEscaped;
+	}
+
+
+	/**
+	 * @return the UTF-8 bytes of {@link #getJsonEscaped()}
+	 */
+	public byte[] getJsonEscapedUtf8() {
+		return jsonEscapedUtf8;
+	}
+
+
+	/**
+	 * @return the XML opening tag for the name, {@code <name>}
+	 */
+	public char[] getXmlOpenTag() {
+		return xmlOpenTag;
+	}
+
+
+	/**
+	 * @return the XML closing tag for the name, {@code </name>}
+	 */
+	public char[] getXmlCloseTag() {
+		return xmlCloseTag;
+	}
+
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj == this || (obj instanceof FieldName && ((FieldName)obj).name.equals(name));
+	}
+
+
+	@Override
+	public int hashCode() {
+		return name.hashCode();
+	}
+
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+
+	/** Escape a string the same way as Jackson's default JSON string escaping, quotes, backslashes and control chars are escaped
+	 */
+	private static String escapeJson(String str) {
+		StringBuilder sb = null;
+		for(int i = 0, len = str.length(); i < len; i++) {
+			char ch = str.charAt(i);
+			if(ch >= 0x20 && ch != '"' && ch != '\\') {
+				if(sb != null) {
+					sb.append(ch);
+				}
+				continue;
+			}
+			if(sb == null) {
+				sb = new StringBuilder(len + 8).append(str, 0, i);
+			}
+			sb.append('\\');
+			switch(ch) {
+			case '"': sb.append('"'); break;
+			case '\\': sb.append('\\'); break;
+			case '\b': sb.append('b'); break;
+			case '\t': sb.append('t'); break;
+			case '\f': sb.append('f'); break;
+			case '\n': sb.append('n'); break;
+			case '\r': sb.append('r'); break;
+			default:
+				sb.append("u00").append(HEX[ch >> 4]).append(HEX[ch & 0xF]);
+				break;
+			}
+		}
+		return sb != null ? sb.toString() : str;
+	}
+
+}
@@ -0,0 +1,319 @@
+package twg2.io.serialize.base;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/** A record view over a slice of an encoded buffer.
+ * The record's fields are not located until one is first accessed and each field's value
+ * is only decoded the first time it is accessed, after which the decoded value is cached.<br>
+ * Records returned by {@link DataTransferableFactory#readLazyBlock(DataTransferFormat, byte[], int, int, String)}
+ * share the buffer they were read from, so the buffer must not be modified while records are in use.
+ * This class is not thread safe.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public abstract class LazyRecord {
+	private static final Object NOT_DECODED = new Object();
+
+	protected final String name;
+	protected final byte[] buf;
+	protected final int off;
+	protected final int len;
+	private int fieldCount = -1;
+	private String[] fieldNames;
+	private int[] fieldTypes;
+	private int[] fieldStarts;
+	private int[] fieldEnds;
+	private Object[] values;
+
+
+	/**
+	 * @param name the record's block name
+	 * @param buf the buffer containing the encoded record
+	 * @param off the offset of the record in {@code buf}
+	 * @param len the length of the record in {@code buf}
+	 */
+	protected LazyRecord(String name, byte[] buf, int off, int len) {
+		this.name = name;
+		this.buf = buf;
+		this.off = off;
+		this.len = len;
+	}
+
+
+	/**
+	 * @return the record's block name
+	 */
+	public String getName() {
+		return name;
+	}
+
+
+	/**
+	 * @return the buffer containing the encoded record
+	 */
+	public byte[] getBuffer() {
+		return buf;
+	}
+
+
+	/**
+	 * @return the offset of the record in {@link #getBuffer()}
+	 */
+	public int getOffset() {
+		return off;
+	}
+
+
+	/**
+	 * @return the length of the record in {@link #getBuffer()}
+	 */
+	public int getLength() {
+		return len;
+	}
+
+
+	/**
+	 * @return the number of fields and nested blocks directly inside this record
+	 */
+	public int getFieldCount() throws IOException {
+		index();
+		return fieldCount;
+	}
+
+
+	public String getFieldName(int index) throws IOException {
+		index();
+		if(index < 0 || index >= fieldCount) {
+			throw new IndexOutOfBoundsException(index + " of [0, " + fieldCount + ")");
+		}
+		return fieldNames[index];
+	}
+
+
+	/**
+	 * @return the index of the first field named {@code name}, or -1 if this record does not contain a field with the name
+	 */
+	public int indexOf(String name) throws IOException {
+		index();
+		for(int i = 0; i < fieldCount; i++) {
+			if(fieldNames[i].equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+
+	public boolean hasField(String name) throws IOException {
+		return indexOf(name) > -1;
+	}
+
+
+	/** Get a field's decoded value
+	 * @param name the field's name
+	 * @return the field's value, a {@link String}, {@link Boolean}, {@link Number}, {@code byte[]}, nested {@link LazyRecord},
+	 * or null if the value is null or the record does not contain the field
+	 * @throws IOException if the field's value cannot be decoded
+	 */
+	public Object get(String name) throws IOException {
+		int idx = indexOf(name);
+		return idx > -1 ? getValue(idx) : null;
+	}
+
+
+	public Object getValue(int index) throws IOException {
+		index();
+		if(index < 0 || index >= fieldCount) {
+			throw new IndexOutOfBoundsException(index + " of [0, " + fieldCount + ")");
+		}
+		Object value = values[index];
+		if(value == NOT_DECODED) {
+			value = decodeField(fieldNames[index], fieldTypes[index], fieldStarts[index], fieldEnds[index]);
+			values[index] = value;
+		}
+		return value;
+	}
+
+
+	public String getString(String name) throws IOException {
+		Object value = getValue(requireField(name));
+		if(value == null || value instanceof String) {
+			return (String)value;
+		}
+		if(value instanceof byte[]) {
+			return Base64.getEncoder().encodeToString((byte[])value);
+		}
+		if(value instanceof LazyRecord) {
+			throw typeError(name, value, "String");
+		}
+		return value.toString();
+	}
+
+
+	public boolean getBoolean(String name) throws IOException {
+		Object value = getValue(requireField(name));
+		if(value instanceof Boolean) {
+			return (Boolean)value;
+		}
+		if(value instanceof String) {
+			return Boolean.parseBoolean(((String)value).trim());
+		}
+		throw typeError(name, value, "boolean");
+	}
+
+
+	public int getInt(String name) throws IOException {
+		Object value = getValue(requireField(name));
+		if(value instanceof Number) {
+			return ((Number)value).intValue();
+		}
+		return (int)parseLong(name, value, "int");
+	}
+
+
+	public long getLong(String name) throws IOException {
+		Object value = getValue(requireField(name));
+		if(value instanceof Number) {
+			return ((Number)value).longValue();
+		}
+		return parseLong(name, value, "long");
+	}
+
+
+	public float getFloat(String name) throws IOException {
+		return (float)getDouble(name);
+	}
+
+
+	public double getDouble(String name) throws IOException {
+		Object value = getValue(requireField(name));
+		if(value instanceof Number) {
+			return ((Number)value).doubleValue();
+		}
+		if(value instanceof String) {
+			try {
+				return Double.parseDouble(((String)value).trim());
+			} catch(NumberFormatException nfe) {
+				throw new IOException("could not parse field '" + name + "' of record '" + this.name + "' as double", nfe);
+			}
+		}
+		throw typeError(name, value, "double");
+	}
+
+
+	public byte[] getBytes(String name) throws IOException {
+		Object value = getValue(requireField(name));
+		if(value == null || value instanceof byte[]) {
+			return (byte[])value;
+		}
+		if(value instanceof String) {
+			return Base64.getDecoder().decode((String)value);
+		}
+		throw typeError(name, value, "byte[]");
+	}
+
+
+	/**
+	 * @return the nested block named {@code name} as a lazy record
+	 */
+	public LazyRecord getRecord(String name) throws IOException {
+		Object value = getValue(requireField(name));
+		if(value instanceof LazyRecord) {
+			return (LazyRecord)value;
+		}
+		throw typeError(name, value, "block");
+	}
+
+
+	@Override
+	public String toString() {
+		return "LazyRecord: " + name + " [" + off + ", " + (off + len) + ")";
+	}
+
+
+	/** Record the location of a field, called by {@link #indexFields()}
+	 * @param name the field's name
+	 * @param type the format specific type of the field
+	 * @param start the offset in {@link #buf} where the field's value starts
+	 * @param end the offset in {@link #buf} where the field's value ends (exclusive)
+	 */
+	protected void addField(String name, int type, int start, int end) {
+		int idx = fieldCount;
+		if(idx == fieldNames.length) {
+			int newLen = idx * 2;
+			fieldNames = Arrays.copyOf(fieldNames, newLen);
+			fieldTypes = Arrays.copyOf(fieldTypes, newLen);
+			fieldStarts = Arrays.copyOf(fieldStarts, newLen);
+			fieldEnds = Arrays.copyOf(fieldEnds, newLen);
+		}
+		fieldNames[idx] = name;
+		fieldTypes[idx] = type;
+		fieldStarts[idx] = start;
+		fieldEnds[idx] = end;
+		fieldCount = idx + 1;
+	}
+
+
+	/** Locate this record's fields by calling {@link #addField(String, int, int, int)} for each field,
+	 * values should be skipped without being decoded
+	 * @throws IOException if the record is malformed
+	 */
+	protected abstract void indexFields() throws IOException;
+
+
+	/** Decode a field value located by {@link #indexFields()}
+	 * @return the decoded value, see {@link #get(String)} for the allowed types
+	 * @throws IOException if the value is malformed
+	 */
+	protected abstract Object decodeField(String name, int type, int start, int end) throws IOException;
+
+
+	private void index() throws IOException {
+		if(fieldCount > -1) {
+			return;
+		}
+		fieldCount = 0;
+		fieldNames = new String[8];
+		fieldTypes = new int[8];
+		fieldStarts = new int[8];
+		fieldEnds = new int[8];
+		try {
+			indexFields();
+		} catch(IOException | RuntimeException e) {
+			fieldCount = -1;
+			throw e;
+		}
+		values = new Object[fieldCount];
+		Arrays.fill(values, NOT_DECODED);
+	}
+
+
+	private int requireField(String name) throws IOException {
+		int idx = indexOf(name);
+		if(idx < 0) {
+			throw new IOException("could not find field '" + name + "' in record '" + this.name + "'");
+		}
+		return idx;
+	}
+
+
+	private long parseLong(String name, Object value, String targetType) throws IOException {
+		if(value instanceof String) {
+			try {
+				return Long.parseLong(((String)value).trim());
+			} catch(NumberFormatException nfe) {
+				throw new IOException("could not parse field '" + name + "' of record '" + this.name + "' as " + targetType, nfe);
+			}
+		}
+		throw typeError(name, value, targetType);
+	}
+
+
+	private IOException typeError(String name, Object value, String targetType) {
+		String valueType = (value == null ? "null" : value instanceof LazyRecord ? "block" : value.getClass().getSimpleName());
+		return new IOException("cannot read " + valueType + " field '" + name + "' of record '" + this.name + "' as " + targetType);
+	}
+
+}
@@ -2,6 +2,10 @@ package twg2.io.serialize.base.reader;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
 
 import twg2.io.serialize.base.DataElement;
 
@@ -34,6 +38,69 @@ public interface DataTransferInput extends PrimitiveReader, /* TODO at some poin
 	public void read(String name, byte[] b, int off, int len) throws IOException;
 
 
+	/** Read the bytes of the next binary element into a reusable array.
+	 * If {@code reuse} has the same length as the element's value, the bytes are read into it and it is returned,
+	 * otherwise the bytes are read into a new array, so reading values of the same length in a loop does not allocate arrays.
+	 * When a new array is returned, the contents of {@code reuse} are undefined.
+	 * The default implementation reads the value from {@link #openBinaryStream(String)}.
+	 * @param name the name of the element to read
+	 * @param reuse the array to read the bytes into, can be null
+	 * @return {@code reuse} or a new array containing the element's bytes
+	 * @throws IOException if there is an IO error while reading from the input stream
+	 */
+	public default byte[] readBytes(String name, byte[] reuse) throws IOException {
+		try(InputStream src = openBinaryStream(name)) {
+			if(reuse == null) {
+				return src.readAllBytes();
+			}
+			int count = src.readNBytes(reuse, 0, reuse.length);
+			if(count < reuse.length) {
+				return Arrays.copyOf(reuse, count);
+			}
+			int next = src.read();
+			if(next < 0) {
+				return reuse;
+			}
+			byte[] rest = src.readAllBytes();
+			byte[] res = Arrays.copyOf(reuse, count + 1 + rest.length);
+			res[count] = (byte)next;
+			System.arraycopy(rest, 0, res, count + 1, rest.length);
+			return res;
+		}
+	}
+
+
+	/** Open a stream over the bytes of the next binary element.
+	 * Where the format allows, the bytes are decoded in chunks as the stream is read, so large values are never held in memory as a whole.<br/>
+	 * The stream must be read to its end or closed before any other data is read from this input stream,
+	 * closing it skips the remainder of the element. Closing the returned stream does not close this input stream.<br/>
+	 * The other methods of this interface cannot read a binary element of unknown length,
+	 * so the default implementation, which {@link #readBytes(String, byte[])} uses, is not supported.
+	 * @param name the name of the element to read
+	 * @return a stream containing the element's bytes
+	 * @throws IOException if there is an IO error while reading from the input stream
+	 * @throws UnsupportedOperationException if this input stream does not support binary streams
+	 */
+	public default InputStream openBinaryStream(String name) throws IOException {
+		throw new UnsupportedOperationException(getClass().getName() + " does not support binary streams");
+	}
+
+
+	/** Open a reader over the chars of the next string element.
+	 * Where the format allows, the chars are decoded in chunks as the reader is read, so large values are never held in memory as a whole.<br/>
+	 * The reader must be read to its end or closed before any other data is read from this input stream,
+	 * closing it skips the remainder of the element. Closing the returned reader does not close this input stream.<br/>
+	 * The default implementation reads the whole value with {@link #readString(String)}.
+	 * @param name the name of the element to read
+	 * @return a reader containing the element's text, or null if the element's value is null
+	 * @throws IOException if there is an IO error while reading from the input stream
+	 */
+	public default Reader openStringReader(String name) throws IOException {
+		String str = readString(name);
+		return (str != null ? new StringReader(str) : null);
+	}
+
+
 	/** Peek at the next block of this input stream without reading it.
 	 * This call reads the next data block and returns it, however
 	 * the next call to {@link #readNext()} or equivalent parameterized
@@ -47,4 +114,72 @@ public interface DataTransferInput extends PrimitiveReader, /* TODO at some poin
 	 */
 	public DataElement peekNext() throws IOException;
 
+
+	/** Restrict this input stream to a set of wanted field paths.
+	 * Elements and blocks that are not part of the projection are skipped without
+	 * being decoded and are never returned by {@link #readNext()} or {@link #peekNext()}.
+	 * This should be called before reading any data from this input stream.<br/>
+	 * The default implementation does not support projections and only accepts null.
+	 * @param projection the wanted field paths, or null to read all fields
+	 * @throws UnsupportedOperationException if {@code projection} is not null and this input stream does not support projections
+	 */
+	public default void setProjection(FieldProjection projection) {
+		if(projection != null) {
+			throw new UnsupportedOperationException(getClass().getName() + " does not support field projections");
+		}
+	}
+
+
+	/**
+	 * @return the current field projection, null if all fields are read
+	 */
+	public default FieldProjection getProjection() {
+		return null;
+	}
+
+
+	/** Filter the records inside the block this input stream is currently in.
+	 * Each record is the next block read from this stream and each field read directly inside a record
+	 * is tested against {@code filter} before its value is converted. If a field fails the filter,
+	 * the read method throws a {@link RecordRejectedException} and {@link #skipRecord()} can be called
+	 * to skip the remainder of the record.<br/>
+	 * The default implementation does not support record filters and only accepts null.
+	 * @param filter the record filter, or null to stop filtering records
+	 * @throws UnsupportedOperationException if {@code filter} is not null and this input stream does not support record filters
+	 */
+	public default void setRecordFilter(RecordFilter filter) {
+		if(filter != null) {
+			throw new UnsupportedOperationException(getClass().getName() + " does not support record filters");
+		}
+	}
+
+
+	/** Deduplicate the string values read by this input stream through a cache, so values which repeat are returned
+	 * as the same {@link String} instance and cached values are returned without creating a new string.<br/>
+	 * The cache only avoids allocations, the values read are the same with or without it,
+	 * so the default implementation ignores the cache and {@link #getStringCache()} returns null.
+	 * @param cache the cache to look up string values in, or null to create a new string for each value
+	 */
+	public default void setStringCache(StringCache cache) {
+	}
+
+
+	/**
+	 * @return the cache string values are looked up in, null if string values are not cached
+	 */
+	public default StringCache getStringCache() {
+		return null;
+	}
+
+
+	/** Skip the remainder of the current record after a {@link RecordRejectedException},
+	 * including the record's closing block tag, without reading or converting any of its values.<br/>
+	 * The default implementation does not support record filters, so there is never a rejected record to skip.
+	 * @throws IOException if there is an IO error while reading from the input stream
+	 * @throws UnsupportedOperationException if this input stream does not support record filters
+	 */
+	public default void skipRecord() throws IOException {
+		throw new UnsupportedOperationException(getClass().getName() + " does not support record filters");
+	}
+
 }
@@ -0,0 +1,187 @@
+package twg2.io.serialize.base.reader;
+
+/** A simple test (equals, range, or prefix) on the raw text value of a named record field.
+ * Used by {@link RecordFilter} to reject records while they are being read.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class FieldPredicate {
+
+	/** The comparison a {@link FieldPredicate} performs
+	 */
+	public static enum Op {
+		EQUAL,
+		PREFIX,
+		RANGE;
+	}
+
+
+	private final String name;
+	private final Op op;
+	private final String text;
+	private final double min;
+	private final boolean minInclusive;
+	private final double max;
+	private final boolean maxInclusive;
+
+
+	private FieldPredicate(String name, Op op, String text, double min, boolean minInclusive, double max, boolean maxInclusive) {
+		if(name == null) {
+			throw new IllegalArgumentException("field predicate name cannot be null");
+		}
+		this.name = name;
+		this.op = op;
+		this.text = text;
+		this.min = min;
+		this.minInclusive = minInclusive;
+		this.max = max;
+		this.maxInclusive = maxInclusive;
+	}
+
+
+	/**
+	 * @return the name of the field this predicate tests
+	 */
+	public String getName() {
+		return name;
+	}
+
+
+	public Op getOp() {
+		return op;
+	}
+
+
+	/** Test a field value
+	 * @param value the field's raw text value, for example {@code "1024"} or {@code "designer"}
+	 * @return true if the value passes this predicate, false if the record containing it should be skipped
+	 */
+	public boolean test(CharSequence value) {
+		if(value == null) {
+			return false;
+		}
+		switch(op) {
+		case EQUAL:
+			return text.contentEquals(value);
+		case PREFIX:
+			return startsWith(value, text);
+		case RANGE:
+			double num = parseNumber(value);
+			return num == num &&
+					(minInclusive ? num >= min : num > min) &&
+					(maxInclusive ? num <= max : num < max);
+		default:
+			throw new AssertionError("unknown " + Op.class + ": " + op);
+		}
+	}
+
+
+	@Override
+	public String toString() {
+		switch(op) {
+		case EQUAL:
+			return name + " == \"" + text + "\"";
+		case PREFIX:
+			return name + " startsWith \"" + text + "\"";
+		case RANGE:
+			return name + " in " + (minInclusive ? "[" : "(") + min + ", " + max + (maxInclusive ? "]" : ")");
+		default:
+			throw new AssertionError("unknown " + Op.class + ": " + op);
+		}
+	}
+
+
+	/** Create a predicate which checks that a field's text value equals {@code value}.
+	 * Numbers and booleans are compared using their text representation.
+	 */
+	public static FieldPredicate equal(String name, String value) {
+		return new FieldPredicate(name, Op.EQUAL, value, 0, false, 0, false);
+	}
+
+
+	public static FieldPredicate equal(String name, long value) {
+		return new FieldPredicate(name, Op.EQUAL, Long.toString(value), 0, false, 0, false);
+	}
+
+
+	/** Create a predicate which checks that a field's text value starts with {@code prefix}
+	 */
+	public static FieldPredicate prefix(String name, String prefix) {
+		return new FieldPredicate(name, Op.PREFIX, prefix, 0, false, 0, false);
+	}
+
+
+	/** Create a predicate which checks that a field's numeric value is in the range {@code [min, max]}.
+	 * Values are compared as doubles.
+	 */
+	public static FieldPredicate range(String name, double min, double max) {
+		return new FieldPredicate(name, Op.RANGE, null, min, true, max, true);
+	}
+
+
+	public static FieldPredicate greaterThan(String name, double value) {
+		return new FieldPredicate(name, Op.RANGE, null, value, false, Double.POSITIVE_INFINITY, true);
+	}
+
+
+	public static FieldPredicate greaterThanOrEqual(String name, double value) {
+		return new FieldPredicate(name, Op.RANGE, null, value, true, Double.POSITIVE_INFINITY, true);
+	}
+
+
+	public static FieldPredicate lessThan(String name, double value) {
+		return new FieldPredicate(name, Op.RANGE, null, Double.NEGATIVE_INFINITY, true, value, false);
+	}
+
+
+	public static FieldPredicate lessThanOrEqual(String name, double value) {
+		return new FieldPredicate(name, Op.RANGE, null, Double.NEGATIVE_INFINITY, true, value, true);
+	}
+
+
+	private static boolean startsWith(CharSequence value, String prefix) {
+		int len = prefix.length();
+		if(value.length() < len) {
+			return false;
+		}
+		for(int i = 0; i < len; i++) {
+			if(value.charAt(i) != prefix.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/** Parse a number from a field's text, plain integers are parsed without creating a string
+	 * @return the parsed value or NaN if the text is not a number
+	 */
+	private static double parseNumber(CharSequence value) {
+		int len = value.length();
+		int i = 0;
+		boolean negative = false;
+		if(len > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+			negative = value.charAt(0) == '-';
+			i++;
+		}
+		if(i < len && len - i < 19) {
+			long num = 0;
+			for(; i < len; i++) {
+				char ch = value.charAt(i);
+				if(ch < '0' || ch > '9') {
+					break;
+				}
+				num = num * 10 + (ch - '0');
+			}
+			if(i == len) {
+				return negative ? -num : num;
+			}
+		}
+		try {
+			return Double.parseDouble(value.toString().trim());
+		} catch(NumberFormatException nfe) {
+			return Double.NaN;
+		}
+	}
+
+}
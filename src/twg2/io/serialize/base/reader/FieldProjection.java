@@ -0,0 +1,139 @@
+package twg2.io.serialize.base.reader;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** A set of wanted field paths used to restrict what a {@link DataTransferInput} stream reads.<br>
+ * A path is a list of block and element names separated by {@link #PATH_SEPARATOR}, for example {@code "Employee/id"}.
+ * The blocks leading up to a wanted path are implicitly wanted (but not their other children)
+ * and everything nested inside a wanted path is wanted, so {@code "Employee/cities"} includes every {@code city} element.<br>
+ * Readers with a projection skip unwanted elements and blocks without decoding their contents.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class FieldProjection {
+	public static final char PATH_SEPARATOR = '/';
+	private final Node root;
+
+
+	/** Create a projection from a collection of field paths
+	 * @param paths the wanted field paths, see {@link FieldProjection}
+	 */
+	public FieldProjection(Collection<String> paths) {
+		this.root = new Node();
+		for(String path : paths) {
+			add(root, path);
+		}
+	}
+
+
+	/**
+	 * @return the root node of this projection, matches the top level names of a stream
+	 */
+	public Node getRoot() {
+		return root;
+	}
+
+
+	/** Check whether an element is wanted
+	 * @param parentPath the names of the blocks containing the element, starting from the top level
+	 * @param name the element's name
+	 * @return true if the element is part of this projection, false if it should be skipped
+	 */
+	public boolean isWanted(List<String> parentPath, String name) {
+		Node node = root;
+		for(int i = 0, size = parentPath.size(); i < size && node != null; i++) {
+			node = node.getChild(parentPath.get(i));
+		}
+		return node != null && node.getChild(name) != null;
+	}
+
+
+	/** Check whether an element is wanted
+	 * @param path the element's full path, see {@link FieldProjection}
+	 * @return true if the element is part of this projection, false if it should be skipped
+	 */
+	public boolean isWanted(String path) {
+		List<String> names = Arrays.asList(split(path));
+		return isWanted(names.subList(0, names.size() - 1), names.get(names.size() - 1));
+	}
+
+
+	@Override
+	public String toString() {
+		return root.toString();
+	}
+
+
+	public static FieldProjection of(String... paths) {
+		return new FieldProjection(Arrays.asList(paths));
+	}
+
+
+	private static void add(Node root, String path) {
+		String[] names = split(path);
+		Node node = root;
+		for(String name : names) {
+			if(node.includeAll) {
+				return;
+			}
+			Node child = node.children.get(name);
+			if(child == null) {
+				child = new Node();
+				node.children.put(name, child);
+			}
+			node = child;
+		}
+		// a path ending at a node wants everything nested inside of it
+		node.includeAll = true;
+		node.children.clear();
+	}
+
+
+	private static String[] split(String path) {
+		if(path == null || path.length() == 0) {
+			throw new IllegalArgumentException("field path cannot be empty");
+		}
+		return path.split(String.valueOf(PATH_SEPARATOR));
+	}
+
+
+
+
+	/** A single name in a {@link FieldProjection} path tree
+	 * @author TeamworkGuy2
+	 * @since 2026-10-19
+	 */
+	public static class Node {
+		final Map<String, Node> children = new HashMap<>();
+		boolean includeAll;
+
+
+		/**
+		 * @param name the child element's name
+		 * @return the child node matching {@code name} (this node if it includes all children) or null if the child is not wanted
+		 */
+		public Node getChild(String name) {
+			return includeAll ? this : children.get(name);
+		}
+
+
+		/**
+		 * @return true if every element nested inside this node is wanted
+		 */
+		public boolean isIncludeAll() {
+			return includeAll;
+		}
+
+
+		@Override
+		public String toString() {
+			return includeAll ? "*" : children.toString();
+		}
+
+	}
+
+}
@@ -0,0 +1,340 @@
+package twg2.io.serialize.base.reader;
+
+import java.math.BigInteger;
+
+/** Static methods for parsing numbers directly from a {@code char[]} region without allocating strings.<br>
+ * Leading and trailing whitespace (chars &lt;= {@code ' '}, the same as {@link String#trim()}) is ignored.
+ * Doubles and floats with at most 19 significant digits are parsed with an exact small-exponent fast path
+ * or the Eisel-Lemire algorithm (D. Lemire, "Number Parsing at a Gigabyte per Second"),
+ * other input, such as {@code NaN}, hex floats, or longer mantissas, is parsed by the equivalent JDK method.
+ * Malformed input throws the same {@link NumberFormatException} as the JDK methods.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class NumberParser {
+	private static final double[] DOUBLE_POW10 = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+	private static final float[] FLOAT_POW10 = { 1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f };
+
+	/** the range of decimal exponents q of the {@link #POW5} table */
+	private static final int Q_MIN = -342;
+	private static final int Q_MAX = 308;
+	/** the high and low 64 bits of a 128-bit normalized approximation of 5<sup>q</sup> for each q in [Q_MIN, Q_MAX],
+	 * truncated for q &gt;= 0 and rounded up for q &lt; 0 */
+	private static final long[] POW5 = new long[2 * (Q_MAX - Q_MIN + 1)];
+	/** returned by {@link #parseDecimal(char[], int, int, boolean)} for text it does not parse, a NaN bit pattern it never produces */
+	private static final long NOT_DECIMAL = -1L;
+
+	static {
+		BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+		BigInteger two127 = BigInteger.ONE.shiftLeft(127);
+		BigInteger mask64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+		for(int q = Q_MIN; q <= Q_MAX; q++) {
+			BigInteger c;
+			if(q < 0) {
+				BigInteger pow5 = BigInteger.valueOf(5).pow(-q);
+				int z = pow5.bitLength();
+				int b = (q >= -27 ? z + 127 : 2 * z + 128);
+				c = BigInteger.ONE.shiftLeft(b).divide(pow5).add(BigInteger.ONE);
+				while(c.compareTo(two128) >= 0) {
+					c = c.shiftRight(1);
+				}
+			}
+			else {
+				c = BigInteger.valueOf(5).pow(q);
+				while(c.compareTo(two127) < 0) {
+					c = c.shiftLeft(1);
+				}
+				while(c.compareTo(two128) >= 0) {
+					c = c.shiftRight(1);
+				}
+			}
+			int i = 2 * (q - Q_MIN);
+			POW5[i] = c.shiftRight(64).longValue();
+			POW5[i + 1] = c.and(mask64).longValue();
+		}
+	}
+
+
+	private NumberParser() { throw new AssertionError("cannot instantiate static class NumberParser"); }
+
+
+	/** Parse a base 10 int, equivalent to {@code Integer.parseInt(new String(src, off, end - off).trim())}
+	 * @param src the chars to parse
+	 * @param off the offset of the first char to parse
+	 * @param end the offset after the last char to parse
+	 */
+	public static int parseInt(char[] src, int off, int end) {
+		int start = trimStart(src, off, end);
+		int stop = trimEnd(src, start, end);
+		int i = start;
+		boolean negative = false;
+		if(i < stop && (src[i] == '-' || src[i] == '+')) {
+			negative = src[i] == '-';
+			i++;
+		}
+		// integers with up to 9 digits cannot overflow
+		if(i < stop && stop - i <= 9) {
+			int num = 0;
+			for(; i < stop; i++) {
+				int digit = src[i] - '0';
+				if(digit < 0 || digit > 9) {
+					break;
+				}
+				num = num * 10 + digit;
+			}
+			if(i == stop) {
+				return negative ? -num : num;
+			}
+		}
+		return Integer.parseInt(new String(src, start, stop - start));
+	}
+
+
+	/** Parse a base 10 short, equivalent to {@code Short.parseShort(new String(src, off, end - off).trim())}
+	 * @see #parseInt(char[], int, int)
+	 */
+	public static short parseShort(char[] src, int off, int end) {
+		int num = parseInt(src, off, end);
+		if(num < Short.MIN_VALUE || num > Short.MAX_VALUE) {
+			int start = trimStart(src, off, end);
+			return Short.parseShort(new String(src, start, trimEnd(src, start, end) - start));
+		}
+		return (short)num;
+	}
+
+
+	/** Parse a base 10 long, equivalent to {@code Long.parseLong(new String(src, off, end - off).trim())}
+	 * @see #parseInt(char[], int, int)
+	 */
+	public static long parseLong(char[] src, int off, int end) {
+		int start = trimStart(src, off, end);
+		int stop = trimEnd(src, start, end);
+		int i = start;
+		boolean negative = false;
+		if(i < stop && (src[i] == '-' || src[i] == '+')) {
+			negative = src[i] == '-';
+			i++;
+		}
+		// integers with up to 18 digits cannot overflow
+		if(i < stop && stop - i <= 18) {
+			long num = 0;
+			for(; i < stop; i++) {
+				int digit = src[i] - '0';
+				if(digit < 0 || digit > 9) {
+					break;
+				}
+				num = num * 10 + digit;
+			}
+			if(i == stop) {
+				return negative ? -num : num;
+			}
+		}
+		return Long.parseLong(new String(src, start, stop - start));
+	}
+
+
+	/** Parse a double, equivalent to {@code Double.parseDouble(new String(src, off, end - off))}
+	 * @see #parseInt(char[], int, int)
+	 */
+	public static double parseDouble(char[] src, int off, int end) {
+		int start = trimStart(src, off, end);
+		int stop = trimEnd(src, start, end);
+		long bits = parseDecimal(src, start, stop, true);
+		if(bits != NOT_DECIMAL) {
+			return Double.longBitsToDouble(bits);
+		}
+		return Double.parseDouble(new String(src, start, stop - start));
+	}
+
+
+	/** Parse a float, equivalent to {@code Float.parseFloat(new String(src, off, end - off))}
+	 * @see #parseInt(char[], int, int)
+	 */
+	public static float parseFloat(char[] src, int off, int end) {
+		int start = trimStart(src, off, end);
+		int stop = trimEnd(src, start, end);
+		long bits = parseDecimal(src, start, stop, false);
+		if(bits != NOT_DECIMAL) {
+			return Float.intBitsToFloat((int)bits);
+		}
+		return Float.parseFloat(new String(src, start, stop - start));
+	}
+
+
+	/** Parse a plain decimal number of the form {@code [+-]digits[.digits][(e|E)[+-]digits]} with at most 19 significant digits
+	 * @param isDouble true to return double bits, false to return float bits
+	 * @return the IEEE 754 bits of the closest double or float, or {@link #NOT_DECIMAL} if the text is not
+	 * a plain decimal number or has too many significant digits
+	 */
+	private static long parseDecimal(char[] src, int start, int stop, boolean isDouble) {
+		long mantissa = 0;
+		int exp10 = 0;
+		int digits = 0;
+		int i = start;
+		boolean negative = false;
+		if(i < stop && (src[i] == '-' || src[i] == '+')) {
+			negative = src[i] == '-';
+			i++;
+		}
+		int intStart = i;
+		for(; i < stop && src[i] >= '0' && src[i] <= '9'; i++) {
+			if(digits > 0 || src[i] != '0') {
+				mantissa = mantissa * 10 + (src[i] - '0');
+				digits++;
+			}
+		}
+		boolean hasDigits = i > intStart;
+		if(i < stop && src[i] == '.') {
+			i++;
+			int fracStart = i;
+			for(; i < stop && src[i] >= '0' && src[i] <= '9'; i++) {
+				if(digits > 0 || src[i] != '0') {
+					mantissa = mantissa * 10 + (src[i] - '0');
+					digits++;
+				}
+				exp10--;
+			}
+			hasDigits |= i > fracStart;
+		}
+		if(hasDigits && i < stop && (src[i] == 'e' || src[i] == 'E')) {
+			i++;
+			boolean expNegative = false;
+			if(i < stop && (src[i] == '-' || src[i] == '+')) {
+				expNegative = src[i] == '-';
+				i++;
+			}
+			int exp = 0;
+			int expStart = i;
+			for(; i < stop && src[i] >= '0' && src[i] <= '9'; i++) {
+				if(exp < 100_000) {
+					exp = exp * 10 + (src[i] - '0');
+				}
+			}
+			hasDigits = i > expStart;
+			exp10 += (expNegative ? -exp : exp);
+		}
+		if(i != stop || !hasDigits || digits > 19) {
+			return NOT_DECIMAL;
+		}
+
+		long bits;
+		if(isDouble) {
+			if(mantissa == 0 || exp10 < Q_MIN) {
+				bits = 0;
+			}
+			else if(exp10 > Q_MAX) {
+				bits = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+			}
+			else if(mantissa >= 0 && mantissa < (1L << 53) && exp10 >= -22 && exp10 <= 22) {
+				// both values are exact, so the single multiply or divide is correctly rounded
+				bits = Double.doubleToRawLongBits(exp10 < 0 ? mantissa / DOUBLE_POW10[-exp10] : mantissa * DOUBLE_POW10[exp10]);
+			}
+			else {
+				bits = eiselLemire(mantissa, exp10, 52, -1023, -4, 23, 0x7FF);
+			}
+			return negative ? bits | Long.MIN_VALUE : bits;
+		}
+		else {
+			if(mantissa == 0 || exp10 < -65) {
+				bits = 0;
+			}
+			else if(exp10 > 38) {
+				bits = Float.floatToRawIntBits(Float.POSITIVE_INFINITY);
+			}
+			else if(mantissa >= 0 && mantissa < (1 << 24) && exp10 >= -10 && exp10 <= 10) {
+				bits = Float.floatToRawIntBits(exp10 < 0 ? mantissa / FLOAT_POW10[-exp10] : mantissa * FLOAT_POW10[exp10]);
+			}
+			else {
+				bits = eiselLemire(mantissa, exp10, 23, -127, -17, 10, 0xFF);
+			}
+			return negative ? bits | (1L << 31) : bits;
+		}
+	}
+
+
+	/** Compute the closest binary floating point value to w 10<sup>q</sup> using the Eisel-Lemire algorithm,
+	 * which is exact for any w below 2<sup>64</sup> (N. Mushtak, D. Lemire, "Fast Number Parsing Without Fallback")
+	 * @param w the non-zero unsigned decimal mantissa
+	 * @param q the decimal exponent, in [{@link #Q_MIN}, {@link #Q_MAX}]
+	 * @param mantissaBits the number of explicit mantissa bits of the binary format
+	 * @param minExponent the binary format's exponent bias, negated
+	 * @param minRoundToEven the smallest q for which w 10<sup>q</sup> can be exactly halfway between two values
+	 * @param maxRoundToEven the largest q for which w 10<sup>q</sup> can be exactly halfway between two values
+	 * @param infinitePower the biased exponent of infinity
+	 * @return the unsigned IEEE 754 bits of the result
+	 */
+	private static long eiselLemire(long w, int q, int mantissaBits, int minExponent, int minRoundToEven, int maxRoundToEven, int infinitePower) {
+		int lz = Long.numberOfLeadingZeros(w);
+		w <<= lz;
+		int idx = 2 * (q - Q_MIN);
+		long hi = unsignedMultiplyHigh(w, POW5[idx]);
+		long lo = w * POW5[idx];
+		long precisionMask = -1L >>> (mantissaBits + 3);
+		// the bits below the result's precision are all ones, the truncated product might be too small, so add the next 64 bits
+		if((hi & precisionMask) == precisionMask) {
+			long hi2 = unsignedMultiplyHigh(w, POW5[idx + 1]);
+			lo += hi2;
+			if(Long.compareUnsigned(hi2, lo) > 0) {
+				hi++;
+			}
+		}
+		int upperBit = (int)(hi >>> 63);
+		int shift = upperBit + 64 - mantissaBits - 3;
+		long mantissa = hi >>> shift;
+		// floor(log2(10^q)) + 63, see the paper
+		int power2 = (((152170 + 65536) * q) >> 16) + 63 + upperBit - lz - minExponent;
+
+		// subnormal
+		if(power2 <= 0) {
+			if(-power2 + 1 >= 64) {
+				return 0;
+			}
+			mantissa >>>= -power2 + 1;
+			mantissa += (mantissa & 1);
+			mantissa >>>= 1;
+			power2 = (mantissa < (1L << mantissaBits) ? 0 : 1);
+			return mantissa | ((long)power2 << mantissaBits);
+		}
+		// exactly halfway between two values, round to even instead of up
+		if(Long.compareUnsigned(lo, 1) <= 0 && q >= minRoundToEven && q <= maxRoundToEven && (mantissa & 3) == 1 &&
+				(mantissa << shift) == hi) {
+			mantissa &= ~1L;
+		}
+		mantissa += (mantissa & 1);
+		mantissa >>>= 1;
+		if(mantissa >= (2L << mantissaBits)) {
+			mantissa = (1L << mantissaBits);
+			power2++;
+		}
+		mantissa &= ~(1L << mantissaBits);
+		if(power2 >= infinitePower) {
+			return (long)infinitePower << mantissaBits;
+		}
+		return mantissa | ((long)power2 << mantissaBits);
+	}
+
+
+	private static long unsignedMultiplyHigh(long a, long b) {
+		return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+	}
+
+
+	private static int trimStart(char[] src, int off, int end) {
+		while(off < end && src[off] <= ' ') {
+			off++;
+		}
+		return off;
+	}
+
+
+	private static int trimEnd(char[] src, int off, int end) {
+		while(end > off && src[end - 1] <= ' ') {
+			end--;
+		}
+		return end;
+	}
+
+}
@@ -3,6 +3,7 @@ package twg2.io.serialize.base.reader;
 import java.io.IOException;
 
 import twg2.io.serialize.base.DataElement;
+import twg2.io.serialize.base.FieldName;
 
 /**
  * @author TeamworkGuy2
@@ -131,4 +132,84 @@ public interface PrimitiveReader {
 	 */
 	public String getCurrentName();
 
+
+	/** Read a boolean element by its pre-encoded name, by default this reads the name's string.
+	 * @see #readBoolean(String)
+	 */
+	public default boolean readBooleanField(FieldName name) throws IOException {
+		return readBoolean(name.getName());
+	}
+
+
+	/** Read a byte element by its pre-encoded name, by default this reads the name's string.
+	 * @see #readByte(String)
+	 */
+	public default byte readByteField(FieldName name) throws IOException {
+		return readByte(name.getName());
+	}
+
+
+	/** Read a char element by its pre-encoded name, by default this reads the name's string.
+	 * @see #readChar(String)
+	 */
+	public default char readCharField(FieldName name) throws IOException {
+		return readChar(name.getName());
+	}
+
+
+	/** Read a double element by its pre-encoded name, by default this reads the name's string.
+	 * @see #readDouble(String)
+	 */
+	public default double readDoubleField(FieldName name) throws IOException {
+		return readDouble(name.getName());
+	}
+
+
+	/** Read a float element by its pre-encoded name, by default this reads the name's string.
+	 * @see #readFloat(String)
+	 */
+	public default float readFloatField(FieldName name) throws IOException {
+		return readFloat(name.getName());
+	}
+
+
+	/** Read a int element by its pre-encoded name, by default this reads the name's string.
+	 * @see #readInt(String)
+	 */
+	public default int readIntField(FieldName name) throws IOException {
+		return readInt(name.getName());
+	}
+
+
+	/** Read a long element by its pre-encoded name, by default this reads the name's string.
+	 * @see #readLong(String)
+	 */
+	public default long readLongField(FieldName name) throws IOException {
+		return readLong(name.getName());
+	}
+
+
+	/** Read a short element by its pre-encoded name, by default this reads the name's string.
+	 * @see #readShort(String)
+	 */
+	public default short readShortField(FieldName name) throws IOException {
+		return readShort(name.getName());
+	}
+
+
+	/** Read a String element by its pre-encoded name, by default this reads the name's string.
+	 * @see #readString(String)
+	 */
+	public default String readStringField(FieldName name) throws IOException {
+		return readString(name.getName());
+	}
+
+
+	/** Read an opening block by its pre-encoded name, by default this reads the name's string.
+	 * @see #readStartBlock(String)
+	 */
+	public default DataElement readStartBlockField(FieldName name) throws IOException {
+		return readStartBlock(name.getName());
+	}
+
 }
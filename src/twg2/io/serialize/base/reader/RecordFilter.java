@@ -0,0 +1,83 @@
+package twg2.io.serialize.base.reader;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/** A set of {@link FieldPredicate FieldPredicates} that records read from a {@link DataTransferInput} stream must pass.
+ * Predicates apply to the fields directly inside a record, multiple predicates on the same field must all pass.<br>
+ * See {@link DataTransferInput#setRecordFilter(RecordFilter)} and
+ * {@link twg2.io.serialize.base.DataTransferableFactory#readBlock(DataTransferInput, String, twg2.io.serialize.base.DataTransferFactory, RecordFilter) DataTransferableFactory.readBlock()}
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class RecordFilter {
+	private final Map<String, FieldPredicate[]> predicates;
+
+
+	public RecordFilter(FieldPredicate... predicates) {
+		this.predicates = new HashMap<>();
+		for(FieldPredicate pred : predicates) {
+			FieldPredicate[] existing = this.predicates.get(pred.getName());
+			if(existing == null) {
+				existing = new FieldPredicate[] { pred };
+			}
+			else {
+				existing = Arrays.copyOf(existing, existing.length + 1);
+				existing[existing.length - 1] = pred;
+			}
+			this.predicates.put(pred.getName(), existing);
+		}
+	}
+
+
+	/**
+	 * @param name the field name
+	 * @return true if this filter has a predicate for the field
+	 */
+	public boolean hasPredicate(String name) {
+		return predicates.containsKey(name);
+	}
+
+
+	/** Test a record field's value against this filter's predicates
+	 * @param name the field name
+	 * @param value the field's raw text value
+	 * @return true if the field passes all of this filter's predicates for the field name (or there are none),
+	 * false if the record should be skipped
+	 */
+	public boolean test(String name, CharSequence value) {
+		FieldPredicate[] preds = predicates.get(name);
+		if(preds != null) {
+			for(FieldPredicate pred : preds) {
+				if(!pred.test(value)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+
+	/** Test a record field and throw a {@link RecordRejectedException} if it fails
+	 * @see #test(String, CharSequence)
+	 */
+	public void check(String name, CharSequence value) {
+		if(!test(name, value)) {
+			throw new RecordRejectedException(name);
+		}
+	}
+
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for(FieldPredicate[] preds : predicates.values()) {
+			for(FieldPredicate pred : preds) {
+				sb.append(sb.length() > 0 ? " && " : "").append(pred);
+			}
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,34 @@
+package twg2.io.serialize.base.reader;
+
+/** Thrown by a {@link DataTransferInput} read method when the field being read fails the stream's {@link RecordFilter}.
+ * The remainder of the record can be skipped by calling {@link DataTransferInput#skipRecord()}.<br>
+ * This exception is used for control flow, so it does not record a stack trace.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class RecordRejectedException extends RuntimeException {
+	private static final long serialVersionUID = 6317005318392610114L;
+
+	private final String fieldName;
+
+
+	public RecordRejectedException(String fieldName) {
+		super(null, null, false, false);
+		this.fieldName = fieldName;
+	}
+
+
+	@Override
+	public String getMessage() {
+		return "record rejected by field '" + fieldName + "'";
+	}
+
+
+	/**
+	 * @return the name of the field which failed the record filter
+	 */
+	public String getFieldName() {
+		return fieldName;
+	}
+
+}
@@ -0,0 +1,238 @@
+package twg2.io.serialize.base.reader;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/** A bounded cache of canonical strings, looked up by char or UTF-8 byte slices so that a value which is already cached
+ * is returned without creating a new {@link String}.<br>
+ * Set on a {@link DataTransferInput} with {@link DataTransferInput#setStringCache(StringCache)} to deduplicate values which
+ * repeat many times in a stream, such as enum-like fields and map keys, so every occurrence shares one instance.<br>
+ * The cache holds at most {@code capacity} strings, when it is full a slot is reused using the clock (second chance) algorithm:
+ * a hit marks the string as referenced and the clock hand skips and clears referenced strings before evicting one.
+ * Values longer than {@code maxLength} are never cached.<br>
+ * This class is not thread safe, a cache can be shared by readers used on the same thread.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class StringCache {
+	public static final int DEFAULT_CAPACITY = 4096;
+	public static final int DEFAULT_MAX_LENGTH = 64;
+
+	private final int capacity;
+	private final int maxLength;
+	private final int mask;
+	/** the first slot in each hash bucket, -1 if the bucket is empty */
+	private final int[] buckets;
+	// parallel arrays indexed by slot
+	private final String[] values;
+	private final int[] hashes;
+	/** the next slot in the same bucket, -1 at the end of the chain */
+	private final int[] next;
+	private final boolean[] referenced;
+	private int size;
+	private int hand;
+
+
+	/** Create a cache of {@link #DEFAULT_CAPACITY} strings up to {@link #DEFAULT_MAX_LENGTH} chars long
+	 */
+	public StringCache() {
+		this(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+	}
+
+
+	/**
+	 * @param capacity the maximum number of strings cached
+	 * @param maxLength the maximum length, in chars or bytes, of values which are cached
+	 */
+	public StringCache(int capacity, int maxLength) {
+		if(capacity < 1) {
+			throw new IllegalArgumentException("capacity must be positive, found " + capacity);
+		}
+		if(maxLength < 0) {
+			throw new IllegalArgumentException("max length must not be negative, found " + maxLength);
+		}
+		int bucketCount = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+		this.capacity = capacity;
+		this.maxLength = maxLength;
+		this.mask = bucketCount - 1;
+		this.buckets = new int[bucketCount];
+		this.values = new String[capacity];
+		this.hashes = new int[capacity];
+		this.next = new int[capacity];
+		this.referenced = new boolean[capacity];
+		clear();
+	}
+
+
+	/**
+	 * @return the number of strings in the cache
+	 */
+	public int size() {
+		return size;
+	}
+
+
+	/** Remove all strings from the cache
+	 */
+	public void clear() {
+		Arrays.fill(buckets, -1);
+		Arrays.fill(values, null);
+		size = 0;
+		hand = 0;
+	}
+
+
+	/** Get the canonical string equal to a char slice, creating and caching it if it is not in the cache
+	 * @param chars the chars
+	 * @param off the offset of the slice in {@code chars}
+	 * @param len the number of chars in the slice
+	 * @return a string equal to the slice, the same instance for each call with equal chars while the string remains cached
+	 */
+	public String get(char[] chars, int off, int len) {
+		if(len == 0) {
+			return "";
+		}
+		if(len > maxLength) {
+			return new String(chars, off, len);
+		}
+		int hash = 0;
+		for(int i = off, end = off + len; i < end; i++) {
+			hash = 31 * hash + chars[i];
+		}
+		for(int slot = buckets[hash & mask]; slot != -1; slot = next[slot]) {
+			if(hashes[slot] == hash && equals(values[slot], chars, off, len)) {
+				referenced[slot] = true;
+				return values[slot];
+			}
+		}
+		String str = new String(chars, off, len);
+		add(str, hash);
+		return str;
+	}
+
+
+	/** Get the canonical string decoded from a UTF-8 byte slice, decoding and caching it if it is not in the cache.
+	 * ASCII slices are looked up without being decoded
+	 * @param utf8 the UTF-8 bytes
+	 * @param off the offset of the slice in {@code utf8}
+	 * @param len the number of bytes in the slice
+	 * @return the decoded string, the same instance for each call with equal bytes while the string remains cached
+	 */
+	public String get(byte[] utf8, int off, int len) {
+		if(len == 0) {
+			return "";
+		}
+		if(len > maxLength) {
+			return new String(utf8, off, len, StandardCharsets.UTF_8);
+		}
+		int hash = 0;
+		for(int i = off, end = off + len; i < end; i++) {
+			byte b = utf8[i];
+			if(b < 0) {
+				// non-ASCII, the chars are only known after decoding
+				return get(new String(utf8, off, len, StandardCharsets.UTF_8));
+			}
+			hash = 31 * hash + b;
+		}
+		for(int slot = buckets[hash & mask]; slot != -1; slot = next[slot]) {
+			if(hashes[slot] == hash && equals(values[slot], utf8, off, len)) {
+				referenced[slot] = true;
+				return values[slot];
+			}
+		}
+		String str = new String(utf8, off, len, StandardCharsets.ISO_8859_1);
+		add(str, hash);
+		return str;
+	}
+
+
+	/** Get the canonical string equal to {@code str}, caching {@code str} if an equal string is not in the cache
+	 * @return the cached string equal to {@code str}, or {@code str}
+	 */
+	public String get(String str) {
+		int len = str.length();
+		if(len == 0 || len > maxLength) {
+			return str;
+		}
+		int hash = str.hashCode();
+		for(int slot = buckets[hash & mask]; slot != -1; slot = next[slot]) {
+			if(hashes[slot] == hash && values[slot].equals(str)) {
+				referenced[slot] = true;
+				return values[slot];
+			}
+		}
+		add(str, hash);
+		return str;
+	}
+
+
+	private void add(String str, int hash) {
+		int slot;
+		if(size < capacity) {
+			slot = size++;
+		}
+		else {
+			slot = evict();
+		}
+		int bucket = hash & mask;
+		values[slot] = str;
+		hashes[slot] = hash;
+		referenced[slot] = false;
+		next[slot] = buckets[bucket];
+		buckets[bucket] = slot;
+	}
+
+
+	/** Advance the clock hand to the first unreferenced slot, clearing the referenced slots it passes, and unlink that slot's string
+	 * @return the free slot
+	 */
+	private int evict() {
+		while(referenced[hand]) {
+			referenced[hand] = false;
+			hand = (hand + 1 == capacity ? 0 : hand + 1);
+		}
+		int slot = hand;
+		hand = (hand + 1 == capacity ? 0 : hand + 1);
+
+		int bucket = hashes[slot] & mask;
+		if(buckets[bucket] == slot) {
+			buckets[bucket] = next[slot];
+		}
+		else {
+			int prev = buckets[bucket];
+			while(next[prev] != slot) {
+				prev = next[prev];
+			}
+			next[prev] = next[slot];
+		}
+		values[slot] = null;
+		return slot;
+	}
+
+
+	private static boolean equals(String str, char[] chars, int off, int len) {
+		if(str.length() != len) {
+			return false;
+		}
+		for(int i = 0; i < len; i++) {
+			if(str.charAt(i) != chars[off + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	private static boolean equals(String str, byte[] ascii, int off, int len) {
+		if(str.length() != len) {
+			return false;
+		}
+		for(int i = 0; i < len; i++) {
+			if(str.charAt(i) != ascii[off + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -2,6 +2,8 @@ package twg2.io.serialize.base.writer;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 
 /** Output stream interface that allows arbitrary output data to be written to
  * an arbitrary output stream.
@@ -27,4 +29,39 @@ public interface DataTransferOutput extends PrimitiveWriter, /* TODO at some poi
 	 */
 	public void write(String name, byte[] b, int off, int len) throws IOException;
 
+
+	/** Write the remaining bytes of a stream as a binary element.
+	 * Where the format allows, the bytes are copied in chunks as they are read, so large values are never held in memory as a whole.
+	 * The default implementation reads all of {@code src} and writes it with {@link #write(String, byte[])}.
+	 * @param name the name of the element to write
+	 * @param src the stream to copy into the element, it is read until it ends but not closed
+	 * @return the number of bytes read from {@code src}
+	 * @throws IOException if there is an IO error while reading from {@code src} or writing to the output stream
+	 */
+	public default long writeBinary(String name, InputStream src) throws IOException {
+		byte[] b = src.readAllBytes();
+		write(name, b);
+		return b.length;
+	}
+
+
+	/** Write the remaining chars of a reader as a string element.
+	 * Where the format allows, the chars are copied in chunks as they are read, so large values are never held in memory as a whole.
+	 * The default implementation reads all of {@code src} and writes it with {@link #writeString(String, String)}.
+	 * @param name the name of the element to write
+	 * @param src the reader to copy into the element, it is read until it ends but not closed
+	 * @return the number of chars read from {@code src}
+	 * @throws IOException if there is an IO error while reading from {@code src} or writing to the output stream
+	 */
+	public default long writeString(String name, Reader src) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		char[] chunk = new char[4096];
+		int n;
+		while((n = src.read(chunk, 0, chunk.length)) >= 0) {
+			sb.append(chunk, 0, n);
+		}
+		writeString(name, sb.toString());
+		return sb.length();
+	}
+
 }
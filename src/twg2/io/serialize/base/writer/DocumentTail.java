@@ -0,0 +1,112 @@
+package twg2.io.serialize.base.writer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/** Reads the bytes at the end of a document backwards through a {@link FileChannel}.
+ * Used by writers that append to an existing document to find the closing tokens they reopen,
+ * only the blocks between the end of the file and the earliest byte examined are read,
+ * so the cost does not depend on the size of the document.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class DocumentTail {
+	private static final String WHITESPACE = " \t\r\n";
+
+	private final FileChannel channel;
+	private final ByteBuffer buf = ByteBuffer.allocate(4096);
+	/** the file offset of {@link #buf}'s first byte */
+	private long bufOffset;
+	/** the file offset after the next byte returned by {@link #prev()} */
+	private long position;
+
+
+	/**
+	 * @param channel the document to read, starting from its end
+	 * @throws IOException if the channel's size cannot be read
+	 */
+	public DocumentTail(FileChannel channel) throws IOException {
+		this.channel = channel;
+		this.position = channel.size();
+		this.bufOffset = position;
+		this.buf.limit(0);
+	}
+
+
+	/**
+	 * @return the file offset after the next byte {@link #prev()} returns, this is the offset
+	 * of the last byte read since bytes are read backwards
+	 */
+	public long position() {
+		return position;
+	}
+
+
+	/** Read the byte before the current position and move the position back by one
+	 * @return the byte, or -1 if the start of the file has been reached
+	 * @throws IOException if there is an error reading the file
+	 */
+	public int prev() throws IOException {
+		if(position == 0) {
+			return -1;
+		}
+		if(position <= bufOffset) {
+			fill();
+		}
+		position--;
+		return buf.get((int)(position - bufOffset)) & 0xFF;
+	}
+
+
+	/**
+	 * @return the byte before the current position without moving the position, or -1 if the start of the file has been reached
+	 * @throws IOException if there is an error reading the file
+	 */
+	public int peekPrev() throws IOException {
+		int b = prev();
+		if(b != -1) {
+			position++;
+		}
+		return b;
+	}
+
+
+	/** Move the position back over any whitespace
+	 * @return the new position
+	 * @throws IOException if there is an error reading the file
+	 */
+	public long skipWhitespace() throws IOException {
+		return skip(WHITESPACE);
+	}
+
+
+	/** Move the position back over any bytes matching one of the (ASCII) chars in {@code chars}
+	 * @return the new position
+	 * @throws IOException if there is an error reading the file
+	 */
+	public long skip(String chars) throws IOException {
+		int b;
+		while((b = peekPrev()) != -1 && chars.indexOf(b) > -1) {
+			position--;
+		}
+		return position;
+	}
+
+
+	/** Read the block of the file ending at {@link #position}
+	 */
+	private void fill() throws IOException {
+		long start = Math.max(0, position - buf.capacity());
+		buf.clear();
+		buf.limit((int)(position - start));
+		while(buf.hasRemaining()) {
+			if(channel.read(buf, start + buf.position()) < 0) {
+				throw new EOFException("file truncated while reading its end, expected " + position + " bytes");
+			}
+		}
+		bufOffset = start;
+	}
+
+}
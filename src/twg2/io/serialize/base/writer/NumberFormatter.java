@@ -0,0 +1,417 @@
+package twg2.io.serialize.base.writer;
+
+import java.math.BigInteger;
+
+/** Static methods for formatting numbers directly into a {@code char[]} without allocating strings.<br>
+ * Integers are written two digits at a time using a digit pair table.
+ * Doubles and floats are written using the Schubfach algorithm (R. Giulietti, "The Schubfach way to render doubles"),
+ * which produces the shortest decimal that parses back to the same value.
+ * The output uses the same layout as {@link Double#toString(double)}: plain notation for magnitudes in [10<sup>-3</sup>, 10<sup>7</sup>)
+ * and computerized scientific notation, such as {@code 1.25E-7}, otherwise.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class NumberFormatter {
+	/** the maximum number of chars written by any of the format methods */
+	public static final int MAX_LENGTH = 26;
+
+	private static final char[] DIGIT_PAIRS = new char[200];
+	private static final long[] POW10 = new long[19];
+	private static final char[] LONG_MIN = Long.toString(Long.MIN_VALUE).toCharArray();
+
+	// double and float constants used by the Schubfach algorithm
+	private static final int DOUBLE_P = 53;
+	private static final int DOUBLE_Q_MIN = -1074;
+	private static final long DOUBLE_C_MIN = 1L << (DOUBLE_P - 1);
+	private static final int DOUBLE_C_TINY = 3;
+	private static final int FLOAT_P = 24;
+	private static final int FLOAT_Q_MIN = -149;
+	private static final int FLOAT_C_MIN = 1 << (FLOAT_P - 1);
+	private static final int FLOAT_C_TINY = 8;
+	private static final long MASK_63 = (1L << 63) - 1;
+	private static final long MASK_32 = (1L << 32) - 1;
+
+	/** the range of decimal exponents k of the {@link #G} table */
+	private static final int K_MIN = -324;
+	private static final int K_MAX = 292;
+	/** g1 and g0 for each k in [K_MIN, K_MAX], where g1 2<sup>63</sup> + g0 = floor(10<sup>-k</sup> 2<sup>-r</sup>) + 1
+	 * and r = flog2pow10(-k) - 125, so 2<sup>125</sup> &lt;= g &lt; 2<sup>126</sup> */
+	private static final long[] G = new long[2 * (K_MAX - K_MIN + 1)];
+
+	static {
+		for(int i = 0; i < 100; i++) {
+			DIGIT_PAIRS[i * 2] = (char)('0' + i / 10);
+			DIGIT_PAIRS[i * 2 + 1] = (char)('0' + i % 10);
+		}
+		long p = 1;
+		for(int i = 0; i < POW10.length; i++) {
+			POW10[i] = p;
+			p *= 10;
+		}
+		BigInteger mask63 = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+		for(int k = K_MIN; k <= K_MAX; k++) {
+			int shift = 125 - flog2pow10(-k);
+			BigInteger g;
+			if(k <= 0) {
+				BigInteger pow = BigInteger.TEN.pow(-k);
+				g = (shift >= 0 ? pow.shiftLeft(shift) : pow.shiftRight(-shift));
+			}
+			else {
+				g = BigInteger.ONE.shiftLeft(shift).divide(BigInteger.TEN.pow(k));
+			}
+			g = g.add(BigInteger.ONE);
+			int i = 2 * (k - K_MIN);
+			G[i] = g.shiftRight(63).longValue();
+			G[i + 1] = g.and(mask63).longValue();
+		}
+	}
+
+
+	private NumberFormatter() { throw new AssertionError("cannot instantiate static class NumberFormatter"); }
+
+
+	/** Write the decimal digits of an int
+	 * @param v the value to format
+	 * @param dst the destination, must have room for 11 chars at {@code off}
+	 * @param off the offset in {@code dst} at which to write the value
+	 * @return the offset after the last char written
+	 */
+	public static int formatInt(int v, char[] dst, int off) {
+		return formatLong(v, dst, off);
+	}
+
+
+	/** Write the decimal digits of a long
+	 * @param v the value to format
+	 * @param dst the destination, must have room for 20 chars at {@code off}
+	 * @param off the offset in {@code dst} at which to write the value
+	 * @return the offset after the last char written
+	 */
+	public static int formatLong(long v, char[] dst, int off) {
+		if(v < 0) {
+			if(v == Long.MIN_VALUE) {
+				System.arraycopy(LONG_MIN, 0, dst, off, LONG_MIN.length);
+				return off + LONG_MIN.length;
+			}
+			dst[off++] = '-';
+			v = -v;
+		}
+		int len = digitCount(v);
+		writeDigits(v, dst, off, len);
+		return off + len;
+	}
+
+
+	/** Write the shortest decimal representation of a double which parses back to the same value
+	 * @param v the value to format
+	 * @param dst the destination, must have room for {@link #MAX_LENGTH} chars at {@code off}
+	 * @param off the offset in {@code dst} at which to write the value
+	 * @return the offset after the last char written
+	 */
+	public static int formatDouble(double v, char[] dst, int off) {
+		long bits = Double.doubleToRawLongBits(v);
+		long t = bits & (DOUBLE_C_MIN - 1);
+		int bq = (int)(bits >>> (DOUBLE_P - 1)) & 0x7FF;
+		if(bq == 0x7FF) {
+			return special(t != 0 ? "NaN" : (bits > 0 ? "Infinity" : "-Infinity"), dst, off);
+		}
+		if(bits < 0) {
+			dst[off++] = '-';
+		}
+		if(bq != 0) {
+			// normal value
+			int mq = -DOUBLE_Q_MIN + 1 - bq;
+			long c = DOUBLE_C_MIN | t;
+			// integers which fit in the significand are exact
+			if(0 < mq && mq < DOUBLE_P) {
+				long f = c >> mq;
+				if(f << mq == c) {
+					return toChars(f, 0, dst, off);
+				}
+			}
+			return toDecimal(-mq, c, 0, dst, off);
+		}
+		if(t != 0) {
+			// subnormal value
+			return (t < DOUBLE_C_TINY ? toDecimal(DOUBLE_Q_MIN, 10 * t, -1, dst, off) : toDecimal(DOUBLE_Q_MIN, t, 0, dst, off));
+		}
+		return special("0.0", dst, off);
+	}
+
+
+	/** Write the shortest decimal representation of a float which parses back to the same value
+	 * @param v the value to format
+	 * @param dst the destination, must have room for {@link #MAX_LENGTH} chars at {@code off}
+	 * @param off the offset in {@code dst} at which to write the value
+	 * @return the offset after the last char written
+	 */
+	public static int formatFloat(float v, char[] dst, int off) {
+		int bits = Float.floatToRawIntBits(v);
+		int t = bits & (FLOAT_C_MIN - 1);
+		int bq = (bits >>> (FLOAT_P - 1)) & 0xFF;
+		if(bq == 0xFF) {
+			return special(t != 0 ? "NaN" : (bits > 0 ? "Infinity" : "-Infinity"), dst, off);
+		}
+		if(bits < 0) {
+			dst[off++] = '-';
+		}
+		if(bq != 0) {
+			// normal value
+			int mq = -FLOAT_Q_MIN + 1 - bq;
+			int c = FLOAT_C_MIN | t;
+			// integers which fit in the significand are exact
+			if(0 < mq && mq < FLOAT_P) {
+				int f = c >> mq;
+				if(f << mq == c) {
+					return toChars(f, 0, dst, off);
+				}
+			}
+			return toDecimal(-mq, c, 0, dst, off);
+		}
+		if(t != 0) {
+			// subnormal value
+			return (t < FLOAT_C_TINY ? toDecimal(FLOAT_Q_MIN, 10 * t, -1, dst, off) : toDecimal(FLOAT_Q_MIN, t, 0, dst, off));
+		}
+		return special("0.0", dst, off);
+	}
+
+
+	/** Find the shortest decimal in the rounding interval of the double c 2<sup>q</sup> and write it
+	 */
+	private static int toDecimal(int q, long c, int dk, char[] dst, int off) {
+		int out = (int)c & 0x1;
+		long cb = c << 2;
+		long cbr = cb + 2;
+		long cbl;
+		int k;
+		if(c != DOUBLE_C_MIN || q == DOUBLE_Q_MIN) {
+			// regular spacing
+			cbl = cb - 2;
+			k = flog10pow2(q);
+		}
+		else {
+			// irregular spacing, c is a power of 2 so the interval below it is half as wide
+			cbl = cb - 1;
+			k = flog10threeQuartersPow2(q);
+		}
+		int h = q + flog2pow10(-k) + 2;
+
+		int gi = 2 * (k - K_MIN);
+		long g1 = G[gi];
+		long g0 = G[gi + 1];
+
+		long vb = rop(g1, g0, cb << h);
+		long vbl = rop(g1, g0, cbl << h);
+		long vbr = rop(g1, g0, cbr << h);
+
+		long s = vb >> 2;
+		if(s >= 100) {
+			// s' = floor(s / 10), check whether a decimal with one less digit is in the rounding interval
+			long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+			long tp10 = sp10 + 10;
+			boolean upin = vbl + out <= sp10 << 2;
+			boolean wpin = (tp10 << 2) + out <= vbr;
+			if(upin != wpin) {
+				return toChars(upin ? sp10 : tp10, k, dst, off);
+			}
+		}
+
+		long t = s + 1;
+		boolean uin = vbl + out <= s << 2;
+		boolean win = (t << 2) + out <= vbr;
+		if(uin != win) {
+			return toChars(uin ? s : t, k + dk, dst, off);
+		}
+		// both are in the rounding interval, pick the closest, ties go to the even one
+		long cmp = vb - ((s + t) << 1);
+		return toChars(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, dst, off);
+	}
+
+
+	/** Find the shortest decimal in the rounding interval of the float c 2<sup>q</sup> and write it
+	 */
+	private static int toDecimal(int q, int c, int dk, char[] dst, int off) {
+		int out = c & 0x1;
+		long cb = (long)c << 2;
+		long cbr = cb + 2;
+		long cbl;
+		int k;
+		if(c != FLOAT_C_MIN || q == FLOAT_Q_MIN) {
+			cbl = cb - 2;
+			k = flog10pow2(q);
+		}
+		else {
+			cbl = cb - 1;
+			k = flog10threeQuartersPow2(q);
+		}
+		int h = q + flog2pow10(-k) + 33;
+
+		// the high 63 bits of the double table entry are enough for floats
+		long g = G[2 * (k - K_MIN)] + 1;
+
+		int vb = rop(g, cb << h);
+		int vbl = rop(g, cbl << h);
+		int vbr = rop(g, cbr << h);
+
+		int s = vb >> 2;
+		if(s >= 100) {
+			int sp10 = 10 * (int)(s * 1_717_986_919L >>> 34);
+			int tp10 = sp10 + 10;
+			boolean upin = vbl + out <= sp10 << 2;
+			boolean wpin = (tp10 << 2) + out <= vbr;
+			if(upin != wpin) {
+				return toChars(upin ? sp10 : tp10, k, dst, off);
+			}
+		}
+
+		int t = s + 1;
+		boolean uin = vbl + out <= s << 2;
+		boolean win = (t << 2) + out <= vbr;
+		if(uin != win) {
+			return toChars(uin ? s : t, k + dk, dst, off);
+		}
+		int cmp = vb - ((s + t) << 1);
+		return toChars(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, dst, off);
+	}
+
+
+	/** Round to odd of cp g 2<sup>-127</sup>, where g = g1 2<sup>63</sup> + g0
+	 */
+	private static long rop(long g1, long g0, long cp) {
+		long x1 = Math.multiplyHigh(g0, cp);
+		long y0 = g1 * cp;
+		long y1 = Math.multiplyHigh(g1, cp);
+		long z = (y0 >>> 1) + x1;
+		long vbp = y1 + (z >>> 63);
+		return vbp | ((z & MASK_63) + MASK_63) >>> 63;
+	}
+
+
+	/** Round to odd of cp g 2<sup>-95</sup>
+	 */
+	private static int rop(long g, long cp) {
+		long x1 = Math.multiplyHigh(g, cp);
+		long vbp = x1 >>> 31;
+		return (int)(vbp | ((x1 & MASK_32) + MASK_32) >>> 32);
+	}
+
+
+	/** Write the decimal f 10<sup>e</sup> using the same layout as {@link Double#toString(double)}
+	 * @param f the decimal's significand, greater than 0
+	 * @param e the decimal's exponent
+	 */
+	private static int toChars(long f, int e, char[] dst, int off) {
+		while(f % 10 == 0) {
+			f /= 10;
+			e++;
+		}
+		int len = digitCount(f);
+		// the value is 0.d1d2...dlen 10^exp
+		int exp = e + len;
+
+		if(0 < exp && exp <= 7) {
+			// plain notation, 'ddd.ddd' or 'ddd.0'
+			writeDigits(f, dst, off, len);
+			if(len <= exp) {
+				for(int i = len; i < exp; i++) {
+					dst[off + i] = '0';
+				}
+				dst[off + exp] = '.';
+				dst[off + exp + 1] = '0';
+				return off + exp + 2;
+			}
+			System.arraycopy(dst, off + exp, dst, off + exp + 1, len - exp);
+			dst[off + exp] = '.';
+			return off + len + 1;
+		}
+		else if(-3 < exp && exp <= 0) {
+			// plain notation, '0.00ddd'
+			dst[off++] = '0';
+			dst[off++] = '.';
+			for(int i = exp; i < 0; i++) {
+				dst[off++] = '0';
+			}
+			writeDigits(f, dst, off, len);
+			return off + len;
+		}
+		else {
+			// scientific notation, 'd.dddE-ee' or 'd.0Eee'
+			writeDigits(f, dst, off + 1, len);
+			dst[off] = dst[off + 1];
+			dst[off + 1] = '.';
+			if(len == 1) {
+				dst[off + 2] = '0';
+				off += 3;
+			}
+			else {
+				off += len + 1;
+			}
+			dst[off++] = 'E';
+			int sciExp = exp - 1;
+			if(sciExp < 0) {
+				dst[off++] = '-';
+				sciExp = -sciExp;
+			}
+			int expLen = digitCount(sciExp);
+			writeDigits(sciExp, dst, off, expLen);
+			return off + expLen;
+		}
+	}
+
+
+	/** Write the {@code len} digits of a non-negative value, two digits at a time from right to left
+	 */
+	private static void writeDigits(long v, char[] dst, int off, int len) {
+		int pos = off + len;
+		while(v >= 100) {
+			long q = v / 100;
+			int r = (int)(v - q * 100) << 1;
+			v = q;
+			dst[--pos] = DIGIT_PAIRS[r + 1];
+			dst[--pos] = DIGIT_PAIRS[r];
+		}
+		int r = (int)v << 1;
+		dst[--pos] = DIGIT_PAIRS[r + 1];
+		if(v >= 10) {
+			dst[--pos] = DIGIT_PAIRS[r];
+		}
+	}
+
+
+	/**
+	 * @return the number of decimal digits in a non-negative value
+	 */
+	private static int digitCount(long v) {
+		int len = 1;
+		while(len < POW10.length && v >= POW10[len]) {
+			len++;
+		}
+		return len;
+	}
+
+
+	private static int special(String str, char[] dst, int off) {
+		int len = str.length();
+		str.getChars(0, len, dst, off);
+		return off + len;
+	}
+
+
+	/** floor(log<sub>10</sub>(2<sup>e</sup>)) */
+	private static int flog10pow2(int e) {
+		return (int)(e * 661_971_961_083L >> 41);
+	}
+
+
+	/** floor(log<sub>10</sub>(3/4 2<sup>e</sup>)) */
+	private static int flog10threeQuartersPow2(int e) {
+		return (int)(e * 661_971_961_083L + -274_743_187_321L >> 41);
+	}
+
+
+	/** floor(log<sub>2</sub>(10<sup>e</sup>)) */
+	private static int flog2pow10(int e) {
+		return (int)(e * 913_124_641_741L >> 38);
+	}
+
+}
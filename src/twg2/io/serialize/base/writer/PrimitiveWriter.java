@@ -2,6 +2,8 @@ package twg2.io.serialize.base.writer;
 
 import java.io.IOException;
 
+import twg2.io.serialize.base.FieldName;
+
 /**
  * @author TeamworkGuy2
  * @since 2015-5-21
@@ -94,4 +96,84 @@ public interface PrimitiveWriter {
 	 */
 	public void writeEndBlock() throws IOException;
 
+
+	/** Write a boolean with a pre-encoded element name, by default this writes the name's string.
+	 * @see #writeBoolean(String, boolean)
+	 */
+	public default void writeBooleanField(FieldName name, boolean v) throws IOException {
+		writeBoolean(name.getName(), v);
+	}
+
+
+	/** Write a byte with a pre-encoded element name, by default this writes the name's string.
+	 * @see #writeByte(String, byte)
+	 */
+	public default void writeByteField(FieldName name, byte v) throws IOException {
+		writeByte(name.getName(), v);
+	}
+
+
+	/** Write a char with a pre-encoded element name, by default this writes the name's string.
+	 * @see #writeChar(String, char)
+	 */
+	public default void writeCharField(FieldName name, char v) throws IOException {
+		writeChar(name.getName(), v);
+	}
+
+
+	/** Write a double with a pre-encoded element name, by default this writes the name's string.
+	 * @see #writeDouble(String, double)
+	 */
+	public default void writeDoubleField(FieldName name, double v) throws IOException {
+		writeDouble(name.getName(), v);
+	}
+
+
+	/** Write a float with a pre-encoded element name, by default this writes the name's string.
+	 * @see #writeFloat(String, float)
+	 */
+	public default void writeFloatField(FieldName name, float v) throws IOException {
+		writeFloat(name.getName(), v);
+	}
+
+
+	/** Write a int with a pre-encoded element name, by default this writes the name's string.
+	 * @see #writeInt(String, int)
+	 */
+	public default void writeIntField(FieldName name, int v) throws IOException {
+		writeInt(name.getName(), v);
+	}
+
+
+	/** Write a long with a pre-encoded element name, by default this writes the name's string.
+	 * @see #writeLong(String, long)
+	 */
+	public default void writeLongField(FieldName name, long v) throws IOException {
+		writeLong(name.getName(), v);
+	}
+
+
+	/** Write a short with a pre-encoded element name, by default this writes the name's string.
+	 * @see #writeShort(String, short)
+	 */
+	public default void writeShortField(FieldName name, short v) throws IOException {
+		writeShort(name.getName(), v);
+	}
+
+
+	/** Write a String with a pre-encoded element name, by default this writes the name's string.
+	 * @see #writeString(String, String)
+	 */
+	public default void writeStringField(FieldName name, String s) throws IOException {
+		writeString(name.getName(), s);
+	}
+
+
+	/** Write an opening block tag with a pre-encoded name, by default this writes the name's string.
+	 * @see #writeStartBlock(String)
+	 */
+	public default void writeStartBlockField(FieldName name) throws IOException {
+		writeStartBlock(name.getName());
+	}
+
 }
@@ -0,0 +1,99 @@
+package twg2.io.serialize.binary;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import twg2.io.serialize.base.reader.StringCache;
+
+/** The per-stream state needed to decode the adaptive {@link BinaryFormat} entries written by {@link BinaryWriter#setAdaptiveEncoding(boolean)}:
+ * the previous value of each {@link BinaryFormat#LONG_DELTA} and {@link BinaryFormat#DOUBLE_XOR} slot and the {@link BinaryFormat#STRING_DEF} dictionary.<br>
+ * Every adaptive entry in a stream must be decoded in order, including entries which are skipped, so the state is kept by
+ * the {@link BinaryBuffer} which both reads and skips entries.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+final class AdaptiveDecoder {
+	private long[] longSlots = new long[16];
+	private int longSlotCount;
+	private long[] doubleSlots = new long[16];
+	private int doubleSlotCount;
+	private String[] dictionary = new String[64];
+	private int dictionarySize;
+
+
+	/** Decode a {@link BinaryFormat#LONG_DELTA} value
+	 */
+	long readLongDelta(BinaryBuffer in) throws IOException {
+		int slot = in.readVarInt();
+		if(slot == longSlotCount) {
+			if(slot == longSlots.length) {
+				longSlots = Arrays.copyOf(longSlots, slot * 2);
+			}
+			longSlotCount++;
+		}
+		else if(slot < 0 || slot > longSlotCount) {
+			throw new IOException("invalid long delta slot " + slot + ", " + longSlotCount + " slots defined");
+		}
+		long v = longSlots[slot] + BinaryFormat.decodeZigZag(in.readVarLong());
+		longSlots[slot] = v;
+		return v;
+	}
+
+
+	/** Decode a {@link BinaryFormat#DOUBLE_XOR} value
+	 */
+	double readDoubleXor(BinaryBuffer in) throws IOException {
+		int slot = in.readVarInt();
+		if(slot == doubleSlotCount) {
+			if(slot == doubleSlots.length) {
+				doubleSlots = Arrays.copyOf(doubleSlots, slot * 2);
+			}
+			doubleSlotCount++;
+		}
+		else if(slot < 0 || slot > doubleSlotCount) {
+			throw new IOException("invalid double XOR slot " + slot + ", " + doubleSlotCount + " slots defined");
+		}
+		in.require(1);
+		int header = in.buf[in.pos++] & 0xFF;
+		int leading = header >>> 4;
+		int trailing = header & 0xF;
+		int n = 8 - leading - trailing;
+		if(n < 0) {
+			throw new IOException("invalid double XOR header " + header);
+		}
+		in.require(n);
+		long xor = 0;
+		for(int i = 0; i < n; i++) {
+			xor = (xor << 8) | (in.buf[in.pos + i] & 0xFF);
+		}
+		in.pos += n;
+		// a shift of 64 would be a no-op, n == 0 means the value did not change
+		long bits = doubleSlots[slot] ^ (n == 0 ? 0 : xor << (trailing << 3));
+		doubleSlots[slot] = bits;
+		return Double.longBitsToDouble(bits);
+	}
+
+
+	/** Decode a {@link BinaryFormat#STRING_DEF} value and add it to the dictionary
+	 */
+	String readStringDef(BinaryBuffer in, StringCache stringCache) throws IOException {
+		String str = in.readUtf8(in.readVarInt(), stringCache);
+		if(dictionarySize == dictionary.length) {
+			dictionary = Arrays.copyOf(dictionary, dictionarySize * 2);
+		}
+		dictionary[dictionarySize++] = str;
+		return str;
+	}
+
+
+	/** Decode a {@link BinaryFormat#STRING_REF} value
+	 */
+	String readStringRef(BinaryBuffer in) throws IOException {
+		int idx = in.readVarInt();
+		if(idx < 0 || idx >= dictionarySize) {
+			throw new IOException("invalid string dictionary index " + idx + ", dictionary size " + dictionarySize);
+		}
+		return dictionary[idx];
+	}
+
+}
@@ -0,0 +1,350 @@
+package twg2.io.serialize.binary;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import twg2.io.serialize.base.reader.StringCache;
+
+/** A byte buffer used to decode {@link BinaryFormat} data, either from a fixed {@code byte[]} region
+ * or refilled from an {@link InputStream}.
+ * When reading from a fixed region, {@link #pos} is an index into the caller's array.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+final class BinaryBuffer {
+	private final InputStream src;
+	byte[] buf;
+	int pos;
+	int limit;
+	/** the state needed to decode and skip adaptive entries, null if adaptive entries are not supported by this buffer's reader */
+	AdaptiveDecoder adaptive;
+
+
+	BinaryBuffer(InputStream src, int bufSize) {
+		this.src = src;
+		this.buf = new byte[bufSize];
+	}
+
+
+	BinaryBuffer(byte[] buf, int off, int len) {
+		this.src = null;
+		this.buf = buf;
+		this.pos = off;
+		this.limit = off + len;
+	}
+
+
+	void close() throws IOException {
+		if(src != null) {
+			src.close();
+		}
+	}
+
+
+	/** Make at least {@code n} bytes available starting at {@link #pos}, compacting or growing the buffer if necessary
+	 * @return false if the end of the input is reached before {@code n} bytes are available
+	 */
+	boolean request(int n) throws IOException {
+		if(limit - pos >= n) {
+			return true;
+		}
+		if(src == null) {
+			return false;
+		}
+		if(pos > 0) {
+			System.arraycopy(buf, pos, buf, 0, limit - pos);
+			limit -= pos;
+			pos = 0;
+		}
+		if(n > buf.length) {
+			buf = Arrays.copyOf(buf, Math.max(n, buf.length * 2));
+		}
+		while(limit < n) {
+			int read = src.read(buf, limit, buf.length - limit);
+			if(read < 0) {
+				return false;
+			}
+			limit += read;
+		}
+		return true;
+	}
+
+
+	void require(int n) throws IOException {
+		if(!request(n)) {
+			throw new EOFException("unexpected end of binary data, expected " + n + " bytes, found " + (limit - pos));
+		}
+	}
+
+
+	/**
+	 * @return the next unsigned byte, or -1 if the end of the input has been reached
+	 */
+	int read() throws IOException {
+		if(pos >= limit && !request(1)) {
+			return -1;
+		}
+		return buf[pos++] & 0xFF;
+	}
+
+
+	byte readByte() throws IOException {
+		if(pos >= limit) {
+			require(1);
+		}
+		return buf[pos++];
+	}
+
+
+	int readVarInt() throws IOException {
+		int res = 0;
+		for(int shift = 0; shift < 35; shift += 7) {
+			byte b = readByte();
+			res |= (b & 0x7F) << shift;
+			if(b >= 0) {
+				return res;
+			}
+		}
+		throw new IOException("malformed varint");
+	}
+
+
+	long readVarLong() throws IOException {
+		long res = 0;
+		for(int shift = 0; shift < 70; shift += 7) {
+			byte b = readByte();
+			res |= (long)(b & 0x7F) << shift;
+			if(b >= 0) {
+				return res;
+			}
+		}
+		throw new IOException("malformed varint");
+	}
+
+
+	int readFixed32() throws IOException {
+		require(4);
+		byte[] b = buf;
+		int i = pos;
+		pos += 4;
+		return (b[i] << 24) | ((b[i + 1] & 0xFF) << 16) | ((b[i + 2] & 0xFF) << 8) | (b[i + 3] & 0xFF);
+	}
+
+
+	long readFixed64() throws IOException {
+		long hi = readFixed32();
+		long lo = readFixed32();
+		return (hi << 32) | (lo & 0xFFFFFFFFL);
+	}
+
+
+	/** Copy up to {@code len} of the next bytes into {@code dst}, at most one refill of the buffer is performed
+	 * @return the number of bytes copied, or -1 if the end of the input has been reached
+	 */
+	int readInto(byte[] dst, int off, int len) throws IOException {
+		if(pos >= limit && !request(1)) {
+			return -1;
+		}
+		int n = Math.min(len, limit - pos);
+		System.arraycopy(buf, pos, dst, off, n);
+		pos += n;
+		return n;
+	}
+
+
+	/** Read the chunks of a {@link BinaryFormat#BYTES_CHUNKS} or {@link BinaryFormat#STRING_CHUNKS} value into a single array
+	 */
+	byte[] readChunks() throws IOException {
+		byte[] res = new byte[0];
+		int len = 0;
+		int chunkLen;
+		while((chunkLen = readVarInt()) > 0) {
+			require(chunkLen);
+			if(len + chunkLen > res.length) {
+				res = Arrays.copyOf(res, Math.max(len + chunkLen, res.length * 2));
+			}
+			System.arraycopy(buf, pos, res, len, chunkLen);
+			pos += chunkLen;
+			len += chunkLen;
+		}
+		return len == res.length ? res : Arrays.copyOf(res, len);
+	}
+
+
+	String readUtf8(int len) throws IOException {
+		require(len);
+		String str = new String(buf, pos, len, StandardCharsets.UTF_8);
+		pos += len;
+		return str;
+	}
+
+
+	/** Read a UTF-8 string, looking it up in a cache instead of decoding it if {@code cache} is not null
+	 */
+	String readUtf8(int len, StringCache cache) throws IOException {
+		if(cache == null) {
+			return readUtf8(len);
+		}
+		require(len);
+		String str = cache.get(buf, pos, len);
+		pos += len;
+		return str;
+	}
+
+
+	/** Compare the next {@code len} bytes to a string without decoding them, the buffer position is not changed
+	 * @return true if the bytes are the UTF-8 encoding of {@code str}
+	 */
+	boolean equalsUtf8(String str, int len) throws IOException {
+		require(len);
+		int strLen = str.length();
+		if(strLen > len) {
+			return false;
+		}
+		byte[] b = buf;
+		int off = pos;
+		for(int i = 0; i < len; i++) {
+			byte bi = b[off + i];
+			if(bi < 0) {
+				// non-ASCII, compare the decoded string
+				return str.equals(new String(b, off, len, StandardCharsets.UTF_8));
+			}
+			if(i >= strLen || str.charAt(i) != bi) {
+				return false;
+			}
+		}
+		return strLen == len;
+	}
+
+
+	/** Compare the next {@code len} bytes to pre-encoded bytes with a single range compare, the buffer position is not changed
+	 * @return true if the bytes equal {@code bytes}
+	 */
+	boolean equalsBytes(byte[] bytes, int len) throws IOException {
+		if(bytes.length != len) {
+			return false;
+		}
+		require(len);
+		return Arrays.equals(buf, pos, pos + len, bytes, 0, len);
+	}
+
+
+	void skip(long n) throws IOException {
+		while(n > 0) {
+			int avail = limit - pos;
+			if(avail >= n) {
+				pos += (int)n;
+				return;
+			}
+			n -= avail;
+			pos = limit;
+			require((int)Math.min(n, buf.length));
+		}
+	}
+
+
+	/** Skip the value of an entry whose type and name have been read.
+	 * For a {@link BinaryFormat#START_BLOCK} this skips all of the block's entries including its {@link BinaryFormat#END_BLOCK}
+	 */
+	void skipValue(int type) throws IOException {
+		switch(type) {
+		case BinaryFormat.START_BLOCK:
+			int depth = 1;
+			while(depth > 0) {
+				int entryType = read();
+				if(entryType == BinaryFormat.END_BLOCK) {
+					depth--;
+				}
+				else if(entryType < 0) {
+					throw new EOFException("unexpected end of binary data inside block");
+				}
+				else {
+					skip(readVarInt());
+					if(entryType == BinaryFormat.START_BLOCK) {
+						depth++;
+					}
+					else {
+						skipValue(entryType);
+					}
+				}
+			}
+			return;
+		case BinaryFormat.END_BLOCK:
+		case BinaryFormat.NULL:
+			return;
+		case BinaryFormat.BOOLEAN:
+		case BinaryFormat.BYTE:
+			skip(1);
+			return;
+		case BinaryFormat.CHAR:
+		case BinaryFormat.SHORT:
+		case BinaryFormat.INT:
+		case BinaryFormat.LONG:
+			readVarLong();
+			return;
+		case BinaryFormat.FLOAT:
+			skip(4);
+			return;
+		case BinaryFormat.DOUBLE:
+			skip(8);
+			return;
+		case BinaryFormat.STRING:
+		case BinaryFormat.BYTES:
+			skip(readVarInt());
+			return;
+		case BinaryFormat.STRING_CHUNKS:
+		case BinaryFormat.BYTES_CHUNKS:
+			int chunkLen;
+			while((chunkLen = readVarInt()) > 0) {
+				skip(chunkLen);
+			}
+			return;
+		// adaptive entries update the stream's decoding state, so they are decoded even when skipped
+		case BinaryFormat.LONG_DELTA:
+			adaptive().readLongDelta(this);
+			return;
+		case BinaryFormat.DOUBLE_XOR:
+			adaptive().readDoubleXor(this);
+			return;
+		case BinaryFormat.STRING_DEF:
+			adaptive().readStringDef(this, null);
+			return;
+		case BinaryFormat.STRING_REF:
+			adaptive().readStringRef(this);
+			return;
+		default:
+			throw new IOException("unknown binary entry type " + type);
+		}
+	}
+
+
+	/**
+	 * @return the state used to decode adaptive entries
+	 * @throws IOException if this buffer does not support adaptive entries
+	 */
+	AdaptiveDecoder adaptive() throws IOException {
+		if(adaptive == null) {
+			throw new IOException("adaptive encoded binary entries can only be read in order by a BinaryReader");
+		}
+		return adaptive;
+	}
+
+
+	/** Read and check the {@link BinaryFormat#MAGIC} header
+	 */
+	void readHeader() throws IOException {
+		byte[] magic = BinaryFormat.MAGIC;
+		require(magic.length);
+		for(int i = 0; i < magic.length; i++) {
+			if(buf[pos + i] != magic[i]) {
+				throw new IOException("invalid binary data header, expected " + Arrays.toString(magic) +
+						" found " + Arrays.toString(Arrays.copyOfRange(buf, pos, pos + magic.length)));
+			}
+		}
+		pos += magic.length;
+	}
+
+}
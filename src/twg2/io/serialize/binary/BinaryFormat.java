@@ -0,0 +1,125 @@
+package twg2.io.serialize.binary;
+
+/** Constants describing the compact binary format written by {@link BinaryWriter} and read by {@link BinaryReader}.<br>
+ * A stream starts with the 4 byte {@link #MAGIC} header followed by a sequence of entries.
+ * Each entry is a type byte followed by (except for {@link #END_BLOCK}) the entry's name as a
+ * varint byte length and UTF-8 bytes, followed by the entry's value:
+ * <ul>
+ * <li>{@link #BOOLEAN}, {@link #BYTE}: 1 byte</li>
+ * <li>{@link #CHAR}: unsigned varint</li>
+ * <li>{@link #SHORT}, {@link #INT}, {@link #LONG}: zigzag varint</li>
+ * <li>{@link #FLOAT}, {@link #DOUBLE}: 4/8 byte big-endian IEEE 754 bits</li>
+ * <li>{@link #STRING}: varint byte length and UTF-8 bytes</li>
+ * <li>{@link #BYTES}: varint length and raw bytes</li>
+ * <li>{@link #STRING_CHUNKS}, {@link #BYTES_CHUNKS}: a sequence of chunks, each a varint byte length and that many UTF-8/raw bytes,
+ * ending with a zero length chunk. Written for values streamed from a {@link java.io.Reader} or {@link java.io.InputStream} whose length is not known in advance,
+ * UTF-8 chunks always end on a code point boundary</li>
+ * <li>{@link #NULL}, {@link #START_BLOCK}: no value, a block's entries follow its start entry up to a matching {@link #END_BLOCK}</li>
+ * </ul>
+ * The adaptive entry types are written by a {@link BinaryWriter} with {@link BinaryWriter#setAdaptiveEncoding(boolean) adaptive encoding} enabled,
+ * their values depend on earlier entries in the same stream, so every adaptive entry must be decoded in order, even when it is skipped:
+ * <ul>
+ * <li>{@link #LONG_DELTA}: a varint slot number and the zigzag varint difference between the value and the slot's previous value.
+ * A slot number equal to the number of slots used so far starts a new slot whose previous value is 0</li>
+ * <li>{@link #DOUBLE_XOR}: a varint slot number (numbered separately from long slots), a header byte with the number of leading zero bytes
+ * in the high 4 bits and trailing zero bytes in the low 4 bits of the XOR of the value's bits and the slot's previous value's bits,
+ * followed by the remaining {@code 8 - leading - trailing} XOR bytes big-endian. An unchanged value is the header {@code 0x80}</li>
+ * <li>{@link #STRING_DEF}: a {@link #STRING} value which is also added to the end of the stream's string dictionary</li>
+ * <li>{@link #STRING_REF}: a varint index into the stream's string dictionary</li>
+ * </ul>
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class BinaryFormat {
+	/** the bytes {@code 'D', 'T', 'B'} followed by the format version */
+	public static final byte[] MAGIC = { 'D', 'T', 'B', 1 };
+
+	/** returned by readers when the end of the stream is reached, not a valid entry type */
+	public static final int EOF = -1;
+	public static final int START_BLOCK = 1;
+	public static final int END_BLOCK = 2;
+	public static final int NULL = 3;
+	public static final int BOOLEAN = 4;
+	public static final int BYTE = 5;
+	public static final int CHAR = 6;
+	public static final int SHORT = 7;
+	public static final int INT = 8;
+	public static final int LONG = 9;
+	public static final int FLOAT = 10;
+	public static final int DOUBLE = 11;
+	public static final int STRING = 12;
+	public static final int BYTES = 13;
+	public static final int STRING_CHUNKS = 14;
+	public static final int BYTES_CHUNKS = 15;
+	public static final int LONG_DELTA = 16;
+	public static final int DOUBLE_XOR = 17;
+	public static final int STRING_DEF = 18;
+	public static final int STRING_REF = 19;
+
+
+	private BinaryFormat() { throw new AssertionError("cannot instantiate static class BinaryFormat"); }
+
+
+	/**
+	 * @return true if {@code type} is a scalar (non-block) entry type
+	 */
+	public static boolean isValue(int type) {
+		return type >= NULL && type <= STRING_REF;
+	}
+
+
+	/**
+	 * @return true if {@code type} is an adaptive entry type whose value depends on earlier entries in the stream
+	 */
+	public static boolean isAdaptive(int type) {
+		return type >= LONG_DELTA && type <= STRING_REF;
+	}
+
+
+	public static int encodeZigZag(int v) {
+		return (v << 1) ^ (v >> 31);
+	}
+
+
+	public static long encodeZigZag(long v) {
+		return (v << 1) ^ (v >> 63);
+	}
+
+
+	public static int decodeZigZag(int v) {
+		return (v >>> 1) ^ -(v & 1);
+	}
+
+
+	public static long decodeZigZag(long v) {
+		return (v >>> 1) ^ -(v & 1);
+	}
+
+
+	public static String typeName(int type) {
+		switch(type) {
+		case EOF: return "EOF";
+		case START_BLOCK: return "START_BLOCK";
+		case END_BLOCK: return "END_BLOCK";
+		case NULL: return "NULL";
+		case BOOLEAN: return "BOOLEAN";
+		case BYTE: return "BYTE";
+		case CHAR: return "CHAR";
+		case SHORT: return "SHORT";
+		case INT: return "INT";
+		case LONG: return "LONG";
+		case FLOAT: return "FLOAT";
+		case DOUBLE: return "DOUBLE";
+		case STRING: return "STRING";
+		case BYTES: return "BYTES";
+		case STRING_CHUNKS: return "STRING_CHUNKS";
+		case BYTES_CHUNKS: return "BYTES_CHUNKS";
+		case LONG_DELTA: return "LONG_DELTA";
+		case DOUBLE_XOR: return "DOUBLE_XOR";
+		case STRING_DEF: return "STRING_DEF";
+		case STRING_REF: return "STRING_REF";
+		default: return "UNKNOWN(" + type + ")";
+		}
+	}
+
+}
@@ -0,0 +1,142 @@
+package twg2.io.serialize.binary;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import twg2.io.serialize.base.LazyRecord;
+
+/** A {@link LazyRecord} over a block of {@link BinaryFormat} data.
+ * The record's slice contains the block's entries and its {@link BinaryFormat#END_BLOCK}.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class BinaryLazyRecord extends LazyRecord {
+	/** cursor reused to index and decode this record's fields */
+	private BinaryBuffer cursor;
+
+
+	public BinaryLazyRecord(String name, byte[] buf, int off, int len) {
+		super(name, buf, off, len);
+	}
+
+
+	@Override
+	protected void indexFields() throws IOException {
+		BinaryBuffer in = cursor(off, off + len);
+		while(true) {
+			int type = in.read();
+			if(type == BinaryFormat.END_BLOCK || type < 0) {
+				return;
+			}
+			String fieldName = in.readUtf8(in.readVarInt());
+			int start = in.pos;
+			in.skipValue(type);
+			addField(fieldName, type, start, in.pos);
+		}
+	}
+
+
+	@Override
+	protected Object decodeField(String name, int type, int start, int end) throws IOException {
+		BinaryBuffer in = cursor(start, end);
+		switch(type) {
+		case BinaryFormat.START_BLOCK:
+			return new BinaryLazyRecord(name, buf, start, end - start);
+		case BinaryFormat.NULL:
+			return null;
+		case BinaryFormat.BOOLEAN:
+			return in.readByte() != 0;
+		case BinaryFormat.BYTE:
+			return in.readByte();
+		case BinaryFormat.CHAR:
+			return String.valueOf((char)in.readVarInt());
+		case BinaryFormat.SHORT:
+			return (short)BinaryFormat.decodeZigZag(in.readVarInt());
+		case BinaryFormat.INT:
+			return BinaryFormat.decodeZigZag(in.readVarInt());
+		case BinaryFormat.LONG:
+			return BinaryFormat.decodeZigZag(in.readVarLong());
+		case BinaryFormat.FLOAT:
+			return Float.intBitsToFloat(in.readFixed32());
+		case BinaryFormat.DOUBLE:
+			return Double.longBitsToDouble(in.readFixed64());
+		case BinaryFormat.STRING:
+			return in.readUtf8(in.readVarInt());
+		case BinaryFormat.BYTES:
+			int byteLen = in.readVarInt();
+			return Arrays.copyOfRange(buf, in.pos, in.pos + byteLen);
+		case BinaryFormat.STRING_CHUNKS:
+			return new String(in.readChunks(), StandardCharsets.UTF_8);
+		case BinaryFormat.BYTES_CHUNKS:
+			return in.readChunks();
+		default:
+			throw new IOException("unknown binary entry type " + type + " for field '" + name + "' of record '" + this.name + "'");
+		}
+	}
+
+
+	private BinaryBuffer cursor(int start, int end) {
+		BinaryBuffer in = cursor;
+		if(in == null) {
+			in = new BinaryBuffer(buf, start, end - start);
+			cursor = in;
+		}
+		in.pos = start;
+		in.limit = end;
+		return in;
+	}
+
+
+	/** Locate the records inside a top level block of binary data without decoding them
+	 * @param buf the binary data, starting with the {@link BinaryFormat#MAGIC} header
+	 * @param off the offset of the data in {@code buf}
+	 * @param len the number of bytes of data in {@code buf}
+	 * @param blockName the name of the top level block containing the records
+	 * @return a lazy record for each block inside {@code blockName}, other entries in the block are ignored
+	 * @throws IOException if the block cannot be found or the data is malformed
+	 */
+	public static List<LazyRecord> readBlock(byte[] buf, int off, int len, String blockName) throws IOException {
+		BinaryBuffer in = new BinaryBuffer(buf, off, len);
+		in.readHeader();
+
+		// find the block
+		while(true) {
+			int type = in.read();
+			if(type < 0 || type == BinaryFormat.END_BLOCK) {
+				throw new IOException("could not find block '" + blockName + "'");
+			}
+			int nameLen = in.readVarInt();
+			boolean match = type == BinaryFormat.START_BLOCK && in.equalsUtf8(blockName, nameLen);
+			in.skip(nameLen);
+			if(match) {
+				break;
+			}
+			in.skipValue(type);
+		}
+
+		List<LazyRecord> records = new ArrayList<>();
+		while(true) {
+			int type = in.read();
+			if(type < 0) {
+				throw new IOException("unexpected end of binary data inside block '" + blockName + "'");
+			}
+			if(type == BinaryFormat.END_BLOCK) {
+				return records;
+			}
+			if(type == BinaryFormat.START_BLOCK) {
+				String recordName = in.readUtf8(in.readVarInt());
+				int start = in.pos;
+				in.skipValue(type);
+				records.add(new BinaryLazyRecord(recordName, buf, start, in.pos - start));
+			}
+			else {
+				in.skip(in.readVarInt());
+				in.skipValue(type);
+			}
+		}
+	}
+
+}
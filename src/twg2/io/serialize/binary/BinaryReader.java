@@ -0,0 +1,901 @@
+package twg2.io.serialize.binary;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+
+import twg2.io.serialize.base.DataElement;
+import twg2.io.serialize.base.DataElementImpl;
+import twg2.io.serialize.base.FieldName;
+import twg2.io.serialize.base.ParsedElementType;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.reader.FieldProjection;
+import twg2.io.serialize.base.reader.RecordFilter;
+import twg2.io.serialize.base.reader.StringCache;
+
+/** A {@code DataTransferInput} for the compact {@link BinaryFormat} written by {@link BinaryWriter}.<br>
+ * Typed reads, such as {@link #readInt(String)}, skip entries until an entry with a matching name is found,
+ * names are compared against the encoded name bytes without being decoded.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class BinaryReader implements DataTransferInput {
+	private final BinaryBuffer in;
+	/** the name byte length of the last entry read by {@link #nextEntry()} */
+	private int nameLen;
+	private String currentName;
+	private DataElement currentBlock;
+	private DataElement peekedBlock;
+	private int peekedType;
+	// the type and value of the last value entry read
+	private int valueType;
+	private long valueLong;
+	private double valueDouble;
+	private String valueText;
+	private byte[] valueBytes;
+	/** the stream returned by the last {@link #openBinaryStream(String)} or {@link #openStringReader(String)} call, if it has not been finished */
+	private ValueStream openStream;
+	/** names of the open blocks */
+	private final ArrayList<String> blockNames = new ArrayList<>();
+	/** projection nodes of the open blocks, parallel to {@link #blockNames} */
+	private final ArrayList<FieldProjection.Node> projectionNodes = new ArrayList<>();
+	private FieldProjection projection;
+	private RecordFilter recordFilter;
+	/** if not null, string values are looked up in this cache by their bytes instead of being decoded */
+	private StringCache stringCache;
+	/** the number of open blocks when the {@link #recordFilter} was set */
+	private int recordDepth;
+
+
+	/** Create a binary reader from the specified file contents
+	 * @param file the file to read the binary data from
+	 * @throws IOException if there is an error reading from the file
+	 */
+	public BinaryReader(File file) throws IOException {
+		this(new FileInputStream(file));
+	}
+
+
+	/** Create a binary reader from the specified input stream.
+	 * The stream is buffered internally, so it does not need to be buffered.
+	 * @param stream the input stream to read the binary data from
+	 * @throws IOException if there is an error reading from the input stream or the data does not start with a valid header
+	 */
+	public BinaryReader(InputStream stream) throws IOException {
+		this.in = new BinaryBuffer(stream, 8192);
+		this.in.readHeader();
+		this.in.adaptive = new AdaptiveDecoder();
+	}
+
+
+	/** Create a binary reader from an in-memory buffer
+	 * @param buf the binary data
+	 * @param off the offset of the data in {@code buf}
+	 * @param len the number of bytes of data in {@code buf}
+	 * @throws IOException if the data does not start with a valid header
+	 */
+	public BinaryReader(byte[] buf, int off, int len) throws IOException {
+		this.in = new BinaryBuffer(buf, off, len);
+		this.in.readHeader();
+		this.in.adaptive = new AdaptiveDecoder();
+	}
+
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+
+	@Override
+	public void read(String name, byte[] b) throws IOException {
+		read(name, b, 0, b.length);
+	}
+
+
+	@Override
+	public void read(String name, byte[] b, int off, int len) throws IOException {
+		readField(name, null);
+		byte[] bytes;
+		if(valueType == BinaryFormat.BYTES) {
+			bytes = valueBytes;
+		}
+		else if(valueType == BinaryFormat.STRING) {
+			bytes = Base64.getDecoder().decode(valueText);
+		}
+		else {
+			throw typeError("byte[]");
+		}
+		System.arraycopy(bytes, 0, b, off, len);
+	}
+
+
+	/** {@inheritDoc}
+	 * <p>{@link BinaryFormat#BYTES} values are copied directly from this reader's buffer into {@code reuse}.
+	 */
+	@Override
+	public byte[] readBytes(String name, byte[] reuse) throws IOException {
+		int type = seekField(name, null);
+		if(type == BinaryFormat.BYTES && !isFiltered(name)) {
+			valueType = type;
+			valueText = null;
+			valueBytes = null;
+			int len = in.readVarInt();
+			in.require(len);
+			byte[] dst = (reuse != null && reuse.length == len ? reuse : new byte[len]);
+			System.arraycopy(in.buf, in.pos, dst, 0, len);
+			in.pos += len;
+			return dst;
+		}
+		if(type != BinaryFormat.EOF) {
+			loadField(name, type);
+		}
+		byte[] bytes;
+		if(valueType == BinaryFormat.BYTES) {
+			bytes = valueBytes;
+		}
+		else if(valueType == BinaryFormat.STRING) {
+			bytes = Base64.getDecoder().decode(valueText);
+		}
+		else {
+			throw typeError("byte[]");
+		}
+		if(reuse != null && reuse.length == bytes.length) {
+			System.arraycopy(bytes, 0, reuse, 0, bytes.length);
+			return reuse;
+		}
+		return bytes;
+	}
+
+
+	/** {@inheritDoc}
+	 * <p>{@link BinaryFormat#BYTES} and {@link BinaryFormat#BYTES_CHUNKS} values are read directly from this reader's buffer.
+	 * If the remainder of the stream is not read before the next read from this reader, it is skipped.
+	 */
+	@Override
+	public InputStream openBinaryStream(String name) throws IOException {
+		int type = seekField(name, null);
+		if((type == BinaryFormat.BYTES || type == BinaryFormat.BYTES_CHUNKS) && !isFiltered(name)) {
+			return openValueStream(type);
+		}
+		if(type != BinaryFormat.EOF) {
+			loadField(name, type);
+		}
+		if(valueType == BinaryFormat.BYTES) {
+			return new ByteArrayInputStream(valueBytes);
+		}
+		else if(valueType == BinaryFormat.STRING) {
+			return new ByteArrayInputStream(Base64.getDecoder().decode(valueText));
+		}
+		throw typeError("byte[]");
+	}
+
+
+	/** {@inheritDoc}
+	 * <p>{@link BinaryFormat#STRING} and {@link BinaryFormat#STRING_CHUNKS} values are decoded directly from this reader's buffer.
+	 * If the remainder of the reader is not read before the next read from this reader, it is skipped.
+	 */
+	@Override
+	public Reader openStringReader(String name) throws IOException {
+		int type = seekField(name, null);
+		if((type == BinaryFormat.STRING || type == BinaryFormat.STRING_CHUNKS) && !isFiltered(name)) {
+			return new InputStreamReader(openValueStream(type), StandardCharsets.UTF_8);
+		}
+		if(type != BinaryFormat.EOF) {
+			loadField(name, type);
+		}
+		String text = valueText();
+		return text != null ? new StringReader(text) : null;
+	}
+
+
+	@Override
+	public boolean readBoolean(String name) throws IOException {
+		readField(name, null);
+		return asBoolean();
+	}
+
+
+	@Override
+	public byte readByte(String name) throws IOException {
+		readField(name, null);
+		return (byte)asLong("byte");
+	}
+
+
+	@Override
+	public char readChar(String name) throws IOException {
+		readField(name, null);
+		return asChar();
+	}
+
+
+	@Override
+	public double readDouble(String name) throws IOException {
+		readField(name, null);
+		return asDouble("double");
+	}
+
+
+	@Override
+	public float readFloat(String name) throws IOException {
+		readField(name, null);
+		return (float)asDouble("float");
+	}
+
+
+	@Override
+	public int readInt(String name) throws IOException {
+		readField(name, null);
+		return (int)asLong("int");
+	}
+
+
+	@Override
+	public long readLong(String name) throws IOException {
+		readField(name, null);
+		return asLong("long");
+	}
+
+
+	@Override
+	public short readShort(String name) throws IOException {
+		readField(name, null);
+		return (short)asLong("short");
+	}
+
+
+	@Override
+	public String readString(String name) throws IOException {
+		readField(name, null);
+		return valueText();
+	}
+
+
+	@Override
+	public boolean readBooleanField(FieldName name) throws IOException {
+		readField(name.getName(), name);
+		return asBoolean();
+	}
+
+
+	@Override
+	public byte readByteField(FieldName name) throws IOException {
+		readField(name.getName(), name);
+		return (byte)asLong("byte");
+	}
+
+
+	@Override
+	public char readCharField(FieldName name) throws IOException {
+		readField(name.getName(), name);
+		return asChar();
+	}
+
+
+	@Override
+	public double readDoubleField(FieldName name) throws IOException {
+		readField(name.getName(), name);
+		return asDouble("double");
+	}
+
+
+	@Override
+	public float readFloatField(FieldName name) throws IOException {
+		readField(name.getName(), name);
+		return (float)asDouble("float");
+	}
+
+
+	@Override
+	public int readIntField(FieldName name) throws IOException {
+		readField(name.getName(), name);
+		return (int)asLong("int");
+	}
+
+
+	@Override
+	public long readLongField(FieldName name) throws IOException {
+		readField(name.getName(), name);
+		return asLong("long");
+	}
+
+
+	@Override
+	public short readShortField(FieldName name) throws IOException {
+		readField(name.getName(), name);
+		return (short)asLong("short");
+	}
+
+
+	@Override
+	public String readStringField(FieldName name) throws IOException {
+		readField(name.getName(), name);
+		return valueText();
+	}
+
+
+	@Override
+	public DataElement peekNext() throws IOException {
+		if(peekedBlock != null) {
+			return peekedBlock;
+		}
+		currentBlock = readElement();
+		peekedBlock = currentBlock;
+		return currentBlock;
+	}
+
+
+	@Override
+	public DataElement readNext() throws IOException {
+		if(peekedBlock != null) {
+			currentBlock = peekedBlock;
+			peekedBlock = null;
+			return currentBlock;
+		}
+		currentBlock = readElement();
+		return currentBlock;
+	}
+
+
+	@Override
+	public DataElement readStartBlock(String name) throws IOException {
+		return readStartBlock(name, null);
+	}
+
+
+	@Override
+	public DataElement readStartBlockField(FieldName name) throws IOException {
+		return readStartBlock(name.getName(), name);
+	}
+
+
+	/** Skip entries until a projected start block entry named {@code name} is found and open it
+	 * @param fieldName the pre-encoded {@code name} to compare to the input's raw names, or null to compare {@code name}
+	 */
+	private DataElement readStartBlock(String name, FieldName fieldName) throws IOException {
+		if(peekedBlock != null) {
+			DataElement peeked = peekedBlock;
+			peekedBlock = null;
+			currentBlock = peeked;
+			if(peeked.isStartBlock() && name.equals(peeked.getName())) {
+				return peeked;
+			}
+		}
+
+		while(true) {
+			int type = nextEntry();
+			if(type == BinaryFormat.EOF || type == BinaryFormat.END_BLOCK) {
+				throw new IOException("could not find block '" + name + "' before end of " + (type == BinaryFormat.EOF ? "stream" : "block"));
+			}
+			if(type == BinaryFormat.START_BLOCK && nameEquals(name, fieldName) && isProjected(name)) {
+				in.pos += nameLen;
+				openBlock(name);
+				currentBlock = new DataElementImpl(name, 0, null, ParsedElementType.HEADER);
+				return currentBlock;
+			}
+			in.pos += nameLen;
+			in.skipValue(type);
+		}
+	}
+
+
+	@Override
+	public void readEndBlock() throws IOException {
+		if(peekedBlock != null) {
+			DataElement peeked = peekedBlock;
+			peekedBlock = null;
+			currentBlock = peeked;
+			if(peeked.isEndBlock()) {
+				return;
+			}
+			// the peeked block was opened when it was read, skip it
+			if(peeked.isStartBlock()) {
+				readEndBlock();
+			}
+		}
+
+		while(true) {
+			int type = nextEntry();
+			if(type == BinaryFormat.EOF) {
+				if(blockNames.isEmpty()) {
+					return;
+				}
+				throw new EOFException("unexpected end of stream, expected end of block '" + blockNames.get(blockNames.size() - 1) + "'");
+			}
+			if(type == BinaryFormat.END_BLOCK) {
+				closeBlock();
+				return;
+			}
+			in.pos += nameLen;
+			in.skipValue(type);
+		}
+	}
+
+
+	@Override
+	public void setProjection(FieldProjection projection) {
+		this.projection = projection;
+	}
+
+
+	@Override
+	public FieldProjection getProjection() {
+		return projection;
+	}
+
+
+	@Override
+	public void setRecordFilter(RecordFilter filter) {
+		this.recordFilter = filter;
+		this.recordDepth = blockNames.size();
+	}
+
+
+	@Override
+	public void setStringCache(StringCache cache) {
+		this.stringCache = cache;
+	}
+
+
+	@Override
+	public StringCache getStringCache() {
+		return stringCache;
+	}
+
+
+	@Override
+	public void skipRecord() throws IOException {
+		peekedBlock = null;
+		// read until the blocks opened since the record filter was set are closed
+		while(blockNames.size() > recordDepth) {
+			int type = nextEntry();
+			if(type == BinaryFormat.EOF) {
+				break;
+			}
+			if(type == BinaryFormat.END_BLOCK) {
+				closeBlock();
+				continue;
+			}
+			in.pos += nameLen;
+			in.skipValue(type);
+		}
+	}
+
+
+	@Override
+	public DataElement getCurrentElement() {
+		return currentBlock;
+	}
+
+
+	@Override
+	public String getCurrentName() {
+		return currentName;
+	}
+
+
+	/** Read the next projected entry of any type, a value entry's value is loaded
+	 * @return the element read, or null if the end of the stream has been reached
+	 */
+	private DataElement readElement() throws IOException {
+		while(true) {
+			int type = nextEntry();
+			peekedType = type;
+			if(type == BinaryFormat.EOF) {
+				return null;
+			}
+			if(type == BinaryFormat.END_BLOCK) {
+				closeBlock();
+				return new DataElementImpl(currentName, 0, null, ParsedElementType.FOOTER);
+			}
+
+			String name = in.readUtf8(nameLen);
+			if(!isProjected(name)) {
+				in.skipValue(type);
+				continue;
+			}
+			if(type == BinaryFormat.START_BLOCK) {
+				openBlock(name);
+				return new DataElementImpl(name, 0, null, ParsedElementType.HEADER);
+			}
+			currentName = name;
+			loadValue(type);
+			String content = valueText();
+			if(recordFilter != null && blockNames.size() == recordDepth + 1) {
+				recordFilter.check(name, content);
+			}
+			return new DataElementImpl(name, 0, content, ParsedElementType.ELEMENT);
+		}
+	}
+
+
+	/** Skip entries until a projected value entry named {@code name} is found and load its value
+	 * @throws IOException if the end of the current block is reached before a matching entry is found
+	 */
+	private void readField(String name, FieldName fieldName) throws IOException {
+		int type = seekField(name, fieldName);
+		if(type != BinaryFormat.EOF) {
+			loadField(name, type);
+		}
+	}
+
+
+	/** Skip entries until a projected value entry named {@code name} is found, the entry's value is left in the buffer
+	 * @param fieldName the pre-encoded {@code name} to compare to the input's raw names, or null to compare {@code name}
+	 * @return the entry's type, or {@link BinaryFormat#EOF} if the entry was already peeked and its value has been loaded
+	 * @throws IOException if the end of the current block is reached before a matching entry is found
+	 */
+	private int seekField(String name, FieldName fieldName) throws IOException {
+		if(peekedBlock != null) {
+			DataElement peeked = peekedBlock;
+			peekedBlock = null;
+			currentBlock = peeked;
+			// the peeked entry's value was loaded when it was read
+			if(BinaryFormat.isValue(peekedType) && name.equals(peeked.getName())) {
+				return BinaryFormat.EOF;
+			}
+		}
+
+		while(true) {
+			int type = nextEntry();
+			if(type == BinaryFormat.EOF || type == BinaryFormat.END_BLOCK) {
+				throw new IOException("could not find field '" + name + "' before end of " + (type == BinaryFormat.EOF ? "stream" : "block"));
+			}
+			if(type != BinaryFormat.START_BLOCK && nameEquals(name, fieldName) && isProjected(name)) {
+				in.pos += nameLen;
+				currentName = name;
+				return type;
+			}
+			in.pos += nameLen;
+			in.skipValue(type);
+		}
+	}
+
+
+	/** Load the value of the entry found by {@link #seekField(String, FieldName)} and check it against the record filter
+	 */
+	private void loadField(String name, int type) throws IOException {
+		loadValue(type);
+		if(isFiltered(name)) {
+			recordFilter.check(name, valueText());
+		}
+	}
+
+
+	/**
+	 * @return true if {@code name} is a field of the filtered record with a record filter predicate
+	 */
+	private boolean isFiltered(String name) {
+		return recordFilter != null && blockNames.size() == recordDepth + 1 && recordFilter.hasPredicate(name);
+	}
+
+
+	private ValueStream openValueStream(int type) throws IOException {
+		valueType = type;
+		valueText = null;
+		valueBytes = null;
+		openStream = new ValueStream(type == BinaryFormat.BYTES_CHUNKS || type == BinaryFormat.STRING_CHUNKS);
+		return openStream;
+	}
+
+
+	/** Compare the current entry's name bytes, which are left in the buffer by {@link #nextEntry()}, to an expected name without decoding them
+	 * @param fieldName the pre-encoded {@code name} whose UTF-8 bytes are compared, or null to compare {@code name}'s chars
+	 */
+	private boolean nameEquals(String name, FieldName fieldName) throws IOException {
+		return fieldName != null ? in.equalsBytes(fieldName.getUtf8(), nameLen) : in.equalsUtf8(name, nameLen);
+	}
+
+
+	/** Read the next entry's type and name length, the name's bytes are left in the buffer
+	 * @return the entry type or {@link BinaryFormat#EOF}
+	 */
+	private int nextEntry() throws IOException {
+		if(openStream != null) {
+			openStream.close();
+		}
+		int type = in.read();
+		if(type < 0) {
+			return BinaryFormat.EOF;
+		}
+		if(type != BinaryFormat.END_BLOCK) {
+			nameLen = in.readVarInt();
+			in.require(nameLen);
+		}
+		return type;
+	}
+
+
+	private void loadValue(int type) throws IOException {
+		valueType = type;
+		valueText = null;
+		valueBytes = null;
+		switch(type) {
+		case BinaryFormat.NULL:
+			return;
+		case BinaryFormat.BOOLEAN:
+		case BinaryFormat.BYTE:
+			valueLong = in.readByte();
+			return;
+		case BinaryFormat.CHAR:
+			valueLong = in.readVarInt();
+			return;
+		case BinaryFormat.SHORT:
+		case BinaryFormat.INT:
+			valueLong = BinaryFormat.decodeZigZag(in.readVarInt());
+			return;
+		case BinaryFormat.LONG:
+			valueLong = BinaryFormat.decodeZigZag(in.readVarLong());
+			return;
+		case BinaryFormat.FLOAT:
+			valueDouble = Float.intBitsToFloat(in.readFixed32());
+			return;
+		case BinaryFormat.DOUBLE:
+			valueDouble = Double.longBitsToDouble(in.readFixed64());
+			return;
+		case BinaryFormat.STRING:
+			valueText = in.readUtf8(in.readVarInt(), stringCache);
+			return;
+		case BinaryFormat.BYTES:
+			int len = in.readVarInt();
+			in.require(len);
+			valueBytes = Arrays.copyOfRange(in.buf, in.pos, in.pos + len);
+			in.pos += len;
+			return;
+		case BinaryFormat.STRING_CHUNKS:
+			valueType = BinaryFormat.STRING;
+			valueText = new String(in.readChunks(), StandardCharsets.UTF_8);
+			return;
+		case BinaryFormat.BYTES_CHUNKS:
+			valueType = BinaryFormat.BYTES;
+			valueBytes = in.readChunks();
+			return;
+		case BinaryFormat.LONG_DELTA:
+			valueType = BinaryFormat.LONG;
+			valueLong = in.adaptive.readLongDelta(in);
+			return;
+		case BinaryFormat.DOUBLE_XOR:
+			valueType = BinaryFormat.DOUBLE;
+			valueDouble = in.adaptive.readDoubleXor(in);
+			return;
+		case BinaryFormat.STRING_DEF:
+			valueType = BinaryFormat.STRING;
+			valueText = in.adaptive.readStringDef(in, stringCache);
+			return;
+		case BinaryFormat.STRING_REF:
+			valueType = BinaryFormat.STRING;
+			valueText = in.adaptive.readStringRef(in);
+			return;
+		default:
+			throw new IOException("unknown binary entry type " + type + " for field '" + currentName + "'");
+		}
+	}
+
+
+	/**
+	 * @return the text representation of the last value loaded, in the same format used by the text readers
+	 */
+	private String valueText() {
+		switch(valueType) {
+		case BinaryFormat.NULL:
+			return null;
+		case BinaryFormat.BOOLEAN:
+			return valueLong != 0 ? "true" : "false";
+		case BinaryFormat.CHAR:
+			return String.valueOf((char)valueLong);
+		case BinaryFormat.BYTE:
+		case BinaryFormat.SHORT:
+		case BinaryFormat.INT:
+		case BinaryFormat.LONG:
+			return Long.toString(valueLong);
+		case BinaryFormat.FLOAT:
+			return Float.toString((float)valueDouble);
+		case BinaryFormat.DOUBLE:
+			return Double.toString(valueDouble);
+		case BinaryFormat.STRING:
+			return valueText;
+		case BinaryFormat.BYTES:
+			return Base64.getEncoder().encodeToString(valueBytes);
+		default:
+			throw new AssertionError("unknown binary entry type " + valueType);
+		}
+	}
+
+
+	private boolean asBoolean() throws IOException {
+		if(valueType == BinaryFormat.BOOLEAN) {
+			return valueLong != 0;
+		}
+		else if(valueType == BinaryFormat.STRING) {
+			return Boolean.parseBoolean(valueText.trim());
+		}
+		throw typeError("boolean");
+	}
+
+
+	private char asChar() throws IOException {
+		if(valueType == BinaryFormat.CHAR) {
+			return (char)valueLong;
+		}
+		else if(valueType == BinaryFormat.STRING && valueText.length() > 0) {
+			return valueText.charAt(0);
+		}
+		throw typeError("char");
+	}
+
+
+	private long asLong(String targetType) throws IOException {
+		switch(valueType) {
+		case BinaryFormat.BYTE:
+		case BinaryFormat.CHAR:
+		case BinaryFormat.SHORT:
+		case BinaryFormat.INT:
+		case BinaryFormat.LONG:
+			return valueLong;
+		case BinaryFormat.FLOAT:
+		case BinaryFormat.DOUBLE:
+			return (long)valueDouble;
+		case BinaryFormat.STRING:
+			try {
+				return Long.parseLong(valueText.trim());
+			} catch(NumberFormatException nfe) {
+				throw new IOException("could not parse field '" + currentName + "' as " + targetType, nfe);
+			}
+		default:
+			throw typeError(targetType);
+		}
+	}
+
+
+	private double asDouble(String targetType) throws IOException {
+		switch(valueType) {
+		case BinaryFormat.BYTE:
+		case BinaryFormat.SHORT:
+		case BinaryFormat.INT:
+		case BinaryFormat.LONG:
+			return valueLong;
+		case BinaryFormat.FLOAT:
+		case BinaryFormat.DOUBLE:
+			return valueDouble;
+		case BinaryFormat.STRING:
+			try {
+				return Double.parseDouble(valueText.trim());
+			} catch(NumberFormatException nfe) {
+				throw new IOException("could not parse field '" + currentName + "' as " + targetType, nfe);
+			}
+		default:
+			throw typeError(targetType);
+		}
+	}
+
+
+	private IOException typeError(String targetType) {
+		return new IOException("cannot read " + BinaryFormat.typeName(valueType) + " field '" + currentName + "' as " + targetType);
+	}
+
+
+	private boolean isProjected(String name) {
+		if(projection == null) {
+			return true;
+		}
+		FieldProjection.Node node = (projectionNodes.isEmpty() ? projection.getRoot() : projectionNodes.get(projectionNodes.size() - 1));
+		return node != null && node.getChild(name) != null;
+	}
+
+
+	private void openBlock(String name) {
+		FieldProjection.Node child = null;
+		if(projection != null) {
+			FieldProjection.Node node = (projectionNodes.isEmpty() ? projection.getRoot() : projectionNodes.get(projectionNodes.size() - 1));
+			child = (node != null ? node.getChild(name) : null);
+		}
+		currentName = name;
+		blockNames.add(name);
+		projectionNodes.add(child);
+	}
+
+
+	private void closeBlock() throws IOException {
+		int size = blockNames.size();
+		if(size == 0) {
+			throw new IOException("found end of block without a matching start block");
+		}
+		currentName = blockNames.remove(size - 1);
+		projectionNodes.remove(size - 1);
+	}
+
+
+
+	/** A stream over the bytes of a {@link BinaryFormat#BYTES} or {@link BinaryFormat#STRING} value, or the chunks of a
+	 * {@link BinaryFormat#BYTES_CHUNKS} or {@link BinaryFormat#STRING_CHUNKS} value, read directly from the reader's buffer
+	 */
+	private final class ValueStream extends InputStream {
+		private final boolean chunked;
+		/** the number of bytes left in the current chunk */
+		private int remaining;
+		private boolean done;
+
+
+		ValueStream(boolean chunked) throws IOException {
+			this.chunked = chunked;
+			this.remaining = (chunked ? 0 : in.readVarInt());
+		}
+
+
+		@Override
+		public int read() throws IOException {
+			if(!nextChunk()) {
+				return -1;
+			}
+			remaining--;
+			return in.readByte() & 0xFF;
+		}
+
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if(len == 0) {
+				return 0;
+			}
+			if(!nextChunk()) {
+				return -1;
+			}
+			int n = in.readInto(b, off, Math.min(len, remaining));
+			if(n < 0) {
+				throw new EOFException("unexpected end of binary data in field '" + currentName + "', expected " + remaining + " bytes");
+			}
+			remaining -= n;
+			return n;
+		}
+
+
+		@Override
+		public void close() throws IOException {
+			if(!done) {
+				done = true;
+				openStream = null;
+				in.skip(remaining);
+				if(chunked) {
+					int chunkLen;
+					while((chunkLen = in.readVarInt()) > 0) {
+						in.skip(chunkLen);
+					}
+				}
+			}
+		}
+
+
+		/**
+		 * @return true if there are bytes left in the current chunk, false if the end of the value has been reached
+		 */
+		private boolean nextChunk() throws IOException {
+			if(done) {
+				return false;
+			}
+			if(remaining == 0) {
+				if(chunked) {
+					remaining = in.readVarInt();
+				}
+				if(remaining == 0) {
+					done = true;
+					openStream = null;
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+}
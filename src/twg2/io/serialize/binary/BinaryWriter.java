@@ -0,0 +1,718 @@
+package twg2.io.serialize.binary;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import twg2.io.serialize.base.FieldName;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+
+/** A {@code DataTransferOutput} that writes the compact {@link BinaryFormat} to an output stream.
+ * Output is buffered internally, so the stream does not need to be buffered.<br>
+ * With {@link #setAdaptiveEncoding(boolean) adaptive encoding} enabled the writer keeps a short window of statistics for each field name
+ * and writes each int, long, double, and string value with whichever encoding the field's recent values were smallest with,
+ * see {@link BinaryFormat#LONG_DELTA}, {@link BinaryFormat#DOUBLE_XOR}, and {@link BinaryFormat#STRING_DEF}.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class BinaryWriter implements DataTransferOutput {
+	/** the maximum number of strings added to an adaptive stream's dictionary */
+	public static final int MAX_DICTIONARY_SIZE = 1 << 16;
+	/** strings longer than this are never added to an adaptive stream's dictionary */
+	public static final int MAX_DICTIONARY_STRING_LENGTH = 256;
+
+	private OutputStream out;
+	private byte[] buf;
+	private int pos;
+	/** the nested level of blocks the writer is currently in */
+	private int depth;
+	private boolean adaptive;
+	/** adaptive encoding statistics by field name, created the first time adaptive encoding is enabled */
+	private HashMap<String, FieldStats> fieldStats;
+	/** the stream's string dictionary, the index of each value written as a {@link BinaryFormat#STRING_DEF} */
+	private HashMap<String, Integer> dictionary;
+	private int longSlotCount;
+	private int doubleSlotCount;
+
+
+	/** Open a {@link FileOutputStream} to the specified {@code file} to create a binary writer
+	 * @param file the file to write the data to
+	 * @throws IOException if there is an error opening the file
+	 */
+	public BinaryWriter(File file) throws IOException {
+		this(new FileOutputStream(file));
+	}
+
+
+	/** Create a binary writer which writes to {@code stream}
+	 * @param stream the output stream to write the data to
+	 * @throws IOException if there is an error writing to the stream
+	 */
+	public BinaryWriter(OutputStream stream) throws IOException {
+		this.out = stream;
+		this.buf = new byte[8192];
+		writeRaw(BinaryFormat.MAGIC, 0, BinaryFormat.MAGIC.length);
+	}
+
+
+	/** Enable or disable adaptive encoding of the int, long, double, and string values written after this call.
+	 * Adaptive entries can only be read in order by a {@link BinaryReader}, {@link BinaryLazyRecord}s cannot decode them.
+	 * Disabling adaptive encoding keeps the stream's dictionary and statistics, they are used again if it is re-enabled
+	 * @param adaptive true to choose each value's encoding from its field's recent values, false to write every value with its plain encoding
+	 */
+	public void setAdaptiveEncoding(boolean adaptive) {
+		if(adaptive && fieldStats == null) {
+			fieldStats = new HashMap<>();
+			dictionary = new HashMap<>();
+		}
+		this.adaptive = adaptive;
+	}
+
+
+	/**
+	 * @return true if adaptive encoding is enabled
+	 * @see #setAdaptiveEncoding(boolean)
+	 */
+	public boolean isAdaptiveEncoding() {
+		return adaptive;
+	}
+
+
+	/** Write any buffered data to the underlying output stream
+	 * @throws IOException if there is an error writing to the stream
+	 */
+	public void flush() throws IOException {
+		flushBuffer();
+		out.flush();
+	}
+
+
+	@Override
+	public void close() throws IOException {
+		flushBuffer();
+		out.close();
+	}
+
+
+	@Override
+	public void write(String name, byte[] b) throws IOException {
+		write(name, b, 0, b.length);
+	}
+
+
+	@Override
+	public void write(String name, byte[] b, int off, int len) throws IOException {
+		writeHeader(BinaryFormat.BYTES, name);
+		writeVarInt(len);
+		writeRaw(b, off, len);
+	}
+
+
+	/** {@inheritDoc}
+	 * <p>The value is written as a {@link BinaryFormat#BYTES_CHUNKS} entry, one chunk per buffer of bytes read from {@code src}.
+	 */
+	@Override
+	public long writeBinary(String name, InputStream src) throws IOException {
+		writeHeader(BinaryFormat.BYTES_CHUNKS, name);
+		byte[] chunk = new byte[8192];
+		long total = 0;
+		int n;
+		while((n = src.read(chunk, 0, chunk.length)) >= 0) {
+			if(n > 0) {
+				writeVarInt(n);
+				writeRaw(chunk, 0, n);
+				total += n;
+			}
+		}
+		writeVarInt(0);
+		return total;
+	}
+
+
+	/** {@inheritDoc}
+	 * <p>The value is written as a {@link BinaryFormat#STRING_CHUNKS} entry, one UTF-8 chunk per buffer of chars read from {@code src}.
+	 */
+	@Override
+	public long writeString(String name, Reader src) throws IOException {
+		writeHeader(BinaryFormat.STRING_CHUNKS, name);
+		char[] chars = new char[4096];
+		// a chunk of chars is at most 3 UTF-8 bytes per char, surrogate pairs encode 2 chars as 4 bytes
+		byte[] chunk = new byte[chars.length * 3];
+		long total = 0;
+		int len = 0;
+		int n;
+		while((n = src.read(chars, len, chars.length - len)) >= 0) {
+			total += n;
+			len += n;
+			// keep a trailing high surrogate for the next chunk so a code point is never split between chunks
+			int end = (len > 0 && Character.isHighSurrogate(chars[len - 1]) ? len - 1 : len);
+			if(end > 0) {
+				int byteLen = encodeUtf8(chars, 0, end, chunk);
+				writeVarInt(byteLen);
+				writeRaw(chunk, 0, byteLen);
+			}
+			if(end < len) {
+				chars[0] = chars[end];
+			}
+			len -= end;
+		}
+		if(len > 0) {
+			int byteLen = encodeUtf8(chars, 0, len, chunk);
+			writeVarInt(byteLen);
+			writeRaw(chunk, 0, byteLen);
+		}
+		writeVarInt(0);
+		return total;
+	}
+
+
+	@Override
+	public void writeBoolean(String name, boolean v) throws IOException {
+		writeHeader(BinaryFormat.BOOLEAN, name);
+		ensure(1);
+		buf[pos++] = (byte)(v ? 1 : 0);
+	}
+
+
+	@Override
+	public void writeByte(String name, byte v) throws IOException {
+		writeHeader(BinaryFormat.BYTE, name);
+		ensure(1);
+		buf[pos++] = v;
+	}
+
+
+	@Override
+	public void writeChar(String name, char v) throws IOException {
+		writeHeader(BinaryFormat.CHAR, name);
+		writeVarInt(v);
+	}
+
+
+	@Override
+	public void writeDouble(String name, double v) throws IOException {
+		if(adaptive) {
+			writeAdaptive(name, null, v);
+			return;
+		}
+		writeHeader(BinaryFormat.DOUBLE, name);
+		writeFixed64(Double.doubleToRawLongBits(v));
+	}
+
+
+	@Override
+	public void writeFloat(String name, float v) throws IOException {
+		writeHeader(BinaryFormat.FLOAT, name);
+		writeFixed32(Float.floatToRawIntBits(v));
+	}
+
+
+	@Override
+	public void writeInt(String name, int v) throws IOException {
+		if(adaptive) {
+			writeAdaptive(BinaryFormat.INT, name, null, v);
+			return;
+		}
+		writeHeader(BinaryFormat.INT, name);
+		writeVarInt(BinaryFormat.encodeZigZag(v));
+	}
+
+
+	@Override
+	public void writeLong(String name, long v) throws IOException {
+		if(adaptive) {
+			writeAdaptive(BinaryFormat.LONG, name, null, v);
+			return;
+		}
+		writeHeader(BinaryFormat.LONG, name);
+		writeVarLong(BinaryFormat.encodeZigZag(v));
+	}
+
+
+	@Override
+	public void writeShort(String name, short v) throws IOException {
+		writeHeader(BinaryFormat.SHORT, name);
+		writeVarInt(BinaryFormat.encodeZigZag(v));
+	}
+
+
+	@Override
+	public void writeString(String name, String s) throws IOException {
+		if(s == null) {
+			writeHeader(BinaryFormat.NULL, name);
+			return;
+		}
+		if(adaptive) {
+			writeAdaptive(name, null, s);
+			return;
+		}
+		writeHeader(BinaryFormat.STRING, name);
+		writeUtf8(s);
+	}
+
+
+	@Override
+	public void writeBooleanField(FieldName name, boolean v) throws IOException {
+		writeHeader(BinaryFormat.BOOLEAN, name);
+		ensure(1);
+		buf[pos++] = (byte)(v ? 1 : 0);
+	}
+
+
+	@Override
+	public void writeByteField(FieldName name, byte v) throws IOException {
+		writeHeader(BinaryFormat.BYTE, name);
+		ensure(1);
+		buf[pos++] = v;
+	}
+
+
+	@Override
+	public void writeCharField(FieldName name, char v) throws IOException {
+		writeHeader(BinaryFormat.CHAR, name);
+		writeVarInt(v);
+	}
+
+
+	@Override
+	public void writeDoubleField(FieldName name, double v) throws IOException {
+		if(adaptive) {
+			writeAdaptive(name.getName(), name, v);
+			return;
+		}
+		writeHeader(BinaryFormat.DOUBLE, name);
+		writeFixed64(Double.doubleToRawLongBits(v));
+	}
+
+
+	@Override
+	public void writeFloatField(FieldName name, float v) throws IOException {
+		writeHeader(BinaryFormat.FLOAT, name);
+		writeFixed32(Float.floatToRawIntBits(v));
+	}
+
+
+	@Override
+	public void writeIntField(FieldName name, int v) throws IOException {
+		if(adaptive) {
+			writeAdaptive(BinaryFormat.INT, name.getName(), name, v);
+			return;
+		}
+		writeHeader(BinaryFormat.INT, name);
+		writeVarInt(BinaryFormat.encodeZigZag(v));
+	}
+
+
+	@Override
+	public void writeLongField(FieldName name, long v) throws IOException {
+		if(adaptive) {
+			writeAdaptive(BinaryFormat.LONG, name.getName(), name, v);
+			return;
+		}
+		writeHeader(BinaryFormat.LONG, name);
+		writeVarLong(BinaryFormat.encodeZigZag(v));
+	}
+
+
+	@Override
+	public void writeShortField(FieldName name, short v) throws IOException {
+		writeHeader(BinaryFormat.SHORT, name);
+		writeVarInt(BinaryFormat.encodeZigZag(v));
+	}
+
+
+	@Override
+	public void writeStringField(FieldName name, String s) throws IOException {
+		if(s == null) {
+			writeHeader(BinaryFormat.NULL, name);
+			return;
+		}
+		if(adaptive) {
+			writeAdaptive(name.getName(), name, s);
+			return;
+		}
+		writeHeader(BinaryFormat.STRING, name);
+		writeUtf8(s);
+	}
+
+
+	@Override
+	public void writeStartBlock(String name) throws IOException {
+		ensure(1);
+		buf[pos++] = (byte)BinaryFormat.START_BLOCK;
+		writeUtf8(name);
+		depth++;
+	}
+
+
+	@Override
+	public void writeStartBlockField(FieldName name) throws IOException {
+		ensure(1);
+		buf[pos++] = (byte)BinaryFormat.START_BLOCK;
+		writeName(name);
+		depth++;
+	}
+
+
+	@Override
+	public void writeEndBlock() throws IOException {
+		checkStatus();
+		depth--;
+		ensure(1);
+		buf[pos++] = (byte)BinaryFormat.END_BLOCK;
+	}
+
+
+	private void writeHeader(int type, String name) throws IOException {
+		checkStatus();
+		ensure(1);
+		buf[pos++] = (byte)type;
+		writeUtf8(name);
+	}
+
+
+	private void writeHeader(int type, FieldName name) throws IOException {
+		checkStatus();
+		ensure(1);
+		buf[pos++] = (byte)type;
+		writeName(name);
+	}
+
+
+	private void writeHeader(int type, String name, FieldName fieldName) throws IOException {
+		if(fieldName != null) {
+			writeHeader(type, fieldName);
+		}
+		else {
+			writeHeader(type, name);
+		}
+	}
+
+
+	/** Write an int or long as a {@link BinaryFormat#LONG_DELTA} entry if the field's recent deltas were smaller than its values,
+	 * otherwise as a plain {@code type} entry
+	 */
+	private void writeAdaptive(int type, String name, FieldName fieldName, long v) throws IOException {
+		FieldStats stats = stats(name);
+		if(stats.chooseDelta(v)) {
+			if(stats.longSlot < 0) {
+				stats.longSlot = longSlotCount++;
+			}
+			writeHeader(BinaryFormat.LONG_DELTA, name, fieldName);
+			writeVarInt(stats.longSlot);
+			writeVarLong(BinaryFormat.encodeZigZag(v - stats.longBase));
+			stats.longBase = v;
+		}
+		else {
+			writeHeader(type, name, fieldName);
+			writeVarLong(BinaryFormat.encodeZigZag(v));
+		}
+	}
+
+
+	/** Write a double as a {@link BinaryFormat#DOUBLE_XOR} entry if the field's recent values changed few bytes, otherwise as a plain entry
+	 */
+	private void writeAdaptive(String name, FieldName fieldName, double v) throws IOException {
+		FieldStats stats = stats(name);
+		long bits = Double.doubleToRawLongBits(v);
+		if(stats.chooseXor(bits)) {
+			if(stats.doubleSlot < 0) {
+				stats.doubleSlot = doubleSlotCount++;
+			}
+			writeHeader(BinaryFormat.DOUBLE_XOR, name, fieldName);
+			writeVarInt(stats.doubleSlot);
+			long xor = bits ^ stats.doubleBase;
+			int leading = (xor == 0 ? 8 : Long.numberOfLeadingZeros(xor) >>> 3);
+			int trailing = (xor == 0 ? 0 : Long.numberOfTrailingZeros(xor) >>> 3);
+			int n = 8 - leading - trailing;
+			ensure(1 + n);
+			byte[] b = buf;
+			int p = pos;
+			b[p++] = (byte)((leading << 4) | trailing);
+			long middle = xor >>> (trailing << 3);
+			for(int shift = (n - 1) << 3; shift >= 0; shift -= 8) {
+				b[p++] = (byte)(middle >>> shift);
+			}
+			pos = p;
+			stats.doubleBase = bits;
+		}
+		else {
+			writeHeader(BinaryFormat.DOUBLE, name, fieldName);
+			writeFixed64(bits);
+		}
+	}
+
+
+	/** Write a string as a {@link BinaryFormat#STRING_REF} entry if it is in the dictionary, as a {@link BinaryFormat#STRING_DEF}
+	 * entry if the field's recent values repeated, otherwise as a plain entry
+	 */
+	private void writeAdaptive(String name, FieldName fieldName, String s) throws IOException {
+		FieldStats stats = stats(name);
+		Integer idx = dictionary.get(s);
+		boolean repeated = stats.chooseDictionary(s, idx != null);
+		if(idx != null) {
+			writeHeader(BinaryFormat.STRING_REF, name, fieldName);
+			writeVarInt(idx);
+		}
+		else if(repeated && dictionary.size() < MAX_DICTIONARY_SIZE && s.length() <= MAX_DICTIONARY_STRING_LENGTH) {
+			dictionary.put(s, dictionary.size());
+			writeHeader(BinaryFormat.STRING_DEF, name, fieldName);
+			writeUtf8(s);
+		}
+		else {
+			writeHeader(BinaryFormat.STRING, name, fieldName);
+			writeUtf8(s);
+		}
+	}
+
+
+	private FieldStats stats(String name) {
+		FieldStats stats = fieldStats.get(name);
+		if(stats == null) {
+			stats = new FieldStats();
+			fieldStats.put(name, stats);
+		}
+		return stats;
+	}
+
+
+	/** Write a name's UTF-8 byte length as a varint followed by a copy of its pre-encoded UTF-8 bytes
+	 */
+	private void writeName(FieldName name) throws IOException {
+		byte[] bytes = name.getUtf8();
+		writeVarInt(bytes.length);
+		writeRaw(bytes, 0, bytes.length);
+	}
+
+
+	/** Write a string's UTF-8 byte length as a varint followed by its UTF-8 bytes, ASCII strings are encoded without creating a byte array
+	 */
+	private void writeUtf8(String s) throws IOException {
+		int len = s.length();
+		boolean ascii = true;
+		for(int i = 0; i < len; i++) {
+			if(s.charAt(i) >= 0x80) {
+				ascii = false;
+				break;
+			}
+		}
+		if(!ascii) {
+			byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+			writeVarInt(bytes.length);
+			writeRaw(bytes, 0, bytes.length);
+			return;
+		}
+		writeVarInt(len);
+		for(int i = 0; i < len; ) {
+			if(pos == buf.length) {
+				flushBuffer();
+			}
+			int end = Math.min(len, i + buf.length - pos);
+			byte[] b = buf;
+			int p = pos;
+			for(; i < end; i++) {
+				b[p++] = (byte)s.charAt(i);
+			}
+			pos = p;
+		}
+	}
+
+
+	/** Encode chars as UTF-8, unpaired surrogates are encoded as {@code '?'} like {@link String#getBytes(java.nio.charset.Charset)}
+	 * @return the number of bytes written to {@code dst}
+	 */
+	private static int encodeUtf8(char[] src, int off, int end, byte[] dst) {
+		int p = 0;
+		for(int i = off; i < end; i++) {
+			char ch = src[i];
+			if(ch < 0x80) {
+				dst[p++] = (byte)ch;
+			}
+			else if(ch < 0x800) {
+				dst[p++] = (byte)(0xC0 | (ch >> 6));
+				dst[p++] = (byte)(0x80 | (ch & 0x3F));
+			}
+			else if(Character.isSurrogate(ch)) {
+				if(Character.isHighSurrogate(ch) && i + 1 < end && Character.isLowSurrogate(src[i + 1])) {
+					int cp = Character.toCodePoint(ch, src[++i]);
+					dst[p++] = (byte)(0xF0 | (cp >> 18));
+					dst[p++] = (byte)(0x80 | ((cp >> 12) & 0x3F));
+					dst[p++] = (byte)(0x80 | ((cp >> 6) & 0x3F));
+					dst[p++] = (byte)(0x80 | (cp & 0x3F));
+				}
+				else {
+					dst[p++] = '?';
+				}
+			}
+			else {
+				dst[p++] = (byte)(0xE0 | (ch >> 12));
+				dst[p++] = (byte)(0x80 | ((ch >> 6) & 0x3F));
+				dst[p++] = (byte)(0x80 | (ch & 0x3F));
+			}
+		}
+		return p;
+	}
+
+
+	private void writeVarInt(int v) throws IOException {
+		ensure(5);
+		byte[] b = buf;
+		int p = pos;
+		while((v & ~0x7F) != 0) {
+			b[p++] = (byte)((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		b[p++] = (byte)v;
+		pos = p;
+	}
+
+
+	private void writeVarLong(long v) throws IOException {
+		ensure(10);
+		byte[] b = buf;
+		int p = pos;
+		while((v & ~0x7FL) != 0) {
+			b[p++] = (byte)((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		b[p++] = (byte)v;
+		pos = p;
+	}
+
+
+	private void writeFixed32(int v) throws IOException {
+		ensure(4);
+		byte[] b = buf;
+		int p = pos;
+		b[p] = (byte)(v >>> 24);
+		b[p + 1] = (byte)(v >>> 16);
+		b[p + 2] = (byte)(v >>> 8);
+		b[p + 3] = (byte)v;
+		pos = p + 4;
+	}
+
+
+	private void writeFixed64(long v) throws IOException {
+		writeFixed32((int)(v >>> 32));
+		writeFixed32((int)v);
+	}
+
+
+	private void writeRaw(byte[] b, int off, int len) throws IOException {
+		if(len > buf.length - pos) {
+			flushBuffer();
+			// large values are written directly
+			if(len > buf.length) {
+				out.write(b, off, len);
+				return;
+			}
+		}
+		System.arraycopy(b, off, buf, pos, len);
+		pos += len;
+	}
+
+
+	private void ensure(int n) throws IOException {
+		if(buf.length - pos < n) {
+			flushBuffer();
+			if(buf.length < n) {
+				buf = Arrays.copyOf(buf, n);
+			}
+		}
+	}
+
+
+	private void flushBuffer() throws IOException {
+		if(pos > 0) {
+			out.write(buf, 0, pos);
+			pos = 0;
+		}
+	}
+
+
+	private void checkStatus() {
+		if(depth < 1) {
+			throw new IllegalStateException("Cannot write field without starting opening block");
+		}
+	}
+
+
+	private static int varLongSize(long v) {
+		return 1 + (63 - Long.numberOfLeadingZeros(v | 1)) / 7;
+	}
+
+
+
+	/** The recent encoding costs of one field's values. Each score is an exponentially decaying sum (a window of roughly the last 8 values)
+	 * of the difference in bytes between an adaptive and a plain encoding of the field's values, scaled by 16,
+	 * an adaptive encoding is used while its score is negative
+	 */
+	private static final class FieldStats {
+		/** the number of recent string values checked for repeats */
+		private static final int RECENT_STRINGS = 8;
+
+		int longSlot = -1;
+		/** the last value written as a delta, the base of the next delta */
+		long longBase;
+		long longPrev;
+		int longScore;
+
+		int doubleSlot = -1;
+		/** the bits of the last value written as an XOR, the base of the next XOR */
+		long doubleBase;
+		long doublePrev;
+		int doubleScore;
+
+		final String[] recentStrings = new String[RECENT_STRINGS];
+		int recentIdx;
+		int stringScore;
+
+
+		/**
+		 * @return true if {@code v} should be written as a delta
+		 */
+		boolean chooseDelta(long v) {
+			int plainCost = varLongSize(BinaryFormat.encodeZigZag(v));
+			int deltaCost = 1 + varLongSize(BinaryFormat.encodeZigZag(v - longPrev));
+			longPrev = v;
+			longScore += ((deltaCost - plainCost) << 4) - (longScore >> 3);
+			return longScore < 0;
+		}
+
+
+		/**
+		 * @return true if {@code bits} should be written as an XOR
+		 */
+		boolean chooseXor(long bits) {
+			long xor = bits ^ doublePrev;
+			int xorCost = 2 + (xor == 0 ? 0 : 8 - (Long.numberOfLeadingZeros(xor) >>> 3) - (Long.numberOfTrailingZeros(xor) >>> 3));
+			doublePrev = bits;
+			doubleScore += ((xorCost - 8) << 4) - (doubleScore >> 3);
+			return doubleScore < 0;
+		}
+
+
+		/** Record a string value, a value is a repeat if it is in the dictionary or equal to one of the field's recent values
+		 * @return true if new values of the field should be added to the dictionary, false if the field's values rarely repeat
+		 */
+		boolean chooseDictionary(String s, boolean inDictionary) {
+			boolean repeat = inDictionary;
+			for(int i = 0; i < RECENT_STRINGS && !repeat; i++) {
+				repeat = s.equals(recentStrings[i]);
+			}
+			recentStrings[recentIdx] = s;
+			recentIdx = (recentIdx + 1) & (RECENT_STRINGS - 1);
+			stringScore += (repeat ? -16 : 16) - (stringScore >> 3);
+			// new fields start out using the dictionary, a field stops using it once about 3 of every 4 recent values are new
+			return stringScore < 64;
+		}
+
+	}
+
+}
@@ -0,0 +1,176 @@
+package twg2.io.serialize.columnar;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import twg2.io.serialize.base.reader.DataTransferInput;
+
+/** The decoded columns of a columnar block, one primitive or {@code String} array per column.<br>
+ * Analytics which only need a few fields read a block with {@link #read(DataTransferInput, String, Collection)},
+ * which decodes the wanted columns and skips the encoded bytes of the others, then loop over the column arrays directly
+ * instead of creating an object per record.<br>
+ * The arrays returned by the getters are not copied.
+ * @see ColumnarFormat
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class ColumnBlock {
+	private final int size;
+	private final List<String> names;
+	private final Map<String, Object> columns;
+
+
+	private ColumnBlock(int size, List<String> names, Map<String, Object> columns) {
+		this.size = size;
+		this.names = Collections.unmodifiableList(names);
+		this.columns = columns;
+	}
+
+
+	/** Read and decode every column of a columnar block
+	 * @see #read(DataTransferInput, String, Collection)
+	 */
+	public static ColumnBlock read(DataTransferInput in, String blockName) throws IOException {
+		return read(in, blockName, null);
+	}
+
+
+	/** Read a columnar block, decoding only the wanted columns
+	 * @param in the input stream to read the block from
+	 * @param blockName the name of the block
+	 * @param columnNames the names of the columns to decode, {@code null} to decode all columns.
+	 * Wanted columns which are not in the block are ignored, see {@link #hasColumn(String)}
+	 * @return the decoded columns
+	 * @throws IOException if there is an error reading the input stream or the block is malformed
+	 */
+	public static ColumnBlock read(DataTransferInput in, String blockName, Collection<String> columnNames) throws IOException {
+		in.readStartBlock(blockName);
+		int count = in.readInt(ColumnarFormat.COUNT_FIELD);
+		if(count < 0) {
+			throw new IOException("invalid columnar block record count " + count);
+		}
+		String header = in.readString(ColumnarFormat.COLUMNS_FIELD);
+		List<String> names = new ArrayList<>();
+		Map<String, Object> columns = new LinkedHashMap<>();
+		if(header != null && header.length() > 0) {
+			int start = 0;
+			while(start <= header.length()) {
+				int end = header.indexOf(ColumnarFormat.COLUMN_SEPARATOR, start);
+				end = (end < 0 ? header.length() : end);
+				String name = header.substring(start, end);
+				start = end + 1;
+
+				// columns are read in the order they were written, since some readers (XML) read fields by position
+				try(InputStream src = in.openBinaryStream(name)) {
+					if(columnNames == null || columnNames.contains(name)) {
+						names.add(name);
+						columns.put(name, ColumnarFormat.decode(name, src.readAllBytes(), count));
+					}
+				}
+			}
+		}
+		in.readEndBlock();
+		return new ColumnBlock(count, names, columns);
+	}
+
+
+	/**
+	 * @return the number of records in the block
+	 */
+	public int size() {
+		return size;
+	}
+
+
+	/**
+	 * @return the names of the decoded columns, in the order they were stored
+	 */
+	public List<String> getColumnNames() {
+		return names;
+	}
+
+
+	/**
+	 * @return true if the block contains a decoded column with the name
+	 */
+	public boolean hasColumn(String name) {
+		return columns.containsKey(name);
+	}
+
+
+	/**
+	 * @param name the column name
+	 * @return the values of an int column
+	 * @throws IllegalArgumentException if there is no decoded column with the name or it is not an int column
+	 */
+	public int[] getIntColumn(String name) {
+		return getColumn(name, int[].class);
+	}
+
+
+	/**
+	 * @param name the column name
+	 * @return the values of a long column
+	 * @throws IllegalArgumentException if there is no decoded column with the name or it is not a long column
+	 */
+	public long[] getLongColumn(String name) {
+		return getColumn(name, long[].class);
+	}
+
+
+	/**
+	 * @param name the column name
+	 * @return the values of a double column
+	 * @throws IllegalArgumentException if there is no decoded column with the name or it is not a double column
+	 */
+	public double[] getDoubleColumn(String name) {
+		return getColumn(name, double[].class);
+	}
+
+
+	/**
+	 * @param name the column name
+	 * @return the values of a boolean column
+	 * @throws IllegalArgumentException if there is no decoded column with the name or it is not a boolean column
+	 */
+	public boolean[] getBooleanColumn(String name) {
+		return getColumn(name, boolean[].class);
+	}
+
+
+	/**
+	 * @param name the column name
+	 * @return the values of a string column, values which were dictionary encoded share one instance per distinct value
+	 * @throws IllegalArgumentException if there is no decoded column with the name or it is not a string column
+	 */
+	public String[] getStringColumn(String name) {
+		return getColumn(name, String[].class);
+	}
+
+
+	/**
+	 * @return the decoded column array, {@code null} if the block does not contain the column
+	 */
+	Object getColumn(String name) {
+		return columns.get(name);
+	}
+
+
+	private <A> A getColumn(String name, Class<A> type) {
+		Object column = columns.get(name);
+		if(column == null) {
+			throw new IllegalArgumentException("no column '" + name + "' in block, columns: " + names);
+		}
+		if(column.getClass() != type) {
+			throw new IllegalArgumentException("column '" + name + "' is a " + column.getClass().getComponentType().getSimpleName() + " column, not " + type.getComponentType().getSimpleName());
+		}
+		return type.cast(column);
+	}
+
+}
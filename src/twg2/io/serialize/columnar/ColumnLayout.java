@@ -0,0 +1,481 @@
+package twg2.io.serialize.columnar;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import twg2.io.serialize.base.BatchDataTransferFactory;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.FieldName;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+
+/** Describes how the fields of a record type map to the columns of a columnar block, see {@link ColumnarFormat}.<br>
+ * Columns are added with a getter used to write the column and a setter used to read it back into new records,
+ * a {@code null} setter creates a write-only column which is skipped when records are read.
+ * For example:
+ * <pre>
+ * ColumnLayout&lt;Employee&gt; layout = new ColumnLayout&lt;&gt;(Employee::new)
+ *     .addInt("id", (e) -&gt; e.id, (e, v) -&gt; e.id = v)
+ *     .addString("dept", (e) -&gt; e.dept, (e, v) -&gt; e.dept = v);
+ * layout.writeBlock(out, "employees", employees);
+ * </pre>
+ * Readers which only need some of the columns can read the block with {@link ColumnBlock#read(DataTransferInput, String, java.util.Collection)} instead.
+ * The same layout can also read and write records row-wise, see {@link #rowFactory(String, IntFunction)}.
+ * @param <T> the type of record
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class ColumnLayout<T> {
+	private final Supplier<? extends T> constructor;
+	private final List<Column<T>> columns = new ArrayList<>();
+
+
+	/**
+	 * @param constructor creates the empty records which {@link #readBlock(DataTransferInput, String)} sets column values on,
+	 * {@code null} if this layout is only used to write records
+	 */
+	public ColumnLayout(Supplier<? extends T> constructor) {
+		this.constructor = constructor;
+	}
+
+
+	/**
+	 * @return the names of this layout's columns, in the order they are written
+	 */
+	public List<String> getColumnNames() {
+		List<String> names = new ArrayList<>(columns.size());
+		for(Column<T> column : columns) {
+			names.add(column.name);
+		}
+		return names;
+	}
+
+
+	public ColumnLayout<T> addInt(String name, ToIntFunction<? super T> getter, ObjIntConsumer<? super T> setter) {
+		return add(new Column<T>(name) {
+			@Override byte[] encode(List<? extends T> records) {
+				int count = records.size();
+				int[] values = new int[count];
+				for(int i = 0; i < count; i++) {
+					values[i] = getter.applyAsInt(records.get(i));
+				}
+				return ColumnarFormat.encodeInts(values, count);
+			}
+
+			@Override boolean canRead() {
+				return setter != null;
+			}
+
+			@Override void apply(List<? extends T> records, Object column) throws IOException {
+				int[] values = cast(column, int[].class);
+				for(int i = 0, count = records.size(); i < count; i++) {
+					setter.accept(records.get(i), values[i]);
+				}
+			}
+
+			@Override void write(DataTransferOutput out, T record) throws IOException {
+				out.writeIntField(fieldName, getter.applyAsInt(record));
+			}
+
+			@Override void read(DataTransferInput in, T record) throws IOException {
+				int v = in.readIntField(fieldName);
+				if(setter != null) {
+					setter.accept(record, v);
+				}
+			}
+		});
+	}
+
+
+	public ColumnLayout<T> addLong(String name, ToLongFunction<? super T> getter, ObjLongConsumer<? super T> setter) {
+		return add(new Column<T>(name) {
+			@Override byte[] encode(List<? extends T> records) {
+				int count = records.size();
+				long[] values = new long[count];
+				for(int i = 0; i < count; i++) {
+					values[i] = getter.applyAsLong(records.get(i));
+				}
+				return ColumnarFormat.encodeLongs(values, count);
+			}
+
+			@Override boolean canRead() {
+				return setter != null;
+			}
+
+			@Override void apply(List<? extends T> records, Object column) throws IOException {
+				long[] values = cast(column, long[].class);
+				for(int i = 0, count = records.size(); i < count; i++) {
+					setter.accept(records.get(i), values[i]);
+				}
+			}
+
+			@Override void write(DataTransferOutput out, T record) throws IOException {
+				out.writeLongField(fieldName, getter.applyAsLong(record));
+			}
+
+			@Override void read(DataTransferInput in, T record) throws IOException {
+				long v = in.readLongField(fieldName);
+				if(setter != null) {
+					setter.accept(record, v);
+				}
+			}
+		});
+	}
+
+
+	public ColumnLayout<T> addDouble(String name, ToDoubleFunction<? super T> getter, ObjDoubleConsumer<? super T> setter) {
+		return add(new Column<T>(name) {
+			@Override byte[] encode(List<? extends T> records) {
+				int count = records.size();
+				double[] values = new double[count];
+				for(int i = 0; i < count; i++) {
+					values[i] = getter.applyAsDouble(records.get(i));
+				}
+				return ColumnarFormat.encodeDoubles(values, count);
+			}
+
+			@Override boolean canRead() {
+				return setter != null;
+			}
+
+			@Override void apply(List<? extends T> records, Object column) throws IOException {
+				double[] values = cast(column, double[].class);
+				for(int i = 0, count = records.size(); i < count; i++) {
+					setter.accept(records.get(i), values[i]);
+				}
+			}
+
+			@Override void write(DataTransferOutput out, T record) throws IOException {
+				out.writeDoubleField(fieldName, getter.applyAsDouble(record));
+			}
+
+			@Override void read(DataTransferInput in, T record) throws IOException {
+				double v = in.readDoubleField(fieldName);
+				if(setter != null) {
+					setter.accept(record, v);
+				}
+			}
+		});
+	}
+
+
+	public ColumnLayout<T> addBoolean(String name, Predicate<? super T> getter, BiConsumer<? super T, Boolean> setter) {
+		return add(new Column<T>(name) {
+			@Override byte[] encode(List<? extends T> records) {
+				int count = records.size();
+				boolean[] values = new boolean[count];
+				for(int i = 0; i < count; i++) {
+					values[i] = getter.test(records.get(i));
+				}
+				return ColumnarFormat.encodeBooleans(values, count);
+			}
+
+			@Override boolean canRead() {
+				return setter != null;
+			}
+
+			@Override void apply(List<? extends T> records, Object column) throws IOException {
+				boolean[] values = cast(column, boolean[].class);
+				for(int i = 0, count = records.size(); i < count; i++) {
+					setter.accept(records.get(i), values[i]);
+				}
+			}
+
+			@Override void write(DataTransferOutput out, T record) throws IOException {
+				out.writeBooleanField(fieldName, getter.test(record));
+			}
+
+			@Override void read(DataTransferInput in, T record) throws IOException {
+				boolean v = in.readBooleanField(fieldName);
+				if(setter != null) {
+					setter.accept(record, v);
+				}
+			}
+		});
+	}
+
+
+	/** Add a string column, columns with few distinct values are dictionary encoded, {@code null} values are allowed
+	 */
+	public ColumnLayout<T> addString(String name, Function<? super T, String> getter, BiConsumer<? super T, String> setter) {
+		return add(new Column<T>(name) {
+			@Override byte[] encode(List<? extends T> records) {
+				int count = records.size();
+				String[] values = new String[count];
+				for(int i = 0; i < count; i++) {
+					values[i] = getter.apply(records.get(i));
+				}
+				return ColumnarFormat.encodeStrings(values, count);
+			}
+
+			@Override boolean canRead() {
+				return setter != null;
+			}
+
+			@Override void apply(List<? extends T> records, Object column) throws IOException {
+				String[] values = cast(column, String[].class);
+				for(int i = 0, count = records.size(); i < count; i++) {
+					setter.accept(records.get(i), values[i]);
+				}
+			}
+
+			@Override void write(DataTransferOutput out, T record) throws IOException {
+				out.writeStringField(fieldName, getter.apply(record));
+			}
+
+			@Override void read(DataTransferInput in, T record) throws IOException {
+				String v = in.readStringField(fieldName);
+				if(setter != null) {
+					setter.accept(record, v);
+				}
+			}
+		});
+	}
+
+
+	/** Write records as a columnar block
+	 * @param out the output stream to write the block to
+	 * @param blockName the name of the block
+	 * @param records the records to write
+	 * @throws IOException if there is an error writing to the output stream
+	 */
+	public void writeBlock(DataTransferOutput out, String blockName, List<? extends T> records) throws IOException {
+		out.writeStartBlock(blockName);
+		out.writeInt(ColumnarFormat.COUNT_FIELD, records.size());
+		out.writeString(ColumnarFormat.COLUMNS_FIELD, String.join(String.valueOf(ColumnarFormat.COLUMN_SEPARATOR), getColumnNames()));
+		for(Column<T> column : columns) {
+			out.write(column.name, column.encode(records));
+		}
+		out.writeEndBlock();
+	}
+
+
+	/** Read a columnar block into new records, only the columns this layout can set are decoded.
+	 * Columns missing from the block are left at the records' initial values
+	 * @param in the input stream to read the block from
+	 * @param blockName the name of the block
+	 * @return the records
+	 * @throws IOException if there is an error reading the input stream, the block is malformed, or a column's type does not match this layout
+	 * @throws IllegalStateException if this layout was created without a constructor
+	 */
+	public List<T> readBlock(DataTransferInput in, String blockName) throws IOException {
+		if(constructor == null) {
+			throw new IllegalStateException("column layout has no record constructor");
+		}
+		List<String> names = new ArrayList<>(columns.size());
+		for(Column<T> column : columns) {
+			if(column.canRead()) {
+				names.add(column.name);
+			}
+		}
+		ColumnBlock block = ColumnBlock.read(in, blockName, names);
+
+		int count = block.size();
+		List<T> records = new ArrayList<>(count);
+		for(int i = 0; i < count; i++) {
+			records.add(constructor.get());
+		}
+		for(Column<T> column : columns) {
+			Object values = block.getColumn(column.name);
+			if(values != null && column.canRead()) {
+				column.apply(records, values);
+			}
+		}
+		return records;
+	}
+
+
+	/** Create a factory which reads and writes records row-wise, each record is a block named {@code recordName}
+	 * containing one field per column, in column order.<br>
+	 * The column names are encoded once, as {@link FieldName}s, when the columns are added, and batches of records
+	 * are read and written in a single loop over the records and columns, see {@link BatchDataTransferFactory}.
+	 * The factory can reload existing records, write-only columns are read and ignored.
+	 * Columns added to this layout after the factory is created are not included.
+	 * @param recordName the name of each record's block
+	 * @param newArray creates arrays of records, for example {@code Employee[]::new}
+	 * @return a batch factory for this layout's records
+	 */
+	public BatchDataTransferFactory<T> rowFactory(String recordName, IntFunction<T[]> newArray) {
+		return new RowFactory<>(constructor, FieldName.of(recordName), newArray, new ArrayList<>(columns));
+	}
+
+
+	private ColumnLayout<T> add(Column<T> column) {
+		String name = column.name;
+		if(name.isEmpty() || name.indexOf(ColumnarFormat.COLUMN_SEPARATOR) > -1) {
+			throw new IllegalArgumentException("column name must not be empty or contain '" + ColumnarFormat.COLUMN_SEPARATOR + "', found '" + name + "'");
+		}
+		if(name.equals(ColumnarFormat.COUNT_FIELD) || name.equals(ColumnarFormat.COLUMNS_FIELD)) {
+			throw new IllegalArgumentException("column name '" + name + "' is reserved");
+		}
+		for(Column<T> existing : columns) {
+			if(existing.name.equals(name)) {
+				throw new IllegalArgumentException("duplicate column '" + name + "'");
+			}
+		}
+		columns.add(column);
+		return this;
+	}
+
+
+
+	/** A typed column, encodes a field's values from a list of records and sets decoded values on a list of records
+	 */
+	private static abstract class Column<T> {
+		final String name;
+		final FieldName fieldName;
+
+
+		Column(String name) {
+			this.name = name;
+			this.fieldName = FieldName.of(name);
+		}
+
+
+		abstract byte[] encode(List<? extends T> records);
+
+
+		abstract boolean canRead();
+
+
+		abstract void apply(List<? extends T> records, Object column) throws IOException;
+
+
+		/** Write one record's value as a field
+		 */
+		abstract void write(DataTransferOutput out, T record) throws IOException;
+
+
+		/** Read one record's field and set it on the record, if this column has a setter
+		 */
+		abstract void read(DataTransferInput in, T record) throws IOException;
+
+
+		<A> A cast(Object column, Class<A> type) throws IOException {
+			if(column.getClass() != type) {
+				throw new IOException("column '" + name + "' is a " + column.getClass().getComponentType().getSimpleName() + " column, expected " + type.getComponentType().getSimpleName());
+			}
+			return type.cast(column);
+		}
+
+	}
+
+
+
+
+	/** Reads and writes each record as a block of fields with the pre-encoded names of a layout's columns
+	 */
+	private static final class RowFactory<T> implements BatchDataTransferFactory<T> {
+		private final Supplier<? extends T> constructor;
+		private final FieldName recordName;
+		private final IntFunction<T[]> newArray;
+		private final List<Column<T>> columns;
+
+
+		RowFactory(Supplier<? extends T> constructor, FieldName recordName, IntFunction<T[]> newArray, List<Column<T>> columns) {
+			this.constructor = constructor;
+			this.recordName = recordName;
+			this.newArray = newArray;
+			this.columns = columns;
+		}
+
+
+		@Override
+		public T[] newBatch(int size) {
+			return newArray.apply(size);
+		}
+
+
+		@Override
+		public boolean canReloadObjects() {
+			return true;
+		}
+
+
+		@Override
+		public void writeData(DataTransferOutput out, T obj) throws IOException {
+			out.writeStartBlockField(recordName);
+			for(int k = 0, size = columns.size(); k < size; k++) {
+				columns.get(k).write(out, obj);
+			}
+			out.writeEndBlock();
+		}
+
+
+		@Override
+		public T readData(DataTransferInput in) throws IOException {
+			T obj = newRecord();
+			readData(in, obj);
+			return obj;
+		}
+
+
+		@Override
+		public void readData(DataTransferInput in, T obj) throws IOException {
+			in.readStartBlockField(recordName);
+			for(int k = 0, size = columns.size(); k < size; k++) {
+				columns.get(k).read(in, obj);
+			}
+			in.readEndBlock();
+		}
+
+
+		@Override
+		public void writeBatch(DataTransferOutput out, T[] items, int off, int len) throws IOException {
+			List<Column<T>> cols = columns;
+			int colCount = cols.size();
+			for(int i = off, end = off + len; i < end; i++) {
+				T item = items[i];
+				out.writeStartBlockField(recordName);
+				for(int k = 0; k < colCount; k++) {
+					cols.get(k).write(out, item);
+				}
+				out.writeEndBlock();
+			}
+		}
+
+
+		@Override
+		public int readBatch(DataTransferInput in, String blockName, T[] dst, int off, int len) throws IOException {
+			List<Column<T>> cols = columns;
+			int colCount = cols.size();
+			int count = 0;
+			while(count < len && !DataTransferableFactory.isEndOfBlock(in.peekNext(), blockName)) {
+				T obj = dst[off + count];
+				if(obj == null) {
+					obj = newRecord();
+					dst[off + count] = obj;
+				}
+				in.readStartBlockField(recordName);
+				for(int k = 0; k < colCount; k++) {
+					cols.get(k).read(in, obj);
+				}
+				in.readEndBlock();
+				count++;
+			}
+			return count;
+		}
+
+
+		private T newRecord() {
+			if(constructor == null) {
+				throw new IllegalStateException("column layout has no record constructor");
+			}
+			return constructor.get();
+		}
+
+	}
+
+}
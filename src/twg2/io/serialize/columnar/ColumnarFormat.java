@@ -0,0 +1,359 @@
+package twg2.io.serialize.columnar;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import twg2.io.serialize.binary.BinaryFormat;
+
+/** Constants describing the columnar block layout written by {@link ColumnLayout#writeBlock(twg2.io.serialize.base.writer.DataTransferOutput, String, java.util.List) ColumnLayout.writeBlock()}
+ * and read by {@link ColumnBlock#read(twg2.io.serialize.base.reader.DataTransferInput, String) ColumnBlock.read()}.<br>
+ * A columnar block stores N records of the same shape as one encoded array per field instead of interleaving the fields of each record.
+ * The block is written with the ordinary {@link twg2.io.serialize.base.writer.DataTransferOutput} methods so it can be stored in any
+ * format, binary columns are written as raw bytes, JSON and XML columns as Base64 strings:
+ * <ul>
+ * <li>{@link #COUNT_FIELD}: int, the number of records</li>
+ * <li>{@link #COLUMNS_FIELD}: string, the comma separated column names in the order they are written</li>
+ * <li>one binary field per column, named after the column, containing an encoding byte followed by the encoded values</li>
+ * </ul>
+ * Column encodings:
+ * <ul>
+ * <li>{@link #INT_DELTA}, {@link #LONG_DELTA}: the zigzag varint difference between each value and the previous value (the first value's previous value is 0)</li>
+ * <li>{@link #DOUBLE_PLAIN}: 8 byte big-endian IEEE 754 bits per value</li>
+ * <li>{@link #BOOLEAN_BITS}: one bit per value, least significant bit first</li>
+ * <li>{@link #STRING_PLAIN}: per value, a varint UTF-8 byte length plus 1 (0 for {@code null}) followed by the UTF-8 bytes</li>
+ * <li>{@link #STRING_DICTIONARY}: a varint entry count and each distinct value as a varint UTF-8 byte length and UTF-8 bytes,
+ * followed by a varint entry index plus 1 (0 for {@code null}) per value. Used when a column has at most half as many distinct values as records</li>
+ * </ul>
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class ColumnarFormat {
+	public static final String COUNT_FIELD = "count";
+	public static final String COLUMNS_FIELD = "columns";
+	public static final char COLUMN_SEPARATOR = ',';
+
+	public static final int INT_DELTA = 1;
+	public static final int LONG_DELTA = 2;
+	public static final int DOUBLE_PLAIN = 3;
+	public static final int BOOLEAN_BITS = 4;
+	public static final int STRING_PLAIN = 5;
+	public static final int STRING_DICTIONARY = 6;
+
+
+	private ColumnarFormat() { throw new AssertionError("cannot instantiate static class ColumnarFormat"); }
+
+
+	static byte[] encodeInts(int[] values, int count) {
+		ColumnBuffer buf = new ColumnBuffer(1 + count * 2);
+		buf.write(INT_DELTA);
+		int prev = 0;
+		for(int i = 0; i < count; i++) {
+			buf.writeVarInt(BinaryFormat.encodeZigZag(values[i] - prev));
+			prev = values[i];
+		}
+		return buf.toByteArray();
+	}
+
+
+	static byte[] encodeLongs(long[] values, int count) {
+		ColumnBuffer buf = new ColumnBuffer(1 + count * 2);
+		buf.write(LONG_DELTA);
+		long prev = 0;
+		for(int i = 0; i < count; i++) {
+			buf.writeVarLong(BinaryFormat.encodeZigZag(values[i] - prev));
+			prev = values[i];
+		}
+		return buf.toByteArray();
+	}
+
+
+	static byte[] encodeDoubles(double[] values, int count) {
+		ColumnBuffer buf = new ColumnBuffer(1 + count * 8);
+		buf.write(DOUBLE_PLAIN);
+		for(int i = 0; i < count; i++) {
+			long bits = Double.doubleToRawLongBits(values[i]);
+			for(int shift = 56; shift >= 0; shift -= 8) {
+				buf.write((int)(bits >>> shift));
+			}
+		}
+		return buf.toByteArray();
+	}
+
+
+	static byte[] encodeBooleans(boolean[] values, int count) {
+		byte[] res = new byte[1 + (count + 7) / 8];
+		res[0] = BOOLEAN_BITS;
+		for(int i = 0; i < count; i++) {
+			if(values[i]) {
+				res[1 + (i >>> 3)] |= 1 << (i & 7);
+			}
+		}
+		return res;
+	}
+
+
+	static byte[] encodeStrings(String[] values, int count) {
+		// find the distinct values, giving up on a dictionary once there are too many
+		int maxDictSize = count / 2;
+		HashMap<String, Integer> dict = new HashMap<>();
+		String[] entries = new String[maxDictSize + 1];
+		for(int i = 0; i < count; i++) {
+			String value = values[i];
+			if(value != null && !dict.containsKey(value)) {
+				if(dict.size() == maxDictSize) {
+					dict = null;
+					break;
+				}
+				entries[dict.size()] = value;
+				dict.put(value, dict.size());
+			}
+		}
+
+		ColumnBuffer buf = new ColumnBuffer(1 + count * 4);
+		if(dict != null && count > 0) {
+			buf.write(STRING_DICTIONARY);
+			int dictSize = dict.size();
+			buf.writeVarInt(dictSize);
+			for(int i = 0; i < dictSize; i++) {
+				byte[] utf8 = entries[i].getBytes(StandardCharsets.UTF_8);
+				buf.writeVarInt(utf8.length);
+				buf.write(utf8, 0, utf8.length);
+			}
+			for(int i = 0; i < count; i++) {
+				buf.writeVarInt(values[i] != null ? dict.get(values[i]) + 1 : 0);
+			}
+		}
+		else {
+			buf.write(STRING_PLAIN);
+			for(int i = 0; i < count; i++) {
+				if(values[i] == null) {
+					buf.writeVarInt(0);
+				}
+				else {
+					byte[] utf8 = values[i].getBytes(StandardCharsets.UTF_8);
+					buf.writeVarInt(utf8.length + 1);
+					buf.write(utf8, 0, utf8.length);
+				}
+			}
+		}
+		return buf.toByteArray();
+	}
+
+
+	/** Decode a column
+	 * @param name the column name, used in error messages
+	 * @param src the encoded column
+	 * @param count the number of values in the column
+	 * @return an {@code int[]}, {@code long[]}, {@code double[]}, {@code boolean[]}, or {@code String[]} depending on the column's encoding
+	 * @throws IOException if the column is malformed
+	 */
+	static Object decode(String name, byte[] src, int count) throws IOException {
+		if(src.length == 0) {
+			throw new IOException("empty column '" + name + "'");
+		}
+		ColumnInput in = new ColumnInput(name, src);
+		int encoding = in.read();
+		Object res;
+		switch(encoding) {
+		case INT_DELTA: {
+			int[] values = new int[count];
+			int prev = 0;
+			for(int i = 0; i < count; i++) {
+				prev += BinaryFormat.decodeZigZag(in.readVarInt());
+				values[i] = prev;
+			}
+			res = values;
+			break;
+		}
+		case LONG_DELTA: {
+			long[] values = new long[count];
+			long prev = 0;
+			for(int i = 0; i < count; i++) {
+				prev += BinaryFormat.decodeZigZag(in.readVarLong());
+				values[i] = prev;
+			}
+			res = values;
+			break;
+		}
+		case DOUBLE_PLAIN: {
+			double[] values = new double[count];
+			for(int i = 0; i < count; i++) {
+				long bits = 0;
+				for(int j = 0; j < 8; j++) {
+					bits = (bits << 8) | in.read();
+				}
+				values[i] = Double.longBitsToDouble(bits);
+			}
+			res = values;
+			break;
+		}
+		case BOOLEAN_BITS: {
+			boolean[] values = new boolean[count];
+			in.require((count + 7) / 8);
+			for(int i = 0; i < count; i++) {
+				values[i] = (src[1 + (i >>> 3)] & (1 << (i & 7))) != 0;
+			}
+			in.pos += (count + 7) / 8;
+			res = values;
+			break;
+		}
+		case STRING_PLAIN: {
+			String[] values = new String[count];
+			for(int i = 0; i < count; i++) {
+				int len = in.readVarInt();
+				values[i] = (len == 0 ? null : in.readUtf8(len - 1));
+			}
+			res = values;
+			break;
+		}
+		case STRING_DICTIONARY: {
+			int dictSize = in.readVarInt();
+			if(dictSize < 0 || dictSize > src.length) {
+				throw new IOException("invalid dictionary size " + dictSize + " in column '" + name + "'");
+			}
+			String[] entries = new String[dictSize];
+			for(int i = 0; i < dictSize; i++) {
+				entries[i] = in.readUtf8(in.readVarInt());
+			}
+			String[] values = new String[count];
+			for(int i = 0; i < count; i++) {
+				int idx = in.readVarInt();
+				if(idx < 0 || idx > dictSize) {
+					throw new IOException("invalid dictionary index " + idx + " in column '" + name + "'");
+				}
+				values[i] = (idx == 0 ? null : entries[idx - 1]);
+			}
+			res = values;
+			break;
+		}
+		default:
+			throw new IOException("unknown encoding " + encoding + " for column '" + name + "'");
+		}
+		if(in.pos != src.length) {
+			throw new IOException("column '" + name + "' has " + (src.length - in.pos) + " unexpected trailing bytes");
+		}
+		return res;
+	}
+
+
+
+	/** A growable byte array which encoded column values are written to
+	 */
+	private static final class ColumnBuffer {
+		private byte[] buf;
+		private int len;
+
+
+		ColumnBuffer(int capacity) {
+			this.buf = new byte[Math.max(capacity, 16)];
+		}
+
+
+		void write(int b) {
+			if(len == buf.length) {
+				buf = Arrays.copyOf(buf, buf.length * 2);
+			}
+			buf[len++] = (byte)b;
+		}
+
+
+		void write(byte[] b, int off, int count) {
+			if(len + count > buf.length) {
+				buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + count));
+			}
+			System.arraycopy(b, off, buf, len, count);
+			len += count;
+		}
+
+
+		void writeVarInt(int v) {
+			while((v & ~0x7F) != 0) {
+				write((v & 0x7F) | 0x80);
+				v >>>= 7;
+			}
+			write(v);
+		}
+
+
+		void writeVarLong(long v) {
+			while((v & ~0x7FL) != 0) {
+				write((int)(v & 0x7F) | 0x80);
+				v >>>= 7;
+			}
+			write((int)v);
+		}
+
+
+		byte[] toByteArray() {
+			return Arrays.copyOf(buf, len);
+		}
+
+	}
+
+
+
+	/** Reads encoded column values from a byte array, reading past the end of the array throws an {@link IOException}
+	 */
+	private static final class ColumnInput {
+		private final String name;
+		private final byte[] src;
+		int pos;
+
+
+		ColumnInput(String name, byte[] src) {
+			this.name = name;
+			this.src = src;
+		}
+
+
+		void require(int count) throws IOException {
+			if(count < 0 || src.length - pos < count) {
+				throw new IOException("unexpected end of column '" + name + "'");
+			}
+		}
+
+
+		int read() throws IOException {
+			require(1);
+			return src[pos++] & 0xFF;
+		}
+
+
+		int readVarInt() throws IOException {
+			int res = 0;
+			for(int shift = 0; shift < 35; shift += 7) {
+				int b = read();
+				res |= (b & 0x7F) << shift;
+				if((b & 0x80) == 0) {
+					return res;
+				}
+			}
+			throw new IOException("malformed varint in column '" + name + "'");
+		}
+
+
+		long readVarLong() throws IOException {
+			long res = 0;
+			for(int shift = 0; shift < 70; shift += 7) {
+				int b = read();
+				res |= (long)(b & 0x7F) << shift;
+				if((b & 0x80) == 0) {
+					return res;
+				}
+			}
+			throw new IOException("malformed varint in column '" + name + "'");
+		}
+
+
+		String readUtf8(int len) throws IOException {
+			require(len);
+			String res = new String(src, pos, len, StandardCharsets.UTF_8);
+			pos += len;
+			return res;
+		}
+
+	}
+
+}
@@ -0,0 +1,84 @@
+package twg2.io.serialize.container;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.reader.DataTransferInput;
+
+/** The decompressed records of one {@link ChunkedFormat} chunk, returned by {@link ChunkedReader#readChunk(int)}.<br>
+ * Each record is read from the chunk's buffer with {@link DataTransferableFactory#createReader(DataTransferFormat, byte[], int, int)}.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class Chunk {
+	private final DataTransferFormat format;
+	private final byte[] data;
+	private final int[] recordOffsets;
+
+
+	/**
+	 * @param format the format of the chunk's records
+	 * @param data the chunk's uncompressed records
+	 * @param recordOffsets the offset of each record in {@code data}
+	 */
+	public Chunk(DataTransferFormat format, byte[] data, int[] recordOffsets) {
+		this.format = format;
+		this.data = data;
+		this.recordOffsets = recordOffsets;
+	}
+
+
+	public int size() {
+		return recordOffsets.length;
+	}
+
+
+	/**
+	 * @return the chunk's uncompressed records, shared with this chunk
+	 */
+	public byte[] getData() {
+		return data;
+	}
+
+
+	public int getRecordOffset(int index) {
+		return recordOffsets[index];
+	}
+
+
+	public int getRecordLength(int index) {
+		int end = (index + 1 < recordOffsets.length ? recordOffsets[index + 1] : data.length);
+		return end - recordOffsets[index];
+	}
+
+
+	/** Open a reader over one of the chunk's records
+	 * @param index the index of the record in this chunk
+	 * @return a reader positioned at the start of the record's document
+	 * @throws IOException if the record's data is malformed
+	 */
+	public DataTransferInput openRecord(int index) throws IOException {
+		return DataTransferableFactory.createReader(format, data, recordOffsets[index], getRecordLength(index));
+	}
+
+
+	public <T> T readRecord(int index, DataTransferFactory<T> reader) throws IOException {
+		try(DataTransferInput in = openRecord(index)) {
+			return reader.readData(in);
+		}
+	}
+
+
+	public <T> List<T> readRecords(DataTransferFactory<T> reader) throws IOException {
+		List<T> res = new ArrayList<>(recordOffsets.length);
+		for(int i = 0; i < recordOffsets.length; i++) {
+			res.add(readRecord(i, reader));
+		}
+		return res;
+	}
+
+}
@@ -0,0 +1,81 @@
+package twg2.io.serialize.container;
+
+import java.io.IOException;
+
+import twg2.io.serialize.base.DataTransferFormat;
+
+/** Constants describing the chunked container format written by {@link ChunkedWriter} and read by {@link ChunkedReader}.<br>
+ * A container groups records, each a standalone document in one of the {@link DataTransferFormat}s,
+ * into independently compressed chunks so that chunks can be located, skipped, and decompressed in parallel.
+ * All integers are big-endian.
+ * <ul>
+ * <li>header: the 4 byte {@link #MAGIC}, the record format byte (see {@link #formatCode(DataTransferFormat)}), and the compression byte</li>
+ * <li>chunks: the chunk's record count, uncompressed length, and stored length as 4 byte ints, the 4 byte offset of each record
+ * in the uncompressed data, followed by the stored (possibly compressed) data</li>
+ * <li>index: the 4 byte chunk count followed by each chunk's 8 byte file offset and 4 byte record count</li>
+ * <li>trailer: the 8 byte file offset of the index followed by the 4 byte {@link #MAGIC}</li>
+ * </ul>
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class ChunkedFormat {
+	/** the bytes {@code 'D', 'T', 'C'} followed by the format version */
+	public static final byte[] MAGIC = { 'D', 'T', 'C', 1 };
+	public static final int HEADER_SIZE = MAGIC.length + 2;
+	public static final int TRAILER_SIZE = 8 + MAGIC.length;
+	public static final int CHUNK_HEADER_SIZE = 12;
+	public static final int INDEX_ENTRY_SIZE = 12;
+
+	/** chunk data is stored uncompressed */
+	public static final int COMPRESSION_NONE = 0;
+	/** chunk data is compressed with {@link java.util.zip.Deflater} without a zlib wrapper */
+	public static final int COMPRESSION_DEFLATE = 1;
+
+
+	private ChunkedFormat() { throw new AssertionError("cannot instantiate static class ChunkedFormat"); }
+
+
+	public static int formatCode(DataTransferFormat format) {
+		switch(format) {
+		case XML: return 1;
+		case JSON: return 2;
+		case BINARY: return 3;
+		default: throw new AssertionError("unknown format type: " + format);
+		}
+	}
+
+
+	public static DataTransferFormat formatFromCode(int code) throws IOException {
+		switch(code) {
+		case 1: return DataTransferFormat.XML;
+		case 2: return DataTransferFormat.JSON;
+		case 3: return DataTransferFormat.BINARY;
+		default: throw new IOException("unknown container record format " + code);
+		}
+	}
+
+
+	static void putInt(byte[] b, int off, int v) {
+		b[off] = (byte)(v >>> 24);
+		b[off + 1] = (byte)(v >>> 16);
+		b[off + 2] = (byte)(v >>> 8);
+		b[off + 3] = (byte)v;
+	}
+
+
+	static void putLong(byte[] b, int off, long v) {
+		putInt(b, off, (int)(v >>> 32));
+		putInt(b, off + 4, (int)v);
+	}
+
+
+	static int getInt(byte[] b, int off) {
+		return (b[off] << 24) | ((b[off + 1] & 0xFF) << 16) | ((b[off + 2] & 0xFF) << 8) | (b[off + 3] & 0xFF);
+	}
+
+
+	static long getLong(byte[] b, int off) {
+		return ((long)getInt(b, off) << 32) | (getInt(b, off + 4) & 0xFFFFFFFFL);
+	}
+
+}
@@ -0,0 +1,286 @@
+package twg2.io.serialize.container;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.DataTransferFormat;
+
+/** Reads a {@link ChunkedFormat} container written by {@link ChunkedWriter}.<br>
+ * The chunk index is loaded when the reader is opened, after which any chunk can be read directly without reading
+ * the chunks before it. Chunks are read with positional reads, so {@link #readChunk(int)} is thread safe and
+ * chunks can be decompressed and decoded in parallel, see {@link #readAll(DataTransferFactory, ExecutorService)}.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ChunkedReader implements Closeable {
+	private final FileChannel channel;
+	private final DataTransferFormat format;
+	private final int compression;
+	private final long[] chunkOffsets;
+	/** the index of each chunk's first record in the container, with the total record count as the last element */
+	private final long[] chunkFirstRecords;
+
+
+	/** Open a container file
+	 * @param file the container file
+	 * @throws IOException if there is an error reading the file or its header, index, or trailer are invalid
+	 */
+	public ChunkedReader(File file) throws IOException {
+		this(FileChannel.open(file.toPath(), StandardOpenOption.READ));
+	}
+
+
+	/** Create a container reader
+	 * @param channel the channel containing the container, closed when this reader is closed
+	 * @throws IOException if there is an error reading the channel or the container's header, index, or trailer are invalid
+	 */
+	public ChunkedReader(FileChannel channel) throws IOException {
+		this.channel = channel;
+		byte[] magic = ChunkedFormat.MAGIC;
+		long size = channel.size();
+		if(size < ChunkedFormat.HEADER_SIZE + 4 + ChunkedFormat.TRAILER_SIZE) {
+			throw new IOException("container is too short, found " + size + " bytes");
+		}
+
+		byte[] header = read(0, ChunkedFormat.HEADER_SIZE);
+		checkMagic(header, 0, "header");
+		this.format = ChunkedFormat.formatFromCode(header[magic.length]);
+		this.compression = header[magic.length + 1];
+		if(compression != ChunkedFormat.COMPRESSION_NONE && compression != ChunkedFormat.COMPRESSION_DEFLATE) {
+			throw new IOException("unknown container compression " + compression);
+		}
+
+		byte[] trailer = read(size - ChunkedFormat.TRAILER_SIZE, ChunkedFormat.TRAILER_SIZE);
+		checkMagic(trailer, 8, "trailer");
+		long indexOffset = ChunkedFormat.getLong(trailer, 0);
+		if(indexOffset < ChunkedFormat.HEADER_SIZE || indexOffset > size - ChunkedFormat.TRAILER_SIZE - 4) {
+			throw new IOException("invalid container index offset " + indexOffset);
+		}
+		int chunkCount = ChunkedFormat.getInt(read(indexOffset, 4), 0);
+		if(chunkCount < 0 || indexOffset + 4 + (long)chunkCount * ChunkedFormat.INDEX_ENTRY_SIZE != size - ChunkedFormat.TRAILER_SIZE) {
+			throw new IOException("invalid container index chunk count " + chunkCount);
+		}
+
+		byte[] index = read(indexOffset + 4, chunkCount * ChunkedFormat.INDEX_ENTRY_SIZE);
+		this.chunkOffsets = new long[chunkCount];
+		this.chunkFirstRecords = new long[chunkCount + 1];
+		for(int i = 0; i < chunkCount; i++) {
+			int off = i * ChunkedFormat.INDEX_ENTRY_SIZE;
+			chunkOffsets[i] = ChunkedFormat.getLong(index, off);
+			chunkFirstRecords[i + 1] = chunkFirstRecords[i] + ChunkedFormat.getInt(index, off + 8);
+		}
+	}
+
+
+	public DataTransferFormat getFormat() {
+		return format;
+	}
+
+
+	public int getChunkCount() {
+		return chunkOffsets.length;
+	}
+
+
+	/**
+	 * @return the total number of records in all of the container's chunks
+	 */
+	public long getRecordCount() {
+		return chunkFirstRecords[chunkOffsets.length];
+	}
+
+
+	public int getChunkRecordCount(int chunk) {
+		return (int)(chunkFirstRecords[chunk + 1] - chunkFirstRecords[chunk]);
+	}
+
+
+	/**
+	 * @return the index, in the container, of a chunk's first record
+	 */
+	public long getChunkFirstRecord(int chunk) {
+		return chunkFirstRecords[chunk];
+	}
+
+
+	/**
+	 * @param recordIndex the index of a record in the container
+	 * @return the index of the chunk containing the record
+	 * @throws IndexOutOfBoundsException if {@code recordIndex} is not a valid record index
+	 */
+	public int findChunk(long recordIndex) {
+		if(recordIndex < 0 || recordIndex >= getRecordCount()) {
+			throw new IndexOutOfBoundsException("record index " + recordIndex + ", record count " + getRecordCount());
+		}
+		// chunks are never empty, so first record indices are unique
+		int idx = Arrays.binarySearch(chunkFirstRecords, 0, chunkOffsets.length, recordIndex);
+		return (idx < 0 ? -idx - 2 : idx);
+	}
+
+
+	/** Read and decompress a chunk, this method is thread safe
+	 * @param chunk the index of the chunk to read
+	 * @return the chunk's records
+	 * @throws IOException if there is an error reading the chunk or its data is invalid
+	 */
+	public Chunk readChunk(int chunk) throws IOException {
+		long offset = chunkOffsets[chunk];
+		byte[] header = read(offset, ChunkedFormat.CHUNK_HEADER_SIZE);
+		int recordCount = ChunkedFormat.getInt(header, 0);
+		int dataLen = ChunkedFormat.getInt(header, 4);
+		int storedLen = ChunkedFormat.getInt(header, 8);
+		if(recordCount != getChunkRecordCount(chunk) || dataLen < 0 || storedLen < 0) {
+			throw new IOException("invalid header for chunk " + chunk + " at offset " + offset);
+		}
+
+		byte[] offsetBytes = read(offset + ChunkedFormat.CHUNK_HEADER_SIZE, recordCount * 4);
+		int[] recordOffsets = new int[recordCount];
+		for(int i = 0; i < recordCount; i++) {
+			int recordOffset = ChunkedFormat.getInt(offsetBytes, i * 4);
+			if(recordOffset < (i > 0 ? recordOffsets[i - 1] : 0) || recordOffset > dataLen) {
+				throw new IOException("invalid record offset " + recordOffset + " in chunk " + chunk);
+			}
+			recordOffsets[i] = recordOffset;
+		}
+
+		byte[] stored = read(offset + ChunkedFormat.CHUNK_HEADER_SIZE + recordCount * 4L, storedLen);
+		byte[] data;
+		if(compression == ChunkedFormat.COMPRESSION_DEFLATE) {
+			data = inflate(stored, dataLen, chunk);
+		}
+		else if(storedLen == dataLen) {
+			data = stored;
+		}
+		else {
+			throw new IOException("invalid stored length " + storedLen + " for uncompressed chunk " + chunk + " of length " + dataLen);
+		}
+		return new Chunk(format, data, recordOffsets);
+	}
+
+
+	public <T> List<T> readChunk(int chunk, DataTransferFactory<T> reader) throws IOException {
+		return readChunk(chunk).readRecords(reader);
+	}
+
+
+	/** Read a single record, only the chunk containing the record is read
+	 * @param recordIndex the index of the record in the container
+	 * @param reader the factory used to read the record
+	 * @return the record
+	 * @throws IOException if there is an error reading the chunk or record
+	 */
+	public <T> T readRecord(long recordIndex, DataTransferFactory<T> reader) throws IOException {
+		int chunk = findChunk(recordIndex);
+		return readChunk(chunk).readRecord((int)(recordIndex - chunkFirstRecords[chunk]), reader);
+	}
+
+
+	/** Read all of the container's records, decompressing and decoding chunks in parallel
+	 * @param reader the factory used to read each record, must be thread safe
+	 * @param executor the executor used to read each chunk
+	 * @return the container's records in order
+	 * @throws IOException if there is an error reading any of the chunks
+	 */
+	public <T> List<T> readAll(DataTransferFactory<T> reader, ExecutorService executor) throws IOException {
+		int chunkCount = chunkOffsets.length;
+		List<Future<List<T>>> chunks = new ArrayList<>(chunkCount);
+		for(int i = 0; i < chunkCount; i++) {
+			int chunk = i;
+			chunks.add(executor.submit(() -> readChunk(chunk, reader)));
+		}
+
+		List<T> res = new ArrayList<>((int)Math.min(getRecordCount(), Integer.MAX_VALUE));
+		try {
+			for(Future<List<T>> chunk : chunks) {
+				res.addAll(chunk.get());
+			}
+		} catch(InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted while reading container chunks");
+		} catch(ExecutionException ee) {
+			Throwable cause = ee.getCause();
+			if(cause instanceof IOException) {
+				throw (IOException)cause;
+			}
+			if(cause instanceof RuntimeException) {
+				throw (RuntimeException)cause;
+			}
+			throw new IOException("error reading container chunk", cause);
+		} finally {
+			for(Future<List<T>> chunk : chunks) {
+				chunk.cancel(true);
+			}
+		}
+		return res;
+	}
+
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+
+	private byte[] read(long position, int len) throws IOException {
+		byte[] b = new byte[len];
+		ByteBuffer dst = ByteBuffer.wrap(b);
+		while(dst.hasRemaining()) {
+			if(channel.read(dst, position + dst.position()) < 0) {
+				throw new EOFException("unexpected end of container at offset " + (position + dst.position()) + ", expected " + len + " bytes");
+			}
+		}
+		return b;
+	}
+
+
+	private static byte[] inflate(byte[] stored, int dataLen, int chunk) throws IOException {
+		Inflater inflater = new Inflater(true);
+		try {
+			inflater.setInput(stored);
+			byte[] data = new byte[dataLen];
+			int len = 0;
+			while(len < dataLen) {
+				int n = inflater.inflate(data, len, dataLen - len);
+				if(n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				len += n;
+			}
+			if(len != dataLen) {
+				throw new IOException("chunk " + chunk + " decompressed to " + len + " bytes, expected " + dataLen);
+			}
+			return data;
+		} catch(DataFormatException dfe) {
+			throw new IOException("invalid compressed data in chunk " + chunk, dfe);
+		} finally {
+			inflater.end();
+		}
+	}
+
+
+	private static void checkMagic(byte[] b, int off, String section) throws IOException {
+		byte[] magic = ChunkedFormat.MAGIC;
+		for(int i = 0; i < magic.length; i++) {
+			if(b[off + i] != magic[i]) {
+				throw new IOException("invalid container " + section + ", expected " + Arrays.toString(magic) +
+						" found " + Arrays.toString(Arrays.copyOfRange(b, off, off + magic.length)));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,206 @@
+package twg2.io.serialize.container;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+
+/** Writes records into a {@link ChunkedFormat} container.
+ * Each record is written as a standalone document using a {@link DataTransferOutput} for the container's format,
+ * records are buffered until the uncompressed chunk reaches the writer's chunk size and then the chunk is compressed and written.
+ * The chunk index is written when the writer is closed.
+ * @param <T> the type of records written
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ChunkedWriter<T> implements Closeable {
+	public static final int DEFAULT_CHUNK_SIZE = 1 << 17;
+
+	private final OutputStream out;
+	private final DataTransferFormat format;
+	private final DataTransferFactory<T> writer;
+	private final int chunkSize;
+	private final int compression;
+	private final Deflater deflater;
+	/** the uncompressed records of the current chunk */
+	private final RecordBuffer chunkData = new RecordBuffer(1 << 12);
+	private int[] recordOffsets = new int[64];
+	private int recordCount;
+	private byte[] compressed = new byte[0];
+	private final byte[] header = new byte[16];
+	/** the number of bytes written to {@link #out} */
+	private long position;
+	// the index entries of the chunks written so far
+	private long[] chunkOffsets = new long[16];
+	private int[] chunkRecordCounts = new int[16];
+	private int chunkCount;
+	private boolean closed;
+
+
+	/** Create a container file with {@link ChunkedFormat#COMPRESSION_DEFLATE} chunks of {@link #DEFAULT_CHUNK_SIZE} bytes
+	 * @param file the file to write the container to
+	 * @param format the format to write each record in
+	 * @param writer the factory used to write each record
+	 * @throws IOException if there is an error opening or writing to the file
+	 */
+	public ChunkedWriter(File file, DataTransferFormat format, DataTransferFactory<T> writer) throws IOException {
+		this(new BufferedOutputStream(new FileOutputStream(file)), format, writer, DEFAULT_CHUNK_SIZE, ChunkedFormat.COMPRESSION_DEFLATE);
+	}
+
+
+	/** Create a container writer
+	 * @param out the stream to write the container to, closed when this writer is closed
+	 * @param format the format to write each record in
+	 * @param writer the factory used to write each record
+	 * @param chunkSize the uncompressed size, in bytes, after which a chunk is compressed and written
+	 * @param compression the chunk compression, {@link ChunkedFormat#COMPRESSION_NONE} or {@link ChunkedFormat#COMPRESSION_DEFLATE}
+	 * @throws IOException if there is an error writing the container header
+	 */
+	public ChunkedWriter(OutputStream out, DataTransferFormat format, DataTransferFactory<T> writer, int chunkSize, int compression) throws IOException {
+		if(chunkSize < 1) {
+			throw new IllegalArgumentException("chunk size must be greater than 0, found " + chunkSize);
+		}
+		if(compression != ChunkedFormat.COMPRESSION_NONE && compression != ChunkedFormat.COMPRESSION_DEFLATE) {
+			throw new IllegalArgumentException("unknown compression " + compression);
+		}
+		this.out = out;
+		this.format = format;
+		this.writer = writer;
+		this.chunkSize = chunkSize;
+		this.compression = compression;
+		this.deflater = (compression == ChunkedFormat.COMPRESSION_DEFLATE ? new Deflater(Deflater.DEFAULT_COMPRESSION, true) : null);
+
+		byte[] magic = ChunkedFormat.MAGIC;
+		System.arraycopy(magic, 0, header, 0, magic.length);
+		header[magic.length] = (byte)ChunkedFormat.formatCode(format);
+		header[magic.length + 1] = (byte)compression;
+		write(header, 0, ChunkedFormat.HEADER_SIZE);
+	}
+
+
+	/** Write a record to the current chunk, the chunk is written once it reaches this writer's chunk size
+	 * @param record the record to write
+	 * @throws IOException if there is an error writing the record
+	 */
+	public void write(T record) throws IOException {
+		if(closed) {
+			throw new IllegalStateException("cannot write to a closed container");
+		}
+		if(recordCount == recordOffsets.length) {
+			recordOffsets = Arrays.copyOf(recordOffsets, recordCount * 2);
+		}
+		recordOffsets[recordCount++] = chunkData.size();
+		// the record writer closes its stream, which is a no-op for the chunk buffer
+		DataTransferOutput recordOut = DataTransferableFactory.createWriter(format, chunkData, StandardCharsets.UTF_8);
+		writer.writeData(recordOut, record);
+		recordOut.close();
+
+		if(chunkData.size() >= chunkSize) {
+			flushChunk();
+		}
+	}
+
+
+	/** Compress and write the records buffered so far as a chunk, does nothing if there are no buffered records
+	 * @throws IOException if there is an error writing the chunk
+	 */
+	public void flushChunk() throws IOException {
+		if(recordCount == 0) {
+			return;
+		}
+		byte[] data = chunkData.buffer();
+		int dataLen = chunkData.size();
+		byte[] stored = data;
+		int storedLen = dataLen;
+		if(deflater != null) {
+			deflater.reset();
+			deflater.setInput(data, 0, dataLen);
+			deflater.finish();
+			if(compressed.length < dataLen + 64) {
+				compressed = new byte[dataLen + (dataLen >> 3) + 64];
+			}
+			storedLen = 0;
+			while(!deflater.finished()) {
+				if(storedLen == compressed.length) {
+					compressed = Arrays.copyOf(compressed, compressed.length * 2);
+				}
+				storedLen += deflater.deflate(compressed, storedLen, compressed.length - storedLen);
+			}
+			stored = compressed;
+		}
+
+		if(chunkCount == chunkOffsets.length) {
+			chunkOffsets = Arrays.copyOf(chunkOffsets, chunkCount * 2);
+			chunkRecordCounts = Arrays.copyOf(chunkRecordCounts, chunkCount * 2);
+		}
+		chunkOffsets[chunkCount] = position;
+		chunkRecordCounts[chunkCount] = recordCount;
+		chunkCount++;
+
+		ChunkedFormat.putInt(header, 0, recordCount);
+		ChunkedFormat.putInt(header, 4, dataLen);
+		ChunkedFormat.putInt(header, 8, storedLen);
+		write(header, 0, ChunkedFormat.CHUNK_HEADER_SIZE);
+		for(int i = 0; i < recordCount; i++) {
+			ChunkedFormat.putInt(header, 0, recordOffsets[i]);
+			write(header, 0, 4);
+		}
+		write(stored, 0, storedLen);
+
+		recordCount = 0;
+		chunkData.reset();
+	}
+
+
+	/**
+	 * @return the number of chunks written so far, not including the current partial chunk
+	 */
+	public int getChunkCount() {
+		return chunkCount;
+	}
+
+
+	/** Write the current partial chunk and the chunk index, then close the underlying stream
+	 */
+	@Override
+	public void close() throws IOException {
+		if(closed) {
+			return;
+		}
+		flushChunk();
+		closed = true;
+		if(deflater != null) {
+			deflater.end();
+		}
+
+		long indexOffset = position;
+		ChunkedFormat.putInt(header, 0, chunkCount);
+		write(header, 0, 4);
+		for(int i = 0; i < chunkCount; i++) {
+			ChunkedFormat.putLong(header, 0, chunkOffsets[i]);
+			ChunkedFormat.putInt(header, 8, chunkRecordCounts[i]);
+			write(header, 0, ChunkedFormat.INDEX_ENTRY_SIZE);
+		}
+		ChunkedFormat.putLong(header, 0, indexOffset);
+		System.arraycopy(ChunkedFormat.MAGIC, 0, header, 8, ChunkedFormat.MAGIC.length);
+		write(header, 0, ChunkedFormat.TRAILER_SIZE);
+		out.close();
+	}
+
+
+	private void write(byte[] b, int off, int len) throws IOException {
+		out.write(b, off, len);
+		position += len;
+	}
+
+}
@@ -0,0 +1,28 @@
+package twg2.io.serialize.container;
+
+/** Constants describing the indexed record file format written by {@link IndexedRecordWriter} and read by {@link IndexedRecordReader}.<br>
+ * An indexed file stores records, each a standalone document in one of the {@link twg2.io.serialize.base.DataTransferFormat}s,
+ * followed by an index of record keys sorted by their UTF-8 bytes so that a record can be found by key with a binary search.
+ * All integers are big-endian.
+ * <ul>
+ * <li>header: the 4 byte {@link #MAGIC} and the record format byte (see {@link ChunkedFormat#formatCode(twg2.io.serialize.base.DataTransferFormat)})</li>
+ * <li>records: each record's 4 byte length followed by its document</li>
+ * <li>index: the 4 byte entry count, the 8 byte key data length, an {@link #INDEX_ENTRY_SIZE} byte slot for each entry in key order
+ * containing the record's 8 byte file offset and the 4 byte offset of the entry's key in the key data, followed by the key data</li>
+ * <li>trailer: the 8 byte file offset of the index followed by the 4 byte {@link #MAGIC}</li>
+ * </ul>
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class IndexedFormat {
+	/** the bytes {@code 'D', 'T', 'I'} followed by the format version */
+	public static final byte[] MAGIC = { 'D', 'T', 'I', 1 };
+	public static final int HEADER_SIZE = MAGIC.length + 1;
+	public static final int TRAILER_SIZE = 8 + MAGIC.length;
+	public static final int INDEX_HEADER_SIZE = 12;
+	public static final int INDEX_ENTRY_SIZE = 12;
+
+
+	private IndexedFormat() { throw new AssertionError("cannot instantiate static class IndexedFormat"); }
+
+}
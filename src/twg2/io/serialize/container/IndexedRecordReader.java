@@ -0,0 +1,233 @@
+package twg2.io.serialize.container;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.reader.DataTransferInput;
+
+/** Reads records by key from an {@link IndexedFormat} file written by {@link IndexedRecordWriter}.<br>
+ * The file's index is memory-mapped and searched in O(log n) without being loaded onto the heap,
+ * only the matching record is read and decoded. Records are read with positional reads, so lookups are thread safe.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class IndexedRecordReader implements Closeable {
+	private final FileChannel channel;
+	private final DataTransferFormat format;
+	private final int entryCount;
+	/** the index's entry slots followed by its key data */
+	private final MappedByteBuffer index;
+	/** the offset of the key data in {@link #index} */
+	private final int keyDataOffset;
+	private final int keyDataLen;
+
+
+	/** Open an indexed record file and map its index
+	 * @param file the indexed record file
+	 * @throws IOException if there is an error reading the file or its header, index, or trailer are invalid
+	 */
+	public IndexedRecordReader(File file) throws IOException {
+		this(FileChannel.open(file.toPath(), StandardOpenOption.READ));
+	}
+
+
+	/** Create an indexed record reader and map the channel's index
+	 * @param channel the channel containing the indexed records, closed when this reader is closed
+	 * @throws IOException if there is an error reading the channel or its header, index, or trailer are invalid
+	 */
+	public IndexedRecordReader(FileChannel channel) throws IOException {
+		this.channel = channel;
+		byte[] magic = IndexedFormat.MAGIC;
+		long size = channel.size();
+		if(size < IndexedFormat.HEADER_SIZE + IndexedFormat.INDEX_HEADER_SIZE + IndexedFormat.TRAILER_SIZE) {
+			throw new IOException("indexed record file is too short, found " + size + " bytes");
+		}
+
+		byte[] header = read(0, IndexedFormat.HEADER_SIZE);
+		checkMagic(header, 0, "header");
+		this.format = ChunkedFormat.formatFromCode(header[magic.length]);
+
+		byte[] trailer = read(size - IndexedFormat.TRAILER_SIZE, IndexedFormat.TRAILER_SIZE);
+		checkMagic(trailer, 8, "trailer");
+		long indexOffset = ChunkedFormat.getLong(trailer, 0);
+		if(indexOffset < IndexedFormat.HEADER_SIZE || indexOffset > size - IndexedFormat.TRAILER_SIZE - IndexedFormat.INDEX_HEADER_SIZE) {
+			throw new IOException("invalid index offset " + indexOffset);
+		}
+		byte[] indexHeader = read(indexOffset, IndexedFormat.INDEX_HEADER_SIZE);
+		this.entryCount = ChunkedFormat.getInt(indexHeader, 0);
+		long keyDataLen = ChunkedFormat.getLong(indexHeader, 4);
+		long indexLen = (long)entryCount * IndexedFormat.INDEX_ENTRY_SIZE + keyDataLen;
+		if(entryCount < 0 || keyDataLen < 0 || indexOffset + IndexedFormat.INDEX_HEADER_SIZE + indexLen != size - IndexedFormat.TRAILER_SIZE) {
+			throw new IOException("invalid index, " + entryCount + " entries with " + keyDataLen + " bytes of keys");
+		}
+		if(indexLen > Integer.MAX_VALUE) {
+			throw new IOException("index is too large to map, " + indexLen + " bytes");
+		}
+		this.keyDataOffset = entryCount * IndexedFormat.INDEX_ENTRY_SIZE;
+		this.keyDataLen = (int)keyDataLen;
+		this.index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset + IndexedFormat.INDEX_HEADER_SIZE, indexLen);
+	}
+
+
+	public DataTransferFormat getFormat() {
+		return format;
+	}
+
+
+	/**
+	 * @return the number of records in the file
+	 */
+	public int size() {
+		return entryCount;
+	}
+
+
+	/**
+	 * @return the key of the entry at {@code idx} in key order
+	 */
+	public String getKey(int idx) {
+		int start = keyStart(idx);
+		byte[] key = new byte[keyEnd(idx) - start];
+		index.duplicate().position(keyDataOffset + start).get(key);
+		return new String(key, StandardCharsets.UTF_8);
+	}
+
+
+	/** Binary search the index for a key
+	 * @param key the key to find
+	 * @return the position of the first entry with the key, in key order, or {@code -(insertion point) - 1} if no record has the key
+	 */
+	public int indexOf(String key) {
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		int lo = 0;
+		int hi = entryCount;
+		// find the first entry whose key is not less than the search key
+		while(lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if(compareKey(mid, keyBytes) < 0) {
+				lo = mid + 1;
+			}
+			else {
+				hi = mid;
+			}
+		}
+		return (lo < entryCount && compareKey(lo, keyBytes) == 0 ? lo : -lo - 1);
+	}
+
+
+	public boolean containsKey(String key) {
+		return indexOf(key) >= 0;
+	}
+
+
+	/** Open a reader over the record at a position in the index
+	 * @param idx the position of the entry in key order
+	 * @return a reader positioned at the start of the record's document
+	 * @throws IOException if there is an error reading the record
+	 */
+	public DataTransferInput openRecord(int idx) throws IOException {
+		if(idx < 0 || idx >= entryCount) {
+			throw new IndexOutOfBoundsException("index " + idx + ", size " + entryCount);
+		}
+		long offset = index.getLong(idx * IndexedFormat.INDEX_ENTRY_SIZE);
+		int len = ChunkedFormat.getInt(read(offset, 4), 0);
+		if(len < 0) {
+			throw new IOException("invalid record length " + len + " at offset " + offset);
+		}
+		byte[] data = read(offset + 4, len);
+		return DataTransferableFactory.createReader(format, data, 0, len);
+	}
+
+
+	/** Read the first record written with a key
+	 * @param key the record's key
+	 * @param reader the factory used to read the record
+	 * @return the record, or null if no record has the key
+	 * @throws IOException if there is an error reading the record
+	 */
+	public <T> T get(String key, DataTransferFactory<T> reader) throws IOException {
+		int idx = indexOf(key);
+		return (idx >= 0 ? get(idx, reader) : null);
+	}
+
+
+	/** Read a record by its position in the index
+	 * @param idx the position of the entry in key order
+	 * @param reader the factory used to read the record
+	 * @return the record
+	 * @throws IOException if there is an error reading the record
+	 */
+	public <T> T get(int idx, DataTransferFactory<T> reader) throws IOException {
+		try(DataTransferInput in = openRecord(idx)) {
+			return reader.readData(in);
+		}
+	}
+
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+
+	private int keyStart(int idx) {
+		return index.getInt(idx * IndexedFormat.INDEX_ENTRY_SIZE + 8);
+	}
+
+
+	private int keyEnd(int idx) {
+		return (idx + 1 < entryCount ? keyStart(idx + 1) : keyDataLen);
+	}
+
+
+	/** Compare the UTF-8 bytes of an entry's key to a key without copying them out of the index
+	 */
+	private int compareKey(int idx, byte[] key) {
+		ByteBuffer idxBuf = index;
+		int start = keyDataOffset + keyStart(idx);
+		int len = keyDataOffset + keyEnd(idx) - start;
+		int n = Math.min(len, key.length);
+		for(int i = 0; i < n; i++) {
+			int cmp = (idxBuf.get(start + i) & 0xFF) - (key[i] & 0xFF);
+			if(cmp != 0) {
+				return cmp;
+			}
+		}
+		return len - key.length;
+	}
+
+
+	private byte[] read(long position, int len) throws IOException {
+		byte[] b = new byte[len];
+		ByteBuffer dst = ByteBuffer.wrap(b);
+		while(dst.hasRemaining()) {
+			if(channel.read(dst, position + dst.position()) < 0) {
+				throw new EOFException("unexpected end of indexed record file at offset " + (position + dst.position()) + ", expected " + len + " bytes");
+			}
+		}
+		return b;
+	}
+
+
+	private static void checkMagic(byte[] b, int off, String section) throws IOException {
+		byte[] magic = IndexedFormat.MAGIC;
+		for(int i = 0; i < magic.length; i++) {
+			if(b[off + i] != magic[i]) {
+				throw new IOException("invalid indexed record file " + section + ", expected " + Arrays.toString(magic) +
+						" found " + Arrays.toString(Arrays.copyOfRange(b, off, off + magic.length)));
+			}
+		}
+	}
+
+}
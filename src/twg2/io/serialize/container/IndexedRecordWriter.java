@@ -0,0 +1,169 @@
+package twg2.io.serialize.container;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+
+/** Writes records to an {@link IndexedFormat} file.
+ * Each record is written as a standalone document using a {@link DataTransferOutput} for the file's format and its key
+ * is taken from the writer's key function. The keys are sorted and written as an index after the records when the writer is closed.<br>
+ * Keys do not need to be unique, {@link IndexedRecordReader} returns the first record written with a key.
+ * @param <T> the type of records written
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class IndexedRecordWriter<T> implements Closeable {
+	private final OutputStream out;
+	private final DataTransferFormat format;
+	private final DataTransferFactory<T> writer;
+	private final Function<? super T, String> keyFunc;
+	private final RecordBuffer recordData = new RecordBuffer(1 << 10);
+	private final List<Entry> entries = new ArrayList<>();
+	private final byte[] header = new byte[16];
+	/** the number of bytes written to {@link #out} */
+	private long position;
+	private boolean closed;
+
+
+	/** Create an indexed record file
+	 * @param file the file to write the records to
+	 * @param format the format to write each record in
+	 * @param writer the factory used to write each record
+	 * @param keyFunc returns the key of each record, keys must not be null
+	 * @throws IOException if there is an error opening or writing to the file
+	 */
+	public IndexedRecordWriter(File file, DataTransferFormat format, DataTransferFactory<T> writer, Function<? super T, String> keyFunc) throws IOException {
+		this(new BufferedOutputStream(new FileOutputStream(file)), format, writer, keyFunc);
+	}
+
+
+	/** Create an indexed record writer
+	 * @param out the stream to write the records to, closed when this writer is closed
+	 * @param format the format to write each record in
+	 * @param writer the factory used to write each record
+	 * @param keyFunc returns the key of each record, keys must not be null
+	 * @throws IOException if there is an error writing the file header
+	 */
+	public IndexedRecordWriter(OutputStream out, DataTransferFormat format, DataTransferFactory<T> writer, Function<? super T, String> keyFunc) throws IOException {
+		this.out = out;
+		this.format = format;
+		this.writer = writer;
+		this.keyFunc = keyFunc;
+
+		byte[] magic = IndexedFormat.MAGIC;
+		System.arraycopy(magic, 0, header, 0, magic.length);
+		header[magic.length] = (byte)ChunkedFormat.formatCode(format);
+		write(header, 0, IndexedFormat.HEADER_SIZE);
+	}
+
+
+	/** Write a record and remember its key for the index
+	 * @param record the record to write
+	 * @throws IOException if there is an error writing the record
+	 */
+	public void write(T record) throws IOException {
+		if(closed) {
+			throw new IllegalStateException("cannot write to a closed indexed record file");
+		}
+		String key = keyFunc.apply(record);
+		if(key == null) {
+			throw new IllegalArgumentException("record key cannot be null, record #" + entries.size());
+		}
+		entries.add(new Entry(key.getBytes(StandardCharsets.UTF_8), position));
+
+		recordData.reset();
+		// the record writer closes its stream, which is a no-op for the record buffer
+		DataTransferOutput recordOut = DataTransferableFactory.createWriter(format, recordData, StandardCharsets.UTF_8);
+		writer.writeData(recordOut, record);
+		recordOut.close();
+
+		ChunkedFormat.putInt(header, 0, recordData.size());
+		write(header, 0, 4);
+		write(recordData.buffer(), 0, recordData.size());
+	}
+
+
+	/**
+	 * @return the number of records written so far
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+
+	/** Sort the record keys and write the index, then close the underlying stream
+	 */
+	@Override
+	public void close() throws IOException {
+		if(closed) {
+			return;
+		}
+		closed = true;
+		// a stable sort, so the first record written with a key is found first
+		entries.sort((a, b) -> Arrays.compareUnsigned(a.key, b.key));
+
+		long keyDataLen = 0;
+		for(Entry entry : entries) {
+			keyDataLen += entry.key.length;
+		}
+		if(keyDataLen > Integer.MAX_VALUE) {
+			throw new IOException("index key data cannot exceed " + Integer.MAX_VALUE + " bytes, found " + keyDataLen);
+		}
+
+		long indexOffset = position;
+		ChunkedFormat.putInt(header, 0, entries.size());
+		ChunkedFormat.putLong(header, 4, keyDataLen);
+		write(header, 0, IndexedFormat.INDEX_HEADER_SIZE);
+		int keyOffset = 0;
+		for(Entry entry : entries) {
+			ChunkedFormat.putLong(header, 0, entry.offset);
+			ChunkedFormat.putInt(header, 8, keyOffset);
+			write(header, 0, IndexedFormat.INDEX_ENTRY_SIZE);
+			keyOffset += entry.key.length;
+		}
+		for(Entry entry : entries) {
+			write(entry.key, 0, entry.key.length);
+		}
+		entries.clear();
+
+		ChunkedFormat.putLong(header, 0, indexOffset);
+		System.arraycopy(IndexedFormat.MAGIC, 0, header, 8, IndexedFormat.MAGIC.length);
+		write(header, 0, IndexedFormat.TRAILER_SIZE);
+		out.close();
+	}
+
+
+	private void write(byte[] b, int off, int len) throws IOException {
+		out.write(b, off, len);
+		position += len;
+	}
+
+
+	/** A record's UTF-8 key and file offset
+	 */
+	private static final class Entry {
+		final byte[] key;
+		final long offset;
+
+
+		Entry(byte[] key, long offset) {
+			this.key = key;
+			this.offset = offset;
+		}
+
+	}
+
+}
@@ -0,0 +1,20 @@
+package twg2.io.serialize.container;
+
+import java.io.ByteArrayOutputStream;
+
+/** A byte array stream which exposes its buffer so encoded records can be compressed or written without copying them
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+final class RecordBuffer extends ByteArrayOutputStream {
+
+	RecordBuffer(int size) {
+		super(size);
+	}
+
+
+	byte[] buffer() {
+		return buf;
+	}
+
+}
@@ -0,0 +1,176 @@
+package twg2.io.serialize.container;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+import twg2.io.serialize.base.DataTransferFormat;
+
+/** Constants and helpers for the segmented record log written by {@link SegmentedLogWriter} and read by {@link SegmentedLogReader}.<br>
+ * A log is a directory of segment files, each named after the sequence number of its first record
+ * (see {@link #segmentName(long)}) so that the segments sort in log order. All integers are big-endian.
+ * <ul>
+ * <li>segment header: the 4 byte {@link #MAGIC} and the record format byte (see {@link ChunkedFormat#formatCode(DataTransferFormat)})</li>
+ * <li>records: each record's 4 byte length, the 4 byte CRC-32C of its document, and the document</li>
+ * </ul>
+ * A record whose header or document is incomplete or whose checksum does not match marks the end of the log,
+ * it is the torn tail of an interrupted write and is truncated when the log is reopened for writing.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class SegmentedLogFormat {
+	/** the bytes {@code 'D', 'T', 'L'} followed by the format version */
+	public static final byte[] MAGIC = { 'D', 'T', 'L', 1 };
+	public static final int HEADER_SIZE = MAGIC.length + 1;
+	public static final int RECORD_HEADER_SIZE = 8;
+	public static final String SEGMENT_SUFFIX = ".dtl";
+
+
+	private SegmentedLogFormat() { throw new AssertionError("cannot instantiate static class SegmentedLogFormat"); }
+
+
+	/**
+	 * @return the file name of the segment whose first record has sequence number {@code firstSeq}
+	 */
+	public static String segmentName(long firstSeq) {
+		String num = Long.toString(firstSeq);
+		char[] name = new char[20];
+		Arrays.fill(name, 0, name.length - num.length(), '0');
+		num.getChars(0, num.length(), name, name.length - num.length());
+		return new String(name) + SEGMENT_SUFFIX;
+	}
+
+
+	/**
+	 * @return the segment files in {@code dir} in log order, empty if the directory does not contain any segments
+	 * @throws IOException if {@code dir} cannot be listed
+	 */
+	public static File[] listSegments(File dir) throws IOException {
+		File[] files = dir.listFiles((d, name) -> name.endsWith(SEGMENT_SUFFIX) && name.length() == 20 + SEGMENT_SUFFIX.length());
+		if(files == null) {
+			throw new IOException("cannot list log directory '" + dir + "'");
+		}
+		Arrays.sort(files, (a, b) -> a.getName().compareTo(b.getName()));
+		return files;
+	}
+
+
+	/**
+	 * @return the sequence number of the first record in a segment file
+	 * @throws IOException if the file name is not a segment name
+	 */
+	public static long firstSequence(File segment) throws IOException {
+		String name = segment.getName();
+		try {
+			return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+		} catch(NumberFormatException nfe) {
+			throw new IOException("invalid log segment name '" + name + "'", nfe);
+		}
+	}
+
+
+	/** Sequentially reads and validates the records of a segment file through a buffer
+	 */
+	static final class SegmentScanner {
+		private final FileChannel channel;
+		private ByteBuffer buf = ByteBuffer.allocate(1 << 16);
+		private final CRC32C crc = new CRC32C();
+		/** the file offset of {@link #buf}'s first byte */
+		private long bufOffset;
+		/** the file offset after the last valid record */
+		long end;
+		int recordCount;
+		DataTransferFormat format;
+		// the last valid record
+		byte[] record;
+		int recordOffset;
+		int recordLength;
+
+
+		SegmentScanner(FileChannel channel) {
+			this.channel = channel;
+			this.buf.flip();
+		}
+
+
+		/** Read and check the segment header
+		 * @return false if the segment is too short to contain a header, which can only happen to a torn last segment
+		 * @throws IOException if the header is invalid
+		 */
+		boolean readHeader() throws IOException {
+			if(!request(HEADER_SIZE)) {
+				return false;
+			}
+			for(int i = 0; i < MAGIC.length; i++) {
+				if(buf.get(buf.position() + i) != MAGIC[i]) {
+					throw new IOException("invalid log segment header, expected " + Arrays.toString(MAGIC));
+				}
+			}
+			format = ChunkedFormat.formatFromCode(buf.get(buf.position() + MAGIC.length));
+			buf.position(buf.position() + HEADER_SIZE);
+			end = HEADER_SIZE;
+			return true;
+		}
+
+
+		/** Read the next record into {@link #record}
+		 * @return false if there are no more valid records, {@link #end} is the offset after the last valid record
+		 */
+		boolean next() throws IOException {
+			if(!request(RECORD_HEADER_SIZE)) {
+				return false;
+			}
+			int pos = buf.position();
+			int len = buf.getInt(pos);
+			int checksum = buf.getInt(pos + 4);
+			// documents are never empty, a zero length is unwritten space and a length past the end of the file is a torn header
+			if(len <= 0 || len > Integer.MAX_VALUE - RECORD_HEADER_SIZE || bufOffset + pos + RECORD_HEADER_SIZE + len > channel.size() || !request(RECORD_HEADER_SIZE + len)) {
+				return false;
+			}
+			pos = buf.position();
+			crc.reset();
+			crc.update(buf.array(), pos + RECORD_HEADER_SIZE, len);
+			if((int)crc.getValue() != checksum) {
+				return false;
+			}
+			record = buf.array();
+			recordOffset = pos + RECORD_HEADER_SIZE;
+			recordLength = len;
+			buf.position(pos + RECORD_HEADER_SIZE + len);
+			end = bufOffset + buf.position();
+			recordCount++;
+			return true;
+		}
+
+
+		/**
+		 * @return true if at least {@code n} bytes are available in {@link #buf}, false if the end of the file is reached first
+		 */
+		private boolean request(int n) throws IOException {
+			if(buf.remaining() >= n) {
+				return true;
+			}
+			bufOffset += buf.position();
+			buf.compact();
+			if(buf.capacity() < n) {
+				ByteBuffer larger = ByteBuffer.allocate(Math.max(n, buf.capacity() * 2));
+				buf.flip();
+				larger.put(buf);
+				buf = larger;
+			}
+			while(buf.position() < n) {
+				if(channel.read(buf, bufOffset + buf.position()) < 0) {
+					buf.flip();
+					return false;
+				}
+			}
+			buf.flip();
+			return true;
+		}
+
+	}
+
+}
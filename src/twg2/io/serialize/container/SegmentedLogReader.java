@@ -0,0 +1,125 @@
+package twg2.io.serialize.container;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.reader.DataTransferInput;
+
+/** Reads the records of a {@link SegmentedLogFormat} log in order, one segment at a time.<br>
+ * Each record's checksum is verified before it is decoded. A torn or corrupt record ends the log if it is in the
+ * last segment, where it can be left by an interrupted write, but is an error in any earlier segment.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class SegmentedLogReader implements Closeable {
+	private final File[] segments;
+	private int segmentIdx = -1;
+	private FileChannel channel;
+	private SegmentedLogFormat.SegmentScanner scanner;
+	/** the sequence number of the next record read */
+	private long nextSeq;
+
+
+	/** Open a log for reading from its first record
+	 * @param dir the log's directory
+	 * @throws IOException if the directory cannot be listed
+	 */
+	public SegmentedLogReader(File dir) throws IOException {
+		this(dir, 0);
+	}
+
+
+	/** Open a log for reading starting at a sequence number, the segments before the one containing the record are skipped without being read
+	 * @param dir the log's directory
+	 * @param fromSeq the sequence number of the first record to read
+	 * @throws IOException if the directory cannot be listed
+	 */
+	public SegmentedLogReader(File dir, long fromSeq) throws IOException {
+		File[] segments = SegmentedLogFormat.listSegments(dir);
+		int first = 0;
+		while(first + 1 < segments.length && SegmentedLogFormat.firstSequence(segments[first + 1]) <= fromSeq) {
+			first++;
+		}
+		this.segments = segments;
+		this.segmentIdx = first - 1;
+		this.nextSeq = (segments.length > 0 ? SegmentedLogFormat.firstSequence(segments[first]) : 0);
+		while(nextSeq < fromSeq && nextRecord()) {
+			nextSeq++;
+		}
+	}
+
+
+	/**
+	 * @return the sequence number of the next record {@link #read(DataTransferFactory)} returns
+	 */
+	public long getNextSequence() {
+		return nextSeq;
+	}
+
+
+	/** Read the next record
+	 * @param reader the factory used to read the record
+	 * @return the record, or null if the end of the log has been reached
+	 * @throws IOException if there is an error reading the log or a segment other than the last is corrupt
+	 */
+	public <T> T read(DataTransferFactory<T> reader) throws IOException {
+		if(!nextRecord()) {
+			return null;
+		}
+		nextSeq++;
+		try(DataTransferInput in = DataTransferableFactory.createReader(scanner.format, scanner.record, scanner.recordOffset, scanner.recordLength)) {
+			return reader.readData(in);
+		}
+	}
+
+
+	@Override
+	public void close() throws IOException {
+		if(channel != null) {
+			channel.close();
+			channel = null;
+		}
+		segmentIdx = segments.length;
+	}
+
+
+	/** Advance the scanner to the next valid record, opening the next segment if the current one has ended
+	 * @return false if the end of the log has been reached
+	 */
+	private boolean nextRecord() throws IOException {
+		while(true) {
+			if(scanner != null && scanner.next()) {
+				return true;
+			}
+			if(channel != null) {
+				boolean lastSegment = (segmentIdx == segments.length - 1);
+				if(!lastSegment && scanner.end < channel.size()) {
+					throw new IOException("corrupt record at offset " + scanner.end + " of log segment '" + segments[segmentIdx] + "'");
+				}
+				channel.close();
+				channel = null;
+				scanner = null;
+			}
+			if(segmentIdx + 1 >= segments.length) {
+				return false;
+			}
+			segmentIdx++;
+			File segment = segments[segmentIdx];
+			if(SegmentedLogFormat.firstSequence(segment) != nextSeq) {
+				throw new IOException("log segment '" + segment + "' does not start at sequence " + nextSeq);
+			}
+			channel = FileChannel.open(segment.toPath(), StandardOpenOption.READ);
+			scanner = new SegmentedLogFormat.SegmentScanner(channel);
+			if(!scanner.readHeader()) {
+				// a torn segment header, only possible for a segment created by an interrupted write
+				scanner = null;
+			}
+		}
+	}
+
+}
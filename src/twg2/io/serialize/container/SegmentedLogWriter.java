@@ -0,0 +1,297 @@
+package twg2.io.serialize.container;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+
+/** Appends length-prefixed, checksummed records to a {@link SegmentedLogFormat} log, starting a new segment file
+ * once the current segment reaches the writer's segment size.<br>
+ * Opening a writer recovers the log: the last segment is scanned and any torn tail left by an interrupted write is truncated.<br>
+ * Appended records are buffered and are only durable once {@link #sync(long)} or {@link #commit()} returns.
+ * Syncs are group committed: a sync forces every record appended before it with a single {@link FileChannel#force(boolean)},
+ * and a sync for a record which an earlier or concurrent sync already forced returns without forcing the file again.
+ * This class is thread safe.
+ * @param <T> the type of records written
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class SegmentedLogWriter<T> implements Closeable {
+	public static final long DEFAULT_SEGMENT_SIZE = 64L << 20;
+
+	private final File dir;
+	private final DataTransferFormat format;
+	private final DataTransferFactory<T> writer;
+	private final long segmentSize;
+	private final RecordBuffer recordData = new RecordBuffer(1 << 10);
+	private final CRC32C crc = new CRC32C();
+	private final ByteBuffer writeBuf = ByteBuffer.allocate(1 << 16);
+	private FileChannel channel;
+	/** the size of the current segment including buffered records */
+	private long segmentLength;
+	/** the sequence number of the next record appended */
+	private long nextSeq;
+	/** the sequence number of the last record known to be forced to storage, -1 if none */
+	private volatile long durableSeq = -1;
+	/** held while forcing the current segment, so concurrent syncs wait for and reuse an in-progress force */
+	private final Object syncLock = new Object();
+	private boolean closed;
+
+
+	/** Open a log with segments of {@link #DEFAULT_SEGMENT_SIZE} bytes
+	 * @see #SegmentedLogWriter(File, DataTransferFormat, DataTransferFactory, long)
+	 */
+	public SegmentedLogWriter(File dir, DataTransferFormat format, DataTransferFactory<T> writer) throws IOException {
+		this(dir, format, writer, DEFAULT_SEGMENT_SIZE);
+	}
+
+
+	/** Open a log for appending, creating the directory if it does not exist and truncating any torn records at the end of the last segment
+	 * @param dir the log's directory
+	 * @param format the format to write each record in, must match the format of existing segments
+	 * @param writer the factory used to write each record
+	 * @param segmentSize the size, in bytes, after which a new segment file is started
+	 * @throws IOException if the directory cannot be created, or there is an error recovering the last segment
+	 */
+	public SegmentedLogWriter(File dir, DataTransferFormat format, DataTransferFactory<T> writer, long segmentSize) throws IOException {
+		if(segmentSize < SegmentedLogFormat.HEADER_SIZE) {
+			throw new IllegalArgumentException("segment size must be at least " + SegmentedLogFormat.HEADER_SIZE + ", found " + segmentSize);
+		}
+		if(!dir.isDirectory() && !dir.mkdirs()) {
+			throw new IOException("cannot create log directory '" + dir + "'");
+		}
+		this.dir = dir;
+		this.format = format;
+		this.writer = writer;
+		this.segmentSize = segmentSize;
+
+		File[] segments = SegmentedLogFormat.listSegments(dir);
+		if(segments.length == 0) {
+			openSegment(0);
+		}
+		else {
+			recover(segments[segments.length - 1]);
+		}
+		durableSeq = nextSeq - 1;
+	}
+
+
+	/**
+	 * @return the sequence number the next appended record will be assigned
+	 */
+	public synchronized long getNextSequence() {
+		return nextSeq;
+	}
+
+
+	/** Append a record to the log, the record is buffered and is not durable until it is synced
+	 * @param record the record to append
+	 * @return the record's sequence number, which can be passed to {@link #sync(long)}
+	 * @throws IOException if there is an error writing the record
+	 */
+	public synchronized long append(T record) throws IOException {
+		if(closed) {
+			throw new IllegalStateException("cannot append to a closed log");
+		}
+		recordData.reset();
+		// the record writer closes its stream, which is a no-op for the record buffer
+		DataTransferOutput recordOut = DataTransferableFactory.createWriter(format, recordData, StandardCharsets.UTF_8);
+		writer.writeData(recordOut, record);
+		recordOut.close();
+		int len = recordData.size();
+		byte[] data = recordData.buffer();
+
+		if(segmentLength > SegmentedLogFormat.HEADER_SIZE && segmentLength + SegmentedLogFormat.RECORD_HEADER_SIZE + len > segmentSize) {
+			rollSegment();
+		}
+		crc.reset();
+		crc.update(data, 0, len);
+		if(writeBuf.remaining() < SegmentedLogFormat.RECORD_HEADER_SIZE + len) {
+			flushBuffer();
+		}
+		writeBuf.putInt(len);
+		writeBuf.putInt((int)crc.getValue());
+		if(writeBuf.remaining() >= len) {
+			writeBuf.put(data, 0, len);
+		}
+		else {
+			// large records are written directly
+			flushBuffer();
+			writeFully(ByteBuffer.wrap(data, 0, len));
+		}
+		segmentLength += SegmentedLogFormat.RECORD_HEADER_SIZE + len;
+		return nextSeq++;
+	}
+
+
+	/** Append a record and wait until it is durable
+	 * @see #append(Object)
+	 * @see #sync(long)
+	 */
+	public long appendAndSync(T record) throws IOException {
+		long seq = append(record);
+		sync(seq);
+		return seq;
+	}
+
+
+	/** Make every record up to and including {@code seq} durable.
+	 * If another thread is already forcing the log this waits for it and returns without forcing the log again
+	 * if that force included {@code seq}, so concurrent callers share one force.
+	 * @param seq the sequence number of a record returned by {@link #append(Object)}
+	 * @throws IOException if there is an error writing or forcing the log
+	 */
+	public void sync(long seq) throws IOException {
+		if(durableSeq >= seq) {
+			return;
+		}
+		synchronized(syncLock) {
+			if(durableSeq >= seq) {
+				return;
+			}
+			long target;
+			FileChannel ch;
+			synchronized(this) {
+				flushBuffer();
+				target = nextSeq - 1;
+				ch = channel;
+			}
+			try {
+				ch.force(false);
+			} catch(ClosedChannelException cce) {
+				// the segment was rolled or the log closed, both of which force the segment before closing it
+			}
+			if(target > durableSeq) {
+				durableSeq = target;
+			}
+		}
+	}
+
+
+	/** Make every record appended so far durable
+	 * @throws IOException if there is an error writing or forcing the log
+	 */
+	public void commit() throws IOException {
+		long seq;
+		synchronized(this) {
+			seq = nextSeq - 1;
+		}
+		sync(seq);
+	}
+
+
+	/** Force any appended records to storage and close the current segment
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if(closed) {
+			return;
+		}
+		closed = true;
+		flushBuffer();
+		channel.force(false);
+		channel.close();
+		durableSeq = nextSeq - 1;
+	}
+
+
+	/** Scan the last segment for its valid records and truncate anything after them
+	 */
+	private void recover(File segment) throws IOException {
+		long firstSeq = SegmentedLogFormat.firstSequence(segment);
+		channel = FileChannel.open(segment.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+		SegmentedLogFormat.SegmentScanner scanner = new SegmentedLogFormat.SegmentScanner(channel);
+		if(!scanner.readHeader()) {
+			// the segment's header was torn while the segment was being created
+			channel.truncate(0);
+			writeHeader();
+			channel.force(false);
+		}
+		else {
+			if(scanner.format != format) {
+				channel.close();
+				throw new IOException("log segment '" + segment + "' contains " + scanner.format + " records, expected " + format);
+			}
+			while(scanner.next()) {
+				// count the valid records, the scanner stops at the first torn or corrupt record
+			}
+			if(scanner.end < channel.size()) {
+				channel.truncate(scanner.end);
+				channel.force(false);
+			}
+		}
+		segmentLength = channel.size();
+		channel.position(segmentLength);
+		nextSeq = firstSeq + scanner.recordCount;
+	}
+
+
+	private void rollSegment() throws IOException {
+		flushBuffer();
+		channel.force(false);
+		channel.close();
+		durableSeq = nextSeq - 1;
+		openSegment(nextSeq);
+	}
+
+
+	private void openSegment(long firstSeq) throws IOException {
+		File file = new File(dir, SegmentedLogFormat.segmentName(firstSeq));
+		channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+		writeHeader();
+		channel.force(false);
+		// the new file's directory entry must also be durable, otherwise records synced to it can be lost with the file
+		forceDirectory();
+		nextSeq = firstSeq;
+	}
+
+
+	/** Force the log directory's entries to storage, skipped on platforms which cannot open a directory as a channel (Windows)
+	 */
+	private void forceDirectory() throws IOException {
+		FileChannel dirChannel;
+		try {
+			dirChannel = FileChannel.open(dir.toPath(), StandardOpenOption.READ);
+		} catch(IOException e) {
+			return;
+		}
+		try(dirChannel) {
+			dirChannel.force(true);
+		}
+	}
+
+
+	private void writeHeader() throws IOException {
+		writeBuf.put(SegmentedLogFormat.MAGIC);
+		writeBuf.put((byte)ChunkedFormat.formatCode(format));
+		flushBuffer();
+		segmentLength = SegmentedLogFormat.HEADER_SIZE;
+	}
+
+
+	private void flushBuffer() throws IOException {
+		if(writeBuf.position() > 0) {
+			writeBuf.flip();
+			writeFully(writeBuf);
+			writeBuf.clear();
+		}
+	}
+
+
+	private void writeFully(ByteBuffer src) throws IOException {
+		while(src.hasRemaining()) {
+			channel.write(src);
+		}
+	}
+
+}
@@ -0,0 +1,191 @@
+package twg2.io.serialize.flow;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.json.Utf8JsonReader;
+
+/** Decodes many small, concurrent input streams, such as request bodies, each on its own task.<br>
+ * Each decode blocks while its stream is read, so {@link #newDefault()} runs decodes on virtual threads when the runtime
+ * provides them (Java 21 and later), which do not hold a platform thread while blocked on I/O,
+ * and on a fixed pool of platform threads otherwise.<br>
+ * JSON streams are decoded by {@link Utf8JsonReader}s taken from a lock-free pool and {@link Utf8JsonReader#reset(InputStream) reset}
+ * for each stream, so their buffers are reused instead of being allocated per stream. The pool is not thread-local since
+ * virtual threads are not reused between tasks. Other formats are decoded by a new reader from {@link DataTransferableFactory}.<br>
+ * No monitor is held while decoding, so a virtual thread blocked reading a stream does not pin its carrier thread.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class DecodeExecutor implements Closeable {
+	public static final int DEFAULT_MAX_POOLED_READERS = 256;
+
+	private final ExecutorService executor;
+	private final boolean ownsExecutor;
+	private final int maxPooledReaders;
+	private final Queue<Utf8JsonReader> jsonReaders = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger pooledReaders = new AtomicInteger();
+
+
+	/**
+	 * @param executor the executor to run decodes on, it is not shut down when this decode executor is closed
+	 * @param maxPooledReaders the maximum number of idle readers kept for reuse
+	 */
+	public DecodeExecutor(ExecutorService executor, int maxPooledReaders) {
+		this(executor, false, maxPooledReaders);
+	}
+
+
+	private DecodeExecutor(ExecutorService executor, boolean ownsExecutor, int maxPooledReaders) {
+		if(maxPooledReaders < 0) {
+			throw new IllegalArgumentException("max pooled readers must not be negative, found " + maxPooledReaders);
+		}
+		this.executor = Objects.requireNonNull(executor, "executor");
+		this.ownsExecutor = ownsExecutor;
+		this.maxPooledReaders = maxPooledReaders;
+	}
+
+
+	/** Create a decode executor which runs each decode on a new virtual thread if the runtime supports virtual threads,
+	 * or on a fixed pool of platform threads otherwise. The executor is shut down when the decode executor is closed.
+	 */
+	public static DecodeExecutor newDefault() {
+		ExecutorService executor = newVirtualThreadExecutor();
+		if(executor == null) {
+			executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 4, (task) -> {
+				Thread thread = new Thread(task, "decode-executor");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return new DecodeExecutor(executor, true, DEFAULT_MAX_POOLED_READERS);
+	}
+
+
+	/**
+	 * @return true if {@link #newDefault()} creates decode executors which run on virtual threads
+	 */
+	public static boolean isVirtualThreadsSupported() {
+		return VirtualThreads.factoryMethod != null;
+	}
+
+
+	/** Decode a stream on this executor, the stream is closed once it has been decoded
+	 * @param format the format of the stream
+	 * @param src the stream to decode
+	 * @param reader the factory to read the stream's data with
+	 * @return a future which completes with the decoded data, or with a {@link CompletionException}
+	 * wrapping an {@link UncheckedIOException} if the stream could not be read
+	 */
+	public <T> CompletableFuture<T> submit(DataTransferFormat format, InputStream src, DataTransferFactory<T> reader) {
+		Objects.requireNonNull(src, "src");
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return decode(format, src, reader);
+			} catch(IOException ioe) {
+				throw new UncheckedIOException(ioe);
+			}
+		}, executor);
+	}
+
+
+	/** Decode a stream on the calling thread using this executor's reader pool, the stream is closed once it has been decoded
+	 * @param format the format of the stream
+	 * @param src the stream to decode
+	 * @param reader the factory to read the stream's data with
+	 * @return the decoded data
+	 * @throws IOException if there is an error reading the stream
+	 */
+	public <T> T decode(DataTransferFormat format, InputStream src, DataTransferFactory<T> reader) throws IOException {
+		if(format != DataTransferFormat.JSON) {
+			try(DataTransferInput in = DataTransferableFactory.createReader(format, src)) {
+				return reader.readData(in);
+			}
+		}
+		Utf8JsonReader in = jsonReaders.poll();
+		try {
+			if(in == null) {
+				in = new Utf8JsonReader(src);
+			}
+			else {
+				pooledReaders.decrementAndGet();
+				in.reset(src);
+			}
+			return reader.readData(in);
+		} finally {
+			src.close();
+			if(in != null) {
+				release(in);
+			}
+		}
+	}
+
+
+	/** Close this decode executor, if it was created by {@link #newDefault()} its executor is shut down
+	 * after the decodes already submitted have completed
+	 */
+	@Override
+	public void close() {
+		if(ownsExecutor) {
+			executor.shutdown();
+		}
+		jsonReaders.clear();
+	}
+
+
+	private void release(Utf8JsonReader in) {
+		if(pooledReaders.incrementAndGet() <= maxPooledReaders) {
+			jsonReaders.offer(in);
+		}
+		else {
+			pooledReaders.decrementAndGet();
+		}
+	}
+
+
+	private static ExecutorService newVirtualThreadExecutor() {
+		Method factoryMethod = VirtualThreads.factoryMethod;
+		if(factoryMethod != null) {
+			try {
+				return (ExecutorService)factoryMethod.invoke(null);
+			} catch(ReflectiveOperationException e) {
+				// fall back to platform threads
+			}
+		}
+		return null;
+	}
+
+
+
+	/** Looks up {@code Executors.newVirtualThreadPerTaskExecutor()}, which is only available on Java 21 and later,
+	 * this library is compiled for earlier versions so the method is called reflectively
+	 */
+	private static final class VirtualThreads {
+		static final Method factoryMethod = findFactoryMethod();
+
+
+		private static Method findFactoryMethod() {
+			try {
+				return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			} catch(NoSuchMethodException | SecurityException e) {
+				return null;
+			}
+		}
+
+	}
+
+}
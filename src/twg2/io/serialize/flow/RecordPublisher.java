@@ -0,0 +1,243 @@
+package twg2.io.serialize.flow;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import twg2.io.serialize.base.DataElement;
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.reader.RecordFilter;
+import twg2.io.serialize.base.reader.RecordRejectedException;
+
+/** A {@link Flow.Publisher} which reads the records of a block from a {@link DataTransferInput} and emits them to a single subscriber.<br>
+ * Records are only read while the subscriber has outstanding demand, so parsing runs as fast as the subscriber consumes records
+ * and no records are buffered. Reading runs as a task on the publisher's {@link Executor} which is submitted when demand
+ * is requested and ends when the demand is met, so an idle stream does not hold a thread.<br>
+ * The input stream is closed when the block has been read, the subscription is cancelled, or an error occurs.
+ * @param <T> the type of records read
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class RecordPublisher<T> implements Flow.Publisher<T> {
+	private final DataTransferInput in;
+	private final String blockName;
+	private final DataTransferFactory<T> reader;
+	private final RecordFilter filter;
+	private final Executor executor;
+	private final AtomicBoolean subscribed = new AtomicBoolean();
+
+
+	/**
+	 * @param in the input stream to read from, positioned before the block's opening tag
+	 * @param blockName the name of the block containing the records
+	 * @param reader the factory to read each record with
+	 * @param executor the executor to read records on
+	 */
+	public RecordPublisher(DataTransferInput in, String blockName, DataTransferFactory<T> reader, Executor executor) {
+		this(in, blockName, reader, null, executor);
+	}
+
+
+	/**
+	 * @param in the input stream to read from, positioned before the block's opening tag
+	 * @param blockName the name of the block containing the records
+	 * @param reader the factory to read each record with
+	 * @param filter the filter records must pass to be emitted, null to emit all records,
+	 * rejected records are skipped and do not count against the subscriber's demand
+	 * @param executor the executor to read records on
+	 */
+	public RecordPublisher(DataTransferInput in, String blockName, DataTransferFactory<T> reader, RecordFilter filter, Executor executor) {
+		this.in = Objects.requireNonNull(in, "in");
+		this.blockName = Objects.requireNonNull(blockName, "blockName");
+		this.reader = Objects.requireNonNull(reader, "reader");
+		this.filter = filter;
+		this.executor = Objects.requireNonNull(executor, "executor");
+	}
+
+
+	/** Subscribe to this publisher's records, the input stream can only be read once so only the first subscriber receives records
+	 * and any later subscriber is sent {@link Flow.Subscriber#onError(Throwable)} with an {@link IllegalStateException}
+	 */
+	@Override
+	public void subscribe(Flow.Subscriber<? super T> subscriber) {
+		Objects.requireNonNull(subscriber, "subscriber");
+		if(!subscribed.compareAndSet(false, true)) {
+			subscriber.onSubscribe(new Flow.Subscription() {
+				@Override public void request(long n) { }
+				@Override public void cancel() { }
+			});
+			subscriber.onError(new IllegalStateException("a record publisher only supports one subscriber"));
+			return;
+		}
+		RecordSubscription sub = new RecordSubscription(subscriber);
+		subscriber.onSubscribe(sub);
+	}
+
+
+
+	/** Reads records on demand, {@link #drain()} is run by at most one thread at a time,
+	 * {@link #wip} counts the requests and cancellations which arrived since the running drain last checked for them
+	 */
+	private final class RecordSubscription implements Flow.Subscription {
+		private final Flow.Subscriber<? super T> subscriber;
+		private final AtomicLong demand = new AtomicLong();
+		private final AtomicInteger wip = new AtomicInteger();
+		private volatile boolean cancelled;
+		/** set if request() was called with an invalid count */
+		private volatile Throwable requestError;
+		private boolean started;
+		private boolean done;
+
+
+		RecordSubscription(Flow.Subscriber<? super T> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+
+		@Override
+		public void request(long n) {
+			if(n <= 0) {
+				requestError = new IllegalArgumentException("request count must be positive, found " + n);
+			}
+			else {
+				demand.getAndAccumulate(n, (cur, add) -> (cur + add < 0 ? Long.MAX_VALUE : cur + add));
+			}
+			schedule();
+		}
+
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			schedule();
+		}
+
+
+		private void schedule() {
+			if(wip.getAndIncrement() == 0) {
+				try {
+					executor.execute(this::drain);
+				} catch(RuntimeException e) {
+					// the executor rejected the task, no further reads can run
+					cancelled = true;
+					finish(e);
+				}
+			}
+		}
+
+
+		private void drain() {
+			int missed = 1;
+			while(true) {
+				if(done) {
+					return;
+				}
+				try {
+					if(!readRecords()) {
+						return;
+					}
+				} catch(Throwable e) {
+					finish(e);
+					return;
+				}
+				missed = wip.addAndGet(-missed);
+				if(missed == 0) {
+					return;
+				}
+			}
+		}
+
+
+		/** Emit records until the current demand is met
+		 * @return false if the subscription has terminated
+		 */
+		private boolean readRecords() throws IOException {
+			if(requestError != null) {
+				finish(requestError);
+				return false;
+			}
+			if(cancelled) {
+				finish(null);
+				return false;
+			}
+			if(!started) {
+				started = true;
+				in.readStartBlock(blockName);
+				if(filter != null) {
+					in.setRecordFilter(filter);
+				}
+			}
+			long requested = demand.get();
+			long emitted = 0;
+			while(true) {
+				if(cancelled) {
+					finish(null);
+					return false;
+				}
+				DataElement tag = in.peekNext();
+				if(isBlockEnd(tag)) {
+					if(filter != null) {
+						in.setRecordFilter(null);
+					}
+					in.readEndBlock();
+					if(!tag.getName().equals(blockName)) {
+						throw new IOException("incorrect closing block name '" + tag.getName() + "', expected '" + blockName + "'");
+					}
+					done = true;
+					in.close();
+					subscriber.onComplete();
+					return false;
+				}
+				if(emitted == requested) {
+					break;
+				}
+				T record;
+				try {
+					record = reader.readData(in);
+				} catch(RecordRejectedException rre) {
+					in.skipRecord();
+					continue;
+				}
+				subscriber.onNext(record);
+				emitted++;
+			}
+			if(requested != Long.MAX_VALUE) {
+				demand.addAndGet(-emitted);
+			}
+			return true;
+		}
+
+
+		private boolean isBlockEnd(DataElement tag) {
+			// an empty element can be reported as an end tag without first being reported as a start tag
+			return tag.isEndBlock() && (tag.getName().equals(blockName) || tag.getContent().length() != 0);
+		}
+
+
+		/** Close the input stream and, if {@code error} is not null, send it to the subscriber
+		 */
+		private void finish(Throwable error) {
+			if(done) {
+				return;
+			}
+			done = true;
+			try {
+				in.close();
+			} catch(IOException | RuntimeException e) {
+				if(error != null) {
+					error.addSuppressed(e);
+				}
+			}
+			if(error != null) {
+				subscriber.onError(error);
+			}
+		}
+
+	}
+
+}
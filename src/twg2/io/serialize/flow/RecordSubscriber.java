@@ -0,0 +1,205 @@
+package twg2.io.serialize.flow;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+
+/** A {@link Flow.Subscriber} which writes the records it receives to a block of a {@link DataTransferOutput}.<br>
+ * At most {@code bufferSize} records are requested ahead of the records written, so at most that many records are buffered.
+ * Records are written by a task on the subscriber's {@link Executor} which is submitted when records arrive and ends once
+ * the buffer is empty, so an idle stream does not hold a thread. More records are requested as each half of the buffer is written.<br>
+ * When the publisher completes the block is closed and the output stream is closed, the output stream is also closed
+ * if the publisher or a write fails. See {@link #getResult()}.
+ * @param <T> the type of records written
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class RecordSubscriber<T> implements Flow.Subscriber<T> {
+	public static final int DEFAULT_BUFFER_SIZE = 256;
+
+	private final DataTransferOutput out;
+	private final String blockName;
+	private final DataTransferFactory<T> writer;
+	private final int bufferSize;
+	private final Executor executor;
+	private final Queue<T> buffer = new ConcurrentLinkedQueue<>();
+	/** counts the signals which arrived since the running {@link #drain()} last checked for them */
+	private final AtomicInteger wip = new AtomicInteger();
+	private final CompletableFuture<Long> result = new CompletableFuture<>();
+	private volatile Flow.Subscription subscription;
+	private volatile boolean completed;
+	private volatile Throwable error;
+	// only accessed by drain()
+	private boolean started;
+	private boolean terminated;
+	private long written;
+	private int writtenSinceRequest;
+
+
+	/** Create a subscriber with a buffer of {@link #DEFAULT_BUFFER_SIZE} records
+	 * @see #RecordSubscriber(DataTransferOutput, String, DataTransferFactory, int, Executor)
+	 */
+	public RecordSubscriber(DataTransferOutput out, String blockName, DataTransferFactory<T> writer, Executor executor) {
+		this(out, blockName, writer, DEFAULT_BUFFER_SIZE, executor);
+	}
+
+
+	/**
+	 * @param out the output stream to write the block of records to
+	 * @param blockName the name of the block to write the records in
+	 * @param writer the factory to write each record with
+	 * @param bufferSize the maximum number of records requested but not yet written
+	 * @param executor the executor to write records on
+	 */
+	public RecordSubscriber(DataTransferOutput out, String blockName, DataTransferFactory<T> writer, int bufferSize, Executor executor) {
+		if(bufferSize < 1) {
+			throw new IllegalArgumentException("buffer size must be positive, found " + bufferSize);
+		}
+		this.out = Objects.requireNonNull(out, "out");
+		this.blockName = Objects.requireNonNull(blockName, "blockName");
+		this.writer = Objects.requireNonNull(writer, "writer");
+		this.bufferSize = bufferSize;
+		this.executor = Objects.requireNonNull(executor, "executor");
+	}
+
+
+	/**
+	 * @return a future which completes with the number of records written once the publisher has completed and the output stream
+	 * has been closed, or completes exceptionally with the publisher's error or the error thrown while writing
+	 */
+	public CompletableFuture<Long> getResult() {
+		return result;
+	}
+
+
+	@Override
+	public void onSubscribe(Flow.Subscription subscription) {
+		if(this.subscription != null) {
+			subscription.cancel();
+			return;
+		}
+		this.subscription = subscription;
+		subscription.request(bufferSize);
+	}
+
+
+	@Override
+	public void onNext(T item) {
+		buffer.offer(Objects.requireNonNull(item, "item"));
+		schedule();
+	}
+
+
+	@Override
+	public void onError(Throwable throwable) {
+		error = Objects.requireNonNull(throwable, "throwable");
+		completed = true;
+		schedule();
+	}
+
+
+	@Override
+	public void onComplete() {
+		completed = true;
+		schedule();
+	}
+
+
+	private void schedule() {
+		if(wip.getAndIncrement() == 0) {
+			try {
+				executor.execute(this::drain);
+			} catch(RuntimeException e) {
+				// the executor rejected the task, no further writes can run
+				terminated = true;
+				fail(e);
+			}
+		}
+	}
+
+
+	private void drain() {
+		int missed = 1;
+		while(true) {
+			if(terminated) {
+				buffer.clear();
+				return;
+			}
+			try {
+				writeRecords();
+			} catch(Throwable e) {
+				terminated = true;
+				fail(e);
+			}
+			missed = wip.addAndGet(-missed);
+			if(missed == 0) {
+				return;
+			}
+		}
+	}
+
+
+	private void writeRecords() throws IOException {
+		if(!started) {
+			started = true;
+			out.writeStartBlock(blockName);
+		}
+		int requestBatch = Math.max(1, bufferSize / 2);
+		T item;
+		while((item = buffer.poll()) != null) {
+			writer.writeData(out, item);
+			written++;
+			if(++writtenSinceRequest >= requestBatch && !completed) {
+				subscription.request(writtenSinceRequest);
+				writtenSinceRequest = 0;
+			}
+		}
+		// 'completed' is read before checking the buffer since every record is buffered before the publisher completes
+		if(completed && buffer.isEmpty()) {
+			terminated = true;
+			Throwable err = error;
+			if(err != null) {
+				closeOutput(err);
+				result.completeExceptionally(err);
+			}
+			else {
+				out.writeEndBlock();
+				out.close();
+				result.complete(written);
+			}
+		}
+	}
+
+
+	/** Cancel the subscription, close the output stream, and complete the result with {@code err}
+	 */
+	private void fail(Throwable err) {
+		Flow.Subscription sub = subscription;
+		if(sub != null) {
+			sub.cancel();
+		}
+		buffer.clear();
+		closeOutput(err);
+		result.completeExceptionally(err);
+	}
+
+
+	private void closeOutput(Throwable err) {
+		try {
+			out.close();
+		} catch(IOException | RuntimeException e) {
+			if(e != err) {
+				err.addSuppressed(e);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,376 @@
+package twg2.io.serialize.json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import twg2.io.serialize.base.reader.NumberParser;
+
+/** Static methods for scanning and decoding JSON values directly from UTF-8 bytes.
+ * Positions are indices into the caller's array and {@code end} is the exclusive end of the valid data.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class JsonBytes {
+	private JsonBytes() { throw new AssertionError("cannot instantiate static class JsonBytes"); }
+
+
+	public static boolean isWhitespace(byte b) {
+		return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+	}
+
+
+	/**
+	 * @return the position of the first non-whitespace byte at or after {@code pos}, or {@code end}
+	 */
+	public static int skipWhitespace(byte[] b, int pos, int end) {
+		while(pos < end && isWhitespace(b[pos])) {
+			pos++;
+		}
+		return pos;
+	}
+
+
+	/** Skip a JSON value, objects and arrays are skipped entirely
+	 * @param pos the position of the first byte of the value
+	 * @return the position after the value
+	 * @throws IOException if the value is malformed or incomplete
+	 */
+	public static int skipValue(byte[] b, int pos, int end) throws IOException {
+		if(pos >= end) {
+			throw new IOException("expected JSON value at offset " + pos + ", found end of data");
+		}
+		byte ch = b[pos];
+		if(ch == '"') {
+			return skipString(b, pos, end);
+		}
+		if(ch == '{' || ch == '[') {
+			int start = pos;
+			int depth = 0;
+			while(pos < end) {
+				ch = b[pos];
+				if(ch == '"') {
+					pos = skipString(b, pos, end);
+					continue;
+				}
+				if(ch == '{' || ch == '[') {
+					depth++;
+				}
+				else if(ch == '}' || ch == ']') {
+					depth--;
+					if(depth == 0) {
+						return pos + 1;
+					}
+				}
+				pos++;
+			}
+			throw new IOException("unterminated JSON " + (b[start] == '[' ? "array" : "object") + " starting at offset " + start);
+		}
+		// number, true, false, null
+		int start = pos;
+		while(pos < end && !isWhitespace(b[pos]) && b[pos] != ',' && b[pos] != '}' && b[pos] != ']') {
+			pos++;
+		}
+		if(pos == start) {
+			throw new IOException("unexpected '" + (char)ch + "' at offset " + start + ", expected JSON value");
+		}
+		return pos;
+	}
+
+
+	/** Skip a JSON string
+	 * @param pos the position of the string's opening quote
+	 * @return the position after the string's closing quote
+	 */
+	public static int skipString(byte[] b, int pos, int end) throws IOException {
+		for(int i = pos + 1; i < end; i++) {
+			byte ch = b[i];
+			if(ch == '"') {
+				return i + 1;
+			}
+			if(ch == '\\') {
+				i++;
+			}
+		}
+		throw new IOException("unterminated JSON string starting at offset " + pos);
+	}
+
+
+	/** Check whether a JSON string equals {@code str} without decoding it, strings containing escapes are decoded and compared
+	 * @param pos the position of the string's opening quote
+	 */
+	public static boolean stringEquals(byte[] b, int pos, int end, String str) throws IOException {
+		int strLen = str.length();
+		int i = pos + 1;
+		for(int k = 0; i < end; i++, k++) {
+			byte ch = b[i];
+			if(ch == '"') {
+				return k == strLen;
+			}
+			if(ch == '\\' || ch < 0) {
+				return str.equals(decodeString(b, pos, end));
+			}
+			if(k >= strLen || str.charAt(k) != ch) {
+				return false;
+			}
+		}
+		throw new IOException("unterminated JSON string starting at offset " + pos);
+	}
+
+
+	/** Decode a JSON string
+	 * @param pos the position of the string's opening quote
+	 * @return the decoded string
+	 */
+	public static String decodeString(byte[] b, int pos, int end) throws IOException {
+		int start = pos + 1;
+		int i = start;
+		// fast path, no escapes
+		for(; i < end; i++) {
+			byte ch = b[i];
+			if(ch == '"') {
+				return new String(b, start, i - start, StandardCharsets.UTF_8);
+			}
+			if(ch == '\\') {
+				break;
+			}
+		}
+
+		StringBuilder sb = new StringBuilder(i - start + 16);
+		int segStart = start;
+		while(i < end) {
+			byte ch = b[i];
+			if(ch == '"') {
+				appendUtf8(b, segStart, i, sb);
+				return sb.toString();
+			}
+			if(ch != '\\') {
+				i++;
+				continue;
+			}
+			appendUtf8(b, segStart, i, sb);
+			if(i + 1 >= end) {
+				break;
+			}
+			byte esc = b[i + 1];
+			i += 2;
+			switch(esc) {
+			case '"': sb.append('"'); break;
+			case '\\': sb.append('\\'); break;
+			case '/': sb.append('/'); break;
+			case 'b': sb.append('\b'); break;
+			case 'f': sb.append('\f'); break;
+			case 'n': sb.append('\n'); break;
+			case 'r': sb.append('\r'); break;
+			case 't': sb.append('\t'); break;
+			case 'u':
+				if(i + 4 > end) {
+					throw new IOException("incomplete JSON unicode escape at offset " + (i - 2));
+				}
+				sb.append((char)((hexDigit(b[i]) << 12) | (hexDigit(b[i + 1]) << 8) | (hexDigit(b[i + 2]) << 4) | hexDigit(b[i + 3])));
+				i += 4;
+				break;
+			default:
+				throw new IOException("invalid JSON escape '\\" + (char)esc + "' at offset " + (i - 2));
+			}
+			segStart = i;
+		}
+		throw new IOException("unterminated JSON string starting at offset " + pos);
+	}
+
+
+	/** Parse a JSON number, integers that fit in a long are returned as {@link Long}, other numbers as {@link Double}
+	 * @param pos the position of the number's first byte
+	 * @param end the position after the number's last byte
+	 */
+	public static Number parseNumber(byte[] b, int pos, int end) throws IOException {
+		int i = pos;
+		boolean negative = false;
+		if(i < end && b[i] == '-') {
+			negative = true;
+			i++;
+		}
+		// integers with up to 18 digits cannot overflow
+		if(i < end && end - i <= 18) {
+			long num = 0;
+			int digitStart = i;
+			for(; i < end; i++) {
+				int digit = b[i] - '0';
+				if(digit < 0 || digit > 9) {
+					break;
+				}
+				num = num * 10 + digit;
+			}
+			if(i == end && i > digitStart) {
+				return negative ? -num : num;
+			}
+		}
+		String text = new String(b, pos, end - pos, StandardCharsets.ISO_8859_1);
+		try {
+			if(text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+				try {
+					return Long.parseLong(text);
+				} catch(NumberFormatException nfe) {
+					// too large for a long, parse as a double
+				}
+			}
+			return Double.parseDouble(text);
+		} catch(NumberFormatException nfe) {
+			throw new IOException("invalid JSON number '" + text + "' at offset " + pos, nfe);
+		}
+	}
+
+
+	/** Check whether bytes are a JSON number, {@code -?(0|[1-9][0-9]*)(.[0-9]+)?([eE][+-]?[0-9]+)?}
+	 * @param pos the position of the number's first byte
+	 * @param end the position after the number's last byte
+	 */
+	public static boolean isNumber(byte[] b, int pos, int end) {
+		int i = pos;
+		if(i < end && b[i] == '-') {
+			i++;
+		}
+		if(i >= end) {
+			return false;
+		}
+		if(b[i] == '0') {
+			i++;
+		}
+		else {
+			int digitStart = i;
+			i = skipDigits(b, i, end);
+			if(i == digitStart) {
+				return false;
+			}
+		}
+		if(i < end && b[i] == '.') {
+			int fracStart = ++i;
+			i = skipDigits(b, i, end);
+			if(i == fracStart) {
+				return false;
+			}
+		}
+		if(i < end && (b[i] == 'e' || b[i] == 'E')) {
+			i++;
+			if(i < end && (b[i] == '-' || b[i] == '+')) {
+				i++;
+			}
+			int expStart = i;
+			i = skipDigits(b, i, end);
+			if(i == expStart) {
+				return false;
+			}
+		}
+		return i == end;
+	}
+
+
+	/** Parse a JSON integer, numbers with a fraction or exponent are rejected
+	 * @param pos the position of the number's first byte
+	 * @param end the position after the number's last byte
+	 * @throws IOException if the number is not an integer or does not fit in a long
+	 */
+	public static long parseLong(byte[] b, int pos, int end) throws IOException {
+		int i = pos;
+		boolean negative = false;
+		if(i < end && (b[i] == '-' || b[i] == '+')) {
+			negative = b[i] == '-';
+			i++;
+		}
+		// integers with up to 18 digits cannot overflow
+		if(i < end && end - i <= 18) {
+			long num = 0;
+			int digitStart = i;
+			for(; i < end; i++) {
+				int digit = b[i] - '0';
+				if(digit < 0 || digit > 9) {
+					break;
+				}
+				num = num * 10 + digit;
+			}
+			if(i == end && i > digitStart) {
+				return negative ? -num : num;
+			}
+		}
+		String text = new String(b, pos, end - pos, StandardCharsets.ISO_8859_1);
+		try {
+			return Long.parseLong(text);
+		} catch(NumberFormatException nfe) {
+			throw new IOException("invalid JSON integer '" + text + "' at offset " + pos, nfe);
+		}
+	}
+
+
+	/** Parse a JSON number as a double using {@link NumberParser#parseDouble(char[], int, int)}
+	 * @param pos the position of the number's first byte
+	 * @param end the position after the number's last byte
+	 * @param chars a buffer to copy the number's chars into, a new array is used if this is null or too small
+	 */
+	public static double parseDouble(byte[] b, int pos, int end, char[] chars) throws IOException {
+		int len = end - pos;
+		chars = toChars(b, pos, end, chars);
+		try {
+			return NumberParser.parseDouble(chars, 0, len);
+		} catch(NumberFormatException nfe) {
+			throw new IOException("invalid JSON number '" + new String(chars, 0, len) + "' at offset " + pos, nfe);
+		}
+	}
+
+
+	/** Parse a JSON number as a float using {@link NumberParser#parseFloat(char[], int, int)}
+	 * @see #parseDouble(byte[], int, int, char[])
+	 */
+	public static float parseFloat(byte[] b, int pos, int end, char[] chars) throws IOException {
+		int len = end - pos;
+		chars = toChars(b, pos, end, chars);
+		try {
+			return NumberParser.parseFloat(chars, 0, len);
+		} catch(NumberFormatException nfe) {
+			throw new IOException("invalid JSON number '" + new String(chars, 0, len) + "' at offset " + pos, nfe);
+		}
+	}
+
+
+	/** Copy a number's bytes to chars, each byte becomes one char
+	 * @return {@code dst} or a new array if {@code dst} is null or too small
+	 */
+	private static char[] toChars(byte[] b, int pos, int end, char[] dst) {
+		int len = end - pos;
+		if(dst == null || dst.length < len) {
+			dst = new char[len];
+		}
+		for(int i = 0; i < len; i++) {
+			dst[i] = (char)(b[pos + i] & 0xFF);
+		}
+		return dst;
+	}
+
+
+	private static int skipDigits(byte[] b, int pos, int end) {
+		while(pos < end && b[pos] >= '0' && b[pos] <= '9') {
+			pos++;
+		}
+		return pos;
+	}
+
+
+	private static void appendUtf8(byte[] b, int start, int end, StringBuilder dst) {
+		if(end > start) {
+			dst.append(new String(b, start, end - start, StandardCharsets.UTF_8));
+		}
+	}
+
+
+	static int hexDigit(byte ch) throws IOException {
+		if(ch >= '0' && ch <= '9') {
+			return ch - '0';
+		}
+		if(ch >= 'a' && ch <= 'f') {
+			return ch - 'a' + 10;
+		}
+		if(ch >= 'A' && ch <= 'F') {
+			return ch - 'A' + 10;
+		}
+		throw new IOException("invalid hex digit '" + (char)ch + "' in JSON unicode escape");
+	}
+
+}
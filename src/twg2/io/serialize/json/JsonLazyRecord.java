@@ -0,0 +1,184 @@
+package twg2.io.serialize.json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import twg2.io.serialize.base.LazyRecord;
+
+/** A {@link LazyRecord} over a JSON object encoded as UTF-8 bytes.
+ * The record's slice contains the object from its opening to closing brace.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class JsonLazyRecord extends LazyRecord {
+	private static final int OBJECT = 1;
+	private static final int ARRAY = 2;
+	private static final int STRING = 3;
+	private static final int NUMBER = 4;
+	private static final int BOOLEAN = 5;
+	private static final int NULL = 6;
+
+
+	public JsonLazyRecord(String name, byte[] buf, int off, int len) {
+		super(name, buf, off, len);
+	}
+
+
+	@Override
+	protected void indexFields() throws IOException {
+		byte[] b = buf;
+		int end = off + len;
+		int pos = JsonBytes.skipWhitespace(b, off, end);
+		if(pos >= end || b[pos] != '{') {
+			throw new IOException("expected '{' at start of JSON record '" + name + "' at offset " + pos);
+		}
+		pos++;
+		while(true) {
+			pos = JsonBytes.skipWhitespace(b, pos, end);
+			if(pos >= end || b[pos] == '}') {
+				return;
+			}
+			if(b[pos] == ',') {
+				pos++;
+				continue;
+			}
+			int nameEnd = expectName(b, pos, end);
+			String fieldName = JsonBytes.decodeString(b, pos, end);
+			int start = valueStart(b, nameEnd, end);
+			pos = JsonBytes.skipValue(b, start, end);
+			addField(fieldName, valueType(b[start]), start, pos);
+		}
+	}
+
+
+	@Override
+	protected Object decodeField(String name, int type, int start, int end) throws IOException {
+		switch(type) {
+		case OBJECT:
+			return new JsonLazyRecord(name, buf, start, end - start);
+		case STRING:
+			return JsonBytes.decodeString(buf, start, end);
+		case NUMBER:
+			return JsonBytes.parseNumber(buf, start, end);
+		case BOOLEAN:
+			return buf[start] == 't';
+		case NULL:
+			return null;
+		case ARRAY:
+			// arrays are not produced by JsonWriter, return the raw JSON text
+			return new String(buf, start, end - start, StandardCharsets.UTF_8);
+		default:
+			throw new AssertionError("unknown JSON value type " + type);
+		}
+	}
+
+
+	/** Locate the records inside a top level block of JSON data without decoding them
+	 * @param buf the UTF-8 JSON data, a root object like the one written by {@link JsonWriter}
+	 * @param off the offset of the data in {@code buf}
+	 * @param len the number of bytes of data in {@code buf}
+	 * @param blockName the name of the top level object containing the records
+	 * @return a lazy record for each object inside {@code blockName}, other fields in the block are ignored
+	 * @throws IOException if the block cannot be found or the data is malformed
+	 */
+	public static List<LazyRecord> readBlock(byte[] buf, int off, int len, String blockName) throws IOException {
+		byte[] b = buf;
+		int end = off + len;
+		int pos = JsonBytes.skipWhitespace(b, off, end);
+		if(pos >= end || b[pos] != '{') {
+			throw new IOException("expected '{' at start of JSON data at offset " + pos);
+		}
+		pos++;
+
+		// find the block
+		int blockStart = -1;
+		while(blockStart < 0) {
+			pos = JsonBytes.skipWhitespace(b, pos, end);
+			if(pos >= end || b[pos] == '}') {
+				throw new IOException("could not find block '" + blockName + "'");
+			}
+			if(b[pos] == ',') {
+				pos++;
+				continue;
+			}
+			int nameEnd = expectName(b, pos, end);
+			boolean match = JsonBytes.stringEquals(b, pos, end, blockName);
+			int start = valueStart(b, nameEnd, end);
+			if(match && b[start] == '{') {
+				blockStart = start;
+			}
+			else {
+				pos = JsonBytes.skipValue(b, start, end);
+			}
+		}
+
+		List<LazyRecord> records = new ArrayList<>();
+		String prevName = null;
+		pos = blockStart + 1;
+		while(true) {
+			pos = JsonBytes.skipWhitespace(b, pos, end);
+			if(pos >= end) {
+				throw new IOException("unexpected end of JSON data inside block '" + blockName + "'");
+			}
+			if(b[pos] == '}') {
+				return records;
+			}
+			if(b[pos] == ',') {
+				pos++;
+				continue;
+			}
+			int nameEnd = expectName(b, pos, end);
+			int start = valueStart(b, nameEnd, end);
+			int valueEnd = JsonBytes.skipValue(b, start, end);
+			if(b[start] == '{') {
+				// records in a block usually share a name, reuse the previous name's string
+				if(prevName == null || !JsonBytes.stringEquals(b, pos, end, prevName)) {
+					prevName = JsonBytes.decodeString(b, pos, end);
+				}
+				records.add(new JsonLazyRecord(prevName, buf, start, valueEnd - start));
+			}
+			pos = valueEnd;
+		}
+	}
+
+
+	private static int expectName(byte[] b, int pos, int end) throws IOException {
+		if(b[pos] != '"') {
+			throw new IOException("expected JSON field name at offset " + pos + ", found '" + (char)b[pos] + "'");
+		}
+		return JsonBytes.skipString(b, pos, end);
+	}
+
+
+	/**
+	 * @param pos the position after a field name
+	 * @return the position of the field's value
+	 */
+	private static int valueStart(byte[] b, int pos, int end) throws IOException {
+		pos = JsonBytes.skipWhitespace(b, pos, end);
+		if(pos >= end || b[pos] != ':') {
+			throw new IOException("expected ':' after JSON field name at offset " + pos);
+		}
+		pos = JsonBytes.skipWhitespace(b, pos + 1, end);
+		if(pos >= end) {
+			throw new IOException("expected JSON value at offset " + pos + ", found end of data");
+		}
+		return pos;
+	}
+
+
+	private static int valueType(byte ch) {
+		switch(ch) {
+		case '{': return OBJECT;
+		case '[': return ARRAY;
+		case '"': return STRING;
+		case 't':
+		case 'f': return BOOLEAN;
+		case 'n': return NULL;
+		default: return NUMBER;
+		}
+	}
+
+}
@@ -1,6 +1,7 @@
 package twg2.io.serialize.json;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -8,12 +9,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringReader;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
 import com.fasterxml.jackson.core.JsonToken;
 
 import twg2.io.serialize.base.DataElement;
@@ -21,6 +24,9 @@ import twg2.io.serialize.base.DataElementImpl;
 import twg2.io.serialize.base.DataProxy;
 import twg2.io.serialize.base.ParsedElementType;
 import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.reader.FieldProjection;
+import twg2.io.serialize.base.reader.RecordFilter;
+import twg2.io.serialize.base.reader.StringCache;
 import twg2.simpleTypes.ioPrimitives.IoType;
 import twg2.simpleTypes.ioPrimitives.PrimitiveOrString;
 
@@ -36,6 +42,12 @@ public class JsonReader implements DataTransferInput {
 	private String currentContent;
 	private DataElement cachedBlock;
 	private DataElement currentBlock;
+	private FieldProjection projection;
+	private RecordFilter recordFilter;
+	/** if not null, string values are looked up in this cache instead of always creating a new string */
+	private StringCache stringCache;
+	/** the parser context containing the records being filtered by {@link #recordFilter} */
+	private JsonStreamContext recordParent;
 
 	private DataProxy curData = new DataProxy();
 
@@ -197,6 +209,30 @@ public class JsonReader implements DataTransferInput {
 	}
 
 
+	/** {@inheritDoc}
+	 * <p>Jackson decodes a whole string token before returning it, so the value is buffered
+	 * in memory and the returned stream reads from that buffer.
+	 */
+	@Override
+	public InputStream openBinaryStream(String name) throws IOException {
+		@SuppressWarnings("unused")
+		boolean result = readUntil(name, JsonToken.VALUE_STRING, IoType.BINARY);
+		return new ByteArrayInputStream(curData.getByteArray());
+	}
+
+
+	/** {@inheritDoc}
+	 * <p>Jackson decodes a whole string token before returning it, so the value is buffered
+	 * in memory and the returned reader reads from that buffer.
+	 */
+	@Override
+	public Reader openStringReader(String name) throws IOException {
+		@SuppressWarnings("unused")
+		boolean result = readUntil(name, JsonToken.VALUE_STRING, JsonToken.VALUE_NULL, IoType.STRING);
+		return currentToken == JsonToken.VALUE_NULL ? null : new StringReader(curData.getString());
+	}
+
+
 	@Override
 	public DataElement peekNext() throws IOException {
 		if(cachedBlock != null) {
@@ -216,9 +252,13 @@ public class JsonReader implements DataTransferInput {
 			return currentBlock;
 		}
 
-		// read until a field, or beginning/end of an object is reached
+		// read until a projected field, or beginning/end of an object is reached
 		JsonToken token = jsonIn.getCurrentToken();
-		while(token != null && token != JsonToken.START_OBJECT && token != JsonToken.END_OBJECT && token != JsonToken.FIELD_NAME) {
+		while(token != null && token != JsonToken.START_OBJECT && token != JsonToken.END_OBJECT &&
+				(token != JsonToken.FIELD_NAME || !isProjected(jsonIn.getCurrentName()))) {
+			if(token == JsonToken.FIELD_NAME) {
+				skipFieldValue();
+			}
 			token = jsonIn.nextToken();
 		}
 
@@ -238,7 +278,10 @@ public class JsonReader implements DataTransferInput {
 			currentValueToken = jsonIn.getCurrentToken();
 			parseJsonType(currentName, currentValueToken);
 		}
-		currentContent = jsonIn.getText();
+		currentContent = currentText();
+		if(parsedType == ParsedElementType.ELEMENT && currentValueToken != null && currentValueToken.isScalarValue()) {
+			checkRecordFilter(currentName, currentContent);
+		}
 
 		currentBlock = new DataElementImpl(currentName, 0,
 				parsedType == ParsedElementType.ELEMENT ? currentContent : null, parsedType);
@@ -263,6 +306,52 @@ public class JsonReader implements DataTransferInput {
 	}
 
 
+	@Override
+	public void setProjection(FieldProjection projection) {
+		this.projection = projection;
+	}
+
+
+	@Override
+	public FieldProjection getProjection() {
+		return projection;
+	}
+
+
+	@Override
+	public void setRecordFilter(RecordFilter filter) {
+		this.recordFilter = filter;
+		this.recordParent = (filter != null ? jsonIn.getParsingContext() : null);
+	}
+
+
+	@Override
+	public void setStringCache(StringCache cache) {
+		this.stringCache = cache;
+	}
+
+
+	@Override
+	public StringCache getStringCache() {
+		return stringCache;
+	}
+
+
+	@Override
+	public void skipRecord() throws IOException {
+		cachedBlock = null;
+		// read until the end of the object whose parent contains the filtered records
+		JsonToken token = jsonIn.getCurrentToken();
+		while(token != null && !(token == JsonToken.END_OBJECT && jsonIn.getParsingContext() == recordParent)) {
+			jsonIn.skipChildren();
+			token = jsonIn.nextToken();
+		}
+		currentToken = token;
+		currentBlock = new DataElementImpl(null, 0, null, ParsedElementType.FOOTER);
+		jsonIn.nextToken();
+	}
+
+
 	@Override
 	public DataElement getCurrentElement() {
 		return currentBlock;
@@ -318,6 +407,9 @@ public class JsonReader implements DataTransferInput {
 		JsonToken parsedToken = jsonIn.getCurrentToken();
 		String parsedName = jsonIn.getCurrentName();
 		while(parsedToken != null && !isMatch(parsedToken, parsedName, type, type2, name)) {
+			if(parsedToken == JsonToken.FIELD_NAME && !isProjected(parsedName)) {
+				skipFieldValue();
+			}
 			parsedToken = jsonIn.nextToken();
 			parsedName = jsonIn.getCurrentName();
 		}
@@ -336,9 +428,12 @@ public class JsonReader implements DataTransferInput {
 			currentValueToken = jsonIn.getCurrentToken();
 			parseJsonType(name, currentValueToken);
 		}
-		currentContent = jsonIn.getText();
+		currentContent = currentText();
 		if(ioType != null) {
-			parseContent(name, ioType, jsonIn, curData, false);
+			if(currentToken.isScalarValue()) {
+				checkRecordFilter(currentName, currentContent);
+			}
+			parseContent(name, ioType, jsonIn, curData, false, stringCache);
 		}
 		// if it is an element, the previous nextToken() call moved to the element value, this call moves to the next token
 		jsonIn.nextToken();
@@ -346,6 +441,70 @@ public class JsonReader implements DataTransferInput {
 	}
 
 
+	/** Check whether a field in the parser's current object is part of this reader's projection
+	 * @param fieldName the name of the field
+	 * @return true if there is no projection or the field is part of the projection
+	 */
+	private boolean isProjected(String fieldName) {
+		if(projection == null) {
+			return true;
+		}
+		FieldProjection.Node node = projectionNode(jsonIn.getParsingContext());
+		return node != null && node.getChild(fieldName) != null;
+	}
+
+
+	/**
+	 * @return the text of the parser's current token, string values are looked up in the {@link #stringCache} if there is one
+	 */
+	private String currentText() throws IOException {
+		if(stringCache != null && jsonIn.getCurrentToken() == JsonToken.VALUE_STRING) {
+			return stringCache.get(jsonIn.getTextCharacters(), jsonIn.getTextOffset(), jsonIn.getTextLength());
+		}
+		return jsonIn.getText();
+	}
+
+
+	/** Check a scalar field value against this reader's record filter if the field belongs to a filtered record
+	 * @throws twg2.io.serialize.base.reader.RecordRejectedException if the field fails the record filter
+	 */
+	private void checkRecordFilter(String fieldName, String value) {
+		if(recordFilter != null && jsonIn.getParsingContext().getParent() == recordParent) {
+			recordFilter.check(fieldName, value);
+		}
+	}
+
+
+	/** Resolve the projection node for a parser context by walking the context's parents
+	 * @param ctx the parser context
+	 * @return the projection node matching the fields of {@code ctx}, or null if {@code ctx} is not part of the projection
+	 */
+	private FieldProjection.Node projectionNode(JsonStreamContext ctx) {
+		JsonStreamContext parent = ctx.getParent();
+		// the top level object's start token is read by the constructor, its fields are the projection's top level names
+		if(parent == null || parent.inRoot()) {
+			return projection.getRoot();
+		}
+		FieldProjection.Node node = projectionNode(parent);
+		// array elements share their array field's node
+		if(node == null || !parent.inObject()) {
+			return node;
+		}
+		return node.getChild(parent.getCurrentName());
+	}
+
+
+	/** Skip the value of the field name the parser is currently on without decoding it,
+	 * nested objects and arrays are skipped entirely.
+	 * The parser is left on the last token of the value.
+	 * @throws IOException if there is an error reading from the input stream
+	 */
+	private void skipFieldValue() throws IOException {
+		jsonIn.nextToken();
+		jsonIn.skipChildren();
+	}
+
+
 	private static final boolean isMatchToken(JsonToken parsedToken, JsonToken parsedValueToken, String parsedName, JsonToken type, JsonToken type2, String expectedName) {
 		return (parsedToken != null && (parsedToken == type || parsedToken == type2)) ||
 				(parsedValueToken != null && (parsedValueToken == type || parsedValueToken == type2)) &&
@@ -371,7 +530,7 @@ public class JsonReader implements DataTransferInput {
 		}
 		currentToken = token;
 		currentName = jsonIn.getCurrentName();
-		currentContent = jsonIn.getText();
+		currentContent = currentText();
 		jsonIn.nextToken();
 		return values.toArray(new String[values.size()]);
 	}
@@ -387,12 +546,12 @@ public class JsonReader implements DataTransferInput {
 
 		JsonToken token = jsonIn.getCurrentToken();
 		while(token != null && token != JsonToken.END_ARRAY) {
-			parseContent(null, type, jsonIn, elemData, true);
+			parseContent(null, type, jsonIn, elemData, true, stringCache);
 			token = jsonIn.nextToken();
 		}
 		currentToken = token;
 		currentName = jsonIn.getCurrentName();
-		currentContent = jsonIn.getText();
+		currentContent = currentText();
 		jsonIn.nextToken();
 		return elemData;
 	}
@@ -401,12 +560,13 @@ public class JsonReader implements DataTransferInput {
 	/** Read the specified data type from {@link #jsonIn} into this object's current fields,
 	 * such as {@link #curBytes}, {@link #curFloat}, etc.
 	 * @param type the data type to read
+	 * @param stringCache the cache to look up string values in, null to create a new string for each value
 	 * @throws IOException if there is an error reading from the {@link JsonParser}
 	 */
-	private static void parseContent(String name, IoType type, JsonParser jsonSrc, DataProxy dst, boolean addToArray) throws IOException {
+	private static void parseContent(String name, IoType type, JsonParser jsonSrc, DataProxy dst, boolean addToArray, StringCache stringCache) throws IOException {
 		switch(type) {
 		case BINARY:
-			byte[] bytes = jsonSrc.getCurrentToken().asByteArray();
+			byte[] bytes = jsonSrc.getBinaryValue();
 			if(addToArray) throw new IllegalArgumentException("Cannot handle IoType.BINARY data when 'addToArray' is true");
 			else dst.setByteArray(name, bytes, 0, bytes.length);
 			return;
@@ -451,7 +611,7 @@ public class JsonReader implements DataTransferInput {
 			else dst.setShort(name, shortVal);
 			return;
 		case STRING:
-			String stringVal = jsonSrc.getText();
+			String stringVal = (stringCache != null ? stringCache.get(jsonSrc.getTextCharacters(), jsonSrc.getTextOffset(), jsonSrc.getTextLength()) : jsonSrc.getText());
 			if(addToArray) dst.addStringToArray(stringVal);
 			else dst.setString(name, stringVal);
 			return;
@@ -481,7 +641,7 @@ public class JsonReader implements DataTransferInput {
 			curData.setBoolean(name, curBool);
 			break;
 		case VALUE_STRING:
-			curData.setString(name, jsonIn.getText());
+			curData.setString(name, stringCache != null ? stringCache.get(jsonIn.getTextCharacters(), jsonIn.getTextOffset(), jsonIn.getTextLength()) : jsonIn.getText());
 			break;
 		case VALUE_NUMBER_INT:
 			curData.setLong(name, jsonIn.getLongValue());
@@ -4,16 +4,27 @@ import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
 
+import twg2.io.serialize.base.FieldName;
 import twg2.io.serialize.base.writer.DataTransferOutput;
+import twg2.io.serialize.base.writer.DocumentTail;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 
 /** A {@code DataTransferOutput} wrapper that writes a JSON formated output stream
@@ -29,6 +40,8 @@ public class JsonWriter implements DataTransferOutput {
 	private int inObject;
 	@SuppressWarnings("unused")
 	private int inArray;
+	/** passes {@link FieldName}s to the generator, reused for each name written */
+	private final FieldNameString fieldName = new FieldNameString();
 
 
 	/** Open a {@link BufferedOutputStream} to the specified {@code file} using {@code UTF-8} encoding
@@ -80,9 +93,69 @@ public class JsonWriter implements DataTransferOutput {
 	}
 
 
+	/** Reopens the blocks of an existing document, the generator state is rebuilt by writing the document's
+	 * opening tokens to a discarded stream so that appended fields are written with the right separators and indentation
+	 */
+	private JsonWriter(AppendStream stream, int openBlocks, boolean hasFields) throws IOException {
+		this(stream);
+		for(int i = 0; i < openBlocks; i++) {
+			jsonOut.writeFieldName("_");
+			jsonOut.writeStartObject();
+		}
+		if(hasFields) {
+			jsonOut.writeNullField("_");
+		}
+		jsonOut.flush();
+		stream.discard = false;
+		inObject = openBlocks;
+	}
+
+
+	/** Open an existing JSON document written by a {@code JsonWriter} to append fields to it.
+	 * The document's closing braces are found by reading backwards from the end of the file, the writer is positioned
+	 * before the closing brace of the innermost reopened block and new fields are written after the block's existing fields.
+	 * Closing the writer closes the reopened blocks and the document again.
+	 * Only the end of the file is read, so the cost of appending does not depend on the size of the existing document.
+	 * @param file the {@code UTF-8} JSON document to append to
+	 * @param openBlocks the number of blocks to reopen, counting the last top level block as 1,
+	 * for example 1 to append sibling blocks to the records of a document containing a single list of records
+	 * @return a writer positioned inside the reopened blocks
+	 * @throws IOException if there is an error opening the file or the document does not end with {@code openBlocks} + 1 closing braces
+	 */
+	public static JsonWriter openForAppend(File file, int openBlocks) throws IOException {
+		if(openBlocks < 1) {
+			throw new IllegalArgumentException("at least one block must be reopened, found " + openBlocks);
+		}
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			DocumentTail tail = new DocumentTail(channel);
+			// the document's closing brace and then each reopened block's closing brace
+			for(int i = 0; i <= openBlocks; i++) {
+				tail.skipWhitespace();
+				if(tail.prev() != '}') {
+					throw new IOException("JSON document '" + file + "' does not end with " + (openBlocks + 1) + " closing braces");
+				}
+			}
+			long end = tail.skipWhitespace();
+			int last = tail.prev();
+			if(last == -1) {
+				throw new IOException("JSON document '" + file + "' has unbalanced closing braces");
+			}
+			channel.truncate(end);
+			channel.position(end);
+			return new JsonWriter(new AppendStream(new BufferedOutputStream(Channels.newOutputStream(channel))), openBlocks, last != '{');
+		} catch(IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
 
 	@Override
 	public void close() throws IOException {
+		while(inObject > 0) {
+			writeEndBlock();
+		}
 		jsonOut.writeEndObject();
 		jsonOut.close();
 	}
@@ -166,6 +239,116 @@ public class JsonWriter implements DataTransferOutput {
 	}
 
 
+	@Override
+	public void writeBooleanField(FieldName name, boolean v) throws IOException {
+		checkStatus();
+		jsonOut.writeFieldName(fieldName.set(name));
+		jsonOut.writeBoolean(v);
+	}
+
+
+	@Override
+	public void writeByteField(FieldName name, byte v) throws IOException {
+		checkStatus();
+		jsonOut.writeFieldName(fieldName.set(name));
+		jsonOut.writeNumber(v);
+	}
+
+
+	@Override
+	public void writeCharField(FieldName name, char v) throws IOException {
+		checkStatus();
+		jsonOut.writeFieldName(fieldName.set(name));
+		jsonOut.writeString(String.valueOf(v));
+	}
+
+
+	@Override
+	public void writeDoubleField(FieldName name, double v) throws IOException {
+		checkStatus();
+		jsonOut.writeFieldName(fieldName.set(name));
+		jsonOut.writeNumber(v);
+	}
+
+
+	@Override
+	public void writeFloatField(FieldName name, float v) throws IOException {
+		checkStatus();
+		jsonOut.writeFieldName(fieldName.set(name));
+		jsonOut.writeNumber(v);
+	}
+
+
+	@Override
+	public void writeIntField(FieldName name, int v) throws IOException {
+		checkStatus();
+		jsonOut.writeFieldName(fieldName.set(name));
+		jsonOut.writeNumber(v);
+	}
+
+
+	@Override
+	public void writeLongField(FieldName name, long v) throws IOException {
+		checkStatus();
+		jsonOut.writeFieldName(fieldName.set(name));
+		jsonOut.writeNumber(v);
+	}
+
+
+	@Override
+	public void writeShortField(FieldName name, short v) throws IOException {
+		checkStatus();
+		jsonOut.writeFieldName(fieldName.set(name));
+		jsonOut.writeNumber(v);
+	}
+
+
+	@Override
+	public void writeStringField(FieldName name, String s) throws IOException {
+		checkStatus();
+		jsonOut.writeFieldName(fieldName.set(name));
+		jsonOut.writeString(s);
+	}
+
+
+	@Override
+	public long writeBinary(String name, InputStream src) throws IOException {
+		checkStatus();
+		jsonOut.writeFieldName(name);
+		return jsonOut.writeBinary(src, -1);
+	}
+
+
+	@Override
+	public long writeString(String name, Reader src) throws IOException {
+		checkStatus();
+		jsonOut.writeFieldName(name);
+		// writeRawValue() writes the separator before the value, the value's escaped chars are then written in chunks
+		jsonOut.writeRawValue("\"");
+		JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+		char[] chars = new char[4096];
+		long count = 0;
+		int carry = 0;
+		int len;
+		while((len = src.read(chars, carry, chars.length - carry)) != -1) {
+			count += len;
+			int end = carry + len;
+			// a surrogate pair split between reads is carried over to the next chunk
+			carry = (Character.isHighSurrogate(chars[end - 1]) ? 1 : 0);
+			char[] escaped = encoder.quoteAsString(new String(chars, 0, end - carry));
+			jsonOut.writeRaw(escaped, 0, escaped.length);
+			if(carry > 0) {
+				chars[0] = chars[end - 1];
+			}
+		}
+		if(carry > 0) {
+			jsonOut.writeRaw(chars, 0, 1);
+		}
+		jsonOut.writeRaw('"');
+		return count;
+	}
+
+
 	@Override
 	public void writeStartBlock(String name) throws IOException {
 		inObject++;
@@ -174,6 +357,14 @@ public class JsonWriter implements DataTransferOutput {
 	}
 
 
+	@Override
+	public void writeStartBlockField(FieldName name) throws IOException {
+		inObject++;
+		jsonOut.writeFieldName(fieldName.set(name));
+		jsonOut.writeStartObject();
+	}
+
+
 	@Override
 	public void writeEndBlock() throws IOException {
 		checkStatus();
@@ -188,4 +379,170 @@ public class JsonWriter implements DataTransferOutput {
 		}
 	}
 
+
+
+	/** Exposes a {@link FieldName}'s pre-encoded forms to the generator, which copies the escaped name
+	 * into its buffer instead of escaping the name's string
+	 */
+	private static final class FieldNameString implements SerializableString {
+		private FieldName name;
+
+
+		FieldNameString set(FieldName name) {
+			this.name = name;
+			return this;
+		}
+
+
+		@Override
+		public String getValue() {
+			return name.getName();
+		}
+
+
+		@Override
+		public int charLength() {
+			return name.getName().length();
+		}
+
+
+		@Override
+		public char[] asQuotedChars() {
+			return name.getJsonEscaped();
+		}
+
+
+		@Override
+		public byte[] asUnquotedUTF8() {
+			return name.getUtf8();
+		}
+
+
+		@Override
+		public byte[] asQuotedUTF8() {
+			return name.getJsonEscapedUtf8();
+		}
+
+
+		@Override
+		public int appendQuotedUTF8(byte[] buffer, int offset) {
+			return append(name.getJsonEscapedUtf8(), buffer, offset);
+		}
+
+
+		@Override
+		public int appendQuoted(char[] buffer, int offset) {
+			char[] chars = name.getJsonEscaped();
+			if(chars.length > buffer.length - offset) {
+				return -1;
+			}
+			System.arraycopy(chars, 0, buffer, offset, chars.length);
+			return chars.length;
+		}
+
+
+		@Override
+		public int appendUnquotedUTF8(byte[] buffer, int offset) {
+			return append(name.getUtf8(), buffer, offset);
+		}
+
+
+		@Override
+		public int appendUnquoted(char[] buffer, int offset) {
+			String str = name.getName();
+			int len = str.length();
+			if(len > buffer.length - offset) {
+				return -1;
+			}
+			str.getChars(0, len, buffer, offset);
+			return len;
+		}
+
+
+		@Override
+		public int writeQuotedUTF8(OutputStream out) throws IOException {
+			byte[] bytes = name.getJsonEscapedUtf8();
+			out.write(bytes);
+			return bytes.length;
+		}
+
+
+		@Override
+		public int writeUnquotedUTF8(OutputStream out) throws IOException {
+			byte[] bytes = name.getUtf8();
+			out.write(bytes);
+			return bytes.length;
+		}
+
+
+		@Override
+		public int putQuotedUTF8(ByteBuffer buffer) throws IOException {
+			return put(name.getJsonEscapedUtf8(), buffer);
+		}
+
+
+		@Override
+		public int putUnquotedUTF8(ByteBuffer buffer) throws IOException {
+			return put(name.getUtf8(), buffer);
+		}
+
+
+		@Override
+		public String toString() {
+			return name.getName();
+		}
+
+
+		/**
+		 * @return the number of bytes copied, or -1 if {@code buffer} does not have room for all of {@code bytes}
+		 */
+		private static int append(byte[] bytes, byte[] buffer, int offset) {
+			if(bytes.length > buffer.length - offset) {
+				return -1;
+			}
+			System.arraycopy(bytes, 0, buffer, offset, bytes.length);
+			return bytes.length;
+		}
+
+
+		private static int put(byte[] bytes, ByteBuffer buffer) {
+			if(bytes.length > buffer.remaining()) {
+				return -1;
+			}
+			buffer.put(bytes);
+			return bytes.length;
+		}
+
+	}
+
+
+
+	/** Discards the bytes written to it until {@link #discard} is cleared, used to rebuild the generator's state when appending
+	 */
+	private static final class AppendStream extends FilterOutputStream {
+		boolean discard = true;
+
+
+		AppendStream(OutputStream out) {
+			super(out);
+		}
+
+
+		@Override
+		public void write(int b) throws IOException {
+			if(!discard) {
+				out.write(b);
+			}
+		}
+
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if(!discard) {
+				out.write(b, off, len);
+			}
+		}
+
+	}
+
 }
@@ -0,0 +1,1245 @@
+package twg2.io.serialize.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+
+import twg2.io.serialize.base.DataElement;
+import twg2.io.serialize.base.DataElementImpl;
+import twg2.io.serialize.base.FieldName;
+import twg2.io.serialize.base.ParsedElementType;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.reader.FieldProjection;
+import twg2.io.serialize.base.reader.RecordFilter;
+import twg2.io.serialize.base.reader.StringCache;
+
+/** A {@code DataTransferInput} which parses UTF-8 JSON directly from bytes, without Jackson.<br>
+ * Field names are compared against the expected names without being decoded and numbers are parsed
+ * directly from the input bytes, strings are only decoded when they are returned.
+ * Reads the same documents as {@link JsonReader}, a root object containing fields and nested objects (blocks).
+ * Unlike {@link JsonReader}, nested objects are returned by {@link #readNext()} as start blocks.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class Utf8JsonReader implements DataTransferInput {
+	private static final int EOF = -1;
+	private static final int FIELD = 1;
+	private static final int END = 2;
+
+	private static final int STRING = 1;
+	private static final int NUMBER = 2;
+	private static final int TRUE = 3;
+	private static final int FALSE = 4;
+	private static final int NULL = 5;
+	private static final int ARRAY = 6;
+	private static final int BUFFER_SIZE = 8192;
+	/** the largest stream buffer kept by {@link #reset(InputStream)}, larger buffers grown to fit long values are discarded */
+	private static final int MAX_RETAINED_BUFFER_SIZE = 1 << 16;
+
+	private InputStream src;
+	private byte[] buf;
+	private int pos;
+	private int limit;
+	/** the start of the bytes that must be kept when the buffer is refilled */
+	private int mark;
+	/** position of the current field name's opening quote and the position after its closing quote */
+	private int nameStart;
+	private int nameEnd;
+	/** the current field value's first byte position, end position, and kind */
+	private int valueStart;
+	private int valueEnd;
+	private int valueKind;
+	/** the stream returned by the last {@link #openBinaryStream(String)} or {@link #openStringReader(String)} call, if it has not been finished */
+	private ValueStream openStream;
+
+	private String currentName;
+	private DataElement currentBlock;
+	private DataElement peekedBlock;
+	/** names of the open blocks, not including the root object */
+	private final ArrayList<String> blockNames = new ArrayList<>();
+	/** projection nodes of the open blocks, parallel to {@link #blockNames} */
+	private final ArrayList<FieldProjection.Node> projectionNodes = new ArrayList<>();
+	private FieldProjection projection;
+	private RecordFilter recordFilter;
+	/** if not null, string values without escapes are looked up in this cache by their bytes instead of being decoded */
+	private StringCache stringCache;
+	/** the number of open blocks when the {@link #recordFilter} was set */
+	private int recordDepth;
+	/** reused by {@link JsonBytes#parseDouble(byte[], int, int, char[])} to parse floating point values */
+	private final char[] numberChars = new char[32];
+
+
+	/** Create a JSON reader from the specified file contents
+	 * @param file the file to read {@code UTF-8} JSON data from
+	 * @throws IOException if there is an error reading from the file
+	 */
+	public Utf8JsonReader(File file) throws IOException {
+		this(new FileInputStream(file));
+	}
+
+
+	/** Create a JSON reader from the specified input stream.
+	 * The stream is buffered internally, so it does not need to be buffered.
+	 * @param stream the input stream to read {@code UTF-8} JSON data from
+	 * @throws IOException if there is an error reading from the input stream
+	 */
+	public Utf8JsonReader(InputStream stream) throws IOException {
+		this.src = stream;
+		this.buf = new byte[BUFFER_SIZE];
+		readRootStart();
+	}
+
+
+	/** Create a JSON reader from an in-memory buffer
+	 * @param buf the {@code UTF-8} JSON data
+	 * @param off the offset of the data in {@code buf}
+	 * @param len the number of bytes of data in {@code buf}
+	 * @throws IOException if the data does not start with an object
+	 */
+	public Utf8JsonReader(byte[] buf, int off, int len) throws IOException {
+		this.src = null;
+		this.buf = buf;
+		this.pos = off;
+		this.limit = off + len;
+		this.mark = off;
+		readRootStart();
+	}
+
+
+	/** Create a JSON reader from the remaining bytes of a buffer, heap buffers are read without being copied
+	 * @param buf the {@code UTF-8} JSON data
+	 * @throws IOException if the data does not start with an object
+	 */
+	public Utf8JsonReader(ByteBuffer buf) throws IOException {
+		this(buf.hasArray() ? buf.array() : toArray(buf),
+				buf.hasArray() ? buf.arrayOffset() + buf.position() : 0,
+				buf.remaining());
+	}
+
+
+	/** Reset this reader to read a new document from an input stream, as if it had been created with {@link #Utf8JsonReader(InputStream)}.
+	 * The reader's state, projection, and record filter are cleared and, if this reader was reading a stream,
+	 * its buffer is reused. The previous stream is not closed.
+	 * @param stream the input stream to read {@code UTF-8} JSON data from
+	 * @throws IOException if there is an error reading from the input stream or the data does not start with an object
+	 */
+	public void reset(InputStream stream) throws IOException {
+		byte[] streamBuf = (this.src != null && this.buf.length <= MAX_RETAINED_BUFFER_SIZE ? this.buf : new byte[BUFFER_SIZE]);
+		clearState();
+		this.src = stream;
+		this.buf = streamBuf;
+		this.pos = 0;
+		this.limit = 0;
+		this.mark = 0;
+		readRootStart();
+	}
+
+
+	/** Reset this reader to read a new document from an in-memory buffer, as if it had been created with {@link #Utf8JsonReader(byte[], int, int)}.
+	 * The reader's state, projection, and record filter are cleared. The previous stream, if any, is not closed.
+	 * @param buf the {@code UTF-8} JSON data
+	 * @param off the offset of the data in {@code buf}
+	 * @param len the number of bytes of data in {@code buf}
+	 * @throws IOException if the data does not start with an object
+	 */
+	public void reset(byte[] buf, int off, int len) throws IOException {
+		clearState();
+		this.src = null;
+		this.buf = buf;
+		this.pos = off;
+		this.limit = off + len;
+		this.mark = off;
+		readRootStart();
+	}
+
+
+	@Override
+	public void close() throws IOException {
+		if(src != null) {
+			src.close();
+		}
+	}
+
+
+	@Override
+	public void read(String name, byte[] b) throws IOException {
+		read(name, b, 0, b.length);
+	}
+
+
+	@Override
+	public void read(String name, byte[] b, int off, int len) throws IOException {
+		// decode the Base64 text directly from the input bytes into the destination
+		try(InputStream in = openBinaryStream(name)) {
+			int count = in.readNBytes(b, off, len);
+			if(count < len) {
+				throw new IOException("expected " + len + " bytes in field '" + name + "', found " + count);
+			}
+		}
+	}
+
+
+	@Override
+	public boolean readBoolean(String name) throws IOException {
+		readField(name, null);
+		return asBoolean();
+	}
+
+
+	@Override
+	public byte readByte(String name) throws IOException {
+		readField(name, null);
+		return asByte();
+	}
+
+
+	@Override
+	public char readChar(String name) throws IOException {
+		readField(name, null);
+		return asChar();
+	}
+
+
+	@Override
+	public double readDouble(String name) throws IOException {
+		readField(name, null);
+		return asDouble();
+	}
+
+
+	@Override
+	public float readFloat(String name) throws IOException {
+		readField(name, null);
+		return asFloat();
+	}
+
+
+	@Override
+	public int readInt(String name) throws IOException {
+		readField(name, null);
+		return asInt();
+	}
+
+
+	@Override
+	public long readLong(String name) throws IOException {
+		readField(name, null);
+		return asLong("long");
+	}
+
+
+	@Override
+	public short readShort(String name) throws IOException {
+		readField(name, null);
+		return asShort();
+	}
+
+
+	@Override
+	public String readString(String name) throws IOException {
+		readField(name, null);
+		return asString();
+	}
+
+
+	@Override
+	public boolean readBooleanField(FieldName name) throws IOException {
+		readField(name.getName(), name);
+		return asBoolean();
+	}
+
+
+	@Override
+	public byte readByteField(FieldName name) throws IOException {
+		readField(name.getName(), name);
+		return asByte();
+	}
+
+
+	@Override
+	public char readCharField(FieldName name) throws IOException {
+		readField(name.getName(), name);
+		return asChar();
+	}
+
+
+	@Override
+	public double readDoubleField(FieldName name) throws IOException {
+		readField(name.getName(), name);
+		return asDouble();
+	}
+
+
+	@Override
+	public float readFloatField(FieldName name) throws IOException {
+		readField(name.getName(), name);
+		return asFloat();
+	}
+
+
+	@Override
+	public int readIntField(FieldName name) throws IOException {
+		readField(name.getName(), name);
+		return asInt();
+	}
+
+
+	@Override
+	public long readLongField(FieldName name) throws IOException {
+		readField(name.getName(), name);
+		return asLong("long");
+	}
+
+
+	@Override
+	public short readShortField(FieldName name) throws IOException {
+		readField(name.getName(), name);
+		return asShort();
+	}
+
+
+	@Override
+	public String readStringField(FieldName name) throws IOException {
+		readField(name.getName(), name);
+		return asString();
+	}
+
+
+	/** {@inheritDoc}
+	 * <p>The returned stream decodes the Base64 text directly from this reader's buffer as it is refilled,
+	 * so the value does not need to fit in the buffer.
+	 * If the remainder of the stream is not read before the next read from this reader, it is skipped.
+	 */
+	@Override
+	public InputStream openBinaryStream(String name) throws IOException {
+		if(seekField(name, null)) {
+			if(buf[pos] == '"' && !isFiltered(name)) {
+				return Base64.getDecoder().wrap(openValueStream());
+			}
+			loadField(name);
+		}
+		if(valueKind != STRING) {
+			throw typeError("byte[]");
+		}
+		return new ByteArrayInputStream(Base64.getDecoder().decode(valueText()));
+	}
+
+
+	/** {@inheritDoc}
+	 * <p>String values are decoded directly from this reader's buffer as it is refilled,
+	 * so the value does not need to fit in the buffer.
+	 * If the remainder of the reader is not read before the next read from this reader, it is skipped.
+	 */
+	@Override
+	public Reader openStringReader(String name) throws IOException {
+		if(seekField(name, null)) {
+			if(buf[pos] == '"' && !isFiltered(name)) {
+				return new InputStreamReader(openValueStream(), StandardCharsets.UTF_8);
+			}
+			loadField(name);
+		}
+		String text = valueText();
+		return text != null ? new StringReader(text) : null;
+	}
+
+
+	@Override
+	public DataElement peekNext() throws IOException {
+		if(peekedBlock != null) {
+			return peekedBlock;
+		}
+		currentBlock = readElement();
+		peekedBlock = currentBlock;
+		return currentBlock;
+	}
+
+
+	@Override
+	public DataElement readNext() throws IOException {
+		if(peekedBlock != null) {
+			currentBlock = peekedBlock;
+			peekedBlock = null;
+			return currentBlock;
+		}
+		currentBlock = readElement();
+		return currentBlock;
+	}
+
+
+	@Override
+	public DataElement readStartBlock(String name) throws IOException {
+		return readStartBlock(name, null);
+	}
+
+
+	@Override
+	public DataElement readStartBlockField(FieldName name) throws IOException {
+		return readStartBlock(name.getName(), name);
+	}
+
+
+	/** Skip fields until a projected object field named {@code name} is found and open it
+	 * @param fieldName the pre-encoded {@code name} to compare to the input's raw names, or null to compare {@code name}
+	 */
+	private DataElement readStartBlock(String name, FieldName fieldName) throws IOException {
+		if(peekedBlock != null) {
+			DataElement peeked = peekedBlock;
+			peekedBlock = null;
+			currentBlock = peeked;
+			if(peeked.isStartBlock() && name.equals(peeked.getName())) {
+				return peeked;
+			}
+		}
+
+		while(true) {
+			int token = nextField();
+			if(token != FIELD) {
+				throw new IOException("could not find block '" + name + "' before end of " + (token == EOF ? "stream" : "object"));
+			}
+			if(buf[valueStart] == '{' && nameEquals(name, fieldName) && isProjected(name)) {
+				pos++;
+				openBlock(name);
+				currentBlock = new DataElementImpl(name, 0, null, ParsedElementType.HEADER);
+				return currentBlock;
+			}
+			skipFieldValue();
+		}
+	}
+
+
+	@Override
+	public void readEndBlock() throws IOException {
+		if(peekedBlock != null) {
+			DataElement peeked = peekedBlock;
+			peekedBlock = null;
+			currentBlock = peeked;
+			if(peeked.isEndBlock()) {
+				return;
+			}
+			// the peeked block was opened when it was read, skip it
+			if(peeked.isStartBlock()) {
+				readEndBlock();
+			}
+		}
+
+		while(true) {
+			int token = nextField();
+			if(token == EOF) {
+				if(blockNames.isEmpty()) {
+					return;
+				}
+				throw new EOFException("unexpected end of stream, expected end of block '" + blockNames.get(blockNames.size() - 1) + "'");
+			}
+			if(token == END) {
+				closeBlock();
+				return;
+			}
+			skipFieldValue();
+		}
+	}
+
+
+	@Override
+	public void setProjection(FieldProjection projection) {
+		this.projection = projection;
+	}
+
+
+	@Override
+	public FieldProjection getProjection() {
+		return projection;
+	}
+
+
+	@Override
+	public void setRecordFilter(RecordFilter filter) {
+		this.recordFilter = filter;
+		this.recordDepth = blockNames.size();
+	}
+
+
+	@Override
+	public void setStringCache(StringCache cache) {
+		this.stringCache = cache;
+	}
+
+
+	@Override
+	public StringCache getStringCache() {
+		return stringCache;
+	}
+
+
+	@Override
+	public void skipRecord() throws IOException {
+		peekedBlock = null;
+		// read until the blocks opened since the record filter was set are closed
+		while(blockNames.size() > recordDepth) {
+			int token = nextField();
+			if(token == EOF) {
+				break;
+			}
+			if(token == END) {
+				closeBlock();
+				continue;
+			}
+			skipFieldValue();
+		}
+	}
+
+
+	@Override
+	public DataElement getCurrentElement() {
+		return currentBlock;
+	}
+
+
+	@Override
+	public String getCurrentName() {
+		return currentName;
+	}
+
+
+	/** Read the next projected field, start of a block, or end of a block
+	 * @return the element read, or null if the end of the stream has been reached
+	 */
+	private DataElement readElement() throws IOException {
+		while(true) {
+			int token = nextField();
+			if(token == EOF) {
+				return null;
+			}
+			if(token == END) {
+				closeBlock();
+				return new DataElementImpl(currentName, 0, null, ParsedElementType.FOOTER);
+			}
+
+			String name = JsonBytes.decodeString(buf, nameStart, nameEnd);
+			if(!isProjected(name)) {
+				skipFieldValue();
+				continue;
+			}
+			if(buf[valueStart] == '{') {
+				pos++;
+				openBlock(name);
+				return new DataElementImpl(name, 0, null, ParsedElementType.HEADER);
+			}
+			currentName = name;
+			readValue();
+			String content = valueText();
+			if(recordFilter != null && blockNames.size() == recordDepth + 1) {
+				recordFilter.check(name, content);
+			}
+			return new DataElementImpl(name, 0, content, ParsedElementType.ELEMENT);
+		}
+	}
+
+
+	/** Skip fields until a projected, non-object field named {@code name} is found and read its value
+	 * @param fieldName the pre-encoded {@code name} to compare to the input's raw names, or null to compare {@code name}
+	 * @throws IOException if the end of the current object is reached before a matching field is found
+	 */
+	private void readField(String name, FieldName fieldName) throws IOException {
+		if(seekField(name, fieldName)) {
+			loadField(name);
+		}
+	}
+
+
+	/** Skip fields until a projected, non-object field named {@code name} is found, the reader is positioned at the field's value
+	 * @param fieldName the pre-encoded {@code name} to compare to the input's raw names, or null to compare {@code name}
+	 * @return true if the field was found, false if the field was already peeked and its value is still in the buffer
+	 * @throws IOException if the end of the current object is reached before a matching field is found
+	 */
+	private boolean seekField(String name, FieldName fieldName) throws IOException {
+		if(peekedBlock != null) {
+			DataElement peeked = peekedBlock;
+			peekedBlock = null;
+			currentBlock = peeked;
+			// the peeked field's value is still in the buffer
+			if(peeked.isElement() && name.equals(peeked.getName())) {
+				return false;
+			}
+		}
+
+		while(true) {
+			int token = nextField();
+			if(token != FIELD) {
+				throw new IOException("could not find field '" + name + "' before end of " + (token == EOF ? "stream" : "object"));
+			}
+			if(buf[valueStart] != '{' && nameEquals(name, fieldName) && isProjected(name)) {
+				currentName = name;
+				return true;
+			}
+			skipFieldValue();
+		}
+	}
+
+
+	/** Read the value of the field found by {@link #seekField(String, FieldName)} and check it against the record filter
+	 */
+	private void loadField(String name) throws IOException {
+		readValue();
+		if(isFiltered(name)) {
+			recordFilter.check(name, valueText());
+		}
+	}
+
+
+	/**
+	 * @return true if {@code name} is a field of the filtered record with a record filter predicate
+	 */
+	private boolean isFiltered(String name) {
+		return recordFilter != null && blockNames.size() == recordDepth + 1 && recordFilter.hasPredicate(name);
+	}
+
+
+	/** Open a stream over the string value at {@link #pos}, the stream reads the value's bytes as the buffer is refilled
+	 */
+	private ValueStream openValueStream() {
+		pos++;
+		valueKind = STRING;
+		openStream = new ValueStream();
+		return openStream;
+	}
+
+
+	/** Compare the current field's raw name to an expected name without decoding it.
+	 * A pre-encoded name's escaped UTF-8 bytes are compared to the raw bytes with a single range compare,
+	 * names which the input escapes differently, such as {@code \u0041} for {@code A}, are decoded and compared
+	 * @param fieldName the pre-encoded {@code name}, or null to compare {@code name}'s chars to the raw bytes
+	 */
+	private boolean nameEquals(String name, FieldName fieldName) throws IOException {
+		if(fieldName == null) {
+			return JsonBytes.stringEquals(buf, nameStart, nameEnd, name);
+		}
+		byte[] expect = fieldName.getJsonEscapedUtf8();
+		int start = nameStart + 1;
+		int end = nameEnd - 1;
+		if(end - start == expect.length && Arrays.equals(buf, start, end, expect, 0, expect.length)) {
+			return true;
+		}
+		return hasEscapes(start, end) && JsonBytes.stringEquals(buf, nameStart, nameEnd, name);
+	}
+
+
+	/** Read up to the next field's value or the end of the current object.
+	 * For a field, {@link #nameStart}, {@link #nameEnd}, and {@link #valueStart} are set and the reader is positioned at the value.
+	 * The end of an object is consumed.
+	 * @return {@link #FIELD}, {@link #END}, or {@link #EOF}
+	 */
+	private int nextField() throws IOException {
+		if(openStream != null) {
+			openStream.close();
+		}
+		mark = pos;
+		int ch = skipWhitespace();
+		if(ch == ',') {
+			pos++;
+			mark = pos;
+			ch = skipWhitespace();
+		}
+		if(ch == EOF) {
+			return EOF;
+		}
+		if(ch == '}') {
+			pos++;
+			return END;
+		}
+		if(ch != '"') {
+			throw syntaxError("expected field name");
+		}
+		mark = pos;
+		nameStart = pos;
+		scanString();
+		nameEnd = pos;
+		if(skipWhitespace() != ':') {
+			throw syntaxError("expected ':' after field name");
+		}
+		pos++;
+		if(skipWhitespace() == EOF) {
+			throw new EOFException("unexpected end of JSON data, expected field value");
+		}
+		valueStart = pos;
+		return FIELD;
+	}
+
+
+	/** Read the scalar or array value at {@link #valueStart}, the value's bytes are left in the buffer
+	 */
+	private void readValue() throws IOException {
+		byte ch = buf[pos];
+		if(ch == '"') {
+			scanString();
+			valueKind = STRING;
+		}
+		else if(ch == '[') {
+			// the array's bytes are kept in the buffer from the field name onward
+			skipNested(true);
+			valueKind = ARRAY;
+		}
+		else {
+			valueKind = scanLiteral();
+		}
+		valueEnd = pos;
+	}
+
+
+	/** Skip the value at {@link #valueStart} without keeping its bytes in the buffer
+	 */
+	private void skipFieldValue() throws IOException {
+		mark = pos;
+		byte ch = buf[pos];
+		if(ch == '{' || ch == '[') {
+			skipNested(false);
+		}
+		else if(ch == '"') {
+			scanString();
+		}
+		else {
+			scanLiteral();
+		}
+	}
+
+
+	private boolean hasEscapes(int start, int end) {
+		for(int i = start; i < end; i++) {
+			if(buf[i] == '\\') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	/**
+	 * @return the text of the current value, strings are decoded
+	 */
+	private String valueText() throws IOException {
+		switch(valueKind) {
+		case STRING:
+			return JsonBytes.decodeString(buf, valueStart, valueEnd);
+		case NULL:
+			return null;
+		default:
+			return new String(buf, valueStart, valueEnd - valueStart, StandardCharsets.UTF_8);
+		}
+	}
+
+
+	private boolean asBoolean() throws IOException {
+		if(valueKind == TRUE || valueKind == FALSE) {
+			return valueKind == TRUE;
+		}
+		else if(valueKind == STRING) {
+			return Boolean.parseBoolean(valueText());
+		}
+		throw typeError("boolean");
+	}
+
+
+	private char asChar() throws IOException {
+		if(valueKind == STRING && valueEnd - valueStart > 2) {
+			return JsonBytes.decodeString(buf, valueStart, valueEnd).charAt(0);
+		}
+		throw typeError("char");
+	}
+
+
+	private double asDouble() throws IOException {
+		if(valueKind == NUMBER) {
+			return JsonBytes.parseDouble(buf, valueStart, valueEnd, numberChars);
+		}
+		else if(valueKind == STRING) {
+			return JsonBytes.parseDouble(buf, valueStart + 1, valueEnd - 1, numberChars);
+		}
+		throw typeError("double");
+	}
+
+
+	private float asFloat() throws IOException {
+		if(valueKind == NUMBER) {
+			return JsonBytes.parseFloat(buf, valueStart, valueEnd, numberChars);
+		}
+		else if(valueKind == STRING) {
+			return JsonBytes.parseFloat(buf, valueStart + 1, valueEnd - 1, numberChars);
+		}
+		throw typeError("float");
+	}
+
+
+	private long asLong(String targetType) throws IOException {
+		if(valueKind == NUMBER) {
+			return JsonBytes.parseLong(buf, valueStart, valueEnd);
+		}
+		else if(valueKind == STRING) {
+			return JsonBytes.parseLong(buf, valueStart + 1, valueEnd - 1);
+		}
+		throw typeError(targetType);
+	}
+
+
+	private byte asByte() throws IOException {
+		long num = asLong("byte");
+		if(num < Byte.MIN_VALUE || num > Byte.MAX_VALUE) {
+			throw rangeError("byte");
+		}
+		return (byte)num;
+	}
+
+
+	private short asShort() throws IOException {
+		long num = asLong("short");
+		if(num < Short.MIN_VALUE || num > Short.MAX_VALUE) {
+			throw rangeError("short");
+		}
+		return (short)num;
+	}
+
+
+	private int asInt() throws IOException {
+		long num = asLong("int");
+		if(num < Integer.MIN_VALUE || num > Integer.MAX_VALUE) {
+			throw rangeError("int");
+		}
+		return (int)num;
+	}
+
+
+	/**
+	 * @return the current value as a string, strings without escapes are looked up in the {@link #stringCache} if there is one
+	 */
+	private String asString() throws IOException {
+		if(stringCache != null && valueKind == STRING && !hasEscapes(valueStart + 1, valueEnd - 1)) {
+			return stringCache.get(buf, valueStart + 1, valueEnd - valueStart - 2);
+		}
+		return valueText();
+	}
+
+
+	private IOException typeError(String targetType) throws IOException {
+		return new IOException("cannot read field '" + currentName + "' value '" + valueText() + "' as " + targetType);
+	}
+
+
+	private IOException rangeError(String targetType) throws IOException {
+		return new IOException("numeric value '" + valueText() + "' of field '" + currentName + "' out of range of " + targetType);
+	}
+
+
+	private IOException syntaxError(String msg) {
+		return new IOException(msg + ", found '" + (char)buf[pos] + "' near: " +
+				new String(buf, Math.max(0, pos - 20), Math.min(limit, pos + 20) - Math.max(0, pos - 20), StandardCharsets.UTF_8));
+	}
+
+
+	/**
+	 * @return the next non-whitespace byte, which is not consumed, or {@link #EOF}
+	 */
+	private int skipWhitespace() throws IOException {
+		while(true) {
+			if(pos >= limit && !fill()) {
+				return EOF;
+			}
+			byte ch = buf[pos];
+			if(!JsonBytes.isWhitespace(ch)) {
+				return ch;
+			}
+			pos++;
+		}
+	}
+
+
+	/** Scan a string starting at the opening quote at {@link #pos} and position the reader after its closing quote
+	 */
+	private void scanString() throws IOException {
+		int i = pos + 1;
+		while(true) {
+			if(i >= limit) {
+				int rel = i - pos;
+				if(!fill()) {
+					throw new EOFException("unexpected end of JSON data inside string");
+				}
+				i = pos + rel;
+				continue;
+			}
+			byte ch = buf[i];
+			if(ch == '"') {
+				pos = i + 1;
+				return;
+			}
+			i += (ch == '\\' ? 2 : 1);
+		}
+	}
+
+
+	/** Scan a number, true, false, or null literal and position the reader after it
+	 * @return {@link #NUMBER}, {@link #TRUE}, {@link #FALSE}, or {@link #NULL}
+	 * @throws IOException if the literal is not one of the keywords or a valid JSON number
+	 */
+	private int scanLiteral() throws IOException {
+		int i = pos;
+		while(true) {
+			if(i >= limit) {
+				int rel = i - pos;
+				if(!fill()) {
+					break;
+				}
+				i = pos + rel;
+				continue;
+			}
+			byte ch = buf[i];
+			if(ch == ',' || ch == '}' || ch == ']' || JsonBytes.isWhitespace(ch)) {
+				break;
+			}
+			i++;
+		}
+		if(i == pos) {
+			throw syntaxError("expected JSON value");
+		}
+		int start = pos;
+		int len = i - start;
+		pos = i;
+		switch(buf[start]) {
+		case 't':
+			if(len == 4 && buf[start + 1] == 'r' && buf[start + 2] == 'u' && buf[start + 3] == 'e') {
+				return TRUE;
+			}
+			break;
+		case 'f':
+			if(len == 5 && buf[start + 1] == 'a' && buf[start + 2] == 'l' && buf[start + 3] == 's' && buf[start + 4] == 'e') {
+				return FALSE;
+			}
+			break;
+		case 'n':
+			if(len == 4 && buf[start + 1] == 'u' && buf[start + 2] == 'l' && buf[start + 3] == 'l') {
+				return NULL;
+			}
+			break;
+		default:
+			if(JsonBytes.isNumber(buf, start, i)) {
+				return NUMBER;
+			}
+		}
+		throw new IOException("unrecognized JSON token '" + new String(buf, start, len, StandardCharsets.UTF_8) + "', expected a number, 'true', 'false', or 'null'");
+	}
+
+
+	/** Skip an object or array starting at {@link #pos}, including nested values
+	 * @param keepBytes true to keep the value's bytes in the buffer, from the current {@link #mark}, when the buffer is refilled,
+	 * false to discard the bytes already skipped
+	 */
+	private void skipNested(boolean keepBytes) throws IOException {
+		int depth = 0;
+		while(true) {
+			if(pos >= limit) {
+				if(!keepBytes) {
+					mark = pos;
+				}
+				if(!fill()) {
+					throw new EOFException("unexpected end of JSON data inside object or array");
+				}
+			}
+			byte ch = buf[pos];
+			if(ch == '"') {
+				scanString();
+				continue;
+			}
+			if(ch == '{' || ch == '[') {
+				depth++;
+			}
+			else if(ch == '}' || ch == ']') {
+				depth--;
+				if(depth == 0) {
+					pos++;
+					return;
+				}
+			}
+			pos++;
+		}
+	}
+
+
+	/** Refill the buffer, discarding the bytes before {@link #pos}, until at least {@code count} bytes are available from {@link #pos}
+	 * @return false if the end of the input is reached first
+	 */
+	private boolean require(int count) throws IOException {
+		while(limit - pos < count) {
+			mark = pos;
+			if(!fill()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/** Read more input, bytes from {@link #mark} onward are kept and all buffer positions are shifted to match
+	 * @return false if the end of the input has been reached
+	 */
+	private boolean fill() throws IOException {
+		if(src == null) {
+			return false;
+		}
+		int shift = mark;
+		if(shift > 0) {
+			System.arraycopy(buf, shift, buf, 0, limit - shift);
+			limit -= shift;
+			pos -= shift;
+			mark = 0;
+			nameStart -= shift;
+			nameEnd -= shift;
+			valueStart -= shift;
+			valueEnd -= shift;
+		}
+		if(limit == buf.length) {
+			buf = Arrays.copyOf(buf, buf.length * 2);
+		}
+		int read = src.read(buf, limit, buf.length - limit);
+		if(read < 0) {
+			return false;
+		}
+		limit += read;
+		return true;
+	}
+
+
+	private void clearState() {
+		nameStart = 0;
+		nameEnd = 0;
+		valueStart = 0;
+		valueEnd = 0;
+		valueKind = 0;
+		openStream = null;
+		currentName = null;
+		currentBlock = null;
+		peekedBlock = null;
+		blockNames.clear();
+		projectionNodes.clear();
+		projection = null;
+		recordFilter = null;
+		recordDepth = 0;
+	}
+
+
+	private void readRootStart() throws IOException {
+		if(skipWhitespace() != '{') {
+			throw new IOException("expected '{' at start of JSON data");
+		}
+		pos++;
+	}
+
+
+	private boolean isProjected(String name) {
+		if(projection == null) {
+			return true;
+		}
+		FieldProjection.Node node = (projectionNodes.isEmpty() ? projection.getRoot() : projectionNodes.get(projectionNodes.size() - 1));
+		return node != null && node.getChild(name) != null;
+	}
+
+
+	private void openBlock(String name) {
+		FieldProjection.Node child = null;
+		if(projection != null) {
+			FieldProjection.Node node = (projectionNodes.isEmpty() ? projection.getRoot() : projectionNodes.get(projectionNodes.size() - 1));
+			child = (node != null ? node.getChild(name) : null);
+		}
+		currentName = name;
+		blockNames.add(name);
+		projectionNodes.add(child);
+	}
+
+
+	private void closeBlock() {
+		int size = blockNames.size();
+		// the end of the root object
+		if(size == 0) {
+			currentName = null;
+			return;
+		}
+		currentName = blockNames.remove(size - 1);
+		projectionNodes.remove(size - 1);
+	}
+
+
+	private static byte[] toArray(ByteBuffer buf) {
+		byte[] bytes = new byte[buf.remaining()];
+		buf.duplicate().get(bytes);
+		return bytes;
+	}
+
+
+
+	/** A stream over the UTF-8 bytes of a JSON string value, read directly from the reader's buffer as it is refilled.
+	 * Escape sequences are decoded to their UTF-8 bytes, the stream ends at the value's closing quote
+	 */
+	private final class ValueStream extends InputStream {
+		/** the UTF-8 bytes of the last escape sequence, from {@link #escapedPos} to {@link #escapedLen} have not been read */
+		private final byte[] escaped = new byte[4];
+		private int escapedPos;
+		private int escapedLen;
+		private boolean done;
+
+
+		@Override
+		public int read() throws IOException {
+			if(!hasNext()) {
+				return -1;
+			}
+			if(escapedPos < escapedLen) {
+				return escaped[escapedPos++] & 0xFF;
+			}
+			return buf[pos++] & 0xFF;
+		}
+
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if(len == 0) {
+				return 0;
+			}
+			if(!hasNext()) {
+				return -1;
+			}
+			if(escapedPos < escapedLen) {
+				int n = Math.min(len, escapedLen - escapedPos);
+				System.arraycopy(escaped, escapedPos, b, off, n);
+				escapedPos += n;
+				return n;
+			}
+			// copy the unescaped bytes up to the next quote or escape
+			int end = Math.min(limit, pos + len);
+			int i = pos;
+			while(i < end && buf[i] != '"' && buf[i] != '\\') {
+				i++;
+			}
+			int n = i - pos;
+			System.arraycopy(buf, pos, b, off, n);
+			pos = i;
+			return n;
+		}
+
+
+		@Override
+		public void close() throws IOException {
+			while(hasNext()) {
+				escapedPos = escapedLen;
+				while(pos < limit && buf[pos] != '"' && buf[pos] != '\\') {
+					pos++;
+				}
+			}
+		}
+
+
+		/** Refill the buffer or decode the next escape sequence as needed
+		 * @return true if there are escaped bytes left or an unescaped byte at {@link #pos}, false if the end of the value has been reached
+		 */
+		private boolean hasNext() throws IOException {
+			while(escapedPos == escapedLen) {
+				if(done) {
+					return false;
+				}
+				if(pos >= limit) {
+					if(!require(1)) {
+						throw new EOFException("unexpected end of JSON data inside string");
+					}
+					continue;
+				}
+				byte ch = buf[pos];
+				if(ch == '"') {
+					pos++;
+					done = true;
+					openStream = null;
+					return false;
+				}
+				if(ch != '\\') {
+					return true;
+				}
+				decodeEscape();
+			}
+			return true;
+		}
+
+
+		/** Decode the escape sequence at {@link #pos} into {@link #escaped}, a surrogate pair of unicode escapes is decoded together
+		 */
+		private void decodeEscape() throws IOException {
+			if(!require(2)) {
+				throw new EOFException("unexpected end of JSON data inside string");
+			}
+			byte esc = buf[pos + 1];
+			int cp;
+			switch(esc) {
+			case '"': cp = '"'; break;
+			case '\\': cp = '\\'; break;
+			case '/': cp = '/'; break;
+			case 'b': cp = '\b'; break;
+			case 'f': cp = '\f'; break;
+			case 'n': cp = '\n'; break;
+			case 'r': cp = '\r'; break;
+			case 't': cp = '\t'; break;
+			case 'u':
+				if(!require(6)) {
+					throw new EOFException("incomplete JSON unicode escape at end of data");
+				}
+				char high = hexChar(pos + 2);
+				cp = high;
+				if(Character.isHighSurrogate(high) && require(12) && buf[pos + 6] == '\\' && buf[pos + 7] == 'u') {
+					char low = hexChar(pos + 8);
+					if(Character.isLowSurrogate(low)) {
+						cp = Character.toCodePoint(high, low);
+						pos += 6;
+					}
+				}
+				pos += 4;
+				break;
+			default:
+				throw new IOException("invalid JSON escape '\\" + (char)esc + "' in field '" + currentName + "'");
+			}
+			pos += 2;
+
+			escapedPos = 0;
+			if(cp < 0x80) {
+				escaped[0] = (byte)cp;
+				escapedLen = 1;
+			}
+			else if(cp < 0x800) {
+				escaped[0] = (byte)(0xC0 | (cp >> 6));
+				escaped[1] = (byte)(0x80 | (cp & 0x3F));
+				escapedLen = 2;
+			}
+			else if(cp < 0x10000) {
+				escaped[0] = (byte)(0xE0 | (cp >> 12));
+				escaped[1] = (byte)(0x80 | ((cp >> 6) & 0x3F));
+				escaped[2] = (byte)(0x80 | (cp & 0x3F));
+				escapedLen = 3;
+			}
+			else {
+				escaped[0] = (byte)(0xF0 | (cp >> 18));
+				escaped[1] = (byte)(0x80 | ((cp >> 12) & 0x3F));
+				escaped[2] = (byte)(0x80 | ((cp >> 6) & 0x3F));
+				escaped[3] = (byte)(0x80 | (cp & 0x3F));
+				escapedLen = 4;
+			}
+		}
+
+
+		private char hexChar(int i) throws IOException {
+			return (char)((JsonBytes.hexDigit(buf[i]) << 12) | (JsonBytes.hexDigit(buf[i + 1]) << 8) | (JsonBytes.hexDigit(buf[i + 2]) << 4) | JsonBytes.hexDigit(buf[i + 3]));
+		}
+
+	}
+
+}
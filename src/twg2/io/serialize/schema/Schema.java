@@ -0,0 +1,290 @@
+package twg2.io.serialize.schema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+import twg2.simpleTypes.ioPrimitives.IoType;
+
+/** Describes the shape of a record: the record's block name and its ordered list of {@link SchemaField}s.<br>
+ * Schemas are identified by a 64-bit {@link #getFingerprint() fingerprint} of their name and their fields' names and types,
+ * so a stream can identify its writer's schema with 8 bytes and a reader can look the schema up in a {@link SchemaRegistry}.
+ * Field default values are not part of the fingerprint, they are used by readers, see {@link SchemaResolution}.<br>
+ * Create a schema from a field list, for example in generated code, with {@link #of(String, SchemaField...)}, or derive it from
+ * the fields a {@link DataTransferFactory} writes with {@link #derive(DataTransferFactory, Object)}.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class Schema {
+	private final String name;
+	private final List<SchemaField> fields;
+	private final HashMap<String, Integer> fieldIndexes;
+	private final long fingerprint;
+
+
+	private Schema(String name, List<SchemaField> fields) {
+		this.name = name;
+		this.fields = Collections.unmodifiableList(fields);
+		this.fieldIndexes = new HashMap<>();
+		for(int i = 0, size = fields.size(); i < size; i++) {
+			if(fieldIndexes.put(fields.get(i).getName(), i) != null) {
+				throw new IllegalArgumentException("duplicate field '" + fields.get(i).getName() + "' in schema '" + name + "'");
+			}
+		}
+		this.fingerprint = SchemaFormat.fingerprint(this);
+	}
+
+
+	/**
+	 * @param name the record's block name
+	 * @param fields the record's fields, in the order they are written
+	 * @throws IllegalArgumentException if there are no fields or two fields have the same name
+	 */
+	public static Schema of(String name, List<SchemaField> fields) {
+		Objects.requireNonNull(name, "name");
+		if(fields.isEmpty()) {
+			throw new IllegalArgumentException("schema '" + name + "' must have at least one field");
+		}
+		return new Schema(name, new ArrayList<>(fields));
+	}
+
+
+	/**
+	 * @see #of(String, List)
+	 */
+	public static Schema of(String name, SchemaField... fields) {
+		return of(name, Arrays.asList(fields));
+	}
+
+
+	/** Derive a schema from the block and fields that a factory writes for a sample object.
+	 * The factory must write a single block containing only primitive, string, and binary fields,
+	 * the field order and types are taken from the writes, the default values are the types' zero values
+	 * @param factory the factory
+	 * @param sample an object to write, its values are ignored
+	 * @return the schema of the records written by {@code factory}
+	 * @throws IOException if the factory throws an error
+	 * @throws IllegalArgumentException if the factory writes nested blocks, more than one block, or no fields
+	 */
+	public static <T> Schema derive(DataTransferFactory<T> factory, T sample) throws IOException {
+		SchemaRecorder recorder = new SchemaRecorder();
+		factory.writeData(recorder, sample);
+		if(recorder.name == null || recorder.depth != 0) {
+			throw new IllegalArgumentException("factory did not write a complete block");
+		}
+		return of(recorder.name, recorder.fields);
+	}
+
+
+	/**
+	 * @return the record's block name
+	 */
+	public String getName() {
+		return name;
+	}
+
+
+	/**
+	 * @return the record's fields, in the order they are written
+	 */
+	public List<SchemaField> getFields() {
+		return fields;
+	}
+
+
+	public int size() {
+		return fields.size();
+	}
+
+
+	public SchemaField getField(int index) {
+		return fields.get(index);
+	}
+
+
+	/**
+	 * @return the index of the field named {@code name}, or -1 if the schema does not contain the field
+	 */
+	public int indexOf(String name) {
+		Integer idx = fieldIndexes.get(name);
+		return idx != null ? idx : -1;
+	}
+
+
+	/**
+	 * @return the 64-bit FNV-1a hash of this schema's {@link #toCanonicalString() canonical form}
+	 */
+	public long getFingerprint() {
+		return fingerprint;
+	}
+
+
+	/**
+	 * @return this schema's name and its fields' names and types in a form which only equal schemas share, each name is length prefixed
+	 */
+	public String toCanonicalString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(name.length()).append(':').append(name).append('{');
+		for(SchemaField field : fields) {
+			sb.append(field.getName().length()).append(':').append(field.getName()).append(':').append(field.getType()).append(';');
+		}
+		return sb.append('}').toString();
+	}
+
+
+	@Override
+	public boolean equals(Object obj) {
+		if(obj == this) {
+			return true;
+		}
+		if(!(obj instanceof Schema)) {
+			return false;
+		}
+		Schema schema = (Schema)obj;
+		return fingerprint == schema.fingerprint && name.equals(schema.name) && fields.equals(schema.fields);
+	}
+
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(fingerprint);
+	}
+
+
+	@Override
+	public String toString() {
+		return name + fields;
+	}
+
+
+
+	/** Records the block name and fields written by a {@link DataTransferFactory}
+	 */
+	private static final class SchemaRecorder implements DataTransferOutput {
+		String name;
+		List<SchemaField> fields = new ArrayList<>();
+		int depth;
+
+
+		@Override
+		public void writeStartBlock(String name) throws IOException {
+			if(depth > 0) {
+				throw new IllegalArgumentException("cannot derive a schema for nested block '" + name + "' in '" + this.name + "', schemas only describe primitive, string, and binary fields");
+			}
+			if(this.name != null) {
+				throw new IllegalArgumentException("cannot derive a schema for more than one block, found '" + this.name + "' and '" + name + "'");
+			}
+			this.name = name;
+			depth++;
+		}
+
+
+		@Override
+		public void writeEndBlock() throws IOException {
+			depth--;
+		}
+
+
+		@Override
+		public void write(String name, byte[] b) throws IOException {
+			add(name, IoType.BINARY);
+		}
+
+
+		@Override
+		public void write(String name, byte[] b, int off, int len) throws IOException {
+			add(name, IoType.BINARY);
+		}
+
+
+		@Override
+		public long writeBinary(String name, InputStream src) throws IOException {
+			add(name, IoType.BINARY);
+			return 0;
+		}
+
+
+		@Override
+		public long writeString(String name, Reader src) throws IOException {
+			add(name, IoType.STRING);
+			return 0;
+		}
+
+
+		@Override
+		public void writeBoolean(String name, boolean v) throws IOException {
+			add(name, IoType.BOOLEAN);
+		}
+
+
+		@Override
+		public void writeByte(String name, byte v) throws IOException {
+			add(name, IoType.BYTE);
+		}
+
+
+		@Override
+		public void writeChar(String name, char v) throws IOException {
+			add(name, IoType.CHAR);
+		}
+
+
+		@Override
+		public void writeDouble(String name, double v) throws IOException {
+			add(name, IoType.DOUBLE);
+		}
+
+
+		@Override
+		public void writeFloat(String name, float v) throws IOException {
+			add(name, IoType.FLOAT);
+		}
+
+
+		@Override
+		public void writeInt(String name, int v) throws IOException {
+			add(name, IoType.INT);
+		}
+
+
+		@Override
+		public void writeLong(String name, long v) throws IOException {
+			add(name, IoType.LONG);
+		}
+
+
+		@Override
+		public void writeShort(String name, short v) throws IOException {
+			add(name, IoType.SHORT);
+		}
+
+
+		@Override
+		public void writeString(String name, String s) throws IOException {
+			add(name, IoType.STRING);
+		}
+
+
+		@Override
+		public void close() throws IOException {
+		}
+
+
+		private void add(String name, IoType type) {
+			if(depth != 1) {
+				throw new IllegalArgumentException("cannot derive a schema for field '" + name + "' written outside of a block");
+			}
+			fields.add(SchemaField.of(name, type));
+		}
+
+	}
+
+}
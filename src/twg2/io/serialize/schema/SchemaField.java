@@ -0,0 +1,115 @@
+package twg2.io.serialize.schema;
+
+import java.util.Objects;
+
+import twg2.simpleTypes.ioPrimitives.IoType;
+
+/** A named, typed field of a {@link Schema}, with the default value a reader uses when a writer's schema does not contain the field.
+ * Default values are a {@link Boolean} for {@link IoType#BOOLEAN}, a {@link Character} for {@link IoType#CHAR},
+ * a {@link Number} for the other primitive types, a {@link String} for {@link IoType#STRING}, a {@code byte[]} for {@link IoType#BINARY},
+ * or null for the type's zero value (null for strings and binary fields).
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class SchemaField {
+	private final String name;
+	private final IoType type;
+	private final Object defaultValue;
+
+
+	private SchemaField(String name, IoType type, Object defaultValue) {
+		this.name = name;
+		this.type = type;
+		this.defaultValue = defaultValue;
+	}
+
+
+	/** Create a field whose default value is its type's zero value
+	 */
+	public static SchemaField of(String name, IoType type) {
+		return of(name, type, null);
+	}
+
+
+	/**
+	 * @param name the field name
+	 * @param type the field type
+	 * @param defaultValue the value readers use when a writer's schema does not contain the field, null for the type's zero value
+	 * @throws IllegalArgumentException if the default value is not valid for the type
+	 */
+	public static SchemaField of(String name, IoType type, Object defaultValue) {
+		Objects.requireNonNull(name, "name");
+		Objects.requireNonNull(type, "type");
+		if(defaultValue != null && !isValidDefault(type, defaultValue)) {
+			throw new IllegalArgumentException("invalid default value for " + type + " field '" + name + "': " + defaultValue.getClass().getSimpleName());
+		}
+		return new SchemaField(name, type, defaultValue);
+	}
+
+
+	public String getName() {
+		return name;
+	}
+
+
+	public IoType getType() {
+		return type;
+	}
+
+
+	/**
+	 * @return the field's default value, null for the type's zero value
+	 */
+	public Object getDefaultValue() {
+		return defaultValue;
+	}
+
+
+	@Override
+	public boolean equals(Object obj) {
+		if(obj == this) {
+			return true;
+		}
+		if(!(obj instanceof SchemaField)) {
+			return false;
+		}
+		SchemaField field = (SchemaField)obj;
+		return name.equals(field.name) && type == field.type;
+	}
+
+
+	@Override
+	public int hashCode() {
+		return name.hashCode() * 31 + type.hashCode();
+	}
+
+
+	@Override
+	public String toString() {
+		return name + ":" + type;
+	}
+
+
+	private static boolean isValidDefault(IoType type, Object value) {
+		switch(type) {
+		case BOOLEAN:
+			return value instanceof Boolean;
+		case CHAR:
+			return value instanceof Character;
+		case BYTE:
+		case SHORT:
+		case INT:
+		case LONG:
+		case FLOAT:
+		case DOUBLE:
+			return value instanceof Number;
+		case STRING:
+			return value instanceof String;
+		case BINARY:
+			return value instanceof byte[];
+		default:
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,47 @@
+package twg2.io.serialize.schema;
+
+import java.nio.charset.StandardCharsets;
+
+/** Constants describing the compact record stream written by {@link SchemaRecordWriter} and read by {@link SchemaRecordReader}.<br>
+ * Records do not contain field names or types, a record's values are written in the order of its writer's {@link Schema} fields,
+ * so a reader must know the writer's schema, it is identified by its fingerprint in the stream header and looked up in a {@link SchemaRegistry}.
+ * <ul>
+ * <li>header: the 4 byte {@link #MAGIC} followed by the writer schema's 8 byte big-endian {@link Schema#getFingerprint() fingerprint}</li>
+ * <li>records: each field's value, with no separator between records</li>
+ * </ul>
+ * Values:
+ * <ul>
+ * <li>{@code BOOLEAN}, {@code BYTE}: 1 byte</li>
+ * <li>{@code CHAR}: unsigned varint</li>
+ * <li>{@code SHORT}, {@code INT}, {@code LONG}: zigzag varint</li>
+ * <li>{@code FLOAT}, {@code DOUBLE}: 4/8 byte big-endian IEEE 754 bits</li>
+ * <li>{@code STRING}, {@code BINARY}: varint UTF-8/raw byte length plus 1 (0 for {@code null}) followed by the bytes</li>
+ * </ul>
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class SchemaFormat {
+	/** the bytes {@code 'D', 'T', 'S'} followed by the format version */
+	public static final byte[] MAGIC = { 'D', 'T', 'S', 1 };
+	public static final int HEADER_SIZE = MAGIC.length + 8;
+
+	private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+	private static final long FNV_PRIME = 0x100000001B3L;
+
+
+	private SchemaFormat() { throw new AssertionError("cannot instantiate static class SchemaFormat"); }
+
+
+	/**
+	 * @return the 64-bit FNV-1a hash of the UTF-8 bytes of the schema's {@link Schema#toCanonicalString() canonical form}
+	 */
+	static long fingerprint(Schema schema) {
+		byte[] bytes = schema.toCanonicalString().getBytes(StandardCharsets.UTF_8);
+		long hash = FNV_OFFSET_BASIS;
+		for(byte b : bytes) {
+			hash = (hash ^ (b & 0xFF)) * FNV_PRIME;
+		}
+		return hash;
+	}
+
+}
@@ -0,0 +1,166 @@
+package twg2.io.serialize.schema;
+
+import twg2.simpleTypes.ioPrimitives.IoType;
+
+/** The field values of one record of a {@link Schema}, filled by {@link SchemaRecordReader#readRecord(SchemaRecord)}.
+ * Values are accessed by the field's index in the schema, look up indexes once with {@link #indexOf(String)}.<br>
+ * A record is meant to be reused for each record read from a stream, integral and boolean values are stored in a {@code long[]},
+ * floating point values in a {@code double[]}, so reading a record only allocates its string and binary values.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class SchemaRecord {
+	static final byte KIND_LONG = 0;
+	static final byte KIND_DOUBLE = 1;
+	static final byte KIND_OBJECT = 2;
+
+	private final Schema schema;
+	/** the storage kind of each field */
+	final byte[] kinds;
+	final long[] longs;
+	final double[] doubles;
+	final Object[] objects;
+
+
+	/** Create a record with each field set to its default value
+	 */
+	public SchemaRecord(Schema schema) {
+		int size = schema.size();
+		this.schema = schema;
+		this.kinds = new byte[size];
+		this.longs = new long[size];
+		this.doubles = new double[size];
+		this.objects = new Object[size];
+		for(int i = 0; i < size; i++) {
+			kinds[i] = kindOf(schema.getField(i).getType());
+			setDefault(i);
+		}
+	}
+
+
+	public Schema getSchema() {
+		return schema;
+	}
+
+
+	/**
+	 * @return the index of the field named {@code name}, or -1 if the schema does not contain the field
+	 */
+	public int indexOf(String name) {
+		return schema.indexOf(name);
+	}
+
+
+	public boolean getBoolean(int index) {
+		return getLong(index, IoType.BOOLEAN) != 0;
+	}
+
+
+	public byte getByte(int index) {
+		return (byte)getLong(index, IoType.BYTE);
+	}
+
+
+	public char getChar(int index) {
+		return (char)getLong(index, IoType.CHAR);
+	}
+
+
+	public short getShort(int index) {
+		return (short)getLong(index, IoType.SHORT);
+	}
+
+
+	public int getInt(int index) {
+		return (int)getLong(index, IoType.INT);
+	}
+
+
+	/** Get the value of a long field, or of any other integral field
+	 */
+	public long getLong(int index) {
+		return getLong(index, IoType.LONG);
+	}
+
+
+	public float getFloat(int index) {
+		return (float)getDouble(index);
+	}
+
+
+	/** Get the value of a double or float field
+	 */
+	public double getDouble(int index) {
+		if(kinds[index] != KIND_DOUBLE) {
+			throw typeError(index, IoType.DOUBLE);
+		}
+		return doubles[index];
+	}
+
+
+	public String getString(int index) {
+		if(schema.getField(index).getType() != IoType.STRING) {
+			throw typeError(index, IoType.STRING);
+		}
+		return (String)objects[index];
+	}
+
+
+	/**
+	 * @return the value of a binary field, the array is not copied
+	 */
+	public byte[] getBytes(int index) {
+		if(schema.getField(index).getType() != IoType.BINARY) {
+			throw typeError(index, IoType.BINARY);
+		}
+		return (byte[])objects[index];
+	}
+
+
+	/** Set a field to its default value
+	 */
+	void setDefault(int index) {
+		SchemaField field = schema.getField(index);
+		Object value = field.getDefaultValue();
+		switch(kinds[index]) {
+		case KIND_LONG:
+			longs[index] = (value == null ? 0 : value instanceof Boolean ? ((Boolean)value ? 1 : 0) : value instanceof Character ? (Character)value : ((Number)value).longValue());
+			break;
+		case KIND_DOUBLE:
+			doubles[index] = (value == null ? 0 : ((Number)value).doubleValue());
+			break;
+		default:
+			objects[index] = value;
+			break;
+		}
+	}
+
+
+	private long getLong(int index, IoType type) {
+		if(kinds[index] != KIND_LONG) {
+			throw typeError(index, type);
+		}
+		return longs[index];
+	}
+
+
+	private IllegalArgumentException typeError(int index, IoType type) {
+		SchemaField field = schema.getField(index);
+		return new IllegalArgumentException("cannot get " + field.getType() + " field '" + field.getName() + "' as " + type);
+	}
+
+
+	static byte kindOf(IoType type) {
+		switch(type) {
+		case FLOAT:
+		case DOUBLE:
+			return KIND_DOUBLE;
+		case STRING:
+		case BINARY:
+			return KIND_OBJECT;
+		default:
+			return KIND_LONG;
+		}
+	}
+
+}
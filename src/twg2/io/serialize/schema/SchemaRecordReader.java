@@ -0,0 +1,298 @@
+package twg2.io.serialize.schema;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import twg2.simpleTypes.ioPrimitives.IoType;
+
+/** Reads the records of a {@link SchemaFormat} stream as records of a reader {@link Schema}.<br>
+ * The writer's schema is identified by the fingerprint in the stream header, it is the reader schema if the fingerprints match,
+ * otherwise it is looked up in a {@link SchemaRegistry} and {@link SchemaResolution resolved} against the reader schema once,
+ * records are then decoded positionally: removed fields are skipped, added fields are set to their default value,
+ * and reordered and promoted fields are read directly into their reader field without looking up names.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class SchemaRecordReader implements Closeable {
+	private final InputStream in;
+	private final byte[] buf;
+	private int pos;
+	private int limit;
+	private final SchemaResolution resolution;
+	private final int[] readerIndexes;
+	private final IoType[] writerTypes;
+	private final boolean[] toDouble;
+	private final int[] defaulted;
+
+
+	/** Read the stream header and resolve the stream's writer schema against {@code readerSchema}
+	 * @param stream the stream to read
+	 * @param readerSchema the schema to read records as
+	 * @param registry the registry containing the writer schema, can be null if the stream was written with {@code readerSchema}
+	 * @throws IOException if the stream header is invalid, the writer schema is not in the registry,
+	 * or the writer schema cannot be resolved against the reader schema
+	 */
+	public SchemaRecordReader(InputStream stream, Schema readerSchema, SchemaRegistry registry) throws IOException {
+		this.in = stream;
+		this.buf = new byte[8192];
+
+		if(!fill(SchemaFormat.HEADER_SIZE)) {
+			throw new IOException("missing schema record stream header");
+		}
+		for(int i = 0; i < SchemaFormat.MAGIC.length; i++) {
+			if(buf[pos++] != SchemaFormat.MAGIC[i]) {
+				throw new IOException("invalid schema record stream header");
+			}
+		}
+		long fingerprint = readFixed64();
+
+		Schema writerSchema;
+		if(fingerprint == readerSchema.getFingerprint()) {
+			writerSchema = readerSchema;
+		}
+		else if(registry != null) {
+			writerSchema = registry.get(fingerprint);
+		}
+		else {
+			throw new IOException("stream written with schema " + String.format("%016x", fingerprint) + ", which is not reader schema '" + readerSchema.getName() + "', and there is no schema registry");
+		}
+
+		try {
+			this.resolution = SchemaResolution.resolve(writerSchema, readerSchema);
+		} catch(IllegalArgumentException e) {
+			throw new IOException("cannot read stream written with schema " + writerSchema + " as " + readerSchema, e);
+		}
+		this.readerIndexes = resolution.readerIndexes;
+		this.writerTypes = resolution.writerTypes;
+		this.toDouble = resolution.toDouble;
+		this.defaulted = resolution.defaulted;
+	}
+
+
+	public Schema getWriterSchema() {
+		return resolution.getWriterSchema();
+	}
+
+
+	public Schema getReaderSchema() {
+		return resolution.getReaderSchema();
+	}
+
+
+	public SchemaResolution getResolution() {
+		return resolution;
+	}
+
+
+	/**
+	 * @return a new record of the reader schema to pass to {@link #readRecord(SchemaRecord)}
+	 */
+	public SchemaRecord newRecord() {
+		return new SchemaRecord(resolution.getReaderSchema());
+	}
+
+
+	/** Read the next record into {@code dst}, overwriting all of its values
+	 * @param dst a record of the reader schema, reused for each record read
+	 * @return true if a record was read, false if the end of the stream was reached
+	 * @throws IOException if there is an error reading the stream or the stream ends in the middle of a record
+	 */
+	public boolean readRecord(SchemaRecord dst) throws IOException {
+		if(dst.getSchema() != resolution.getReaderSchema() && !dst.getSchema().equals(resolution.getReaderSchema())) {
+			throw new IllegalArgumentException("record of schema '" + dst.getSchema().getName() + "' is not a record of the reader schema");
+		}
+		if(pos == limit && !fill(1)) {
+			return false;
+		}
+		long[] longs = dst.longs;
+		double[] doubles = dst.doubles;
+		Object[] objects = dst.objects;
+
+		for(int i = 0, size = readerIndexes.length; i < size; i++) {
+			int idx = readerIndexes[i];
+			long v;
+			switch(writerTypes[i]) {
+			case BOOLEAN:
+				v = (readByte() != 0 ? 1 : 0);
+				break;
+			case BYTE:
+				v = readByte();
+				break;
+			case CHAR:
+				v = (char)readVarLong();
+				break;
+			case SHORT:
+			case INT:
+			case LONG:
+				v = readVarLong();
+				v = (v >>> 1) ^ -(v & 1);
+				break;
+			case FLOAT:
+				if(!fill(4)) {
+					throw eof();
+				}
+				float f = Float.intBitsToFloat(readFixed32());
+				if(idx > -1) {
+					doubles[idx] = f;
+				}
+				continue;
+			case DOUBLE:
+				if(!fill(8)) {
+					throw eof();
+				}
+				double d = Double.longBitsToDouble(readFixed64());
+				if(idx > -1) {
+					doubles[idx] = d;
+				}
+				continue;
+			case STRING:
+			case BINARY:
+				int len = (int)readVarLong() - 1;
+				if(idx < 0) {
+					skip(len);
+				}
+				else {
+					objects[idx] = (len < 0 ? null : writerTypes[i] == IoType.STRING ? readUtf8(len) : readBytes(len));
+				}
+				continue;
+			default:
+				throw new IOException("unsupported field type " + writerTypes[i]);
+			}
+			if(idx > -1) {
+				if(toDouble[i]) {
+					doubles[idx] = v;
+				}
+				else {
+					longs[idx] = v;
+				}
+			}
+		}
+
+		for(int idx : defaulted) {
+			dst.setDefault(idx);
+		}
+		return true;
+	}
+
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+
+	private byte readByte() throws IOException {
+		if(pos == limit && !fill(1)) {
+			throw eof();
+		}
+		return buf[pos++];
+	}
+
+
+	private long readVarLong() throws IOException {
+		long v = 0;
+		for(int shift = 0; shift < 64; shift += 7) {
+			byte b = readByte();
+			v |= (long)(b & 0x7F) << shift;
+			if(b >= 0) {
+				return v;
+			}
+		}
+		throw new IOException("malformed varint");
+	}
+
+
+	/** Read a big-endian int, the caller must ensure 4 bytes are buffered
+	 */
+	private int readFixed32() {
+		byte[] b = buf;
+		int p = pos;
+		pos = p + 4;
+		return ((b[p] & 0xFF) << 24) | ((b[p + 1] & 0xFF) << 16) | ((b[p + 2] & 0xFF) << 8) | (b[p + 3] & 0xFF);
+	}
+
+
+	/** Read a big-endian long, the caller must ensure 8 bytes are buffered
+	 */
+	private long readFixed64() {
+		long hi = readFixed32();
+		return (hi << 32) | (readFixed32() & 0xFFFFFFFFL);
+	}
+
+
+	private String readUtf8(int len) throws IOException {
+		if(len <= buf.length) {
+			if(!fill(len)) {
+				throw eof();
+			}
+			String s = new String(buf, pos, len, StandardCharsets.UTF_8);
+			pos += len;
+			return s;
+		}
+		return new String(readBytes(len), StandardCharsets.UTF_8);
+	}
+
+
+	private byte[] readBytes(int len) throws IOException {
+		byte[] dst = new byte[len];
+		int n = Math.min(len, limit - pos);
+		System.arraycopy(buf, pos, dst, 0, n);
+		pos += n;
+		while(n < len) {
+			int r = in.read(dst, n, len - n);
+			if(r < 0) {
+				throw eof();
+			}
+			n += r;
+		}
+		return dst;
+	}
+
+
+	private void skip(int len) throws IOException {
+		int n = Math.min(Math.max(len, 0), limit - pos);
+		pos += n;
+		len -= n;
+		while(len > 0) {
+			long r = in.skip(len);
+			if(r <= 0) {
+				if(in.read() < 0) {
+					throw eof();
+				}
+				r = 1;
+			}
+			len -= r;
+		}
+	}
+
+
+	/** Ensure at least {@code n} bytes are buffered, {@code n} must not be larger than the buffer
+	 * @return false if the end of the stream was reached before {@code n} bytes were buffered
+	 */
+	private boolean fill(int n) throws IOException {
+		if(limit - pos >= n) {
+			return true;
+		}
+		if(pos > 0) {
+			System.arraycopy(buf, pos, buf, 0, limit - pos);
+			limit -= pos;
+			pos = 0;
+		}
+		while(limit < n) {
+			int r = in.read(buf, limit, buf.length - limit);
+			if(r < 0) {
+				return false;
+			}
+			limit += r;
+		}
+		return true;
+	}
+
+
+	private static IOException eof() {
+		return new IOException("unexpected end of schema record stream");
+	}
+
+}
@@ -0,0 +1,307 @@
+package twg2.io.serialize.schema;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import twg2.io.serialize.base.writer.DataTransferOutput;
+import twg2.simpleTypes.ioPrimitives.IoType;
+
+/** Writes records as a {@link SchemaFormat} stream, which contains only the records' values, in the order of the writer's {@link Schema}.<br>
+ * Each record is written as a block named the same as the schema, containing each of the schema's fields, in order, with the field's type,
+ * so an existing {@link twg2.io.serialize.base.DataTransferFactory} whose schema was {@link Schema#derive(twg2.io.serialize.base.DataTransferFactory, Object) derived}
+ * can write records with this writer.
+ * Register the schema in the {@link SchemaRegistry} used by readers before they read the stream.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class SchemaRecordWriter implements DataTransferOutput {
+	private final Schema schema;
+	private final SchemaField[] fields;
+	private final OutputStream out;
+	private final byte[] buf;
+	private int pos;
+	/** the index of the next field to write in the current record, -1 outside of a record */
+	private int fieldIdx = -1;
+
+
+	/** Create a writer and write the stream header
+	 * @param stream the output stream to write the records to
+	 * @param schema the schema of the records written
+	 * @throws IOException if there is an error writing to the stream
+	 */
+	public SchemaRecordWriter(OutputStream stream, Schema schema) throws IOException {
+		this.schema = schema;
+		this.fields = schema.getFields().toArray(new SchemaField[schema.size()]);
+		this.out = stream;
+		this.buf = new byte[8192];
+		writeRaw(SchemaFormat.MAGIC, 0, SchemaFormat.MAGIC.length);
+		writeFixed64(schema.getFingerprint());
+	}
+
+
+	public Schema getSchema() {
+		return schema;
+	}
+
+
+	/** Write any buffered data to the underlying output stream
+	 * @throws IOException if there is an error writing to the stream
+	 */
+	public void flush() throws IOException {
+		flushBuffer();
+		out.flush();
+	}
+
+
+	@Override
+	public void close() throws IOException {
+		if(fieldIdx > -1) {
+			throw new IllegalStateException("cannot close writer, record '" + schema.getName() + "' is incomplete");
+		}
+		flushBuffer();
+		out.close();
+	}
+
+
+	@Override
+	public void writeStartBlock(String name) throws IOException {
+		if(fieldIdx > -1) {
+			throw new IllegalStateException("cannot start block '" + name + "' inside record '" + schema.getName() + "', schema records cannot contain nested blocks");
+		}
+		if(!schema.getName().equals(name)) {
+			throw new IllegalStateException("cannot write block '" + name + "', expected record '" + schema.getName() + "'");
+		}
+		fieldIdx = 0;
+	}
+
+
+	@Override
+	public void writeEndBlock() throws IOException {
+		if(fieldIdx < 0) {
+			throw new IllegalStateException("cannot end block, no record started");
+		}
+		if(fieldIdx < fields.length) {
+			throw new IllegalStateException("cannot end record '" + schema.getName() + "', missing field '" + fields[fieldIdx].getName() + "'");
+		}
+		fieldIdx = -1;
+	}
+
+
+	@Override
+	public void write(String name, byte[] b) throws IOException {
+		if(b == null) {
+			nextField(name, IoType.BINARY);
+			writeVarInt(0);
+		}
+		else {
+			write(name, b, 0, b.length);
+		}
+	}
+
+
+	@Override
+	public void write(String name, byte[] b, int off, int len) throws IOException {
+		nextField(name, IoType.BINARY);
+		writeVarInt(len + 1);
+		writeRaw(b, off, len);
+	}
+
+
+	/** {@inheritDoc}
+	 * <p>Values are length prefixed, so {@code src} is read fully before the value is written.
+	 */
+	@Override
+	public long writeBinary(String name, InputStream src) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] chunk = new byte[8192];
+		int n;
+		while((n = src.read(chunk, 0, chunk.length)) >= 0) {
+			bytes.write(chunk, 0, n);
+		}
+		write(name, bytes.toByteArray());
+		return bytes.size();
+	}
+
+
+	/** {@inheritDoc}
+	 * <p>Values are length prefixed, so {@code src} is read fully before the value is written.
+	 */
+	@Override
+	public long writeString(String name, Reader src) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		char[] chunk = new char[4096];
+		int n;
+		while((n = src.read(chunk, 0, chunk.length)) >= 0) {
+			sb.append(chunk, 0, n);
+		}
+		writeString(name, sb.toString());
+		return sb.length();
+	}
+
+
+	@Override
+	public void writeBoolean(String name, boolean v) throws IOException {
+		nextField(name, IoType.BOOLEAN);
+		ensure(1);
+		buf[pos++] = (byte)(v ? 1 : 0);
+	}
+
+
+	@Override
+	public void writeByte(String name, byte v) throws IOException {
+		nextField(name, IoType.BYTE);
+		ensure(1);
+		buf[pos++] = v;
+	}
+
+
+	@Override
+	public void writeChar(String name, char v) throws IOException {
+		nextField(name, IoType.CHAR);
+		writeVarInt(v);
+	}
+
+
+	@Override
+	public void writeDouble(String name, double v) throws IOException {
+		nextField(name, IoType.DOUBLE);
+		writeFixed64(Double.doubleToRawLongBits(v));
+	}
+
+
+	@Override
+	public void writeFloat(String name, float v) throws IOException {
+		nextField(name, IoType.FLOAT);
+		writeFixed32(Float.floatToRawIntBits(v));
+	}
+
+
+	@Override
+	public void writeInt(String name, int v) throws IOException {
+		nextField(name, IoType.INT);
+		writeVarInt((v << 1) ^ (v >> 31));
+	}
+
+
+	@Override
+	public void writeLong(String name, long v) throws IOException {
+		nextField(name, IoType.LONG);
+		writeVarLong((v << 1) ^ (v >> 63));
+	}
+
+
+	@Override
+	public void writeShort(String name, short v) throws IOException {
+		nextField(name, IoType.SHORT);
+		writeVarInt((v << 1) ^ (v >> 31));
+	}
+
+
+	@Override
+	public void writeString(String name, String s) throws IOException {
+		nextField(name, IoType.STRING);
+		if(s == null) {
+			writeVarInt(0);
+		}
+		else {
+			byte[] b = s.getBytes(StandardCharsets.UTF_8);
+			writeVarInt(b.length + 1);
+			writeRaw(b, 0, b.length);
+		}
+	}
+
+
+	/** Check that {@code name} and {@code type} match the next field of the current record and advance to the following field
+	 */
+	private void nextField(String name, IoType type) {
+		if(fieldIdx < 0) {
+			throw new IllegalStateException("cannot write field '" + name + "' outside of a '" + schema.getName() + "' record");
+		}
+		if(fieldIdx >= fields.length) {
+			throw new IllegalStateException("cannot write field '" + name + "', record '" + schema.getName() + "' only has " + fields.length + " fields");
+		}
+		SchemaField field = fields[fieldIdx];
+		if(field.getType() != type || !field.getName().equals(name)) {
+			throw new IllegalStateException("cannot write " + type + " field '" + name + "', expected field " + fieldIdx + " '" + field.getName() + "' " + field.getType() + " of record '" + schema.getName() + "'");
+		}
+		fieldIdx++;
+	}
+
+
+	private void writeVarInt(int v) throws IOException {
+		ensure(5);
+		byte[] b = buf;
+		int p = pos;
+		while((v & ~0x7F) != 0) {
+			b[p++] = (byte)((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		b[p++] = (byte)v;
+		pos = p;
+	}
+
+
+	private void writeVarLong(long v) throws IOException {
+		ensure(10);
+		byte[] b = buf;
+		int p = pos;
+		while((v & ~0x7FL) != 0) {
+			b[p++] = (byte)((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		b[p++] = (byte)v;
+		pos = p;
+	}
+
+
+	private void writeFixed32(int v) throws IOException {
+		ensure(4);
+		byte[] b = buf;
+		int p = pos;
+		b[p] = (byte)(v >>> 24);
+		b[p + 1] = (byte)(v >>> 16);
+		b[p + 2] = (byte)(v >>> 8);
+		b[p + 3] = (byte)v;
+		pos = p + 4;
+	}
+
+
+	private void writeFixed64(long v) throws IOException {
+		writeFixed32((int)(v >>> 32));
+		writeFixed32((int)v);
+	}
+
+
+	private void writeRaw(byte[] b, int off, int len) throws IOException {
+		if(len > buf.length - pos) {
+			flushBuffer();
+			// large values are written directly
+			if(len > buf.length) {
+				out.write(b, off, len);
+				return;
+			}
+		}
+		System.arraycopy(b, off, buf, pos, len);
+		pos += len;
+	}
+
+
+	private void ensure(int n) throws IOException {
+		if(buf.length - pos < n) {
+			flushBuffer();
+		}
+	}
+
+
+	private void flushBuffer() throws IOException {
+		if(pos > 0) {
+			out.write(buf, 0, pos);
+			pos = 0;
+		}
+	}
+
+}
@@ -0,0 +1,212 @@
+package twg2.io.serialize.schema;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+import twg2.simpleTypes.ioPrimitives.IoType;
+
+/** A local registry of {@link Schema}s stored as one JSON file per schema in a directory, the file name is the schema's
+ * {@link Schema#getFingerprint() fingerprint} in hex followed by {@code .json}.<br>
+ * Schema files are never modified once written, so a registry directory can be shared by several processes,
+ * files are written to a temporary file and moved into place so readers never see a partially written schema.
+ * Loaded schemas are cached. This class is thread safe.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class SchemaRegistry {
+	private static final String FILE_SUFFIX = ".json";
+
+	private final File dir;
+	private final ConcurrentHashMap<Long, Schema> schemas = new ConcurrentHashMap<>();
+
+
+	/** Open a registry, creating the directory if it does not exist
+	 * @param dir the registry's directory
+	 * @throws IOException if the directory cannot be created
+	 */
+	public SchemaRegistry(File dir) throws IOException {
+		if(!dir.isDirectory() && !dir.mkdirs()) {
+			throw new IOException("cannot create schema registry directory '" + dir + "'");
+		}
+		this.dir = dir;
+	}
+
+
+	public File getDirectory() {
+		return dir;
+	}
+
+
+	/** Add a schema to the registry, if the registry does not already contain it
+	 * @param schema the schema
+	 * @return the schema's fingerprint
+	 * @throws IOException if there is an error writing the schema file
+	 */
+	public long register(Schema schema) throws IOException {
+		long fingerprint = schema.getFingerprint();
+		File file = getFile(fingerprint);
+		if(!file.exists()) {
+			File tmp = File.createTempFile(fileName(fingerprint), ".tmp", dir);
+			try {
+				try(OutputStream os = new FileOutputStream(tmp)) {
+					DataTransferOutput out = DataTransferableFactory.createWriter(DataTransferFormat.JSON, os, StandardCharsets.UTF_8);
+					writeSchema(out, schema);
+					out.close();
+				}
+				try {
+					Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+				} catch(AtomicMoveNotSupportedException e) {
+					Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+			} finally {
+				tmp.delete();
+			}
+		}
+		schemas.putIfAbsent(fingerprint, schema);
+		return fingerprint;
+	}
+
+
+	/**
+	 * @return true if the registry contains a schema with the fingerprint
+	 */
+	public boolean contains(long fingerprint) {
+		return schemas.containsKey(fingerprint) || getFile(fingerprint).isFile();
+	}
+
+
+	/** Get a schema by fingerprint
+	 * @param fingerprint the schema's {@link Schema#getFingerprint() fingerprint}
+	 * @return the schema
+	 * @throws IOException if the registry does not contain the schema, or the schema file cannot be read or does not match the fingerprint
+	 */
+	public Schema get(long fingerprint) throws IOException {
+		Schema schema = schemas.get(fingerprint);
+		if(schema != null) {
+			return schema;
+		}
+		File file = getFile(fingerprint);
+		if(!file.isFile()) {
+			throw new IOException("unknown schema " + fileName(fingerprint) + ", not found in registry '" + dir + "'");
+		}
+		try(InputStream is = new FileInputStream(file)) {
+			DataTransferInput in = DataTransferableFactory.createReader(DataTransferFormat.JSON, is, StandardCharsets.UTF_8);
+			schema = readSchema(in);
+			in.close();
+		}
+		if(schema.getFingerprint() != fingerprint) {
+			throw new IOException("schema file '" + file + "' contains schema " + fileName(schema.getFingerprint()) + ", expected " + fileName(fingerprint));
+		}
+		Schema prev = schemas.putIfAbsent(fingerprint, schema);
+		return prev != null ? prev : schema;
+	}
+
+
+	private File getFile(long fingerprint) {
+		return new File(dir, fileName(fingerprint) + FILE_SUFFIX);
+	}
+
+
+	private static String fileName(long fingerprint) {
+		return String.format("%016x", fingerprint);
+	}
+
+
+	private static void writeSchema(DataTransferOutput out, Schema schema) throws IOException {
+		out.writeStartBlock("schema");
+		out.writeString("name", schema.getName());
+		out.writeStartBlock("fields");
+		for(SchemaField field : schema.getFields()) {
+			Object value = field.getDefaultValue();
+			out.writeStartBlock("field");
+			out.writeString("name", field.getName());
+			out.writeString("type", field.getType().name());
+			out.writeBoolean("hasDefault", value != null);
+			out.writeString("default", value == null ? "" : value instanceof byte[] ? Base64.getEncoder().encodeToString((byte[])value) : value.toString());
+			out.writeEndBlock();
+		}
+		out.writeEndBlock();
+		out.writeEndBlock();
+	}
+
+
+	private static Schema readSchema(DataTransferInput in) throws IOException {
+		in.readStartBlock("schema");
+		String name = in.readString("name");
+		List<SchemaField> fields = new ArrayList<>();
+		in.readStartBlock("fields");
+		while(!in.peekNext().isEndBlock()) {
+			in.readStartBlock("field");
+			String fieldName = in.readString("name");
+			String typeName = in.readString("type");
+			boolean hasDefault = in.readBoolean("hasDefault");
+			String defaultText = in.readString("default");
+			in.readEndBlock();
+
+			IoType type;
+			try {
+				type = IoType.valueOf(typeName);
+			} catch(IllegalArgumentException e) {
+				throw new IOException("unknown type '" + typeName + "' for field '" + fieldName + "' in schema '" + name + "'");
+			}
+			try {
+				fields.add(SchemaField.of(fieldName, type, hasDefault ? parseDefault(type, defaultText) : null));
+			} catch(IllegalArgumentException e) {
+				throw new IOException("invalid default value '" + defaultText + "' for " + type + " field '" + fieldName + "' in schema '" + name + "'", e);
+			}
+		}
+		in.readEndBlock();
+		in.readEndBlock();
+		try {
+			return Schema.of(name, fields);
+		} catch(IllegalArgumentException e) {
+			throw new IOException("invalid schema '" + name + "'", e);
+		}
+	}
+
+
+	private static Object parseDefault(IoType type, String text) {
+		switch(type) {
+		case BOOLEAN:
+			return Boolean.valueOf(text);
+		case BYTE:
+			return Byte.valueOf(text);
+		case CHAR:
+			if(text.length() != 1) {
+				throw new IllegalArgumentException("char default value must be 1 character");
+			}
+			return text.charAt(0);
+		case SHORT:
+			return Short.valueOf(text);
+		case INT:
+			return Integer.valueOf(text);
+		case LONG:
+			return Long.valueOf(text);
+		case FLOAT:
+			return Float.valueOf(text);
+		case DOUBLE:
+			return Double.valueOf(text);
+		case BINARY:
+			return Base64.getDecoder().decode(text);
+		default:
+			return text;
+		}
+	}
+
+}
@@ -0,0 +1,148 @@
+package twg2.io.serialize.schema;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import twg2.simpleTypes.ioPrimitives.IoType;
+
+/** A plan for reading records written with one {@link Schema} (the writer's) as records of another (the reader's),
+ * computed once per stream so records can be decoded positionally without looking up field names:
+ * <ul>
+ * <li>each writer field is decoded into the reader field with the same name, regardless of the fields' order</li>
+ * <li>writer fields which the reader does not have are skipped</li>
+ * <li>reader fields which the writer does not have are set to their {@link SchemaField#getDefaultValue() default value}</li>
+ * <li>a writer field can be read as a wider reader type: {@code byte} to {@code short}, {@code int}, {@code long},
+ * {@code short} and {@code char} to {@code int}, {@code long}, {@code int} to {@code long}, any integral type to {@code float} or
+ * {@code double}, and {@code float} to {@code double}</li>
+ * </ul>
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public final class SchemaResolution {
+	private final Schema writer;
+	private final Schema reader;
+	/** the reader field index of each writer field, -1 if the writer field is skipped */
+	final int[] readerIndexes;
+	/** the type of each writer field */
+	final IoType[] writerTypes;
+	/** true for each writer field whose integral value is stored as a floating point reader value */
+	final boolean[] toDouble;
+	/** the reader fields which the writer does not have */
+	final int[] defaulted;
+
+
+	private SchemaResolution(Schema writer, Schema reader, int[] readerIndexes, IoType[] writerTypes, boolean[] toDouble, int[] defaulted) {
+		this.writer = writer;
+		this.reader = reader;
+		this.readerIndexes = readerIndexes;
+		this.writerTypes = writerTypes;
+		this.toDouble = toDouble;
+		this.defaulted = defaulted;
+	}
+
+
+	/** Resolve a writer schema against a reader schema
+	 * @param writer the schema records were written with
+	 * @param reader the schema to read the records as
+	 * @return the resolution plan
+	 * @throws IllegalArgumentException if the schemas have different names or a field's writer type cannot be read as its reader type
+	 */
+	public static SchemaResolution resolve(Schema writer, Schema reader) {
+		if(!writer.getName().equals(reader.getName())) {
+			throw new IllegalArgumentException("cannot read '" + writer.getName() + "' records as '" + reader.getName() + "'");
+		}
+		int writerSize = writer.size();
+		int[] readerIndexes = new int[writerSize];
+		IoType[] writerTypes = new IoType[writerSize];
+		boolean[] toDouble = new boolean[writerSize];
+		boolean[] found = new boolean[reader.size()];
+		List<String> errors = new ArrayList<>();
+
+		for(int i = 0; i < writerSize; i++) {
+			SchemaField field = writer.getField(i);
+			int idx = reader.indexOf(field.getName());
+			writerTypes[i] = field.getType();
+			readerIndexes[i] = idx;
+			if(idx > -1) {
+				IoType readerType = reader.getField(idx).getType();
+				if(!canPromote(field.getType(), readerType)) {
+					errors.add("'" + field.getName() + "' " + field.getType() + " as " + readerType);
+				}
+				toDouble[i] = (SchemaRecord.kindOf(field.getType()) == SchemaRecord.KIND_LONG && SchemaRecord.kindOf(readerType) == SchemaRecord.KIND_DOUBLE);
+				found[idx] = true;
+			}
+		}
+		if(errors.size() > 0) {
+			throw new IllegalArgumentException("incompatible '" + writer.getName() + "' fields: " + String.join(", ", errors));
+		}
+
+		int[] defaulted = new int[reader.size()];
+		int defaultCount = 0;
+		for(int i = 0; i < found.length; i++) {
+			if(!found[i]) {
+				defaulted[defaultCount++] = i;
+			}
+		}
+		return new SchemaResolution(writer, reader, readerIndexes, writerTypes, toDouble, Arrays.copyOf(defaulted, defaultCount));
+	}
+
+
+	public Schema getWriterSchema() {
+		return writer;
+	}
+
+
+	public Schema getReaderSchema() {
+		return reader;
+	}
+
+
+	/**
+	 * @return the index of the reader field a writer field is read into, or -1 if the writer field is skipped
+	 */
+	public int getReaderIndex(int writerIndex) {
+		return readerIndexes[writerIndex];
+	}
+
+
+	/**
+	 * @return the indexes of the reader fields which are set to their default value because the writer does not have them
+	 */
+	public int[] getDefaultedFields() {
+		return defaulted.clone();
+	}
+
+
+	/**
+	 * @return true if the writer and reader schemas have the same fields in the same order
+	 */
+	public boolean isIdentity() {
+		return writer.getFingerprint() == reader.getFingerprint() && writer.equals(reader);
+	}
+
+
+	/**
+	 * @return true if a value written as {@code writerType} can be read as {@code readerType}
+	 */
+	public static boolean canPromote(IoType writerType, IoType readerType) {
+		if(writerType == readerType) {
+			return true;
+		}
+		switch(writerType) {
+		case BYTE:
+			return readerType == IoType.SHORT || readerType == IoType.INT || readerType == IoType.LONG || readerType == IoType.FLOAT || readerType == IoType.DOUBLE;
+		case SHORT:
+		case CHAR:
+			return readerType == IoType.INT || readerType == IoType.LONG || readerType == IoType.FLOAT || readerType == IoType.DOUBLE;
+		case INT:
+			return readerType == IoType.LONG || readerType == IoType.FLOAT || readerType == IoType.DOUBLE;
+		case LONG:
+		case FLOAT:
+			return readerType == IoType.FLOAT || readerType == IoType.DOUBLE;
+		default:
+			return false;
+		}
+	}
+
+}
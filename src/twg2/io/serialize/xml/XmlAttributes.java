@@ -1,36 +1,45 @@
 package twg2.io.serialize.xml;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 
 /** A compound XML Attribute that can contain multiple attributes. Its purpose is to be reused for each XML element
  * being written by an {@link XmlOutput} stream or read by an {@link XmlInput} stream.
- * {@link XmlAttributes#clear()}, 
+ * {@link XmlAttributes#clear()}, <br>
+ * Attributes are stored in parallel primitive arrays, primitive values are stored as raw bits in a {@code long[]}
+ * so adding, reading, and writing primitive attributes does not box them.
  * @author TeamworkGuy2
  * @since 2013-6-3
  */
 public class XmlAttributes {
-	List<String> names;
-	List<String> namesIm;
-	List<Object> values;
-	List<Object> valuesIm;
-	List<Byte> types;
-	List<Byte> typesIm;
-	List<Integer> arraySize;
-	List<Integer> arraySizeIm;
+	private static final int NOT_ARRAY = -1;
+
+	String[] names;
+	/** the {@link XmlHandler} data type of each attribute */
+	byte[] types;
+	/** primitive values as raw bits, floats and doubles are stored using {@link Float#floatToRawIntBits(float)}
+	 * and {@link Double#doubleToRawLongBits(double)} */
+	long[] bits;
+	/** String and array values, null for primitive values */
+	Object[] objects;
+	/** array attribute lengths, {@value #NOT_ARRAY} for non-array attributes */
+	int[] arraySizes;
+	int size;
+	private List<String> namesIm;
+	private List<Object> valuesIm;
+	private List<Byte> typesIm;
+	private List<Integer> arraySizeIm;
 
 
 	public XmlAttributes() {
 		super();
-		names = new ArrayList<String>();
-		namesIm = Collections.unmodifiableList(names);
-		values = new ArrayList<Object>();
-		valuesIm = Collections.unmodifiableList(values);
-		types = new ArrayList<Byte>();
-		typesIm = Collections.unmodifiableList(types);
-		arraySize = new ArrayList<Integer>();
-		arraySizeIm = Collections.unmodifiableList(arraySize);
+		names = new String[8];
+		types = new byte[8];
+		bits = new long[8];
+		objects = new Object[8];
+		arraySizes = new int[8];
 	}
 
 
@@ -39,10 +48,7 @@ public class XmlAttributes {
 	 * @param value the attribute's boolean value
 	 */
 	public void addAttributeBoolean(String name, boolean value) {
-		names.add(name);
-		values.add(value);
-		types.add(Byte.valueOf((byte)XmlHandler.BOOLEAN_TYPE));
-		arraySize.add(null);
+		add(name, XmlHandler.BOOLEAN_TYPE, value ? 1 : 0, null, NOT_ARRAY);
 	}
 
 
@@ -51,10 +57,7 @@ public class XmlAttributes {
 	 * @param value the attribute's character value
 	 */
 	public void addAttributeChar(String name, char value) {
-		names.add(name);
-		values.add(value);
-		types.add(Byte.valueOf((byte)XmlHandler.CHAR_TYPE));
-		arraySize.add(null);
+		add(name, XmlHandler.CHAR_TYPE, value, null, NOT_ARRAY);
 	}
 
 
@@ -63,10 +66,7 @@ public class XmlAttributes {
 	 * @param value the attribute's byte value
 	 */
 	public void addAttributeByte(String name, byte value) {
-		names.add(name);
-		values.add(value);
-		types.add(Byte.valueOf((byte)XmlHandler.BYTE_TYPE));
-		arraySize.add(null);
+		add(name, XmlHandler.BYTE_TYPE, value, null, NOT_ARRAY);
 	}
 
 
@@ -75,10 +75,7 @@ public class XmlAttributes {
 	 * @param value the attribute's short value
 	 */
 	public void addAttributeShort(String name, short value) {
-		names.add(name);
-		values.add(value);
-		types.add(Byte.valueOf((byte)XmlHandler.SHORT_TYPE));
-		arraySize.add(null);
+		add(name, XmlHandler.SHORT_TYPE, value, null, NOT_ARRAY);
 	}
 
 
@@ -87,10 +84,7 @@ public class XmlAttributes {
 	 * @param value the attribute's int value
 	 */
 	public void addAttributeInt(String name, int value) {
-		names.add(name);
-		values.add(value);
-		types.add(Byte.valueOf((byte)XmlHandler.INT_TYPE));
-		arraySize.add(null);
+		add(name, XmlHandler.INT_TYPE, value, null, NOT_ARRAY);
 	}
 
 
@@ -99,10 +93,7 @@ public class XmlAttributes {
 	 * @param value the attribute's long value
 	 */
 	public void addAttributeLong(String name, long value) {
-		names.add(name);
-		values.add(value);
-		types.add(Byte.valueOf((byte)XmlHandler.LONG_TYPE));
-		arraySize.add(null);
+		add(name, XmlHandler.LONG_TYPE, value, null, NOT_ARRAY);
 	}
 
 
@@ -111,10 +102,7 @@ public class XmlAttributes {
 	 * @param value the attribute's float value
 	 */
 	public void addAttributeFloat(String name, float value) {
-		names.add(name);
-		values.add(value);
-		types.add(Byte.valueOf((byte)XmlHandler.FLOAT_TYPE));
-		arraySize.add(null);
+		add(name, XmlHandler.FLOAT_TYPE, Float.floatToRawIntBits(value), null, NOT_ARRAY);
 	}
 
 
@@ -123,10 +111,7 @@ public class XmlAttributes {
 	 * @param value the attribute's double value
 	 */
 	public void addAttributeDouble(String name, double value) {
-		names.add(name);
-		values.add(value);
-		types.add(Byte.valueOf((byte)XmlHandler.DOUBLE_TYPE));
-		arraySize.add(null);
+		add(name, XmlHandler.DOUBLE_TYPE, Double.doubleToRawLongBits(value), null, NOT_ARRAY);
 	}
 
 
@@ -135,10 +120,7 @@ public class XmlAttributes {
 	 * @param value the attribute's value (as a string)
 	 */
 	public void addAttribute(String name, String value) {
-		names.add(name);
-		values.add(value);
-		types.add(Byte.valueOf((byte)XmlHandler.STRING_TYPE));
-		arraySize.add(null);
+		add(name, XmlHandler.STRING_TYPE, 0, value, NOT_ARRAY);
 	}
 
 
@@ -153,10 +135,7 @@ public class XmlAttributes {
 		byte type = checkType(valueList);
 		int size = valueList.size();
 		Object valuesArray = toArray(valueList, 0, size);
-		names.add(name);
-		values.add(valuesArray);
-		types.add(Byte.valueOf((byte)(type & XmlHandler.ARRAY_TYPE)));
-		arraySize.add(size);
+		add(name, type | XmlHandler.ARRAY_TYPE, 0, valuesArray, size);
 	}
 
 
@@ -166,7 +145,19 @@ public class XmlAttributes {
 	 * @return the attribute's value
 	 */
 	public String getAttributeName(int index) {
-		return names.get(index);
+		checkIndex(index);
+		return names[index];
+	}
+
+
+	/** Get the data type of the nth attribute in this attribute group
+	 * @param index the index of the attribute to get
+	 * @return the attribute's {@link XmlHandler} data type, for example {@link XmlHandler#INT_TYPE},
+	 * array attributes have the {@link XmlHandler#ARRAY_TYPE} bit set
+	 */
+	public byte getAttributeType(int index) {
+		checkIndex(index);
+		return types[index];
 	}
 
 
@@ -176,7 +167,21 @@ public class XmlAttributes {
 	 * @return the length of the array belonging to the specified attribute index
 	 */
 	public int getAttributeDataArrayLength(int index) {
-		return arraySize.get(index);
+		checkIndex(index);
+		if(arraySizes[index] == NOT_ARRAY) {
+			throw new IllegalArgumentException("attribute '" + names[index] + "' is not an array");
+		}
+		return arraySizes[index];
+	}
+
+
+	/** Get the array value of the specified attribute index
+	 * @param index the index of the attribute to get the value from
+	 * @return the primitive or String array of the attribute at the specified index, for example an {@code int[]}
+	 */
+	public Object getAttributeArray(int index) {
+		getAttributeDataArrayLength(index);
+		return objects[index];
 	}
 
 
@@ -185,13 +190,11 @@ public class XmlAttributes {
 	 * @return the boolean value of the attribute at the specified index
 	 */
 	public boolean getAttributeBoolean(int index) {
-		Object obj = values.get(index);
-		if(obj instanceof String) {
-			return Boolean.parseBoolean((String)obj);
-		}
-		else {
-			return (Boolean)obj;
+		checkIndex(index);
+		if(types[index] == XmlHandler.STRING_TYPE) {
+			return Boolean.parseBoolean((String)objects[index]);
 		}
+		return bits[index] != 0;
 	}
 
 
@@ -200,13 +203,11 @@ public class XmlAttributes {
 	 * @return the character value of the attribute at the specified index
 	 */
 	public char getAttributeChar(int index) {
-		Object obj = values.get(index);
-		if(obj instanceof String) {
-			return ((String)obj).charAt(0);
-		}
-		else {
-			return (Character)obj;
+		checkIndex(index);
+		if(types[index] == XmlHandler.STRING_TYPE) {
+			return ((String)objects[index]).charAt(0);
 		}
+		return (char)bits[index];
 	}
 
 
@@ -215,13 +216,11 @@ public class XmlAttributes {
 	 * @return the byte of the attribute at the specified index
 	 */
 	public byte getAttributeByte(int index) {
-		Object obj = values.get(index);
-		if(obj instanceof String) {
-			return Byte.parseByte((String)obj, 10);
-		}
-		else {
-			return (Byte)obj;
+		checkIndex(index);
+		if(types[index] == XmlHandler.STRING_TYPE) {
+			return Byte.parseByte((String)objects[index], 10);
 		}
+		return (byte)asLong(index);
 	}
 
 
@@ -230,13 +229,11 @@ public class XmlAttributes {
 	 * @return the short value of the attribute at the specified index
 	 */
 	public short getAttributeShort(int index) {
-		Object obj = values.get(index);
-		if(obj instanceof String) {
-			return Short.parseShort((String)obj, 10);
-		}
-		else {
-			return (Short)obj;
+		checkIndex(index);
+		if(types[index] == XmlHandler.STRING_TYPE) {
+			return Short.parseShort((String)objects[index], 10);
 		}
+		return (short)asLong(index);
 	}
 
 
@@ -245,13 +242,11 @@ public class XmlAttributes {
 	 * @return the int value of the attribute at the specified index
 	 */
 	public int getAttributeInt(int index) {
-		Object obj = values.get(index);
-		if(obj instanceof String) {
-			return Integer.parseInt((String)obj, 10);
-		}
-		else {
-			return (Integer)obj;
+		checkIndex(index);
+		if(types[index] == XmlHandler.STRING_TYPE) {
+			return Integer.parseInt((String)objects[index], 10);
 		}
+		return (int)asLong(index);
 	}
 
 
@@ -260,13 +255,11 @@ public class XmlAttributes {
 	 * @return the long value of the attribute at the specified index
 	 */
 	public long getAttributeLong(int index) {
-		Object obj = values.get(index);
-		if(obj instanceof String) {
-			return Long.parseLong((String)obj, 10);
-		}
-		else {
-			return (Long)obj;
+		checkIndex(index);
+		if(types[index] == XmlHandler.STRING_TYPE) {
+			return Long.parseLong((String)objects[index], 10);
 		}
+		return asLong(index);
 	}
 
 
@@ -275,13 +268,14 @@ public class XmlAttributes {
 	 * @return the float value of the attribute at the specified index
 	 */
 	public float getAttributeFloat(int index) {
-		Object obj = values.get(index);
-		if(obj instanceof String) {
-			return Float.parseFloat((String)obj);
+		checkIndex(index);
+		if(types[index] == XmlHandler.STRING_TYPE) {
+			return Float.parseFloat((String)objects[index]);
 		}
-		else {
-			return (Float)obj;
+		if(types[index] == XmlHandler.FLOAT_TYPE) {
+			return Float.intBitsToFloat((int)bits[index]);
 		}
+		return (float)asDouble(index);
 	}
 
 
@@ -290,22 +284,24 @@ public class XmlAttributes {
 	 * @return the double value of the attribute at the specified index
 	 */
 	public double getAttributeDouble(int index) {
-		Object obj = values.get(index);
-		if(obj instanceof String) {
-			return Double.parseDouble((String)obj);
-		}
-		else {
-			return (Double)obj;
+		checkIndex(index);
+		if(types[index] == XmlHandler.STRING_TYPE) {
+			return Double.parseDouble((String)objects[index]);
 		}
+		return asDouble(index);
 	}
 
 
 	/** Get the value (as a string) of the specified attribute index
 	 * @param index the index of the attribute to get the value from
-	 * @return the String value of the attribute at the specified index
+	 * @return the String value of the attribute at the specified index, non-string values are converted to strings
 	 */
 	public String getAttributeString(int index) {
-		return (String)values.get(index);
+		checkIndex(index);
+		if(types[index] == XmlHandler.STRING_TYPE) {
+			return (String)objects[index];
+		}
+		return String.valueOf(getValue(index));
 	}
 
 
@@ -313,15 +309,28 @@ public class XmlAttributes {
 	 * @return the unmodifiable list of attribute names in this attribute groups
 	 */
 	public List<String> getAttributeNames() {
+		if(namesIm == null) {
+			namesIm = new AbstractList<String>() {
+				@Override public String get(int index) { return getAttributeName(index); }
+				@Override public int size() { return size; }
+			};
+		}
 		return namesIm;
 	}
 
 
 	/** Returns a list of objects which will be one of the classes:
-	 * <code>Byte, Short, Integer, Long, Float, Double, Boolean, Char, String</code>
+	 * <code>Byte, Short, Integer, Long, Float, Double, Boolean, Char, String</code>, or a primitive or String array.<br>
+	 * Primitive values are boxed by this list when they are retrieved, use the typed {@code getAttribute*()} methods to avoid boxing.
 	 * @return the unmodifiable list of values in this attribute group
 	 */
 	public List<Object> getAttributeValues() {
+		if(valuesIm == null) {
+			valuesIm = new AbstractList<Object>() {
+				@Override public Object get(int index) { checkIndex(index); return getValue(index); }
+				@Override public int size() { return size; }
+			};
+		}
 		return valuesIm;
 	}
 
@@ -335,6 +344,12 @@ public class XmlAttributes {
 	 * @return the list of types in this attribute group
 	 */
 	public List<Byte> getAttributeTypes() {
+		if(typesIm == null) {
+			typesIm = new AbstractList<Byte>() {
+				@Override public Byte get(int index) { return getAttributeType(index); }
+				@Override public int size() { return size; }
+			};
+		}
 		return typesIm;
 	}
 
@@ -345,10 +360,98 @@ public class XmlAttributes {
 	 * data element is not an {@link XmlHandler#ARRAY_TYPE ARRAY_TYPE}.
 	 */
 	public List<Integer> getAttributeArrayLengths() {
+		if(arraySizeIm == null) {
+			arraySizeIm = new AbstractList<Integer>() {
+				@Override public Integer get(int index) { checkIndex(index); return arraySizes[index] != NOT_ARRAY ? arraySizes[index] : null; }
+				@Override public int size() { return size; }
+			};
+		}
 		return arraySizeIm;
 	}
 
 
+	private void add(String name, int type, long valueBits, Object value, int arraySize) {
+		if(size == names.length) {
+			int newSize = size * 2;
+			names = Arrays.copyOf(names, newSize);
+			types = Arrays.copyOf(types, newSize);
+			bits = Arrays.copyOf(bits, newSize);
+			objects = Arrays.copyOf(objects, newSize);
+			arraySizes = Arrays.copyOf(arraySizes, newSize);
+		}
+		names[size] = name;
+		types[size] = (byte)type;
+		bits[size] = valueBits;
+		objects[size] = value;
+		arraySizes[size] = arraySize;
+		size++;
+	}
+
+
+	private void checkIndex(int index) {
+		if(index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("attribute index " + index + ", size " + size);
+		}
+	}
+
+
+	/**
+	 * @return the numeric value of a non-string, non-array attribute as a long
+	 */
+	private long asLong(int index) {
+		switch(types[index]) {
+		case XmlHandler.FLOAT_TYPE:
+			return (long)Float.intBitsToFloat((int)bits[index]);
+		case XmlHandler.DOUBLE_TYPE:
+			return (long)Double.longBitsToDouble(bits[index]);
+		default:
+			return bits[index];
+		}
+	}
+
+
+	/**
+	 * @return the numeric value of a non-string, non-array attribute as a double
+	 */
+	private double asDouble(int index) {
+		switch(types[index]) {
+		case XmlHandler.FLOAT_TYPE:
+			return Float.intBitsToFloat((int)bits[index]);
+		case XmlHandler.DOUBLE_TYPE:
+			return Double.longBitsToDouble(bits[index]);
+		default:
+			return bits[index];
+		}
+	}
+
+
+	/**
+	 * @return the boxed value of an attribute
+	 */
+	private Object getValue(int index) {
+		switch(types[index]) {
+		case XmlHandler.BOOLEAN_TYPE:
+			return bits[index] != 0;
+		case XmlHandler.CHAR_TYPE:
+			return (char)bits[index];
+		case XmlHandler.BYTE_TYPE:
+			return (byte)bits[index];
+		case XmlHandler.SHORT_TYPE:
+			return (short)bits[index];
+		case XmlHandler.INT_TYPE:
+			return (int)bits[index];
+		case XmlHandler.LONG_TYPE:
+			return bits[index];
+		case XmlHandler.FLOAT_TYPE:
+			return Float.intBitsToFloat((int)bits[index]);
+		case XmlHandler.DOUBLE_TYPE:
+			return Double.longBitsToDouble(bits[index]);
+		default:
+			return objects[index];
+		}
+	}
+
+
 	/** Check if all of the values in the specified array are of the same type or subtype and
 	 * return the {@link XmlHandler} value of the specified array.
 	 * @param values the list of values to check the type of
@@ -409,92 +512,53 @@ public class XmlAttributes {
 	 * index <code>offset</code> in the list.
 	 */
 	private Object toArray(List<Object> values, int offset, int length) {
-		String[] st = null;
-		long[] lo = null;
-		int[] in = null;
-		short[] sh = null;
-		byte[] by = null;
-		float[] fl = null;
-		double[] dou = null;
-		char[] ch = null;
-		boolean[] bo = null;
 		Object obj = values.get(offset);
-
+		Class<?> componentType;
 		if(obj instanceof String) {
-			st = new String[length];
-			for(int i = 0; i < length; i++) {
-				st[i] = (String)values.get(offset+i);
-			}
-			return st;
+			componentType = String.class;
 		}
 		else if(obj instanceof Integer) {
-			in = new int[length];
-			for(int i = 0; i < length; i++) {
-				in[i] = (Integer)values.get(offset+i);
-			}
-			return st;
+			componentType = int.class;
 		}
 		else if(obj instanceof Float) {
-			fl = new float[length];
-			for(int i = 0; i < length; i++) {
-				fl[i] = (Float)values.get(offset+i);
-			}
-			return st;
+			componentType = float.class;
 		}
 		else if(obj instanceof Boolean) {
-			bo = new boolean[length];
-			for(int i = 0; i < length; i++) {
-				bo[i] = (Boolean)values.get(offset+i);
-			}
-			return st;
+			componentType = boolean.class;
 		}
 		else if(obj instanceof Byte) {
-			by = new byte[length];
-			for(int i = 0; i < length; i++) {
-				by[i] = (Byte)values.get(offset+i);
-			}
-			return st;
+			componentType = byte.class;
 		}
 		else if(obj instanceof Short) {
-			sh = new short[length];
-			for(int i = 0; i < length; i++) {
-				sh[i] = (Short)values.get(offset+i);
-			}
-			return st;
+			componentType = short.class;
 		}
 		else if(obj instanceof Long) {
-			lo = new long[length];
-			for(int i = 0; i < length; i++) {
-				lo[i] = (Long)values.get(offset+i);
-			}
-			return st;
+			componentType = long.class;
 		}
 		else if(obj instanceof Double) {
-			dou = new double[length];
-			for(int i = 0; i < length; i++) {
-				dou[i] = (Double)values.get(offset+i);
-			}
-			return st;
+			componentType = double.class;
 		}
 		else if(obj instanceof Character) {
-			ch = new char[length];
-			for(int i = 0; i < length; i++) {
-				ch[i] = (Character)values.get(offset+i);
-			}
-			return st;
+			componentType = char.class;
 		}
 		else {
 			return null;
 		}
+		// Array.set() unboxes values into primitive arrays
+		Object ary = Array.newInstance(componentType, length);
+		for(int i = 0; i < length; i++) {
+			Array.set(ary, i, values.get(offset + i));
+		}
+		return ary;
 	}
 
 
 	/** Clear all of the names and values in this XML attribute group
 	 */
 	public void clear() {
-		names.clear();
-		values.clear();
-		types.clear();
+		Arrays.fill(names, 0, size, null);
+		Arrays.fill(objects, 0, size, null);
+		size = 0;
 	}
 
 
@@ -502,30 +566,42 @@ public class XmlAttributes {
 	 * @return the number of attributes in this XML attribute group
 	 */
 	public int size() {
-		return names.size();
+		return size;
 	}
 
 
 	@Override
 	public String toString() {
-		List<String> name = names;
-		List<Object> value = values;
-		int size = name.size();
 		if(size < 1) {
 			return "";
 		}
 		StringBuilder str = new StringBuilder();
-		for(int i = 0; i < size-1; i++) {
-			str.append(name.get(i));
+		for(int i = 0; i < size; i++) {
+			if(i > 0) {
+				str.append(',');
+				str.append(' ');
+			}
+			str.append(names[i]);
 			str.append('=');
-			str.append(value.get(i));
-			str.append(',');
-			str.append(' ');
+			Object value = getValue(i);
+			if(value != null && value.getClass().isArray()) {
+				appendArray(str, value);
+			}
+			else {
+				str.append(value);
+			}
 		}
-		str.append(name.get(size-1));
-		str.append('=');
-		str.append(value.get(size-1));
 		return str.toString();
 	}
 
+
+	private static void appendArray(StringBuilder dst, Object ary) {
+		for(int i = 0, len = Array.getLength(ary); i < len; i++) {
+			if(i > 0) {
+				dst.append(',');
+			}
+			dst.append(Array.get(ary, i));
+		}
+	}
+
 }
@@ -14,6 +14,7 @@ import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamConstants;
@@ -87,17 +88,31 @@ public class XmlHandler {
 	private static final String XML_HEADER_CLOSING = "\"?>" + lineSeparator;
 	private static final String XML_VERSION = "1.0";
 	private static final String[] charsetNames = new String[] {"UTF-8", "US-ASCII", "UTF-16"};
-	private static volatile XMLInputFactory factory;
+	private static boolean useXmlTokenizer = false;
 
 
-	/** Get the default XML stream factory
+	/** Get the default XML stream factory, the factory is created when it is first used without locking.
+	 * The factory is configured for the documents written by {@link XmlOutputWriter}: adjacent text is not coalesced,
+	 * namespaces are not processed (names are returned as written, the same as {@link XmlPullTokenizer}),
+	 * and DTDs and external entities are not supported.
 	 * @return the default XML factory for this XML handler
 	 */
-	static final synchronized XMLInputFactory getXMLFactory() {
-		if(factory == null) {
-			factory = XMLInputFactory.newInstance();
-		}
-		return factory;
+	static final XMLInputFactory getXMLFactory() {
+		return FactoryHolder.factory;
+	}
+
+
+	public static final boolean isUseXmlTokenizer() {
+		return useXmlTokenizer;
+	}
+
+
+	/**
+	 * @param useTokenizer true to read {@code UTF-8} and {@code US-ASCII} XML byte streams using an {@link XmlPullTokenizer},
+	 * false to read them using the default {@link XMLInputFactory} stream reader
+	 */
+	public static final void setUseXmlTokenizer(boolean useTokenizer) {
+		useXmlTokenizer = useTokenizer;
 	}
 
 
@@ -150,8 +165,6 @@ public class XmlHandler {
 	private static void readXMLObjectsInternal(InputStream input, boolean doBuffer, boolean close, Charset charset,
 			String xmlTag, String descriptor, Xmlable[] xmlObjects, boolean aggressiveParsing, boolean throwsNoTagException) throws Exception {
 		XmlInput in = createXMLReader(input, doBuffer, charset, aggressiveParsing, throwsNoTagException);
-		XMLStreamReader reader = getXMLFactory().createXMLStreamReader(input, defaultCharset.name());
-		in = new XmlInputReader(reader, aggressiveParsing, throwsNoTagException);
 
 		in.readStartBlock(xmlTag);
 
@@ -247,6 +260,10 @@ public class XmlHandler {
 		if(charset == null) {
 			charset = defaultCharset;
 		}
+		// the tokenizer buffers its input and decodes UTF-8, which US-ASCII is a subset of
+		if(useXmlTokenizer && (StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset))) {
+			return new XmlInputReader(new XmlPullTokenizer(input), aggressiveParsing, throwsNoTagException);
+		}
 		if(doBuffer == true && !(input instanceof BufferedInputStream)) {
 			input = new BufferedInputStream(input);
 		}
@@ -259,6 +276,24 @@ public class XmlHandler {
 	}
 
 
+	/** Create an XML input stream which reads from an in-memory buffer using an {@link XmlPullTokenizer}
+	 * @param buf the buffer containing {@code UTF-8} XML data
+	 * @param off the offset of the data in {@code buf}
+	 * @param len the number of bytes of data in {@code buf}
+	 * @param aggressiveParsing <code>True</code> causes the parser to read multiple elements when an element
+	 * cannot be found. <code>False</code> causes the parser to only read one element regardless of whether the
+	 * element contains the matching tag name or not.
+	 * @param throwsNoTagException <code>True</code> causes the parser to throw an exception if an opening or
+	 * closing tag cannot be found. <code>False</code> causes the parser to silently ignore the missing tag.
+	 * @return the XML input stream created from the buffer
+	 * @throws IOException if there is an error creating the XML input stream
+	 */
+	public static XmlInput createXMLReader(byte[] buf, int off, int len, boolean aggressiveParsing,
+			boolean throwsNoTagException) throws IOException {
+		return new XmlInputReader(new XmlPullTokenizer(buf, off, len), aggressiveParsing, throwsNoTagException);
+	}
+
+
 	/** Create an XML (text or binary) input stream from the specified reader
 	 * @param reader the input reader to create an XML input stream from
 	 * @param doBuffer true to wrap the input stream in a buffered input stream,
@@ -407,4 +442,26 @@ public class XmlHandler {
 		return StringEscapeXml.unescapeXml(content);
 	}
 
+
+
+	/** Initialization-on-demand holder for the shared {@link XMLInputFactory}, class initialization makes the
+	 * factory safely visible to every thread without synchronizing each call to {@link XmlHandler#getXMLFactory()}.
+	 * The factory is not modified after it is configured, so concurrent readers can be created from it without a lock
+	 */
+	private static final class FactoryHolder {
+		static final XMLInputFactory factory = createFactory();
+
+
+		private static XMLInputFactory createFactory() {
+			XMLInputFactory factory = XMLInputFactory.newInstance();
+			factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+			factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+			factory.setProperty(XMLInputFactory.IS_VALIDATING, false);
+			factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+			factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+			return factory;
+		}
+
+	}
+
 }
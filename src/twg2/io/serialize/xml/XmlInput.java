@@ -3,6 +3,7 @@ package twg2.io.serialize.xml;
 import java.io.Closeable;
 import java.io.DataInput;
 import java.io.IOException;
+import java.io.OutputStream;
 
 import twg2.io.serialize.base.DataElement;
 import twg2.io.serialize.base.reader.DataTransferInput;
@@ -32,6 +33,16 @@ public interface XmlInput extends DataTransferInput, Closeable {
 	public void read(byte[] b, int off, int len) throws IOException;
 
 
+	/** Read the Base64 encoded contents of the next XML element into a stream.
+	 * The contents are decoded in chunks as they are parsed, so the element's contents are never held in memory.
+	 * @param name the name of the XML element to read
+	 * @param dst the stream to write the decoded bytes to, it is not closed
+	 * @return the number of bytes written to {@code dst}
+	 * @throws IOException if there is an IO or XML error reading from the input stream or writing to {@code dst}
+	 */
+	public long readBinary(String name, OutputStream dst) throws IOException;
+
+
 	/** Parse a boolean value from the next XML element.
 	 * @return the boolean read from the XML document
 	 * @throws IOException if there is an IO or XML error reading from the input stream
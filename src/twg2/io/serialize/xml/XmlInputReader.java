@@ -2,10 +2,15 @@ package twg2.io.serialize.xml;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 
-import javax.xml.bind.DatatypeConverter;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
@@ -14,9 +19,16 @@ import twg2.io.serialize.base.DataElement;
 import twg2.io.serialize.base.DataElementImpl;
 import twg2.io.serialize.base.ParsedElementType;
 import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.reader.FieldProjection;
+import twg2.io.serialize.base.reader.NumberParser;
+import twg2.io.serialize.base.reader.RecordFilter;
+import twg2.io.serialize.base.reader.StringCache;
 
 /** {@link XmlInput} implementation for reading XML text data from an {@link XMLStreamReader}.
- * This class allows XML opening and closing tags to be read as well as strings and basic data types.
+ * This class allows XML opening and closing tags to be read as well as strings and basic data types.<br/>
+ * The numeric read methods, such as {@link #readInt()} and {@link #readDouble()}, parse plain element contents directly
+ * from the reader's char buffer using {@link NumberParser} without creating a string, so {@link #getCurrentElement()}
+ * has null contents after one of these methods.
  * @author TeamworkGuy2
  * @since 2013-2-1
  */
@@ -33,8 +45,21 @@ public class XmlInputReader implements XmlInput, DataTransferInput {
 	private DataElement lastOpeningTag;
 	private XmlAttributes attributesStack;
 	private DataElement peekHeader;
-	private StringBuilder contentsBldr = new StringBuilder();
+	/** the text of the last element read, {@link #cachedContents} is decoded from this unless {@link #numberContents} is true */
+	private char[] contentsBuf = new char[64];
+	private int contentsLen;
 	private String cachedContents = null;
+	/** true while one of the numeric read methods is reading an element,
+	 * plain contents (no entity references) are then left in {@link #contentsBuf} without creating {@link #cachedContents} */
+	private boolean numberRead;
+	/** true if the last element read has its contents in {@link #contentsBuf} and {@link #cachedContents} is null */
+	private boolean numberContents;
+	private FieldProjection projection;
+	private RecordFilter recordFilter;
+	/** if not null, element contents without entity references are looked up in this cache instead of always creating a new string */
+	private StringCache stringCache;
+	/** the {@link #tagStack} size of the block containing the records being filtered by {@link #recordFilter} */
+	private int recordDepth;
 
 
 	/** An XML input stream parser
@@ -77,19 +102,37 @@ public class XmlInputReader implements XmlInput, DataTransferInput {
 
 	@Override
 	public void read(String name, byte[] b) throws IOException {
-		next(ParsedElementType.ELEMENT, true, 0, parseAhead, name);
-		byte[] result = DatatypeConverter.parseBase64Binary(cachedContents);
-		System.arraycopy(result, 0, b, 0, b.length);
-		return;
+		readBase64(parseAhead, name, b, 0, b.length);
 	}
 
 
 	@Override
 	public void read(String name, byte[] b, int off, int len) throws IOException {
-		next(ParsedElementType.ELEMENT, true, 0, parseAhead, name);
-		byte[] result = DatatypeConverter.parseBase64Binary(cachedContents);
-		System.arraycopy(result, 0, b, off, len);
-		return;
+		readBase64(parseAhead, name, b, off, len);
+	}
+
+
+	@Override
+	public long readBinary(String name, OutputStream dst) throws IOException {
+		try(InputStream in = openBase64(parseAhead, name)) {
+			return in.transferTo(dst);
+		}
+	}
+
+
+	@Override
+	public InputStream openBinaryStream(String name) throws IOException {
+		return openBase64(parseAhead, name);
+	}
+
+
+	/** Open a reader over the text of the next element.
+	 * Unlike {@link #readString(String)}, the text is returned exactly as parsed, it is not trimmed
+	 * and entity references are only decoded once, by the XML parser
+	 */
+	@Override
+	public Reader openStringReader(String name) throws IOException {
+		return openText(parseAhead, name);
 	}
 
 
@@ -123,40 +166,35 @@ public class XmlInputReader implements XmlInput, DataTransferInput {
 
 	@Override
 	public double readDouble(String name) throws IOException {
-		next(ParsedElementType.ELEMENT, true, 0, parseAhead, name);
-		double result = Double.parseDouble(cachedContents);
+		double result = nextNumber(parseAhead, name) ? NumberParser.parseDouble(contentsBuf, 0, contentsLen) : Double.parseDouble(cachedContents);
 		return result;
 	}
 
 
 	@Override
 	public float readFloat(String name) throws IOException {
-		next(ParsedElementType.ELEMENT, true, 0, parseAhead, name);
-		float result = Float.parseFloat(cachedContents);
+		float result = nextNumber(parseAhead, name) ? NumberParser.parseFloat(contentsBuf, 0, contentsLen) : Float.parseFloat(cachedContents);
 		return result;
 	}
 
 
 	@Override
 	public int readInt(String name) throws IOException {
-		next(ParsedElementType.ELEMENT, true, 0, parseAhead, name);
-		int result = Integer.parseInt(cachedContents, 10);
+		int result = nextNumber(parseAhead, name) ? NumberParser.parseInt(contentsBuf, 0, contentsLen) : Integer.parseInt(cachedContents, 10);
 		return result;
 	}
 
 
 	@Override
 	public long readLong(String name) throws IOException {
-		next(ParsedElementType.ELEMENT, true, 0, parseAhead, name);
-		long result = Long.parseLong(cachedContents, 10);
+		long result = nextNumber(parseAhead, name) ? NumberParser.parseLong(contentsBuf, 0, contentsLen) : Long.parseLong(cachedContents, 10);
 		return result;
 	}
 
 
 	@Override
 	public short readShort(String name) throws IOException {
-		next(ParsedElementType.ELEMENT, true, 0, parseAhead, name);
-		short result = Short.parseShort(cachedContents, 10);
+		short result = nextNumber(parseAhead, name) ? NumberParser.parseShort(contentsBuf, 0, contentsLen) : Short.parseShort(cachedContents, 10);
 		return result;
 	}
 
@@ -170,19 +208,13 @@ public class XmlInputReader implements XmlInput, DataTransferInput {
 
 	@Override
 	public void read(byte[] b) throws IOException {
-		next(ParsedElementType.ELEMENT, true, 0, false, null);
-		byte[] result = DatatypeConverter.parseBase64Binary(cachedContents);
-		System.arraycopy(result, 0, b, 0, b.length);
-		return;
+		readBase64(false, null, b, 0, b.length);
 	}
 
 
 	@Override
 	public void read(byte[] b, int off, int len) throws IOException {
-		next(ParsedElementType.ELEMENT, true, 0, false, null);
-		byte[] result = DatatypeConverter.parseBase64Binary(cachedContents);
-		System.arraycopy(result, 0, b, off, len);
-		return;
+		readBase64(false, null, b, off, len);
 	}
 
 
@@ -216,40 +248,35 @@ public class XmlInputReader implements XmlInput, DataTransferInput {
 
 	@Override
 	public double readDouble() throws IOException {
-		next(ParsedElementType.ELEMENT, true, 0, false, null);
-		double result = Double.parseDouble(cachedContents);
+		double result = nextNumber(false, null) ? NumberParser.parseDouble(contentsBuf, 0, contentsLen) : Double.parseDouble(cachedContents);
 		return result;
 	}
 
 
 	@Override
 	public float readFloat() throws IOException {
-		next(ParsedElementType.ELEMENT, true, 0, false, null);
-		float result = Float.parseFloat(cachedContents);
+		float result = nextNumber(false, null) ? NumberParser.parseFloat(contentsBuf, 0, contentsLen) : Float.parseFloat(cachedContents);
 		return result;
 	}
 
 
 	@Override
 	public int readInt() throws IOException {
-		next(ParsedElementType.ELEMENT, true, 0, false, null);
-		int result = Integer.parseInt(cachedContents, 10);
+		int result = nextNumber(false, null) ? NumberParser.parseInt(contentsBuf, 0, contentsLen) : Integer.parseInt(cachedContents, 10);
 		return result;
 	}
 
 
 	@Override
 	public long readLong() throws IOException {
-		next(ParsedElementType.ELEMENT, true, 0, false, null);
-		long result = Long.parseLong(cachedContents, 10);
+		long result = nextNumber(false, null) ? NumberParser.parseLong(contentsBuf, 0, contentsLen) : Long.parseLong(cachedContents, 10);
 		return result;
 	}
 
 
 	@Override
 	public short readShort() throws IOException {
-		next(ParsedElementType.ELEMENT, true, 0, false, null);
-		short result = Short.parseShort(cachedContents, 10);
+		short result = nextNumber(false, null) ? NumberParser.parseShort(contentsBuf, 0, contentsLen) : Short.parseShort(cachedContents, 10);
 		return result;
 	}
 
@@ -301,6 +328,7 @@ public class XmlInputReader implements XmlInput, DataTransferInput {
 			} catch(XMLStreamException e) {
 				throw new IOException(e);
 			}
+			checkRecordFilter(xmlTag);
 		}
 		if(xmlTag != null) {
 			if(xmlTag.isStartBlock()) {
@@ -363,6 +391,78 @@ public class XmlInputReader implements XmlInput, DataTransferInput {
 	}
 
 
+	/** Decode the Base64 contents of the next element directly into {@code b}, bytes past {@code len} are skipped
+	 * @throws IOException if the element contains less than {@code len} bytes
+	 */
+	private void readBase64(boolean matchName, String name, byte[] b, int off, int len) throws IOException {
+		try(InputStream in = openBase64(matchName, name)) {
+			int count = in.readNBytes(b, off, len);
+			if(count < len) {
+				throw new IOException("expected " + len + " bytes in element '" + lastOpeningTag.getName() + "', found " + count);
+			}
+		}
+	}
+
+
+	/** Read the next element's opening tag and return a stream which decodes the element's Base64 contents as they are read
+	 * @see #openText(boolean, String)
+	 */
+	private InputStream openBase64(boolean matchName, String name) throws IOException {
+		// the MIME decoder ignores whitespace and line breaks in the element's text
+		return Base64.getMimeDecoder().wrap(new AsciiInputStream(openText(matchName, name)));
+	}
+
+
+	/** Read the next element's opening tag and return a reader over the element's text events as they are parsed.
+	 * The element's contents are not converted to a string, unless the element was already peeked or the contents
+	 * are needed by the record filter. Closing the reader skips any unread contents and the element's closing tag
+	 */
+	private Reader openText(boolean matchName, String name) throws IOException {
+		if(peekHeader != null || recordFilter != null) {
+			next(ParsedElementType.ELEMENT, true, 0, matchName, name);
+			return new StringReader(cachedContents);
+		}
+		try {
+			int curTag = nextTag(xmlReader, xmlReader.getEventType());
+			while(curTag == START_EL && !isProjected(xmlReader)) {
+				curTag = nextTag(xmlReader, skipElement(xmlReader));
+			}
+			if(curTag != START_EL) {
+				throw new IOException("could not find '" + XmlHandler.toString(START_EL) +
+						"' element, found '" + XmlHandler.toString(curTag) + "' instead");
+			}
+			readAttributes(xmlReader, attributesStack);
+			lastOpeningTag = new DataElementImpl(xmlReader.getLocalName(), -1, null, ParsedElementType.ELEMENT);
+			cachedContents = null;
+			numberContents = false;
+		} catch(XMLStreamException e) {
+			throw new IOException(e);
+		}
+		return new ElementTextReader();
+	}
+
+
+	/** Read the next element for one of the numeric read methods.
+	 * Plain contents are left in {@link #contentsBuf} without being converted to a string, unless
+	 * the element was already peeked or the contents are needed by the record filter
+	 * @return true if the element's contents are in {@link #contentsBuf},
+	 * false if they are in {@link #cachedContents}
+	 */
+	private boolean nextNumber(boolean matchName, String name) throws IOException {
+		if(peekHeader != null || recordFilter != null) {
+			next(ParsedElementType.ELEMENT, true, 0, matchName, name);
+			return false;
+		}
+		numberRead = true;
+		try {
+			next(ParsedElementType.ELEMENT, true, 0, matchName, name);
+		} finally {
+			numberRead = false;
+		}
+		return numberContents;
+	}
+
+
 	private DataElement next(ParsedElementType typeHint, boolean readFirst, int elemType, boolean matchName, String name)
 			throws IOException {
 		DataElement xmlTag = null;
@@ -377,6 +477,7 @@ public class XmlInputReader implements XmlInput, DataTransferInput {
 		} catch(XMLStreamException e) {
 			throw new IOException(e);
 		}
+		checkRecordFilter(xmlTag);
 		return xmlTag;
 	}
 
@@ -399,13 +500,17 @@ public class XmlInputReader implements XmlInput, DataTransferInput {
 		int curTag = reader.getEventType();
 		// read until an opening element is found
 		if(readFirst) {
-			while(reader.hasNext() && curTag != START_EL && curTag != END_EL && curTag != END_DOC) { curTag = reader.next(); }
+			curTag = nextTag(reader, curTag);
+			// skip elements which are not part of the projection
+			while(curTag == START_EL && !isProjected(reader)) {
+				curTag = nextTag(reader, skipElement(reader));
+			}
 		}
 		// read until an opening element with the correct tag name is found
 		else if(matchName) {
-			while(reader.hasNext() && curTag != elmType && curTag != END_DOC &&
-					(curTag != START_EL && curTag != END_EL || !elementName.equals(reader.getLocalName()))) {
-				curTag = reader.next();
+			curTag = nextMatchingTag(reader, curTag, elmType, elementName);
+			while(curTag == START_EL && !isProjected(reader)) {
+				curTag = nextMatchingTag(reader, skipElement(reader), elmType, elementName);
 			}
 		}
 		// read the next matching element type regardless of element name
@@ -427,12 +532,11 @@ public class XmlInputReader implements XmlInput, DataTransferInput {
 			if(curTag == START_EL) {
 				readAttributes(xmlReader, attributesStack);
 
-				ParsedElementType nextElementType = readContentsUntil(reader, contentsBldr);
+				ParsedElementType nextElementType = readContentsUntil(reader);
 				if(typeHint == ParsedElementType.ELEMENT && nextElementType == ParsedElementType.FOOTER) {
 					nextElementType = ParsedElementType.ELEMENT;
 				}
-				cachedContents = XmlHandler.convertElement(contentsBldr.toString().trim());
-				contentsBldr.setLength(0);
+				cachedContents = convertContents();
 
 				if(nextElementType == ParsedElementType.ELEMENT) {
 					readAttributes(xmlReader, attributesStack);
@@ -464,12 +568,11 @@ public class XmlInputReader implements XmlInput, DataTransferInput {
 			readAttributes(reader, attributesStack);
 			String tagName = reader.getLocalName();
 
-			ParsedElementType nextElementType = readContentsUntil(reader, contentsBldr);
+			ParsedElementType nextElementType = readContentsUntil(reader);
 			if(typeHint == ParsedElementType.ELEMENT && nextElementType == ParsedElementType.FOOTER) {
 				nextElementType = ParsedElementType.ELEMENT;
 			}
-			cachedContents = XmlHandler.convertElement(contentsBldr.toString().trim());
-			contentsBldr.setLength(0);
+			cachedContents = convertContents();
 
 			if(nextElementType == ParsedElementType.HEADER || nextElementType == ParsedElementType.FOOTER) {
 				return new DataElementImpl(tagName, -1, cachedContents, ParsedElementType.HEADER);
@@ -491,12 +594,117 @@ public class XmlInputReader implements XmlInput, DataTransferInput {
 			}
 			String tagName = reader.getLocalName();
 			cachedContents = null;
+			numberContents = false;
 			reader.next();
 			return new DataElementImpl(tagName, -1, cachedContents, ParsedElementType.FOOTER);
 		}
 	}
 
 
+	/** Convert the text in {@link #contentsBuf} to an element's contents by trimming it and decoding entity references.<br/>
+	 * When called by a numeric read method and the text contains no entity references, the text is left in
+	 * {@link #contentsBuf} for the number parser and null is returned
+	 */
+	private String convertContents() {
+		if(numberRead) {
+			numberContents = true;
+			for(int i = 0; i < contentsLen; i++) {
+				if(contentsBuf[i] == '&') {
+					numberContents = false;
+					break;
+				}
+			}
+			if(numberContents) {
+				return null;
+			}
+		}
+		numberContents = false;
+		if(stringCache != null) {
+			// trim the same chars as String.trim() and look up plain contents without creating a string
+			int start = 0;
+			int end = contentsLen;
+			while(start < end && contentsBuf[start] <= ' ') {
+				start++;
+			}
+			while(end > start && contentsBuf[end - 1] <= ' ') {
+				end--;
+			}
+			boolean plain = true;
+			for(int i = start; i < end; i++) {
+				if(contentsBuf[i] == '&') {
+					plain = false;
+					break;
+				}
+			}
+			if(plain) {
+				return stringCache.get(contentsBuf, start, end - start);
+			}
+		}
+		return XmlHandler.convertElement(new String(contentsBuf, 0, contentsLen).trim());
+	}
+
+
+	/** Check an element against this reader's record filter if the element belongs to a filtered record
+	 * @throws twg2.io.serialize.base.reader.RecordRejectedException if the element fails the record filter
+	 */
+	private void checkRecordFilter(DataElement xmlTag) {
+		if(recordFilter != null && xmlTag != null && xmlTag.isElement() && tagStack.size() == recordDepth + 1) {
+			recordFilter.check(xmlTag.getName(), xmlTag.getContent());
+		}
+	}
+
+
+	/** Check whether the element the reader is on is part of this reader's projection
+	 * @param reader the reader, on a {@link XMLStreamConstants#START_ELEMENT} event
+	 * @return true if there is no projection or the element is part of the projection
+	 */
+	private boolean isProjected(XMLStreamReader reader) {
+		return projection == null || projection.isWanted(tagStack, reader.getLocalName());
+	}
+
+
+	/** Read until the next opening or closing element or the end of the document
+	 * @return the event the reader stopped on
+	 */
+	private static int nextTag(XMLStreamReader reader, int curTag) throws XMLStreamException {
+		while(reader.hasNext() && curTag != START_EL && curTag != END_EL && curTag != END_DOC) { curTag = reader.next(); }
+		return curTag;
+	}
+
+
+	/** Read until the next {@code elmType} element or an opening or closing element named {@code elementName}
+	 * @return the event the reader stopped on
+	 */
+	private static int nextMatchingTag(XMLStreamReader reader, int curTag, int elmType, String elementName) throws XMLStreamException {
+		while(reader.hasNext() && curTag != elmType && curTag != END_DOC &&
+				(curTag != START_EL && curTag != END_EL || !elementName.equals(reader.getLocalName()))) {
+			curTag = reader.next();
+		}
+		return curTag;
+	}
+
+
+	/** Skip an entire element, including nested elements, without reading its contents<br/>
+	 * pre-condition: the {@code reader} is currently on a {@link XMLStreamConstants#START_ELEMENT} event.<br/>
+	 * post-condition: the {@code reader} is on the event following the element's {@code END_ELEMENT} event.
+	 * @return the event the reader stopped on
+	 */
+	private static int skipElement(XMLStreamReader reader) throws XMLStreamException {
+		int curTag = START_EL;
+		int depth = 1;
+		while(depth > 0 && reader.hasNext()) {
+			curTag = reader.next();
+			if(curTag == START_EL) {
+				depth++;
+			}
+			else if(curTag == END_EL) {
+				depth--;
+			}
+		}
+		return reader.hasNext() ? reader.next() : curTag;
+	}
+
+
 	/** Read any attributes attached to the current tag
 	 * @param reader
 	 * @param attribs
@@ -517,23 +725,26 @@ public class XmlInputReader implements XmlInput, DataTransferInput {
 	}
 
 
-	/** Read the contents of an element<br/>
+	/** Read the contents of an element into {@link #contentsBuf}<br/>
 	 * pre-condition: the {@code reader} is currently on a {@link XMLStreamConstants#START_ELEMENT} event.<br/>
 	 * post-condition: the {@code reader} is on a {@code END_ELEMENT}, {@code END_DOCUMENT}, or {@code START_ELEMENT} event.
 	 * @param reader the input stream to read XML parser events from
-	 * @param dst the destination to store the element's contents in
 	 * @return {@link ParsedElementType#HEADER HEADER} if the next element after the parsed contents is an starting block<br>
 	 * {@link ParsedElementType#FOOTER FOOTER} if the next element is an ending block and there was no contents in the block<br>
 	 * {@link ParsedElementType#ELEMENT ELEMENT} if the next element is an ending block and there was contents in the block
 	 * @throws XMLStreamException if there was an error reading from the input stream
 	 */
-	private static ParsedElementType readContentsUntil(XMLStreamReader reader, StringBuilder dst)
-			throws XMLStreamException {
+	private ParsedElementType readContentsUntil(XMLStreamReader reader) throws XMLStreamException {
 		int curTag = reader.getEventType();
-		int dstOffset = dst.length();
+		contentsLen = 0;
 		while(reader.hasNext() && curTag != END_DOC && curTag != END_EL) {
-			if(curTag == XMLStreamConstants.CHARACTERS && !reader.isWhiteSpace()) {
-				dst.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+			if(curTag == XMLStreamConstants.CHARACTERS) {
+				int len = reader.getTextLength();
+				if(contentsLen + len > contentsBuf.length) {
+					contentsBuf = Arrays.copyOf(contentsBuf, Math.max(contentsLen + len, contentsBuf.length * 2));
+				}
+				System.arraycopy(reader.getTextCharacters(), reader.getTextStart(), contentsBuf, contentsLen, len);
+				contentsLen += len;
 			}
 			curTag = reader.next();
 			if(curTag == START_EL) {
@@ -543,8 +754,8 @@ public class XmlInputReader implements XmlInput, DataTransferInput {
 		// The loop ends because the end of the element or document was found,
 		// if the element contents is empty or only whitespace, assume the element was a block
 		boolean isWhitespace = true;
-		for(int i = dstOffset, size = dst.length(); i < size; i++) {
-			if(!Character.isWhitespace(dst.charAt(i))) {
+		for(int i = 0; i < contentsLen; i++) {
+			if(!Character.isWhitespace(contentsBuf[i])) {
 				isWhitespace = false;
 			}
 		}
@@ -556,6 +767,61 @@ public class XmlInputReader implements XmlInput, DataTransferInput {
 	}
 
 
+	@Override
+	public void setProjection(FieldProjection projection) {
+		this.projection = projection;
+	}
+
+
+	@Override
+	public FieldProjection getProjection() {
+		return projection;
+	}
+
+
+	@Override
+	public void setRecordFilter(RecordFilter filter) {
+		this.recordFilter = filter;
+		this.recordDepth = tagStack.size();
+	}
+
+
+	@Override
+	public void setStringCache(StringCache cache) {
+		this.stringCache = cache;
+	}
+
+
+	@Override
+	public StringCache getStringCache() {
+		return stringCache;
+	}
+
+
+	@Override
+	public void skipRecord() throws IOException {
+		peekHeader = null;
+		try {
+			// read until the blocks opened since the record filter was set are closed
+			int curTag = xmlReader.getEventType();
+			while(tagStack.size() > recordDepth && curTag != END_DOC) {
+				if(curTag == START_EL) {
+					curTag = skipElement(xmlReader);
+				}
+				else if(curTag == END_EL) {
+					tagStack.remove(tagStack.size()-1);
+					curTag = xmlReader.next();
+				}
+				else {
+					curTag = xmlReader.next();
+				}
+			}
+		} catch(XMLStreamException e) {
+			throw new IOException(e);
+		}
+	}
+
+
 	@Override
 	public XmlAttributes getCurrentElementAttributes() {
 		return this.attributesStack;
@@ -612,4 +878,116 @@ public class XmlInputReader implements XmlInput, DataTransferInput {
 		this.xmlReader = null;
 	}
 
+
+
+	/** Reads the text of the element {@link #xmlReader} is on, ending at the element's closing tag.<br/>
+	 * pre-condition: the reader is on the element's {@link XMLStreamConstants#START_ELEMENT} event.<br/>
+	 * post-condition: once the end of the text is read or this reader is closed, the reader is on the event following the element's {@code END_ELEMENT}.
+	 */
+	private final class ElementTextReader extends Reader {
+		private char[] text;
+		private int pos;
+		private int end;
+		private boolean done;
+
+
+		@Override
+		public int read(char[] cbuf, int off, int len) throws IOException {
+			if(len == 0) {
+				return 0;
+			}
+			if(!fill()) {
+				return -1;
+			}
+			int count = Math.min(len, end - pos);
+			System.arraycopy(text, pos, cbuf, off, count);
+			pos += count;
+			return count;
+		}
+
+
+		@Override
+		public void close() throws IOException {
+			while(!done) {
+				pos = end;
+				fill();
+			}
+		}
+
+
+		/**
+		 * @return true if there is text available, false if the end of the element was reached
+		 */
+		private boolean fill() throws IOException {
+			try {
+				while(pos >= end) {
+					if(done) {
+						return false;
+					}
+					int curTag = xmlReader.next();
+					if(curTag == XMLStreamConstants.CHARACTERS || curTag == XMLStreamConstants.CDATA || curTag == XMLStreamConstants.SPACE) {
+						text = xmlReader.getTextCharacters();
+						pos = xmlReader.getTextStart();
+						end = pos + xmlReader.getTextLength();
+					}
+					else if(curTag == END_EL) {
+						// move past element's end since we are processing an entire element
+						xmlReader.next();
+						done = true;
+					}
+					else if(curTag == START_EL) {
+						throw new IOException("unexpected element '" + xmlReader.getLocalName() + "' inside text element '" + lastOpeningTag.getName() + "'");
+					}
+					else if(curTag == END_DOC) {
+						done = true;
+					}
+				}
+				return true;
+			} catch(XMLStreamException e) {
+				throw new IOException(e);
+			}
+		}
+
+	}
+
+
+	/** Adapts the chars of a {@link Reader} to ASCII bytes for {@link Base64.Decoder#wrap(InputStream)},
+	 * non-ASCII chars are returned as {@code 0x80}, which the MIME decoder ignores.
+	 * Closing this stream closes the reader
+	 */
+	private static final class AsciiInputStream extends InputStream {
+		private final Reader src;
+		private final char[] chars = new char[1024];
+
+
+		AsciiInputStream(Reader src) {
+			this.src = src;
+		}
+
+
+		@Override
+		public int read() throws IOException {
+			int ch = src.read();
+			return (ch < 0x80 ? ch : 0x80);
+		}
+
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int count = src.read(chars, 0, Math.min(len, chars.length));
+			for(int i = 0; i < count; i++) {
+				char ch = chars[i];
+				b[off + i] = (byte)(ch < 0x80 ? ch : 0x80);
+			}
+			return count;
+		}
+
+
+		@Override
+		public void close() throws IOException {
+			src.close();
+		}
+
+	}
+
 }
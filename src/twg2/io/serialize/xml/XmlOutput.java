@@ -3,6 +3,8 @@ package twg2.io.serialize.xml;
 import java.io.Closeable;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 
 import twg2.io.serialize.base.writer.DataTransferOutput;
 
@@ -33,6 +35,17 @@ public interface XmlOutput extends DataTransferOutput, Closeable {
 	public void write(String name, byte[] b, int off, int len, XmlAttributes attributes) throws IOException;
 
 
+	/** Write the remaining bytes of a stream as a Base64 encoded XML element.
+	 * @param name the name of the XML tag to write
+	 * @param src the stream to copy into the XML element, it is read until it ends but not closed
+	 * @param attributes the group of attributes to write with this XML tag
+	 * @return the number of bytes read from {@code src}
+	 * @throws IOException if there is an IO error while reading from {@code src} or writing to the output stream
+	 * @see DataTransferOutput#writeBinary(String, InputStream)
+	 */
+	public long writeBinary(String name, InputStream src, XmlAttributes attributes) throws IOException;
+
+
 	/** Write a boolean value with the specified XML tag name.
 	 * @param name the name of the XML tag to write
 	 * @param v the boolean value to write in the XML element
@@ -114,6 +127,17 @@ public interface XmlOutput extends DataTransferOutput, Closeable {
 	public void writeString(String name, String s, XmlAttributes attributes) throws IOException;
 
 
+	/** Write the remaining chars of a reader as an XML element.
+	 * @param name the name of the XML tag to write
+	 * @param src the reader to copy into the XML element, it is read until it ends but not closed
+	 * @param attributes the group of attributes to write with this XML tag
+	 * @return the number of chars read from {@code src}
+	 * @throws IOException if there is an IO error while reading from {@code src} or writing to the output stream
+	 * @see DataTransferOutput#writeString(String, Reader)
+	 */
+	public long writeString(String name, Reader src, XmlAttributes attributes) throws IOException;
+
+
 	/** Write an opening XML tag and with the specified name.
 	 * @param name the name of opening XML header to write
 	 * @param attributes the group of attributes to write with this XML tag
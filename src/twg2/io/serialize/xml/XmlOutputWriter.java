@@ -1,13 +1,25 @@
 package twg2.io.serialize.xml;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.List;
+import java.util.Base64;
 
-import javax.xml.bind.DatatypeConverter;
+import twg2.io.serialize.base.FieldName;
+import twg2.io.serialize.base.writer.DocumentTail;
+import twg2.io.serialize.base.writer.NumberFormatter;
 
 /** {@link XmlOutput} implementation for writing XML text data to a {@link Writer}.
  * This class allows XML opening and closing tags to be written as well as strings and basic data types.
@@ -27,6 +39,12 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 	private ArrayList<String> tagStack;
 	private int tagsWritten;
 	private int indentationCount;
+	/** true if this writer reopened an existing document's tags, which are closed again when the writer is closed */
+	private boolean appending;
+	/** scratch buffer for formatting numbers */
+	private final char[] numberBuf = new char[NumberFormatter.MAX_LENGTH];
+	/** writes the Base64 text of binary elements to {@link #output} */
+	private final Base64TextStream base64Out = new Base64TextStream();
 
 
 	/** XmlOutputWriter, basic implementation of {@link XmlOutput}
@@ -42,6 +60,44 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 	}
 
 
+	/** Open an existing XML document to append elements to it.
+	 * The document's closing tags are found by reading backwards from the end of the file, the writer is positioned
+	 * before the closing tag of the innermost reopened element and new elements are written after the element's existing children.
+	 * Closing the writer writes the reopened elements' closing tags again.
+	 * Only the end of the file is read, so the cost of appending does not depend on the size of the existing document.
+	 * @param file the XML document to append to
+	 * @param openBlocks the number of elements to reopen, counting the document's root element as 1
+	 * @param charset the document's encoding, which must encode ASCII chars as single bytes (such as {@code UTF-8})
+	 * @return a writer positioned inside the reopened elements
+	 * @throws IOException if there is an error opening the file or the document does not end with {@code openBlocks} closing tags
+	 */
+	public static XmlOutputWriter openForAppend(File file, int openBlocks, Charset charset) throws IOException {
+		if(openBlocks < 1) {
+			throw new IllegalArgumentException("at least one element must be reopened, found " + openBlocks);
+		}
+		FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			DocumentTail tail = new DocumentTail(channel);
+			ArrayList<String> tags = new ArrayList<>();
+			for(int i = 0; i < openBlocks; i++) {
+				tags.add(readClosingTag(tail, file, charset));
+			}
+			// keep the line break before the innermost closing tag, but not its indentation
+			long end = tail.skip(" \t");
+			channel.truncate(end);
+			channel.position(end);
+			XmlOutputWriter writer = new XmlOutputWriter(new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), charset)), charset);
+			writer.tagStack.addAll(tags);
+			writer.indentationCount = openBlocks;
+			writer.appending = true;
+			return writer;
+		} catch(IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+
 	public void writeHeader() throws IOException {
 		this.output.write(XmlHandler.xmlHeader(charset));
 	}
@@ -49,41 +105,57 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 
 	@Override
 	public void write(String name, byte[] b) throws IOException {
+		write(name, b, 0, b.length);
+	}
+
+
+	@Override
+	public void write(String name, byte[] b, XmlAttributes attributes) throws IOException {
+		write(name, b, 0, b.length, attributes);
+	}
+
+
+	@Override
+	public void write(String name, byte[] b, int off, int len) throws IOException {
 		pushTagNoLine(name);
-		String base64 = DatatypeConverter.printBase64Binary(b);
-		this.output.write(base64);
+		try(OutputStream out = Base64.getEncoder().wrap(base64Out)) {
+			out.write(b, off, len);
+		}
 		popTagNoLine();
 	}
 
 
 	@Override
-	public void write(String name, byte[] b, XmlAttributes attributes) throws IOException {
+	public void write(String name, byte[] b, int off, int len, XmlAttributes attributes) throws IOException {
 		pushTagNoLine(name, attributes);
-		String base64 = DatatypeConverter.printBase64Binary(b);
-		this.output.write(base64);
+		try(OutputStream out = Base64.getEncoder().wrap(base64Out)) {
+			out.write(b, off, len);
+		}
 		popTagNoLine();
 	}
 
 
 	@Override
-	public void write(String name, byte[] b, int off, int len) throws IOException {
+	public long writeBinary(String name, InputStream src) throws IOException {
 		pushTagNoLine(name);
-		byte[] bytes = new byte[len];
-		System.arraycopy(b, 0, bytes, 0, len);
-		String base64 = DatatypeConverter.printBase64Binary(bytes);
-		this.output.write(base64);
+		long count;
+		try(OutputStream out = Base64.getEncoder().wrap(base64Out)) {
+			count = src.transferTo(out);
+		}
 		popTagNoLine();
+		return count;
 	}
 
 
 	@Override
-	public void write(String name, byte[] b, int off, int len, XmlAttributes attributes) throws IOException {
+	public long writeBinary(String name, InputStream src, XmlAttributes attributes) throws IOException {
 		pushTagNoLine(name, attributes);
-		byte[] bytes = new byte[len];
-		System.arraycopy(b, 0, bytes, 0, len);
-		String base64 = DatatypeConverter.printBase64Binary(bytes);
-		this.output.write(base64);
+		long count;
+		try(OutputStream out = Base64.getEncoder().wrap(base64Out)) {
+			count = src.transferTo(out);
+		}
 		popTagNoLine();
+		return count;
 	}
 
 
@@ -138,7 +210,7 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 	@Override
 	public void writeDouble(String name, double d) throws IOException {
 		pushTagNoLine(name);
-		this.output.write(Double.toString(d));
+		printDouble(this.output, d);
 		popTagNoLine();
 	}
 
@@ -146,7 +218,7 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 	@Override
 	public void writeDouble(String name, double d, XmlAttributes attributes) throws IOException {
 		pushTagNoLine(name, attributes);
-		this.output.write(Double.toString(d));
+		printDouble(this.output, d);
 		popTagNoLine();
 	}
 
@@ -154,7 +226,7 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 	@Override
 	public void writeFloat(String name, float v) throws IOException {
 		pushTagNoLine(name);
-		this.output.write(Float.toString(v));
+		printFloat(this.output, v);
 		popTagNoLine();
 	}
 
@@ -162,7 +234,7 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 	@Override
 	public void writeFloat(String name, float v, XmlAttributes attributes) throws IOException {
 		pushTagNoLine(name, attributes);
-		this.output.write(Float.toString(v));
+		printFloat(this.output, v);
 		popTagNoLine();
 	}
 
@@ -170,7 +242,7 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 	@Override
 	public void writeInt(String name, int v) throws IOException {
 		pushTagNoLine(name);
-		this.output.write(Integer.toString(v));
+		printLong(this.output, v);
 		popTagNoLine();
 	}
 
@@ -178,7 +250,7 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 	@Override
 	public void writeInt(String name, int v, XmlAttributes attributes) throws IOException {
 		pushTagNoLine(name, attributes);
-		this.output.write(Integer.toString(v));
+		printLong(this.output, v);
 		popTagNoLine();
 	}
 
@@ -186,7 +258,7 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 	@Override
 	public void writeLong(String name, long v) throws IOException {
 		pushTagNoLine(name);
-		this.output.write(Long.toString(v));
+		printLong(this.output, v);
 		popTagNoLine();
 	}
 
@@ -194,7 +266,7 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 	@Override
 	public void writeLong(String name, long v, XmlAttributes attributes) throws IOException {
 		pushTagNoLine(name, attributes);
-		this.output.write(Long.toString(v));
+		printLong(this.output, v);
 		popTagNoLine();
 	}
 
@@ -202,7 +274,7 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 	@Override
 	public void writeShort(String name, short v) throws IOException {
 		pushTagNoLine(name);
-		this.output.write(Short.toString((short)v));
+		printLong(this.output, v);
 		popTagNoLine();
 	}
 
@@ -210,7 +282,7 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 	@Override
 	public void writeShort(String name, short v, XmlAttributes attributes) throws IOException {
 		pushTagNoLine(name, attributes);
-		this.output.write(Short.toString((short)v));
+		printLong(this.output, v);
 		popTagNoLine();
 	}
 
@@ -231,6 +303,96 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 	}
 
 
+	@Override
+	public void writeBooleanField(FieldName name, boolean b) throws IOException {
+		openTagNoLine(name);
+		this.output.write(b == true ? "true" : "false");
+		closeTagNoLine(name);
+	}
+
+
+	@Override
+	public void writeByteField(FieldName name, byte v) throws IOException {
+		openTagNoLine(name);
+		this.output.write(v);
+		closeTagNoLine(name);
+	}
+
+
+	@Override
+	public void writeCharField(FieldName name, char v) throws IOException {
+		openTagNoLine(name);
+		this.output.write(v);
+		closeTagNoLine(name);
+	}
+
+
+	@Override
+	public void writeDoubleField(FieldName name, double d) throws IOException {
+		openTagNoLine(name);
+		printDouble(this.output, d);
+		closeTagNoLine(name);
+	}
+
+
+	@Override
+	public void writeFloatField(FieldName name, float v) throws IOException {
+		openTagNoLine(name);
+		printFloat(this.output, v);
+		closeTagNoLine(name);
+	}
+
+
+	@Override
+	public void writeIntField(FieldName name, int v) throws IOException {
+		openTagNoLine(name);
+		printLong(this.output, v);
+		closeTagNoLine(name);
+	}
+
+
+	@Override
+	public void writeLongField(FieldName name, long v) throws IOException {
+		openTagNoLine(name);
+		printLong(this.output, v);
+		closeTagNoLine(name);
+	}
+
+
+	@Override
+	public void writeShortField(FieldName name, short v) throws IOException {
+		openTagNoLine(name);
+		printLong(this.output, v);
+		closeTagNoLine(name);
+	}
+
+
+	@Override
+	public void writeStringField(FieldName name, String s) throws IOException {
+		openTagNoLine(name);
+		this.output.write(XmlHandler.validateElement(s));
+		closeTagNoLine(name);
+	}
+
+
+	@Override
+	public long writeString(String name, Reader src) throws IOException {
+		pushTagNoLine(name);
+		long count = writeEscaped(src);
+		popTagNoLine();
+		return count;
+	}
+
+
+	@Override
+	public long writeString(String name, Reader src, XmlAttributes attributes) throws IOException {
+		pushTagNoLine(name, attributes);
+		long count = writeEscaped(src);
+		popTagNoLine();
+		return count;
+	}
+
+
 	/** Write an opening XML tag and add a corresponding closing XML tag to the tag stack
 	 * @param name the name of the XML tag to write
 	 * @throws IOException if there is an IO error writing to the output stream
@@ -264,25 +426,7 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 		out.write(name);
 		// Write the attributes
 		if(attributes != null) {
-			List<String> names = attributes.getAttributeNames();
-			List<Object> values = attributes.getAttributeValues();
-			int size = names.size()-1;
-			if(size > -1) {
-				out.write(' ');
-				for(int i = 0; i < size; i++) {
-					out.write(names.get(i));
-					out.write('=');
-					out.write('\"');
-					out.write(values.get(i).toString());
-					out.write('\"');
-					out.write(' ');
-				}
-				out.write(names.get(size));
-				out.write('=');
-				out.write('\"');
-				out.write(values.get(size).toString());
-				out.write('\"');
-			}
+			writeAttributes(out, attributes);
 		}
 		out.write(CLOSE);
 		out.write(lineSeparator);
@@ -291,6 +435,22 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 	}
 
 
+	/** Write an opening XML tag, copying the name's pre-built tag, and add a corresponding closing XML tag to the tag stack
+	 * @param name the name of the XML tag to write
+	 * @throws IOException if there is an IO error writing to the output stream
+	 */
+	@Override
+	public void writeStartBlockField(FieldName name) throws IOException {
+		Writer out = this.output;
+		writeIndentation(out, indentationCount);
+		this.indentationCount++;
+		out.write(name.getXmlOpenTag());
+		out.write(lineSeparator);
+		this.tagStack.add(name.getName());
+		this.tagsWritten++;
+	}
+
+
 	/** Write a closing XML tag for the last opening XML tag
 	 * @throws IOException if there is an IO error writing to the output stream
 	 */
@@ -333,6 +493,11 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 	 */
 	@Override
 	public void close() throws IOException {
+		if(this.appending) {
+			while(this.tagStack.size() > 0) {
+				writeEndBlock();
+			}
+		}
 		this.output.close();
 		this.tagStack.clear();
 		this.charset = null;
@@ -375,25 +540,7 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 		writeIndentation(out, indentationCount);
 		out.write(OPEN);
 		out.write(name);
-		out.write(' ');
-		List<String> names = attributes.getAttributeNames();
-		List<Object> values = attributes.getAttributeValues();
-		int size = names.size()-1;
-		if(size > -1) {
-			for(int i = 0; i < size; i++) {
-				out.write(names.get(i));
-				out.write('=');
-				out.write('\"');
-				out.write(values.get(i).toString());
-				out.write('\"');
-				out.write(' ');
-			}
-			out.write(names.get(size));
-			out.write('=');
-			out.write('\"');
-			out.write(values.get(size).toString());
-			out.write('\"');
-		}
+		writeAttributes(out, attributes);
 		out.write(CLOSE);
 		this.tagStack.add(name);
 	}
@@ -413,6 +560,209 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 	}
 
 
+	/** Write a pre-built opening XML tag (with no ending new line), the element is closed by {@link #closeTagNoLine(FieldName)}
+	 * instead of the tag stack
+	 * @param name the name of the XML tag to write
+	 * @throws IOException if there is an IO error writing to the output stream
+	 */
+	private void openTagNoLine(FieldName name) throws IOException {
+		Writer out = this.output;
+		writeIndentation(out, indentationCount);
+		out.write(name.getXmlOpenTag());
+	}
+
+
+	/** Write a pre-built closing XML tag (without adjusting indentation)
+	 * @throws IOException if there is an IO error writing to the output stream
+	 */
+	private void closeTagNoLine(FieldName name) throws IOException {
+		Writer out = this.output;
+		out.write(name.getXmlCloseTag());
+		out.write(lineSeparator);
+	}
+
+
+	/** Copy a reader's chars to the output in chunks, escaping XML markup characters the same way as {@link XmlHandler#validateElement(String)}
+	 * @return the number of chars read from {@code src}
+	 */
+	private long writeEscaped(Reader src) throws IOException {
+		Writer out = this.output;
+		char[] chars = new char[4096];
+		long count = 0;
+		int len;
+		while((len = src.read(chars, 0, chars.length)) != -1) {
+			count += len;
+			int start = 0;
+			for(int i = 0; i < len; i++) {
+				String entity = xmlEntity(chars[i]);
+				if(entity == null) {
+					continue;
+				}
+				out.write(chars, start, i - start);
+				out.write(entity);
+				start = i + 1;
+			}
+			out.write(chars, start, len - start);
+		}
+		return count;
+	}
+
+
+	/** Write a group of attributes, each preceded by a space.
+	 * Primitive attribute values are formatted directly to the output without being boxed
+	 * @param out the output writer to write the attributes to
+	 * @param attributes the attributes to write
+	 * @throws IOException
+	 */
+	private void writeAttributes(Writer out, XmlAttributes attributes) throws IOException {
+		for(int i = 0, size = attributes.size(); i < size; i++) {
+			out.write(' ');
+			out.write(attributes.getAttributeName(i));
+			out.write('=');
+			out.write('\"');
+			writeAttributeValue(out, attributes, i);
+			out.write('\"');
+		}
+	}
+
+
+	private void writeAttributeValue(Writer out, XmlAttributes attributes, int index) throws IOException {
+		int type = attributes.getAttributeType(index);
+		if((type & XmlHandler.ARRAY_TYPE) != 0) {
+			writeAttributeArray(out, type & XmlHandler.DATA_TYPE, attributes.getAttributeArray(index), attributes.getAttributeDataArrayLength(index));
+			return;
+		}
+
+		switch(type) {
+		case XmlHandler.BOOLEAN_TYPE:
+			out.write(attributes.getAttributeBoolean(index) ? "true" : "false");
+			break;
+		case XmlHandler.CHAR_TYPE:
+			writeChar(out, attributes.getAttributeChar(index));
+			break;
+		case XmlHandler.BYTE_TYPE:
+		case XmlHandler.SHORT_TYPE:
+		case XmlHandler.INT_TYPE:
+		case XmlHandler.LONG_TYPE:
+			printLong(out, attributes.getAttributeLong(index));
+			break;
+		case XmlHandler.FLOAT_TYPE:
+			printFloat(out, attributes.getAttributeFloat(index));
+			break;
+		case XmlHandler.DOUBLE_TYPE:
+			printDouble(out, attributes.getAttributeDouble(index));
+			break;
+		default:
+			String str = attributes.getAttributeString(index);
+			if(str != null) {
+				out.write(XmlHandler.validateElement(str));
+			}
+			break;
+		}
+	}
+
+
+	/** Write an array attribute's values as comma separated values, primitive array elements are formatted
+	 * directly to the output like primitive attributes, without being boxed
+	 * @param type the {@link XmlHandler} data type of the array elements, for example {@link XmlHandler#INT_TYPE}
+	 * @param ary the primitive or String array
+	 * @param len the number of elements to write
+	 */
+	private void writeAttributeArray(Writer out, int type, Object ary, int len) throws IOException {
+		for(int i = 0; i < len; i++) {
+			if(i > 0) {
+				out.write(',');
+			}
+			switch(type) {
+			case XmlHandler.BOOLEAN_TYPE:
+				out.write(((boolean[])ary)[i] ? "true" : "false");
+				break;
+			case XmlHandler.CHAR_TYPE:
+				writeChar(out, ((char[])ary)[i]);
+				break;
+			case XmlHandler.BYTE_TYPE:
+				printLong(out, ((byte[])ary)[i]);
+				break;
+			case XmlHandler.SHORT_TYPE:
+				printLong(out, ((short[])ary)[i]);
+				break;
+			case XmlHandler.INT_TYPE:
+				printLong(out, ((int[])ary)[i]);
+				break;
+			case XmlHandler.LONG_TYPE:
+				printLong(out, ((long[])ary)[i]);
+				break;
+			case XmlHandler.FLOAT_TYPE:
+				printFloat(out, ((float[])ary)[i]);
+				break;
+			case XmlHandler.DOUBLE_TYPE:
+				printDouble(out, ((double[])ary)[i]);
+				break;
+			default:
+				out.write(XmlHandler.validateElement(String.valueOf(((Object[])ary)[i])));
+				break;
+			}
+		}
+	}
+
+
+	/** Write a char, escaped if it is an XML special character, without creating a string
+	 */
+	private static void writeChar(Writer out, char ch) throws IOException {
+		String entity = xmlEntity(ch);
+		if(entity != null) {
+			out.write(entity);
+		}
+		else {
+			out.write(ch);
+		}
+	}
+
+
+	/**
+	 * @return the XML entity which escapes {@code ch}, or null if {@code ch} is not an XML special character
+	 */
+	private static String xmlEntity(char ch) {
+		switch(ch) {
+		case '&': return "&amp;";
+		case '<': return "&lt;";
+		case '>': return "&gt;";
+		case '"': return "&quot;";
+		case '\'': return "&apos;";
+		default: return null;
+		}
+	}
+
+
+	/** Write the decimal digits of a long value using this writer's scratch buffer
+	 * @param out the output writer to write the value to
+	 * @param value the value to write
+	 * @throws IOException
+	 */
+	private void printLong(Writer out, long value) throws IOException {
+		int len = NumberFormatter.formatLong(value, numberBuf, 0);
+		out.write(numberBuf, 0, len);
+	}
+
+
+	/** Write the shortest decimal representation of a double value using this writer's scratch buffer
+	 * @see NumberFormatter#formatDouble(double, char[], int)
+	 */
+	private void printDouble(Writer out, double value) throws IOException {
+		int len = NumberFormatter.formatDouble(value, numberBuf, 0);
+		out.write(numberBuf, 0, len);
+	}
+
+
+	/** Write the shortest decimal representation of a float value using this writer's scratch buffer
+	 * @see NumberFormatter#formatFloat(float, char[], int)
+	 */
+	private void printFloat(Writer out, float value) throws IOException {
+		int len = NumberFormatter.formatFloat(value, numberBuf, 0);
+		out.write(numberBuf, 0, len);
+	}
+
+
 	/** Write the indentation based on the writer's current state
 	 * (i.e. how many nested blocks were are inside of determines indentation)
 	 * @param out the output writer to write the indentation to
@@ -427,6 +777,36 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 	}
 
 
+	/** Read a closing tag backwards, leaving {@code tail} positioned at the tag's {@code '<'}
+	 * @return the tag's name
+	 */
+	private static String readClosingTag(DocumentTail tail, File file, Charset charset) throws IOException {
+		tail.skipWhitespace();
+		if(tail.prev() != CLOSE) {
+			throw new IOException("XML document '" + file + "' does not end with a closing tag at offset " + tail.position());
+		}
+		tail.skipWhitespace();
+		ByteArrayOutputStream name = new ByteArrayOutputStream();
+		int b;
+		while((b = tail.prev()) != SLASH) {
+			if(b == -1 || b == OPEN || b == CLOSE || b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+				throw new IOException("XML document '" + file + "' does not end with a closing tag at offset " + tail.position());
+			}
+			name.write(b);
+		}
+		if(tail.prev() != OPEN || name.size() == 0) {
+			throw new IOException("XML document '" + file + "' does not end with a closing tag at offset " + tail.position());
+		}
+		byte[] nameBytes = name.toByteArray();
+		for(int i = 0, j = nameBytes.length - 1; i < j; i++, j--) {
+			byte tmp = nameBytes[i];
+			nameBytes[i] = nameBytes[j];
+			nameBytes[j] = tmp;
+		}
+		return new String(nameBytes, charset);
+	}
+
+
 	/** Write a header to the specified XML output stream
 	 * @param output the XML output stream to write to header to
 	 * @throws IOException if there is an error writing the header to the
@@ -436,4 +816,57 @@ public class XmlOutputWriter implements XmlOutput, Closeable {
 		output.writeHeader();
 	}
 
+
+
+	/** Adapts this writer's {@link #output} to the {@link OutputStream} required by {@link Base64.Encoder#wrap(OutputStream)}.
+	 * Base64 bytes are ASCII so they are converted to chars one-to-one through a reused buffer.
+	 * {@link #close()} only flushes the buffer, the underlying writer is left open.
+	 */
+	private final class Base64TextStream extends OutputStream {
+		private final char[] chars = new char[1024];
+		private int len;
+
+
+		@Override
+		public void write(int b) throws IOException {
+			if(len == chars.length) {
+				flush();
+			}
+			chars[len++] = (char)b;
+		}
+
+
+		@Override
+		public void write(byte[] b, int off, int count) throws IOException {
+			while(count > 0) {
+				if(len == chars.length) {
+					flush();
+				}
+				int n = Math.min(count, chars.length - len);
+				for(int i = 0; i < n; i++) {
+					chars[len + i] = (char)b[off + i];
+				}
+				len += n;
+				off += n;
+				count -= n;
+			}
+		}
+
+
+		@Override
+		public void flush() throws IOException {
+			if(len > 0) {
+				output.write(chars, 0, len);
+				len = 0;
+			}
+		}
+
+
+		@Override
+		public void close() throws IOException {
+			flush();
+		}
+
+	}
+
 }
@@ -0,0 +1,888 @@
+package twg2.io.serialize.xml;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/** A lightweight {@link XMLStreamReader} which tokenizes UTF-8 XML bytes directly.<br>
+ * Only the subset of XML written by {@link XmlOutputWriter} is supported: elements, attributes,
+ * text with the predefined and numeric entity references, CDATA sections, comments, and processing instructions
+ * (which are skipped). DTDs are rejected and namespaces are not processed, prefixed names are returned as is.<br>
+ * Text nodes produce {@link XMLStreamConstants#CHARACTERS} events of at most about {@link #MAX_TEXT_CHUNK} bytes,
+ * so large text is never buffered as a whole, consecutive events belong to the same text node. Whitespace only text is
+ * not decoded unless its text is requested. Element and attribute names are cached so repeated names do not allocate, names are interned.
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class XmlPullTokenizer implements XMLStreamReader {
+	/** the number of bytes after which a text node is split into another {@link XMLStreamConstants#CHARACTERS} event */
+	public static final int MAX_TEXT_CHUNK = 8192;
+	private static final int NAME_CACHE_SIZE = 256;
+	private static final byte[] COMMENT_START = { '<', '!', '-', '-' };
+	private static final byte[] COMMENT_END = { '-', '-', '>' };
+	private static final byte[] CDATA_START = { '<', '!', '[', 'C', 'D', 'A', 'T', 'A', '[' };
+	private static final byte[] CDATA_END = { ']', ']', '>' };
+	private static final byte[] PI_END = { '?', '>' };
+
+	private final InputStream src;
+	private byte[] buf;
+	private int pos;
+	private int limit;
+	/** the start of the bytes that must be kept when the buffer is refilled */
+	private int mark;
+	/** the number of bytes removed from the front of the buffer, used for error locations */
+	private long discarded;
+	/** the start of the name or attribute value being scanned */
+	private int tokenStart;
+	private int event = START_DOCUMENT;
+	private String localName;
+	/** true if the current start element is an empty element tag, the next event is its end element */
+	private boolean emptyElement;
+	private int attributeCount;
+	private String[] attributeNames = new String[8];
+	private String[] attributeValues = new String[8];
+	/** the byte range of the current text event */
+	private int textStart;
+	private int textEnd;
+	private boolean textWhitespace;
+	private char[] text = new char[256];
+	/** the number of decoded chars in {@link #text}, -1 if the current text has not been decoded */
+	private int textLength = -1;
+	private final String[] nameCache = new String[NAME_CACHE_SIZE];
+	private final byte[][] nameCacheBytes = new byte[NAME_CACHE_SIZE][];
+
+
+	/** Create an XML tokenizer which reads from an input stream.
+	 * The stream is buffered internally and is closed when this tokenizer is closed.
+	 * @param stream the {@code UTF-8} XML data to read
+	 */
+	public XmlPullTokenizer(InputStream stream) throws IOException {
+		this.src = stream;
+		this.buf = new byte[8192];
+		skipByteOrderMark();
+	}
+
+
+	/** Create an XML tokenizer which reads from an in-memory buffer
+	 * @param buf the {@code UTF-8} XML data
+	 * @param off the offset of the data in {@code buf}
+	 * @param len the number of bytes of data in {@code buf}
+	 */
+	public XmlPullTokenizer(byte[] buf, int off, int len) throws IOException {
+		this.src = null;
+		this.buf = buf;
+		this.pos = off;
+		this.limit = off + len;
+		this.mark = off;
+		skipByteOrderMark();
+	}
+
+
+	@Override
+	public int next() throws XMLStreamException {
+		if(event == END_DOCUMENT) {
+			throw new NoSuchElementException("end of XML document already reached");
+		}
+		attributeCount = 0;
+		textLength = -1;
+		if(emptyElement) {
+			emptyElement = false;
+			return event = END_ELEMENT;
+		}
+
+		try {
+			while(true) {
+				mark = pos;
+				if(pos >= limit && !fill()) {
+					return event = END_DOCUMENT;
+				}
+				if(buf[pos] != '<') {
+					scanText();
+					return event = CHARACTERS;
+				}
+				if(!request(2)) {
+					throw new EOFException("unexpected end of XML data after '<'");
+				}
+				byte ch = buf[pos + 1];
+				if(ch == '/') {
+					readEndTag();
+					return event = END_ELEMENT;
+				}
+				else if(ch == '?') {
+					skipPast(PI_END);
+				}
+				else if(ch == '!') {
+					if(startsWith(COMMENT_START)) {
+						skipPast(COMMENT_END);
+					}
+					else if(startsWith(CDATA_START)) {
+						scanCData();
+						return event = CHARACTERS;
+					}
+					else {
+						throw new XMLStreamException("DTDs and declarations are not supported", getLocation());
+					}
+				}
+				else {
+					readStartTag();
+					return event = START_ELEMENT;
+				}
+			}
+		} catch(IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+
+	@Override
+	public boolean hasNext() {
+		return event != END_DOCUMENT;
+	}
+
+
+	@Override
+	public int nextTag() throws XMLStreamException {
+		int type = next();
+		while(type == CHARACTERS && isWhiteSpace()) {
+			type = next();
+		}
+		if(type != START_ELEMENT && type != END_ELEMENT) {
+			throw new XMLStreamException("expected start or end element, found " + XmlHandler.toString(type), getLocation());
+		}
+		return type;
+	}
+
+
+	@Override
+	public String getElementText() throws XMLStreamException {
+		if(event != START_ELEMENT) {
+			throw new XMLStreamException("expected start element, found " + XmlHandler.toString(event), getLocation());
+		}
+		StringBuilder sb = new StringBuilder();
+		int type;
+		while((type = next()) != END_ELEMENT) {
+			if(type != CHARACTERS) {
+				throw new XMLStreamException("expected element text, found " + XmlHandler.toString(type), getLocation());
+			}
+			sb.append(getTextCharacters(), 0, getTextLength());
+		}
+		return sb.toString();
+	}
+
+
+	@Override
+	public void require(int type, String namespaceURI, String localName) throws XMLStreamException {
+		if(type != event || (localName != null && !localName.equals(getLocalName()))) {
+			throw new XMLStreamException("expected " + XmlHandler.toString(type) + (localName != null ? " '" + localName + "'" : "") +
+					", found " + XmlHandler.toString(event), getLocation());
+		}
+	}
+
+
+	@Override
+	public void close() throws XMLStreamException {
+		if(src != null) {
+			try {
+				src.close();
+			} catch(IOException e) {
+				throw new XMLStreamException(e);
+			}
+		}
+	}
+
+
+	@Override
+	public int getEventType() {
+		return event;
+	}
+
+
+	@Override
+	public boolean isStartElement() {
+		return event == START_ELEMENT;
+	}
+
+
+	@Override
+	public boolean isEndElement() {
+		return event == END_ELEMENT;
+	}
+
+
+	@Override
+	public boolean isCharacters() {
+		return event == CHARACTERS;
+	}
+
+
+	@Override
+	public boolean isWhiteSpace() {
+		return event == CHARACTERS && textWhitespace;
+	}
+
+
+	@Override
+	public String getLocalName() {
+		if(event != START_ELEMENT && event != END_ELEMENT) {
+			throw new IllegalStateException("no element name for " + XmlHandler.toString(event) + " event");
+		}
+		return localName;
+	}
+
+
+	@Override
+	public QName getName() {
+		return new QName(getLocalName());
+	}
+
+
+	@Override
+	public boolean hasName() {
+		return event == START_ELEMENT || event == END_ELEMENT;
+	}
+
+
+	@Override
+	public int getAttributeCount() {
+		return attributeCount;
+	}
+
+
+	@Override
+	public String getAttributeLocalName(int index) {
+		checkAttributeIndex(index);
+		return attributeNames[index];
+	}
+
+
+	@Override
+	public QName getAttributeName(int index) {
+		return new QName(getAttributeLocalName(index));
+	}
+
+
+	@Override
+	public String getAttributeValue(int index) {
+		checkAttributeIndex(index);
+		return attributeValues[index];
+	}
+
+
+	@Override
+	public String getAttributeValue(String namespaceURI, String localName) {
+		for(int i = 0; i < attributeCount; i++) {
+			if(attributeNames[i].equals(localName)) {
+				return attributeValues[i];
+			}
+		}
+		return null;
+	}
+
+
+	@Override
+	public String getAttributeNamespace(int index) {
+		return null;
+	}
+
+
+	@Override
+	public String getAttributePrefix(int index) {
+		return XMLConstants.DEFAULT_NS_PREFIX;
+	}
+
+
+	@Override
+	public String getAttributeType(int index) {
+		return "CDATA";
+	}
+
+
+	@Override
+	public boolean isAttributeSpecified(int index) {
+		return true;
+	}
+
+
+	@Override
+	public boolean hasText() {
+		return event == CHARACTERS;
+	}
+
+
+	@Override
+	public String getText() {
+		ensureText();
+		return new String(text, 0, textLength);
+	}
+
+
+	@Override
+	public char[] getTextCharacters() {
+		ensureText();
+		return text;
+	}
+
+
+	@Override
+	public int getTextCharacters(int sourceStart, char[] target, int targetStart, int length) throws XMLStreamException {
+		ensureText();
+		int count = Math.min(length, textLength - sourceStart);
+		System.arraycopy(text, sourceStart, target, targetStart, count);
+		return count;
+	}
+
+
+	@Override
+	public int getTextStart() {
+		return 0;
+	}
+
+
+	@Override
+	public int getTextLength() {
+		ensureText();
+		return textLength;
+	}
+
+
+	@Override
+	public Location getLocation() {
+		final int offset = (int)(discarded + pos);
+		return new Location() {
+			@Override public int getLineNumber() { return -1; }
+			@Override public int getColumnNumber() { return -1; }
+			@Override public int getCharacterOffset() { return offset; }
+			@Override public String getPublicId() { return null; }
+			@Override public String getSystemId() { return null; }
+		};
+	}
+
+
+	@Override
+	public Object getProperty(String name) {
+		return null;
+	}
+
+
+	@Override
+	public String getNamespaceURI(String prefix) {
+		return null;
+	}
+
+
+	@Override
+	public String getNamespaceURI() {
+		return null;
+	}
+
+
+	@Override
+	public String getPrefix() {
+		return null;
+	}
+
+
+	@Override
+	public int getNamespaceCount() {
+		return 0;
+	}
+
+
+	@Override
+	public String getNamespacePrefix(int index) {
+		return null;
+	}
+
+
+	@Override
+	public String getNamespaceURI(int index) {
+		return null;
+	}
+
+
+	@Override
+	public NamespaceContext getNamespaceContext() {
+		return new NamespaceContext() {
+			@Override public String getNamespaceURI(String prefix) { return XMLConstants.NULL_NS_URI; }
+			@Override public String getPrefix(String namespaceURI) { return null; }
+			@Override public Iterator<String> getPrefixes(String namespaceURI) { return Collections.emptyIterator(); }
+		};
+	}
+
+
+	@Override
+	public String getEncoding() {
+		return "UTF-8";
+	}
+
+
+	@Override
+	public String getVersion() {
+		return null;
+	}
+
+
+	@Override
+	public boolean isStandalone() {
+		return false;
+	}
+
+
+	@Override
+	public boolean standaloneSet() {
+		return false;
+	}
+
+
+	@Override
+	public String getCharacterEncodingScheme() {
+		return null;
+	}
+
+
+	@Override
+	public String getPITarget() {
+		return null;
+	}
+
+
+	@Override
+	public String getPIData() {
+		return null;
+	}
+
+
+	/** Read a start tag and its attributes, the reader is positioned at the tag's '&lt;'
+	 */
+	private void readStartTag() throws IOException, XMLStreamException {
+		pos++;
+		localName = readName();
+		while(true) {
+			int ch = skipWhitespace();
+			if(ch == '>') {
+				pos++;
+				return;
+			}
+			if(ch == '/') {
+				if(!request(2) || buf[pos + 1] != '>') {
+					throw syntaxError("expected '/>'");
+				}
+				pos += 2;
+				emptyElement = true;
+				return;
+			}
+			if(ch < 0) {
+				throw new EOFException("unexpected end of XML data inside '" + localName + "' tag");
+			}
+			String name = readName();
+			if(skipWhitespace() != '=') {
+				throw syntaxError("expected '=' after attribute name '" + name + "'");
+			}
+			pos++;
+			int quote = skipWhitespace();
+			if(quote != '"' && quote != '\'') {
+				throw syntaxError("expected quoted value for attribute '" + name + "'");
+			}
+			pos++;
+			addAttribute(name, readAttributeValue((byte)quote));
+		}
+	}
+
+
+	/** Read an end tag, the reader is positioned at the tag's '&lt;/'
+	 */
+	private void readEndTag() throws IOException, XMLStreamException {
+		pos += 2;
+		localName = readName();
+		if(skipWhitespace() != '>') {
+			throw syntaxError("expected '>' after end tag name '" + localName + "'");
+		}
+		pos++;
+	}
+
+
+	private String readName() throws IOException, XMLStreamException {
+		tokenStart = pos;
+		int hash = 0;
+		while(true) {
+			if(pos >= limit && !fill()) {
+				throw new EOFException("unexpected end of XML data inside name");
+			}
+			byte ch = buf[pos];
+			if(ch == '>' || ch == '/' || ch == '=' || isWhitespace(ch)) {
+				break;
+			}
+			hash = 31 * hash + ch;
+			pos++;
+		}
+		if(pos == tokenStart) {
+			throw syntaxError("expected XML name");
+		}
+		return cachedName(tokenStart, pos, hash);
+	}
+
+
+	/** Lookup or add a name to the name cache
+	 * @return the name encoded by the bytes {@code [start, end)}
+	 */
+	private String cachedName(int start, int end, int hash) {
+		int idx = (hash ^ (hash >>> 16)) & (NAME_CACHE_SIZE - 1);
+		byte[] bytes = nameCacheBytes[idx];
+		if(bytes != null && Arrays.equals(bytes, 0, bytes.length, buf, start, end)) {
+			return nameCache[idx];
+		}
+		// interned so names match FieldName strings by reference
+		String name = new String(buf, start, end - start, StandardCharsets.UTF_8).intern();
+		nameCacheBytes[idx] = Arrays.copyOfRange(buf, start, end);
+		nameCache[idx] = name;
+		return name;
+	}
+
+
+	private String readAttributeValue(byte quote) throws IOException, XMLStreamException {
+		tokenStart = pos;
+		while(true) {
+			if(pos >= limit && !fill()) {
+				throw new EOFException("unexpected end of XML data inside attribute value");
+			}
+			if(buf[pos] == quote) {
+				break;
+			}
+			pos++;
+		}
+		int len = decode(tokenStart, pos, true);
+		pos++;
+		return new String(text, 0, len);
+	}
+
+
+	private void addAttribute(String name, String value) {
+		if(attributeCount == attributeNames.length) {
+			attributeNames = Arrays.copyOf(attributeNames, attributeCount * 2);
+			attributeValues = Arrays.copyOf(attributeValues, attributeCount * 2);
+		}
+		attributeNames[attributeCount] = name;
+		attributeValues[attributeCount] = value;
+		attributeCount++;
+	}
+
+
+	private void checkAttributeIndex(int index) {
+		if(index < 0 || index >= attributeCount) {
+			throw new IndexOutOfBoundsException("attribute index " + index + " of " + attributeCount);
+		}
+	}
+
+
+	/** Scan a text node up to the next '&lt;' or {@link #MAX_TEXT_CHUNK} bytes, non-whitespace text is decoded immediately.
+	 * Long text is only split before an ASCII byte outside of an entity reference and not after a '\r',
+	 * so a character, entity, or line ending is never divided between two events
+	 */
+	private void scanText() throws IOException, XMLStreamException {
+		textStart = pos;
+		boolean whitespace = true;
+		boolean entity = false;
+		while(true) {
+			if(pos >= limit && !fill()) {
+				break;
+			}
+			byte ch = buf[pos];
+			if(ch == '<') {
+				break;
+			}
+			if(pos - textStart >= MAX_TEXT_CHUNK && ch >= 0 && !entity && buf[pos - 1] != '\r') {
+				break;
+			}
+			if(ch == '&') {
+				entity = true;
+			}
+			else if(ch == ';') {
+				entity = false;
+			}
+			whitespace &= isWhitespace(ch);
+			pos++;
+		}
+		textEnd = pos;
+		textWhitespace = whitespace;
+		if(!whitespace) {
+			textLength = decode(textStart, textEnd, true);
+		}
+	}
+
+
+	/** Scan a CDATA section, the reader is positioned at the section's '&lt;![CDATA['
+	 */
+	private void scanCData() throws IOException, XMLStreamException {
+		pos += CDATA_START.length;
+		mark = pos;
+		textStart = pos;
+		boolean whitespace = true;
+		while(true) {
+			if(!request(CDATA_END.length)) {
+				throw new EOFException("unexpected end of XML data inside CDATA section");
+			}
+			if(startsWith(CDATA_END)) {
+				break;
+			}
+			whitespace &= isWhitespace(buf[pos]);
+			pos++;
+		}
+		textEnd = pos;
+		pos += CDATA_END.length;
+		textWhitespace = whitespace;
+		if(!whitespace) {
+			textLength = decode(textStart, textEnd, false);
+		}
+	}
+
+
+	/** Decode whitespace only text, which cannot contain entity references or multi-byte characters, if it has not been decoded yet
+	 */
+	private void ensureText() {
+		if(event != CHARACTERS) {
+			throw new IllegalStateException("no text for " + XmlHandler.toString(event) + " event");
+		}
+		if(textLength < 0) {
+			int len = textEnd - textStart;
+			char[] dst = ensureTextCapacity(len);
+			for(int i = 0; i < len; i++) {
+				dst[i] = (char)buf[textStart + i];
+			}
+			textLength = len;
+		}
+	}
+
+
+	/** Decode UTF-8 bytes into {@link #text}, replacing entity references with the characters they represent
+	 * and normalizing line endings to '\n'
+	 * @param start the offset of the first byte to decode
+	 * @param end the offset after the last byte to decode
+	 * @param entities true to decode entity references, false to copy them as is
+	 * @return the number of chars written to {@link #text}
+	 */
+	private int decode(int start, int end, boolean entities) throws XMLStreamException {
+		byte[] b = buf;
+		char[] dst = ensureTextCapacity(end - start);
+		int n = 0;
+		int i = start;
+		while(i < end) {
+			int c = b[i];
+			if(c >= 0) {
+				if(c == '&' && entities) {
+					int semicolon = i + 1;
+					while(semicolon < end && b[semicolon] != ';') {
+						semicolon++;
+					}
+					if(semicolon == end) {
+						throw new XMLStreamException("unterminated entity reference", getLocation());
+					}
+					int cp = entityValue(i + 1, semicolon);
+					if(cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+						dst[n++] = (char)cp;
+					}
+					else {
+						dst[n++] = Character.highSurrogate(cp);
+						dst[n++] = Character.lowSurrogate(cp);
+					}
+					i = semicolon + 1;
+				}
+				else if(c == '\r') {
+					dst[n++] = '\n';
+					i += (i + 1 < end && b[i + 1] == '\n' ? 2 : 1);
+				}
+				else {
+					dst[n++] = (char)c;
+					i++;
+				}
+			}
+			else if((c & 0xE0) == 0xC0 && i + 1 < end) {
+				dst[n++] = (char)(((c & 0x1F) << 6) | (b[i + 1] & 0x3F));
+				i += 2;
+			}
+			else if((c & 0xF0) == 0xE0 && i + 2 < end) {
+				dst[n++] = (char)(((c & 0x0F) << 12) | ((b[i + 1] & 0x3F) << 6) | (b[i + 2] & 0x3F));
+				i += 3;
+			}
+			else if((c & 0xF8) == 0xF0 && i + 3 < end) {
+				int cp = ((c & 0x07) << 18) | ((b[i + 1] & 0x3F) << 12) | ((b[i + 2] & 0x3F) << 6) | (b[i + 3] & 0x3F);
+				dst[n++] = Character.highSurrogate(cp);
+				dst[n++] = Character.lowSurrogate(cp);
+				i += 4;
+			}
+			else {
+				throw new XMLStreamException("malformed UTF-8 byte 0x" + Integer.toHexString(c & 0xFF), getLocation());
+			}
+		}
+		return n;
+	}
+
+
+	/**
+	 * @param start the offset after the entity reference's '&amp;'
+	 * @param end the offset of the entity reference's ';'
+	 * @return the code point represented by the entity reference
+	 */
+	private int entityValue(int start, int end) throws XMLStreamException {
+		byte[] b = buf;
+		int len = end - start;
+		if(len > 1 && b[start] == '#') {
+			boolean hex = (b[start + 1] == 'x');
+			int cp = 0;
+			for(int i = start + (hex ? 2 : 1); i < end; i++) {
+				int digit = Character.digit(b[i], hex ? 16 : 10);
+				if(digit < 0 || cp > Character.MAX_CODE_POINT) {
+					throw new XMLStreamException("invalid character reference '&" + new String(b, start, len, StandardCharsets.UTF_8) + ";'", getLocation());
+				}
+				cp = cp * (hex ? 16 : 10) + digit;
+			}
+			if(cp > Character.MAX_CODE_POINT) {
+				throw new XMLStreamException("invalid character reference '&" + new String(b, start, len, StandardCharsets.UTF_8) + ";'", getLocation());
+			}
+			return cp;
+		}
+		if(len == 2 && b[start + 1] == 't') {
+			if(b[start] == 'l') return '<';
+			if(b[start] == 'g') return '>';
+		}
+		else if(len == 3 && b[start] == 'a' && b[start + 1] == 'm' && b[start + 2] == 'p') {
+			return '&';
+		}
+		else if(len == 4 && b[start] == 'q' && b[start + 1] == 'u' && b[start + 2] == 'o' && b[start + 3] == 't') {
+			return '"';
+		}
+		else if(len == 4 && b[start] == 'a' && b[start + 1] == 'p' && b[start + 2] == 'o' && b[start + 3] == 's') {
+			return '\'';
+		}
+		throw new XMLStreamException("unknown entity reference '&" + new String(b, start, len, StandardCharsets.UTF_8) + ";'", getLocation());
+	}
+
+
+	private char[] ensureTextCapacity(int len) {
+		if(text.length < len) {
+			text = new char[Math.max(len, text.length * 2)];
+		}
+		return text;
+	}
+
+
+	/** Skip bytes until after the next occurrence of {@code end}
+	 */
+	private void skipPast(byte[] end) throws IOException {
+		while(true) {
+			if(limit - pos < end.length) {
+				mark = pos;
+				if(!fill()) {
+					throw new EOFException("unexpected end of XML data, expected '" + new String(end, StandardCharsets.UTF_8) + "'");
+				}
+				continue;
+			}
+			if(startsWith(end)) {
+				pos += end.length;
+				return;
+			}
+			pos++;
+		}
+	}
+
+
+	/**
+	 * @return the next non-whitespace byte, which is not consumed, or -1 if the end of the data has been reached
+	 */
+	private int skipWhitespace() throws IOException {
+		while(true) {
+			if(pos >= limit && !fill()) {
+				return -1;
+			}
+			byte ch = buf[pos];
+			if(!isWhitespace(ch)) {
+				return ch;
+			}
+			pos++;
+		}
+	}
+
+
+	/**
+	 * @return true if the bytes at the reader's position match {@code prefix}
+	 */
+	private boolean startsWith(byte[] prefix) throws IOException {
+		if(!request(prefix.length)) {
+			return false;
+		}
+		return Arrays.equals(buf, pos, pos + prefix.length, prefix, 0, prefix.length);
+	}
+
+
+	/**
+	 * @return true if at least {@code count} bytes are available at the reader's position
+	 */
+	private boolean request(int count) throws IOException {
+		while(limit - pos < count) {
+			if(!fill()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/** Read more input, bytes from {@link #mark} onward are kept and all buffer positions are shifted to match
+	 * @return false if the end of the input has been reached
+	 */
+	private boolean fill() throws IOException {
+		if(src == null) {
+			return false;
+		}
+		int shift = mark;
+		if(shift > 0) {
+			System.arraycopy(buf, shift, buf, 0, limit - shift);
+			limit -= shift;
+			pos -= shift;
+			mark = 0;
+			tokenStart -= shift;
+			textStart -= shift;
+			textEnd -= shift;
+			discarded += shift;
+		}
+		if(limit == buf.length) {
+			buf = Arrays.copyOf(buf, buf.length * 2);
+		}
+		int read = src.read(buf, limit, buf.length - limit);
+		if(read < 0) {
+			return false;
+		}
+		limit += read;
+		return true;
+	}
+
+
+	private void skipByteOrderMark() throws IOException {
+		if(request(3) && buf[pos] == (byte)0xEF && buf[pos + 1] == (byte)0xBB && buf[pos + 2] == (byte)0xBF) {
+			pos += 3;
+		}
+	}
+
+
+	private XMLStreamException syntaxError(String msg) {
+		return new XMLStreamException(msg + (pos < limit ? ", found '" + (char)buf[pos] + "'" : ""), getLocation());
+	}
+
+
+	private static boolean isWhitespace(byte ch) {
+		return ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t';
+	}
+
+}
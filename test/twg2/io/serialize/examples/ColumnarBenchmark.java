@@ -0,0 +1,130 @@
+package twg2.io.serialize.examples;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+import twg2.io.serialize.columnar.ColumnBlock;
+import twg2.io.serialize.columnar.ColumnLayout;
+
+/** Compares summing one field of an employee export stored as a row-wise block, read into objects with
+ * {@link DataTransferableFactory#readBlock(DataTransferInput, String, DataTransferFactory)},
+ * against the same export stored as a columnar block, read with {@link ColumnBlock#read(DataTransferInput, String, java.util.Collection)}
+ * decoding only the wanted columns.<br>
+ * Usage: {@code ColumnarBenchmark [records] [format]}
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ColumnarBenchmark {
+
+	static class Row {
+		int id;
+		String name;
+		boolean permanent;
+		String address;
+		String role;
+		long hired;
+	}
+
+
+	static final ColumnLayout<Row> rowLayout = new ColumnLayout<Row>(Row::new)
+		.addInt("id", (r) -> r.id, (r, v) -> r.id = v)
+		.addString("name", (r) -> r.name, (r, v) -> r.name = v)
+		.addBoolean("permanent", (r) -> r.permanent, (r, v) -> r.permanent = v)
+		.addString("address", (r) -> r.address, (r, v) -> r.address = v)
+		.addString("role", (r) -> r.role, (r, v) -> r.role = v)
+		.addLong("hired", (r) -> r.hired, (r, v) -> r.hired = v);
+
+
+	static final DataTransferFactory<Row> rowFactory = new DataTransferFactory<Row>() {
+		@Override
+		public void writeData(DataTransferOutput out, Row obj) throws IOException {
+			out.writeStartBlock("employee");
+			out.writeInt("id", obj.id);
+			out.writeString("name", obj.name);
+			out.writeBoolean("permanent", obj.permanent);
+			out.writeString("address", obj.address);
+			out.writeString("role", obj.role);
+			out.writeLong("hired", obj.hired);
+			out.writeEndBlock();
+		}
+
+		@Override
+		public Row readData(DataTransferInput in) throws IOException {
+			Row row = new Row();
+			in.readStartBlock("employee");
+			row.id = in.readInt("id");
+			row.name = in.readString("name");
+			row.permanent = in.readBoolean("permanent");
+			row.address = in.readString("address");
+			row.role = in.readString("role");
+			row.hired = in.readLong("hired");
+			in.readEndBlock();
+			return row;
+		}
+	};
+
+
+	public static void main(String[] args) throws IOException {
+		int records = (args.length > 0 ? Integer.parseInt(args[0]) : 200000);
+		DataTransferFormat format = (args.length > 1 ? DataTransferFormat.valueOf(args[1]) : DataTransferFormat.BINARY);
+
+		String[] roles = { "developer", "manager", "analyst", "support" };
+		List<Row> rows = new ArrayList<>(records);
+		for(int i = 0; i < records; i++) {
+			Row row = new Row();
+			row.id = i;
+			row.name = "employee " + i;
+			row.permanent = (i % 4 != 0);
+			row.address = i + " Main Street, Springfield";
+			row.role = roles[i % roles.length];
+			row.hired = 1_500_000_000_000L + i * 60_000L;
+			rows.add(row);
+		}
+
+		ByteArrayOutputStream rowBuf = new ByteArrayOutputStream();
+		try(DataTransferOutput out = DataTransferableFactory.createWriter(format, rowBuf)) {
+			DataTransferableFactory.writeBlock(out, "employees", rowFactory, rows);
+		}
+		ByteArrayOutputStream colBuf = new ByteArrayOutputStream();
+		try(DataTransferOutput out = DataTransferableFactory.createWriter(format, colBuf)) {
+			rowLayout.writeBlock(out, "employees", rows);
+		}
+		System.out.println(format + ", " + records + " records, row-wise " + rowBuf.size() + " bytes, columnar " + colBuf.size() + " bytes");
+
+		byte[] rowSrc = rowBuf.toByteArray();
+		byte[] colSrc = colBuf.toByteArray();
+		for(int round = 0; round < 5; round++) {
+			long start = System.nanoTime();
+			long rowSum = 0;
+			try(DataTransferInput in = DataTransferableFactory.createReader(format, new ByteArrayInputStream(rowSrc))) {
+				for(Row row : DataTransferableFactory.readBlock(in, "employees", rowFactory)) {
+					rowSum += (row.permanent ? row.id : 0);
+				}
+			}
+			long rowNanos = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			long colSum = 0;
+			try(DataTransferInput in = DataTransferableFactory.createReader(format, new ByteArrayInputStream(colSrc))) {
+				ColumnBlock block = ColumnBlock.read(in, "employees", Arrays.asList("id", "permanent"));
+				int[] ids = block.getIntColumn("id");
+				boolean[] permanent = block.getBooleanColumn("permanent");
+				for(int i = 0, size = block.size(); i < size; i++) {
+					colSum += (permanent[i] ? ids[i] : 0);
+				}
+			}
+			long colNanos = System.nanoTime() - start;
+			System.out.printf("round %d: row-wise %.1f ms, columnar (2 of 6 columns) %.1f ms, sums %d/%d%n", round, rowNanos / 1e6, colNanos / 1e6, rowSum, colSum);
+		}
+	}
+
+}
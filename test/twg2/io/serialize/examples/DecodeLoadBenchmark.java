@@ -0,0 +1,230 @@
+package twg2.io.serialize.examples;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+import twg2.io.serialize.flow.DecodeExecutor;
+
+/** Load benchmark for {@link DecodeExecutor}, decodes many small concurrent JSON request bodies read from sockets.<br>
+ * A loopback stand-in server writes each body in two halves separated by a delay, so every decode blocks on socket I/O part way
+ * through the document. The decode executor is compared against a fixed pool of platform threads
+ * which creates a new reader per body with {@link DataTransferableFactory#createReader(DataTransferFormat, InputStream)}.<br>
+ * Usage: {@code DecodeLoadBenchmark [requests] [concurrency] [delayMillis] [baselineThreads]}
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class DecodeLoadBenchmark {
+
+	static class Request {
+		int id;
+		String name;
+		double[] values;
+	}
+
+
+	static final DataTransferFactory<Request> requestFactory = new DataTransferFactory<Request>() {
+		@Override
+		public void writeData(DataTransferOutput out, Request obj) throws IOException {
+			out.writeStartBlock("request");
+			out.writeInt("id", obj.id);
+			out.writeString("name", obj.name);
+			out.writeInt("count", obj.values.length);
+			for(int i = 0; i < obj.values.length; i++) {
+				out.writeDouble("v" + i, obj.values[i]);
+			}
+			out.writeEndBlock();
+		}
+
+		@Override
+		public Request readData(DataTransferInput in) throws IOException {
+			Request req = new Request();
+			in.readStartBlock("request");
+			req.id = in.readInt("id");
+			req.name = in.readString("name");
+			req.values = new double[in.readInt("count")];
+			for(int i = 0; i < req.values.length; i++) {
+				req.values[i] = in.readDouble("v" + i);
+			}
+			in.readEndBlock();
+			return req;
+		}
+	};
+
+
+	public static void main(String[] args) throws Exception {
+		int requests = (args.length > 0 ? Integer.parseInt(args[0]) : 20000);
+		int concurrency = (args.length > 1 ? Integer.parseInt(args[1]) : 2000);
+		int delayMillis = (args.length > 2 ? Integer.parseInt(args[2]) : 20);
+		int baselineThreads = (args.length > 3 ? Integer.parseInt(args[3]) : 64);
+
+		byte[] body = createBody();
+		try(StandInServer server = new StandInServer(body, delayMillis, concurrency)) {
+			System.out.println("requests=" + requests + ", concurrency=" + concurrency + ", delay=" + delayMillis + "ms, body=" + body.length + " bytes"
+					+ ", virtual threads " + (DecodeExecutor.isVirtualThreadsSupported() ? "available" : "not available"));
+
+			ExecutorService platformPool = Executors.newFixedThreadPool(baselineThreads);
+			try {
+				run("platform pool (" + baselineThreads + " threads), new reader per body", server, requests, concurrency, (src) -> CompletableFuture.supplyAsync(() -> {
+					try(DataTransferInput in = DataTransferableFactory.createReader(DataTransferFormat.JSON, src)) {
+						return requestFactory.readData(in);
+					} catch(IOException ioe) {
+						throw new RuntimeException(ioe);
+					}
+				}, platformPool));
+			} finally {
+				platformPool.shutdown();
+			}
+
+			try(DecodeExecutor decoder = DecodeExecutor.newDefault()) {
+				run("DecodeExecutor.newDefault(), pooled readers", server, requests, concurrency, (src) -> decoder.submit(DataTransferFormat.JSON, src, requestFactory));
+			}
+		}
+	}
+
+
+	private static void run(String name, StandInServer server, int requests, int concurrency, Decoder decoder) throws Exception {
+		// warm up, then measure
+		for(int round = 0; round < 2; round++) {
+			Semaphore inFlight = new Semaphore(concurrency);
+			AtomicLong checksum = new AtomicLong();
+			List<CompletableFuture<?>> futures = new ArrayList<>(requests);
+			long start = System.nanoTime();
+			for(int i = 0; i < requests; i++) {
+				inFlight.acquire();
+				Socket socket = new Socket(server.getAddress(), server.getPort());
+				futures.add(decoder.decode(socket.getInputStream()).whenComplete((req, err) -> {
+					try {
+						socket.close();
+					} catch(IOException ioe) {
+						// ignore
+					}
+					inFlight.release();
+					if(req != null) {
+						checksum.addAndGet(req.id + req.values.length);
+					}
+				}));
+			}
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+			long nanos = System.nanoTime() - start;
+			if(round == 1) {
+				System.out.printf("%s: %d bodies in %.1f ms, %.0f bodies/s (checksum %d)%n", name, requests, nanos / 1e6, requests * 1e9 / nanos, checksum.get());
+			}
+		}
+	}
+
+
+	private static byte[] createBody() throws IOException {
+		Request req = new Request();
+		req.id = 42;
+		req.name = "stand-in request";
+		req.values = new double[16];
+		for(int i = 0; i < req.values.length; i++) {
+			req.values[i] = i * 1.25;
+		}
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		DataTransferOutput out = DataTransferableFactory.createWriter(DataTransferFormat.JSON, buf);
+		requestFactory.writeData(out, req);
+		out.close();
+		return buf.toByteArray();
+	}
+
+
+
+	@FunctionalInterface
+	private static interface Decoder {
+		public CompletableFuture<Request> decode(InputStream src);
+	}
+
+
+
+	/** Accepts loopback connections and writes the same body to each, the second half of the body is written
+	 * after a delay by a scheduled executor so the server does not need a thread per connection
+	 */
+	private static class StandInServer implements AutoCloseable {
+		private final ServerSocket serverSocket;
+		private final ScheduledExecutorService writers = Executors.newScheduledThreadPool(4);
+		private final Thread acceptThread;
+
+
+		StandInServer(byte[] body, int delayMillis, int backlog) throws IOException {
+			this.serverSocket = new ServerSocket(0, backlog, InetAddress.getLoopbackAddress());
+			int half = body.length / 2;
+			this.acceptThread = new Thread(() -> {
+				while(!serverSocket.isClosed()) {
+					try {
+						Socket socket = serverSocket.accept();
+						writers.execute(() -> {
+							try {
+								OutputStream out = socket.getOutputStream();
+								out.write(body, 0, half);
+								out.flush();
+							} catch(IOException ioe) {
+								closeQuietly(socket);
+								return;
+							}
+							writers.schedule(() -> {
+								try {
+									socket.getOutputStream().write(body, half, body.length - half);
+								} catch(IOException ioe) {
+									// the client closed the connection
+								}
+								closeQuietly(socket);
+							}, delayMillis, TimeUnit.MILLISECONDS);
+						});
+					} catch(IOException ioe) {
+						// the server socket was closed
+					}
+				}
+			}, "stand-in-server");
+			this.acceptThread.setDaemon(true);
+			this.acceptThread.start();
+		}
+
+
+		InetAddress getAddress() {
+			return serverSocket.getInetAddress();
+		}
+
+
+		int getPort() {
+			return serverSocket.getLocalPort();
+		}
+
+
+		@Override
+		public void close() throws IOException {
+			serverSocket.close();
+			writers.shutdownNow();
+		}
+
+
+		private static void closeQuietly(Socket socket) {
+			try {
+				socket.close();
+			} catch(IOException ioe) {
+				// ignore
+			}
+		}
+
+	}
+
+}
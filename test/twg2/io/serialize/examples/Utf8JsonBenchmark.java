@@ -0,0 +1,113 @@
+package twg2.io.serialize.examples;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+import twg2.io.serialize.json.JsonReader;
+import twg2.io.serialize.json.Utf8JsonReader;
+
+/** Compares reading a JSON block of measurement records with the Jackson based {@link JsonReader}
+ * against the byte based {@link Utf8JsonReader}, which compares field names and parses numbers directly from the UTF-8 input.<br>
+ * Usage: {@code Utf8JsonBenchmark [records]}
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class Utf8JsonBenchmark {
+
+	static class Sample {
+		int id;
+		long time;
+		double value;
+		float weight;
+		boolean valid;
+		String sensor;
+	}
+
+
+	static final DataTransferFactory<Sample> sampleFactory = new DataTransferFactory<Sample>() {
+		@Override
+		public void writeData(DataTransferOutput out, Sample obj) throws IOException {
+			out.writeStartBlock("sample");
+			out.writeInt("id", obj.id);
+			out.writeLong("time", obj.time);
+			out.writeDouble("value", obj.value);
+			out.writeFloat("weight", obj.weight);
+			out.writeBoolean("valid", obj.valid);
+			out.writeString("sensor", obj.sensor);
+			out.writeEndBlock();
+		}
+
+		@Override
+		public Sample readData(DataTransferInput in) throws IOException {
+			Sample sample = new Sample();
+			in.readStartBlock("sample");
+			sample.id = in.readInt("id");
+			sample.time = in.readLong("time");
+			sample.value = in.readDouble("value");
+			sample.weight = in.readFloat("weight");
+			sample.valid = in.readBoolean("valid");
+			sample.sensor = in.readString("sensor");
+			in.readEndBlock();
+			return sample;
+		}
+	};
+
+
+	public static void main(String[] args) throws IOException {
+		int records = (args.length > 0 ? Integer.parseInt(args[0]) : 200000);
+
+		List<Sample> samples = new ArrayList<>(records);
+		for(int i = 0; i < records; i++) {
+			Sample sample = new Sample();
+			sample.id = i;
+			sample.time = 1_500_000_000_000L + i * 1_000L;
+			sample.value = i * 0.125 - 1000.5;
+			sample.weight = (i % 100) / 8f;
+			sample.valid = (i % 7 != 0);
+			sample.sensor = "sensor-" + (i % 32);
+			samples.add(sample);
+		}
+
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		try(DataTransferOutput out = DataTransferableFactory.createWriter(DataTransferFormat.JSON, buf)) {
+			DataTransferableFactory.writeBlock(out, "samples", sampleFactory, samples);
+		}
+		byte[] src = buf.toByteArray();
+		System.out.println(records + " records, " + src.length + " bytes");
+
+		for(int round = 0; round < 5; round++) {
+			long start = System.nanoTime();
+			double jacksonSum = sum(src, false);
+			long jacksonNanos = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			double utf8Sum = sum(src, true);
+			long utf8Nanos = System.nanoTime() - start;
+			System.out.printf("round %d: JsonReader %.1f ms, Utf8JsonReader %.1f ms, sums %.1f/%.1f%n", round, jacksonNanos / 1e6, utf8Nanos / 1e6, jacksonSum, utf8Sum);
+		}
+	}
+
+
+	private static double sum(byte[] src, boolean useUtf8JsonReader) throws IOException {
+		boolean prevUseUtf8 = DataTransferableFactory.isUseUtf8JsonReader();
+		DataTransferableFactory.setUseUtf8JsonReader(useUtf8JsonReader);
+		try(DataTransferInput in = DataTransferableFactory.createReader(DataTransferFormat.JSON, new ByteArrayInputStream(src))) {
+			double sum = 0;
+			for(Sample sample : DataTransferableFactory.readBlock(in, "samples", sampleFactory)) {
+				sum += (sample.valid ? sample.value * sample.weight : sample.id);
+			}
+			return sum;
+		} finally {
+			DataTransferableFactory.setUseUtf8JsonReader(prevUseUtf8);
+		}
+	}
+
+}
@@ -0,0 +1,231 @@
+package twg2.io.serialize.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.FieldName;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.reader.FieldPredicate;
+import twg2.io.serialize.base.reader.FieldProjection;
+import twg2.io.serialize.base.reader.RecordFilter;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+import twg2.io.serialize.binary.BinaryReader;
+import twg2.io.serialize.binary.BinaryWriter;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class AdaptiveEncodingTest {
+
+	static class Sample {
+		long time;
+		int seq;
+		double value;
+		String sensor;
+		String label;
+		int[] extra;
+	}
+
+
+	static final FieldName TIME = FieldName.of("time");
+	static final FieldName VALUE = FieldName.of("value");
+
+
+	static final DataTransferFactory<Sample> sampleFactory = new DataTransferFactory<Sample>() {
+		@Override
+		public void writeData(DataTransferOutput out, Sample obj) throws IOException {
+			out.writeStartBlock("sample");
+			out.writeLongField(TIME, obj.time);
+			out.writeInt("seq", obj.seq);
+			out.writeDoubleField(VALUE, obj.value);
+			out.writeString("sensor", obj.sensor);
+			out.writeString("label", obj.label);
+			out.writeStartBlock("extra");
+			for(int i = 0; i < obj.extra.length; i++) {
+				out.writeInt("x", obj.extra[i]);
+			}
+			out.writeEndBlock();
+			out.writeEndBlock();
+		}
+
+		@Override
+		public Sample readData(DataTransferInput in) throws IOException {
+			Sample obj = new Sample();
+			in.readStartBlock("sample");
+			obj.time = in.readLongField(TIME);
+			obj.seq = in.readInt("seq");
+			obj.value = in.readDoubleField(VALUE);
+			obj.sensor = in.readString("sensor");
+			obj.label = in.readString("label");
+			in.readStartBlock("extra");
+			List<Integer> extra = new ArrayList<>();
+			while(!in.peekNext().isEndBlock()) {
+				extra.add(Integer.parseInt(in.readNext().getContent()));
+			}
+			in.readEndBlock();
+			obj.extra = extra.stream().mapToInt((v) -> v).toArray();
+			in.readEndBlock();
+			return obj;
+		}
+	};
+
+
+	@Test
+	public void writeAndReadAdaptive() throws IOException {
+		List<Sample> samples = createSamples(2000);
+		byte[] plain = write(samples, false);
+		byte[] adaptive = write(samples, true);
+		// field names are not compressed, so the whole stream shrinks less than the values do
+		Assert.assertTrue("adaptive " + adaptive.length + " plain " + plain.length, adaptive.length * 10 < plain.length * 9);
+
+		List<Sample> res;
+		try(DataTransferInput in = new BinaryReader(adaptive, 0, adaptive.length)) {
+			res = DataTransferableFactory.readBlock(in, "samples", sampleFactory);
+		}
+		Assert.assertEquals(samples.size(), res.size());
+		for(int i = 0; i < samples.size(); i++) {
+			assertSampleEquals(samples.get(i), res.get(i));
+		}
+	}
+
+
+	@Test
+	public void skippedAdaptiveEntries() throws IOException {
+		List<Sample> samples = createSamples(300);
+		byte[] adaptive = write(samples, true);
+
+		// skipped fields and skipped blocks still update the stream's decoding state
+		try(DataTransferInput in = new BinaryReader(adaptive, 0, adaptive.length)) {
+			in.readStartBlock("samples");
+			for(int i = 0; i < samples.size(); i++) {
+				in.readStartBlock("sample");
+				if(i % 3 == 0) {
+					Assert.assertEquals(samples.get(i).label, in.readString("label"));
+				}
+				else {
+					Assert.assertEquals(samples.get(i).value, in.readDoubleField(VALUE), 0.0);
+				}
+				in.readStartBlock("extra");
+				in.readEndBlock();
+				in.readEndBlock();
+			}
+			in.readEndBlock();
+		}
+
+		try(DataTransferInput in = new BinaryReader(adaptive, 0, adaptive.length)) {
+			in.setProjection(FieldProjection.of("samples/sample/sensor"));
+			in.readStartBlock("samples");
+			for(int i = 0; i < samples.size(); i++) {
+				in.readStartBlock("sample");
+				Assert.assertEquals(samples.get(i).sensor, in.readString("sensor"));
+				in.readEndBlock();
+			}
+			in.readEndBlock();
+		}
+
+		try(DataTransferInput in = new BinaryReader(adaptive, 0, adaptive.length)) {
+			List<Sample> res = DataTransferableFactory.readBlock(in, "samples", sampleFactory, new RecordFilter(FieldPredicate.equal("sensor", "sensor-2")));
+			Assert.assertEquals(samples.size() / 4, res.size());
+			for(int i = 0; i < res.size(); i++) {
+				assertSampleEquals(samples.get(i * 4 + 2), res.get(i));
+			}
+		}
+
+		// lazy records cannot decode adaptive entries out of order
+		try {
+			DataTransferableFactory.readLazyBlock(DataTransferFormat.BINARY, adaptive, "samples");
+			Assert.fail("expected lazy records to reject adaptive entries");
+		} catch(IOException ioe) {
+			// expected
+		}
+	}
+
+
+	@Test
+	public void adaptiveValueEdgeCases() throws IOException {
+		long[] longs = { 0, Long.MIN_VALUE, Long.MAX_VALUE, -1, 1, Long.MAX_VALUE, Long.MIN_VALUE };
+		double[] doubles = { 0.0, -0.0, Double.NaN, Double.MAX_VALUE, Double.MIN_VALUE, Double.NEGATIVE_INFINITY, 1.5, 1.5, 1.25 };
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		try(BinaryWriter out = new BinaryWriter(buf)) {
+			out.setAdaptiveEncoding(true);
+			Assert.assertTrue(out.isAdaptiveEncoding());
+			out.writeStartBlock("values");
+			for(int round = 0; round < 20; round++) {
+				for(long v : longs) {
+					out.writeLong("l", v + round);
+				}
+				for(double v : doubles) {
+					out.writeDouble("d", v * round);
+				}
+				out.writeInt("i", Integer.MIN_VALUE + round * 7);
+				out.writeString("s", (round % 4 == 0 ? null : "s" + (round % 3)));
+				// values written while adaptive encoding is disabled do not change the stream's state
+				out.setAdaptiveEncoding(round % 5 != 4);
+			}
+			out.writeEndBlock();
+		}
+		byte[] bytes = buf.toByteArray();
+		try(DataTransferInput in = new BinaryReader(bytes, 0, bytes.length)) {
+			in.readStartBlock("values");
+			for(int round = 0; round < 20; round++) {
+				for(long v : longs) {
+					Assert.assertEquals(v + round, in.readLong("l"));
+				}
+				for(double v : doubles) {
+					Assert.assertEquals(Double.doubleToLongBits(v * round), Double.doubleToLongBits(in.readDouble("d")));
+				}
+				Assert.assertEquals(Integer.MIN_VALUE + round * 7, in.readInt("i"));
+				Assert.assertEquals((round % 4 == 0 ? null : "s" + (round % 3)), in.readString("s"));
+			}
+			in.readEndBlock();
+		}
+	}
+
+
+	private static void assertSampleEquals(Sample expect, Sample actual) {
+		Assert.assertEquals(expect.time, actual.time);
+		Assert.assertEquals(expect.seq, actual.seq);
+		Assert.assertEquals(expect.value, actual.value, 0.0);
+		Assert.assertEquals(expect.sensor, actual.sensor);
+		Assert.assertEquals(expect.label, actual.label);
+		Assert.assertArrayEquals(expect.extra, actual.extra);
+	}
+
+
+	private static List<Sample> createSamples(int count) {
+		List<Sample> samples = new ArrayList<>();
+		double value = 20.0;
+		for(int i = 0; i < count; i++) {
+			Sample s = new Sample();
+			s.time = 1_700_000_000_000L + i * 1000L + (i % 3);
+			s.seq = i;
+			value += (i % 10 == 0 ? 0.25 : 0);
+			s.value = value;
+			s.sensor = "sensor-" + (i % 4);
+			s.label = "reading " + i;
+			s.extra = new int[] { i, i * 2 };
+			samples.add(s);
+		}
+		return samples;
+	}
+
+
+	private static byte[] write(List<Sample> samples, boolean adaptive) throws IOException {
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		try(BinaryWriter out = new BinaryWriter(buf)) {
+			out.setAdaptiveEncoding(adaptive);
+			DataTransferableFactory.writeBlock(out, "samples", sampleFactory, samples);
+		}
+		return buf.toByteArray();
+	}
+
+}
@@ -0,0 +1,98 @@
+package twg2.io.serialize.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+import twg2.io.serialize.test.RecordFilterTest.Item;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class AppendTest {
+
+	@Test
+	public void jsonAppend() throws IOException {
+		checkAppend(DataTransferFormat.JSON);
+	}
+
+
+	@Test
+	public void xmlAppend() throws IOException {
+		checkAppend(DataTransferFormat.XML);
+	}
+
+
+	public void checkAppend(DataTransferFormat format) throws IOException {
+		String ext = "." + format.name().toLowerCase();
+		File file = new File("rsc/append_test" + ext);
+		File expectFile = new File("rsc/append_test_expect" + ext);
+		List<Item> items = new ArrayList<>();
+		for(int i = 0; i < 10; i++) {
+			items.add(new Item(i, "rôle" + i, i % 3, "tag" + i));
+		}
+
+		// append to an empty block and then to a block with existing records, the result is identical to writing every record at once
+		writeItems(format, file, items.subList(0, 0));
+		appendItems(format, file, items.subList(0, 4));
+		appendItems(format, file, items.subList(4, 10));
+		writeItems(format, expectFile, items);
+		Assert.assertArrayEquals(Files.readAllBytes(expectFile.toPath()), Files.readAllBytes(file.toPath()));
+		checkItems(format, file, 10);
+
+		// appending nothing leaves the document unchanged
+		appendItems(format, file, items.subList(0, 0));
+		Assert.assertArrayEquals(Files.readAllBytes(expectFile.toPath()), Files.readAllBytes(file.toPath()));
+
+		// a document which does not end with enough closing tokens is rejected without being modified
+		long len = file.length();
+		try {
+			DataTransferableFactory.createAppendWriter(format, file, 5);
+			Assert.fail("expected document without 5 closed blocks to be rejected");
+		} catch(IOException ioe) {
+			// expected
+		}
+		Assert.assertEquals(len, file.length());
+	}
+
+
+	private static void writeItems(DataTransferFormat format, File file, List<Item> items) throws IOException {
+		DataTransferOutput out = DataTransferableFactory.createWriter(format, file, true);
+		DataTransferableFactory.writeBlock(out, "items", RecordFilterTest.itemFactory, items);
+		out.close();
+	}
+
+
+	private static void appendItems(DataTransferFormat format, File file, List<Item> items) throws IOException {
+		DataTransferOutput out = DataTransferableFactory.createAppendWriter(format, file, 1);
+		for(Item item : items) {
+			RecordFilterTest.itemFactory.writeData(out, item);
+		}
+		out.close();
+	}
+
+
+	private static void checkItems(DataTransferFormat format, File file, int count) throws IOException {
+		DataTransferInput in = DataTransferableFactory.createReader(format, file, true);
+		List<Item> res = DataTransferableFactory.readBlock(in, "items", RecordFilterTest.itemFactory);
+		in.close();
+		Assert.assertEquals(count, res.size());
+		for(int i = 0; i < count; i++) {
+			Item item = res.get(i);
+			Assert.assertEquals(i, item.id);
+			Assert.assertEquals("rôle" + i, item.role);
+			Assert.assertEquals(i % 3, item.level);
+		}
+	}
+
+}
@@ -0,0 +1,236 @@
+package twg2.io.serialize.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.base.BatchDataTransferFactory;
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.FieldName;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.reader.FieldPredicate;
+import twg2.io.serialize.base.reader.RecordFilter;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+import twg2.io.serialize.test.RecordFilterTest.Item;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class BatchTest {
+
+	/** Writes the same data as {@link RecordFilterTest#itemFactory} in batch loops with pre-encoded names
+	 */
+	static class ItemBatchFactory implements BatchDataTransferFactory<Item> {
+		static final FieldName ITEM = FieldName.of("Item");
+		static final FieldName ID = FieldName.of("id");
+		static final FieldName ROLE = FieldName.of("role");
+		static final FieldName LEVEL = FieldName.of("level");
+		int batchesWritten;
+		int batchesRead;
+
+
+		@Override
+		public Item[] newBatch(int size) {
+			return new Item[size];
+		}
+
+
+		@Override
+		public void writeData(DataTransferOutput out, Item obj) throws IOException {
+			RecordFilterTest.itemFactory.writeData(out, obj);
+		}
+
+
+		@Override
+		public Item readData(DataTransferInput in) throws IOException {
+			return RecordFilterTest.itemFactory.readData(in);
+		}
+
+
+		@Override
+		public void writeBatch(DataTransferOutput out, Item[] items, int off, int len) throws IOException {
+			batchesWritten++;
+			for(int i = off, end = off + len; i < end; i++) {
+				Item item = items[i];
+				out.writeStartBlockField(ITEM);
+				out.writeIntField(ID, item.id);
+				out.writeStringField(ROLE, item.role);
+				DataTransferableFactory.writeBlock(out, "tags", "tag", item.tags);
+				out.writeIntField(LEVEL, item.level);
+				out.writeEndBlock();
+			}
+		}
+
+
+		@Override
+		public int readBatch(DataTransferInput in, String blockName, Item[] dst, int off, int len) throws IOException {
+			batchesRead++;
+			int count = 0;
+			while(count < len && !DataTransferableFactory.isEndOfBlock(in.peekNext(), blockName)) {
+				in.readStartBlockField(ITEM);
+				int id = in.readIntField(ID);
+				String role = in.readStringField(ROLE);
+				List<String> tags = DataTransferableFactory.readBlock(in, "tags", "tag");
+				int level = in.readIntField(LEVEL);
+				in.readEndBlock();
+				dst[off + count++] = new Item(id, role, level, tags.toArray(new String[tags.size()]));
+			}
+			return count;
+		}
+	}
+
+
+	@Test
+	public void writeAndReadBatches() throws IOException {
+		List<Item> items = new ArrayList<>();
+		for(int i = 0; i < 150; i++) {
+			items.add(new Item(i, "role" + (i % 4), i % 3, "a" + i, "b"));
+		}
+		for(DataTransferFormat format : DataTransferFormat.values()) {
+			ItemBatchFactory factory = new ItemBatchFactory();
+			byte[] expect = writeItems(format, RecordFilterTest.itemFactory, items);
+			byte[] res = writeItems(format, factory, items);
+			Assert.assertArrayEquals(expect, res);
+			Assert.assertEquals(1, factory.batchesWritten);
+
+			DataTransferInput in = DataTransferableFactory.createReader(format, new ByteArrayInputStream(res));
+			List<Item> read = DataTransferableFactory.readBlock(in, "items", factory);
+			in.close();
+			// 64 + 64 + 22 records
+			Assert.assertEquals(3, factory.batchesRead);
+			checkItems(items, read);
+
+			// the record filter is applied one record at a time
+			in = DataTransferableFactory.createReader(format, new ByteArrayInputStream(res));
+			read = DataTransferableFactory.readBlock(in, "items", factory, new RecordFilter(FieldPredicate.range("level", 2, 2)));
+			in.close();
+			Assert.assertEquals(3, factory.batchesRead);
+			Assert.assertEquals(50, read.size());
+			for(int i = 0; i < read.size(); i++) {
+				Assert.assertEquals(i * 3 + 2, read.get(i).id);
+			}
+		}
+	}
+
+
+	@Test
+	public void defaultBatchMethods() throws IOException {
+		BatchDataTransferFactory<Item> factory = new BatchDataTransferFactory<Item>() {
+			@Override
+			public Item[] newBatch(int size) {
+				return new Item[size];
+			}
+
+			@Override
+			public void writeData(DataTransferOutput out, Item obj) throws IOException {
+				RecordFilterTest.itemFactory.writeData(out, obj);
+			}
+
+			@Override
+			public Item readData(DataTransferInput in) throws IOException {
+				return RecordFilterTest.itemFactory.readData(in);
+			}
+		};
+		List<Item> items = new ArrayList<>();
+		for(int i = 0; i < 10; i++) {
+			items.add(new Item(i, "r", i));
+		}
+		for(DataTransferFormat format : DataTransferFormat.values()) {
+			byte[] res = writeItems(format, factory, items);
+			Assert.assertArrayEquals(writeItems(format, RecordFilterTest.itemFactory, items), res);
+
+			DataTransferInput in = DataTransferableFactory.createReader(format, new ByteArrayInputStream(res));
+			in.readStartBlock("items");
+			Item[] dst = new Item[6];
+			Assert.assertEquals(4, factory.readBatch(in, "items", dst, 2, 4));
+			Assert.assertNull(dst[1]);
+			Assert.assertEquals(3, dst[5].id);
+			Assert.assertEquals(6, factory.readBatch(in, "items", dst));
+			Assert.assertEquals(9, dst[5].id);
+			Assert.assertEquals(0, factory.readBatch(in, "items", dst));
+			in.readEndBlock();
+			in.close();
+		}
+	}
+
+
+	@Test
+	public void emptyElementRecords() throws IOException {
+		// records which are single string elements, some readers report an empty element as an end element
+		DataTransferFactory<String> tagFactory = new DataTransferFactory<String>() {
+			@Override
+			public void writeData(DataTransferOutput out, String obj) throws IOException {
+				out.writeString("tag", obj);
+			}
+
+			@Override
+			public String readData(DataTransferInput in) throws IOException {
+				return in.readString("tag");
+			}
+		};
+		BatchDataTransferFactory<String> batchFactory = new BatchDataTransferFactory<String>() {
+			@Override
+			public String[] newBatch(int size) {
+				return new String[size];
+			}
+
+			@Override
+			public void writeData(DataTransferOutput out, String obj) throws IOException {
+				tagFactory.writeData(out, obj);
+			}
+
+			@Override
+			public String readData(DataTransferInput in) throws IOException {
+				return tagFactory.readData(in);
+			}
+		};
+		List<String> tags = Arrays.asList("a", "", "b", "", "");
+		for(DataTransferFormat format : DataTransferFormat.values()) {
+			ByteArrayOutputStream buf = new ByteArrayOutputStream();
+			DataTransferOutput out = DataTransferableFactory.createWriter(format, buf);
+			DataTransferableFactory.writeBlock(out, "tags", tagFactory, tags);
+			out.close();
+			byte[] src = buf.toByteArray();
+
+			DataTransferInput in = DataTransferableFactory.createReader(format, new ByteArrayInputStream(src));
+			List<String> expect = DataTransferableFactory.readBlock(in, "tags", tagFactory);
+			in.close();
+			in = DataTransferableFactory.createReader(format, new ByteArrayInputStream(src));
+			Assert.assertEquals(format.toString(), expect, DataTransferableFactory.readBlock(in, "tags", batchFactory));
+			in.close();
+			Assert.assertTrue(expect.size() >= tags.size());
+		}
+	}
+
+
+	private static void checkItems(List<Item> expect, List<Item> res) {
+		Assert.assertEquals(expect.size(), res.size());
+		for(int i = 0; i < res.size(); i++) {
+			Item a = expect.get(i);
+			Item b = res.get(i);
+			Assert.assertEquals(a.id, b.id);
+			Assert.assertEquals(a.role, b.role);
+			Assert.assertEquals(a.tags, b.tags);
+			Assert.assertEquals(a.level, b.level);
+		}
+	}
+
+
+	private static byte[] writeItems(DataTransferFormat format, DataTransferFactory<Item> factory, List<Item> items) throws IOException {
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		DataTransferOutput out = DataTransferableFactory.createWriter(format, buf);
+		DataTransferableFactory.writeBlock(out, "items", factory, items);
+		out.close();
+		return buf.toByteArray();
+	}
+
+}
@@ -0,0 +1,108 @@
+package twg2.io.serialize.test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.container.Chunk;
+import twg2.io.serialize.container.ChunkedFormat;
+import twg2.io.serialize.container.ChunkedReader;
+import twg2.io.serialize.container.ChunkedWriter;
+import twg2.io.serialize.test.RecordFilterTest.Item;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ChunkedContainerTest {
+
+	@Test
+	public void jsonChunks() throws IOException {
+		checkChunks(DataTransferFormat.JSON);
+	}
+
+
+	@Test
+	public void xmlChunks() throws IOException {
+		checkChunks(DataTransferFormat.XML);
+	}
+
+
+	@Test
+	public void binaryChunks() throws IOException {
+		checkChunks(DataTransferFormat.BINARY);
+	}
+
+
+	public void checkChunks(DataTransferFormat format) throws IOException {
+		List<Item> items = new ArrayList<>();
+		for(int i = 0; i < 500; i++) {
+			items.add(new Item(i, (i % 3 == 0 ? "developer" : "tester"), i % 7, "tag" + (i % 5), "all"));
+		}
+
+		File deflated = new File("rsc/container_test." + format.name().toLowerCase() + ".dtc");
+		File stored = new File("rsc/container_test_stored." + format.name().toLowerCase() + ".dtc");
+		writeItems(new ChunkedWriter<>(new FileOutputStream(deflated), format, RecordFilterTest.itemFactory, 2048, ChunkedFormat.COMPRESSION_DEFLATE), items);
+		writeItems(new ChunkedWriter<>(new FileOutputStream(stored), format, RecordFilterTest.itemFactory, 2048, ChunkedFormat.COMPRESSION_NONE), items);
+		Assert.assertTrue(deflated.length() * 3 < stored.length());
+
+		for(File file : new File[] { deflated, stored }) {
+			try(ChunkedReader in = new ChunkedReader(file)) {
+				Assert.assertEquals(format, in.getFormat());
+				Assert.assertEquals(items.size(), in.getRecordCount());
+				Assert.assertTrue(in.getChunkCount() > 3);
+
+				// random access to a single record only reads its chunk
+				int chunkIdx = in.findChunk(321);
+				Assert.assertTrue(in.getChunkFirstRecord(chunkIdx) <= 321 && 321 < in.getChunkFirstRecord(chunkIdx) + in.getChunkRecordCount(chunkIdx));
+				checkItem(items.get(321), in.readRecord(321, RecordFilterTest.itemFactory));
+				Chunk last = in.readChunk(in.getChunkCount() - 1);
+				Assert.assertEquals(in.getChunkRecordCount(in.getChunkCount() - 1), last.size());
+				checkItem(items.get(items.size() - 1), last.readRecord(last.size() - 1, RecordFilterTest.itemFactory));
+
+				ExecutorService executor = Executors.newFixedThreadPool(4);
+				try {
+					List<Item> res = in.readAll(RecordFilterTest.itemFactory, executor);
+					Assert.assertEquals(items.size(), res.size());
+					for(int i = 0; i < items.size(); i++) {
+						checkItem(items.get(i), res.get(i));
+					}
+				} finally {
+					executor.shutdown();
+				}
+
+				try {
+					in.findChunk(items.size());
+					Assert.fail("expected record index " + items.size() + " to be out of bounds");
+				} catch(IndexOutOfBoundsException ioobe) {
+					// expected
+				}
+			}
+		}
+	}
+
+
+	private static void writeItems(ChunkedWriter<Item> out, List<Item> items) throws IOException {
+		for(Item item : items) {
+			out.write(item);
+		}
+		out.close();
+	}
+
+
+	private static void checkItem(Item expected, Item actual) {
+		Assert.assertEquals(expected.id, actual.id);
+		Assert.assertEquals(expected.role, actual.role);
+		Assert.assertEquals(expected.level, actual.level);
+		Assert.assertEquals(expected.tags, actual.tags);
+	}
+
+}
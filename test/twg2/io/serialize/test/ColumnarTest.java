@@ -0,0 +1,296 @@
+package twg2.io.serialize.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.base.BatchDataTransferFactory;
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+import twg2.io.serialize.columnar.ColumnBlock;
+import twg2.io.serialize.columnar.ColumnLayout;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ColumnarTest {
+
+	static class Row {
+		int id;
+		long time;
+		double score;
+		boolean active;
+		String dept;
+		String note;
+	}
+
+
+	static final ColumnLayout<Row> rowLayout = new ColumnLayout<Row>(Row::new)
+		.addInt("id", (r) -> r.id, (r, v) -> r.id = v)
+		.addLong("time", (r) -> r.time, (r, v) -> r.time = v)
+		.addDouble("score", (r) -> r.score, (r, v) -> r.score = v)
+		.addBoolean("active", (r) -> r.active, (r, v) -> r.active = v)
+		.addString("dept", (r) -> r.dept, (r, v) -> r.dept = v)
+		.addString("note", (r) -> r.note, (r, v) -> r.note = v);
+
+
+	/** Reads and writes the same records as {@code rowLayout.rowFactory("row", ...)}, one field at a time by name
+	 */
+	static final DataTransferFactory<Row> plainRowFactory = new DataTransferFactory<Row>() {
+		@Override
+		public void writeData(DataTransferOutput out, Row obj) throws IOException {
+			out.writeStartBlock("row");
+			out.writeInt("id", obj.id);
+			out.writeLong("time", obj.time);
+			out.writeDouble("score", obj.score);
+			out.writeBoolean("active", obj.active);
+			out.writeString("dept", obj.dept);
+			out.writeString("note", obj.note);
+			out.writeEndBlock();
+		}
+
+		@Override
+		public Row readData(DataTransferInput in) throws IOException {
+			Row row = new Row();
+			in.readStartBlock("row");
+			row.id = in.readInt("id");
+			row.time = in.readLong("time");
+			row.score = in.readDouble("score");
+			row.active = in.readBoolean("active");
+			row.dept = in.readString("dept");
+			row.note = in.readString("note");
+			in.readEndBlock();
+			return row;
+		}
+	};
+
+
+	@Test
+	public void writeAndReadRecords() throws IOException {
+		List<Row> rows = createRows(300);
+		for(DataTransferFormat format : DataTransferFormat.values()) {
+			byte[] src = write(format, rows);
+			List<Row> res;
+			try(DataTransferInput in = DataTransferableFactory.createReader(format, new ByteArrayInputStream(src))) {
+				in.readStartBlock("export");
+				res = rowLayout.readBlock(in, "rows");
+				in.readEndBlock();
+			}
+			Assert.assertEquals(rows.size(), res.size());
+			for(int i = 0; i < rows.size(); i++) {
+				Row expect = rows.get(i);
+				Row row = res.get(i);
+				Assert.assertEquals(expect.id, row.id);
+				Assert.assertEquals(expect.time, row.time);
+				Assert.assertEquals(expect.score, row.score, 0.0);
+				Assert.assertEquals(expect.active, row.active);
+				Assert.assertEquals(expect.dept, row.dept);
+				Assert.assertEquals(expect.note, row.note);
+			}
+		}
+
+		// empty blocks
+		for(DataTransferFormat format : DataTransferFormat.values()) {
+			try(DataTransferInput in = DataTransferableFactory.createReader(format, new ByteArrayInputStream(write(format, new ArrayList<>())))) {
+				in.readStartBlock("export");
+				Assert.assertEquals(0, rowLayout.readBlock(in, "rows").size());
+				in.readEndBlock();
+			}
+		}
+	}
+
+
+	@Test
+	public void readColumnSubset() throws IOException {
+		List<Row> rows = createRows(100);
+		for(DataTransferFormat format : DataTransferFormat.values()) {
+			ColumnBlock block;
+			try(DataTransferInput in = DataTransferableFactory.createReader(format, new ByteArrayInputStream(write(format, rows)))) {
+				in.readStartBlock("export");
+				block = ColumnBlock.read(in, "rows", Arrays.asList("dept", "id", "missing"));
+				in.readEndBlock();
+			}
+			Assert.assertEquals(100, block.size());
+			Assert.assertEquals(Arrays.asList("id", "dept"), block.getColumnNames());
+			Assert.assertFalse(block.hasColumn("score"));
+			int[] ids = block.getIntColumn("id");
+			String[] depts = block.getStringColumn("dept");
+			for(int i = 0; i < rows.size(); i++) {
+				Assert.assertEquals(rows.get(i).id, ids[i]);
+				Assert.assertEquals(rows.get(i).dept, depts[i]);
+			}
+			// dictionary encoded values share an instance
+			Assert.assertSame(depts[0], depts[4]);
+
+			try {
+				block.getLongColumn("id");
+				Assert.fail("expected type mismatch");
+			} catch(IllegalArgumentException iae) {
+				// expected
+			}
+			try {
+				block.getDoubleColumn("score");
+				Assert.fail("expected missing column");
+			} catch(IllegalArgumentException iae) {
+				// expected
+			}
+		}
+	}
+
+
+	@Test
+	public void columnEncodings() throws IOException {
+		// a column with few distinct values is dictionary encoded, a column with many distinct values is not
+		ColumnLayout<Row> deptLayout = new ColumnLayout<Row>(Row::new)
+			.addString("dept", (r) -> r.dept, (r, v) -> r.dept = v);
+		List<Row> rows = createRows(1000);
+		int dictSize = columnSize(deptLayout, rows);
+		for(int i = 0; i < rows.size(); i++) {
+			rows.get(i).dept = "department-" + i;
+		}
+		int plainSize = columnSize(deptLayout, rows);
+		Assert.assertTrue(dictSize < 1100);
+		Assert.assertTrue(plainSize > 14000);
+
+		// delta encoding, extreme values and wrapping differences
+		ColumnLayout<Row> layout = new ColumnLayout<Row>(Row::new)
+			.addInt("id", (r) -> r.id, (r, v) -> r.id = v)
+			.addLong("time", (r) -> r.time, (r, v) -> r.time = v);
+		int[] ids = { Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -1, Integer.MIN_VALUE };
+		long[] times = { Long.MAX_VALUE, Long.MIN_VALUE, 1, Long.MAX_VALUE, 0 };
+		List<Row> extremes = new ArrayList<>();
+		for(int i = 0; i < ids.length; i++) {
+			Row row = new Row();
+			row.id = ids[i];
+			row.time = times[i];
+			extremes.add(row);
+		}
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		try(DataTransferOutput out = DataTransferableFactory.createWriter(DataTransferFormat.JSON, buf)) {
+			layout.writeBlock(out, "rows", extremes);
+		}
+		try(DataTransferInput in = DataTransferableFactory.createReader(DataTransferFormat.JSON, new ByteArrayInputStream(buf.toByteArray()))) {
+			ColumnBlock block = ColumnBlock.read(in, "rows");
+			Assert.assertArrayEquals(ids, block.getIntColumn("id"));
+			Assert.assertArrayEquals(times, block.getLongColumn("time"));
+		}
+
+		// invalid column names
+		for(String name : new String[] { "", "a,b", "count", "id" }) {
+			try {
+				layout.addInt(name, (r) -> r.id, null);
+				Assert.fail("expected invalid column name '" + name + "'");
+			} catch(IllegalArgumentException iae) {
+				// expected
+			}
+		}
+	}
+
+
+	@Test
+	public void rowFactory() throws IOException {
+		BatchDataTransferFactory<Row> factory = rowLayout.rowFactory("row", Row[]::new);
+		List<Row> rows = createRows(150);
+		// XML elements cannot be null
+		for(Row row : rows) {
+			row.note = (row.note != null ? row.note : "none");
+		}
+		for(DataTransferFormat format : DataTransferFormat.values()) {
+			byte[] expectSrc = writeRows(format, plainRowFactory, rows);
+			byte[] src = writeRows(format, factory, rows);
+			Assert.assertArrayEquals(expectSrc, src);
+
+			List<Row> expect;
+			try(DataTransferInput in = DataTransferableFactory.createReader(format, new ByteArrayInputStream(src))) {
+				expect = DataTransferableFactory.readBlock(in, "rows", plainRowFactory);
+			}
+			List<Row> res;
+			try(DataTransferInput in = DataTransferableFactory.createReader(format, new ByteArrayInputStream(src))) {
+				res = DataTransferableFactory.readBlock(in, "rows", factory);
+			}
+			checkRows(expect, res);
+
+			// records are read into the existing objects
+			Row[] dst = new Row[rows.size()];
+			dst[7] = new Row();
+			Row reused = dst[7];
+			try(DataTransferInput in = DataTransferableFactory.createReader(format, new ByteArrayInputStream(src))) {
+				Assert.assertEquals(rows.size(), DataTransferableFactory.reloadBlock(in, "rows", factory, dst, 0));
+			}
+			Assert.assertSame(reused, dst[7]);
+			checkRows(expect, Arrays.asList(dst));
+		}
+	}
+
+
+	private static List<Row> createRows(int count) {
+		String[] depts = { "sales", "engineering", "support", "finance" };
+		List<Row> rows = new ArrayList<>();
+		for(int i = 0; i < count; i++) {
+			Row row = new Row();
+			row.id = 1000 + i * 3;
+			row.time = 1_700_000_000_000L + i * 250L - (i % 7) * 1000L;
+			row.score = i * 0.5 - 20;
+			row.active = (i % 3 != 0);
+			row.dept = depts[i % depts.length];
+			row.note = (i % 5 == 0 ? null : "note é " + i);
+			rows.add(row);
+		}
+		return rows;
+	}
+
+
+	private static void checkRows(List<Row> expect, List<Row> res) {
+		Assert.assertEquals(expect.size(), res.size());
+		for(int i = 0; i < res.size(); i++) {
+			Row a = expect.get(i);
+			Row b = res.get(i);
+			Assert.assertEquals(a.id, b.id);
+			Assert.assertEquals(a.time, b.time);
+			Assert.assertEquals(a.score, b.score, 0.0);
+			Assert.assertEquals(a.active, b.active);
+			Assert.assertEquals(a.dept, b.dept);
+			Assert.assertEquals(a.note, b.note);
+		}
+	}
+
+
+	private static byte[] writeRows(DataTransferFormat format, DataTransferFactory<Row> factory, List<Row> rows) throws IOException {
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		try(DataTransferOutput out = DataTransferableFactory.createWriter(format, buf)) {
+			DataTransferableFactory.writeBlock(out, "rows", factory, rows);
+		}
+		return buf.toByteArray();
+	}
+
+
+	private static int columnSize(ColumnLayout<Row> layout, List<Row> rows) throws IOException {
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		try(DataTransferOutput out = DataTransferableFactory.createWriter(DataTransferFormat.BINARY, buf)) {
+			layout.writeBlock(out, "rows", rows);
+		}
+		return buf.size();
+	}
+
+
+	private static byte[] write(DataTransferFormat format, List<Row> rows) throws IOException {
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		try(DataTransferOutput out = DataTransferableFactory.createWriter(format, buf)) {
+			out.writeStartBlock("export");
+			rowLayout.writeBlock(out, "rows", rows);
+			out.writeEndBlock();
+		}
+		return buf.toByteArray();
+	}
+
+}
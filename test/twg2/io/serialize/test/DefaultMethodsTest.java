@@ -0,0 +1,132 @@
+package twg2.io.serialize.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.base.DataElement;
+import twg2.io.serialize.base.DataElementImpl;
+import twg2.io.serialize.base.ParsedElementType;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.reader.FieldProjection;
+import twg2.io.serialize.base.reader.RecordFilter;
+import twg2.io.serialize.base.reader.StringCache;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+
+/** Checks that an input and output which only implement the original abstract methods
+ * still compile and get working default methods
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class DefaultMethodsTest {
+
+	/** Stores each written field as a name and value pair */
+	static class ListOutput implements DataTransferOutput {
+		final List<Object[]> fields = new ArrayList<>();
+
+		@Override public void writeBoolean(String name, boolean v) { fields.add(new Object[] { name, v }); }
+		@Override public void writeByte(String name, byte v) { fields.add(new Object[] { name, v }); }
+		@Override public void writeChar(String name, char v) { fields.add(new Object[] { name, v }); }
+		@Override public void writeDouble(String name, double v) { fields.add(new Object[] { name, v }); }
+		@Override public void writeFloat(String name, float v) { fields.add(new Object[] { name, v }); }
+		@Override public void writeInt(String name, int v) { fields.add(new Object[] { name, v }); }
+		@Override public void writeLong(String name, long v) { fields.add(new Object[] { name, v }); }
+		@Override public void writeShort(String name, short v) { fields.add(new Object[] { name, v }); }
+		@Override public void writeString(String name, String s) { fields.add(new Object[] { name, s }); }
+		@Override public void writeStartBlock(String name) { fields.add(new Object[] { name, ParsedElementType.HEADER }); }
+		@Override public void writeEndBlock() { fields.add(new Object[] { null, ParsedElementType.FOOTER }); }
+		@Override public void write(String name, byte[] b) { fields.add(new Object[] { name, b.clone() }); }
+		@Override public void write(String name, byte[] b, int off, int len) { fields.add(new Object[] { name, Arrays.copyOfRange(b, off, off + len) }); }
+		@Override public void close() { }
+	}
+
+
+	/** Reads the fields stored by a {@link ListOutput} in order */
+	static class ListInput implements DataTransferInput {
+		final List<Object[]> fields;
+		int idx;
+		DataElement current;
+
+		ListInput(List<Object[]> fields) {
+			this.fields = fields;
+		}
+
+		Object next(String name) {
+			Object[] field = fields.get(idx++);
+			current = new DataElementImpl((String)field[0], 0, String.valueOf(field[1]), ParsedElementType.ELEMENT);
+			Assert.assertEquals(name, field[0]);
+			return field[1];
+		}
+
+		@Override public boolean readBoolean(String name) { return (Boolean)next(name); }
+		@Override public byte readByte(String name) { return (Byte)next(name); }
+		@Override public char readChar(String name) { return (Character)next(name); }
+		@Override public double readDouble(String name) { return (Double)next(name); }
+		@Override public float readFloat(String name) { return (Float)next(name); }
+		@Override public int readInt(String name) { return (Integer)next(name); }
+		@Override public long readLong(String name) { return (Long)next(name); }
+		@Override public short readShort(String name) { return (Short)next(name); }
+		@Override public String readString(String name) { return (String)next(name); }
+		@Override public void read(String name, byte[] b) { read(name, b, 0, b.length); }
+		@Override public void read(String name, byte[] b, int off, int len) { System.arraycopy((byte[])next(name), 0, b, off, len); }
+		@Override public DataElement readNext() { next((String)fields.get(idx)[0]); return current; }
+		@Override public DataElement peekNext() { return new DataElementImpl((String)fields.get(idx)[0], 0, null, (ParsedElementType)fields.get(idx)[1]); }
+		@Override public DataElement readStartBlock(String name) { next(name); return current; }
+		@Override public void readEndBlock() { next(null); }
+		@Override public DataElement getCurrentElement() { return current; }
+		@Override public String getCurrentName() { return current != null ? current.getName() : null; }
+		@Override public void close() { }
+	}
+
+
+	@Test
+	public void defaultMethods() throws IOException {
+		ListOutput out = new ListOutput();
+		out.writeStartBlock("root");
+		Assert.assertEquals(5, out.writeString("text", new StringReader("hello")));
+		Assert.assertEquals(3, out.writeBinary("blob", new ByteArrayInputStream(new byte[] { 1, 2, 3 })));
+		out.writeEndBlock();
+		out.close();
+
+		ListInput in = new ListInput(out.fields);
+		Assert.assertNull(in.getProjection());
+		Assert.assertNull(in.getStringCache());
+		in.setProjection(null);
+		in.setRecordFilter(null);
+		// a cache does not change the values read, so it is ignored
+		in.setStringCache(new StringCache());
+		Assert.assertNull(in.getStringCache());
+		try {
+			in.setProjection(FieldProjection.of("root.text"));
+			Assert.fail("expected unsupported projection");
+		} catch(UnsupportedOperationException uoe) {
+			// expected
+		}
+		try {
+			in.setRecordFilter(new RecordFilter());
+			Assert.fail("expected unsupported record filter");
+		} catch(UnsupportedOperationException uoe) {
+			// expected
+		}
+
+		in.readStartBlock("root");
+		try(Reader text = in.openStringReader("text")) {
+			char[] chars = new char[10];
+			Assert.assertEquals("hello", new String(chars, 0, text.read(chars)));
+		}
+		try {
+			in.openBinaryStream("blob");
+			Assert.fail("expected unsupported binary stream");
+		} catch(UnsupportedOperationException uoe) {
+			// expected
+		}
+	}
+
+}
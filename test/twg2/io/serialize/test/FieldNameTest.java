@@ -0,0 +1,168 @@
+package twg2.io.serialize.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.FieldName;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+import twg2.io.serialize.json.Utf8JsonReader;
+import twg2.io.serialize.xml.XmlHandler;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class FieldNameTest {
+	private static final String[] names = { "widget", "widgetValue", "flag", "b", "ch", "d", "f", "l", "s", "str" };
+
+
+	@Test
+	public void encodedForms() {
+		FieldName name = FieldName.of("a\"b\\c\n\u0001ü");
+		Assert.assertEquals("a\\\"b\\\\c\\n\\u0001ü", new String(name.getJsonEscaped()));
+		Assert.assertArrayEquals("a\\\"b\\\\c\\n\\u0001ü".getBytes(StandardCharsets.UTF_8), name.getJsonEscapedUtf8());
+		Assert.assertArrayEquals("a\"b\\c\n\u0001ü".getBytes(StandardCharsets.UTF_8), name.getUtf8());
+
+		FieldName tag = FieldName.of("widget");
+		Assert.assertEquals("<widget>", new String(tag.getXmlOpenTag()));
+		Assert.assertEquals("</widget>", new String(tag.getXmlCloseTag()));
+		Assert.assertEquals(FieldName.of("widget"), tag);
+		Assert.assertEquals("widget".hashCode(), tag.hashCode());
+	}
+
+
+	@Test
+	public void writersMatchStringNames() throws IOException {
+		for(DataTransferFormat format : DataTransferFormat.values()) {
+			checkWriter(format, false, names);
+			checkWriter(format, true, names);
+		}
+		// JSON names which need escaping
+		String[] escapedNames = names.clone();
+		escapedNames[1] = "widget \"value\"";
+		escapedNames[9] = "tab\there\u001Fünï";
+		checkWriter(DataTransferFormat.JSON, false, escapedNames);
+		checkWriter(DataTransferFormat.JSON, true, escapedNames);
+	}
+
+
+	@Test
+	public void readersMatchNames() throws IOException {
+		for(DataTransferFormat format : DataTransferFormat.values()) {
+			checkReader(format, false);
+		}
+		checkReader(DataTransferFormat.JSON, true);
+		XmlHandler.setUseXmlTokenizer(true);
+		try {
+			checkReader(DataTransferFormat.XML, false);
+		} finally {
+			XmlHandler.setUseXmlTokenizer(false);
+		}
+
+		// a name escaped differently than FieldName escapes it still matches
+		byte[] json = "{ \"w\\u0069dget\": { \"skip\": 1, \"ünï\": 5 } }".getBytes(StandardCharsets.UTF_8);
+		DataTransferInput in = new Utf8JsonReader(json, 0, json.length);
+		in.readStartBlockField(FieldName.of("widget"));
+		Assert.assertEquals(5, in.readIntField(FieldName.of("ünï")));
+		in.readEndBlock();
+		in.close();
+	}
+
+
+	private static void checkReader(DataTransferFormat format, boolean utf8Json) throws IOException {
+		FieldName block = FieldName.of("widget");
+		FieldName id = FieldName.of("id");
+		FieldName label = FieldName.of(format == DataTransferFormat.JSON ? "label \"ünï\"" : "labelÜnï");
+		FieldName weight = FieldName.of("weight");
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		DataTransferOutput out = DataTransferableFactory.createWriter(format, buf);
+		out.writeStartBlock("widgets");
+		for(int i = 0; i < 3; i++) {
+			out.writeStartBlockField(block);
+			out.writeIntField(id, i);
+			out.writeInt("skipped", -1);
+			out.writeStringField(label, "value " + i);
+			out.writeDoubleField(weight, i * 0.5);
+			out.writeEndBlock();
+		}
+		out.writeEndBlock();
+		out.close();
+
+		DataTransferInput in = (utf8Json ? new Utf8JsonReader(buf.toByteArray(), 0, buf.size())
+				: DataTransferableFactory.createReader(format, new ByteArrayInputStream(buf.toByteArray())));
+		in.readStartBlock("widgets");
+		for(int i = 0; i < 3; i++) {
+			in.readStartBlockField(block);
+			Assert.assertEquals(block.getName(), in.getCurrentName());
+			Assert.assertEquals(i, in.readIntField(id));
+			if(format == DataTransferFormat.XML) {
+				// XML elements are read in order
+				Assert.assertEquals(-1, in.readInt("skipped"));
+			}
+			Assert.assertEquals("value " + i, in.readStringField(label));
+			Assert.assertEquals(i * 0.5, in.readDoubleField(weight), 0.0);
+			in.readEndBlock();
+		}
+		in.readEndBlock();
+		in.close();
+	}
+
+
+	private static void checkWriter(DataTransferFormat format, boolean useCharset, String[] names) throws IOException {
+		FieldName[] fieldNames = new FieldName[names.length];
+		for(int i = 0; i < names.length; i++) {
+			fieldNames[i] = FieldName.of(names[i]);
+		}
+
+		ByteArrayOutputStream expect = new ByteArrayOutputStream();
+		DataTransferOutput out = createWriter(format, expect, useCharset);
+		for(int i = 0; i < 3; i++) {
+			out.writeStartBlock(names[0]);
+			out.writeInt(names[1], i * 1000);
+			out.writeBoolean(names[2], i % 2 == 0);
+			out.writeByte(names[3], (byte)i);
+			out.writeChar(names[4], (char)('a' + i));
+			out.writeDouble(names[5], i * 1.5);
+			out.writeFloat(names[6], i * 0.25f);
+			out.writeLong(names[7], -i * 10000000000L);
+			out.writeShort(names[8], (short)-i);
+			out.writeString(names[9], "value <" + i + ">");
+			out.writeEndBlock();
+		}
+		out.close();
+
+		ByteArrayOutputStream res = new ByteArrayOutputStream();
+		out = createWriter(format, res, useCharset);
+		for(int i = 0; i < 3; i++) {
+			out.writeStartBlockField(fieldNames[0]);
+			out.writeIntField(fieldNames[1], i * 1000);
+			out.writeBooleanField(fieldNames[2], i % 2 == 0);
+			out.writeByteField(fieldNames[3], (byte)i);
+			out.writeCharField(fieldNames[4], (char)('a' + i));
+			out.writeDoubleField(fieldNames[5], i * 1.5);
+			out.writeFloatField(fieldNames[6], i * 0.25f);
+			out.writeLongField(fieldNames[7], -i * 10000000000L);
+			out.writeShortField(fieldNames[8], (short)-i);
+			out.writeStringField(fieldNames[9], "value <" + i + ">");
+			out.writeEndBlock();
+		}
+		out.close();
+
+		Assert.assertEquals(format + " " + names[1], new String(expect.toByteArray(), StandardCharsets.UTF_8), new String(res.toByteArray(), StandardCharsets.UTF_8));
+		Assert.assertArrayEquals(expect.toByteArray(), res.toByteArray());
+	}
+
+
+	private static DataTransferOutput createWriter(DataTransferFormat format, ByteArrayOutputStream dst, boolean useCharset) throws IOException {
+		return useCharset ? DataTransferableFactory.createWriter(format, dst, StandardCharsets.UTF_8) : DataTransferableFactory.createWriter(format, dst);
+	}
+
+}
@@ -0,0 +1,180 @@
+package twg2.io.serialize.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.reader.FieldPredicate;
+import twg2.io.serialize.base.reader.RecordFilter;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+import twg2.io.serialize.flow.DecodeExecutor;
+import twg2.io.serialize.flow.RecordPublisher;
+import twg2.io.serialize.flow.RecordSubscriber;
+import twg2.io.serialize.test.RecordFilterTest.Item;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class FlowTest {
+
+	@Test
+	public void publishToSubscriber() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			for(DataTransferFormat format : DataTransferFormat.values()) {
+				byte[] src = writeItems(format, 500);
+				ByteArrayOutputStream dst = new ByteArrayOutputStream();
+				RecordPublisher<Item> pub = new RecordPublisher<>(DataTransferableFactory.createReader(format, new ByteArrayInputStream(src)), "items", RecordFilterTest.itemFactory, executor);
+				RecordSubscriber<Item> sub = new RecordSubscriber<>(DataTransferableFactory.createWriter(format, dst), "items", RecordFilterTest.itemFactory, 8, executor);
+				pub.subscribe(sub);
+				Assert.assertEquals(500L, (long)sub.getResult().get(10, TimeUnit.SECONDS));
+				Assert.assertArrayEquals(src, dst.toByteArray());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+
+	@Test
+	public void publisherDemand() throws IOException {
+		byte[] src = writeItems(DataTransferFormat.JSON, 20);
+		TestSubscriber sub = new TestSubscriber();
+		new RecordPublisher<>(createReader(src), "items", RecordFilterTest.itemFactory, Runnable::run).subscribe(sub);
+		Assert.assertEquals(0, sub.items.size());
+		sub.subscription.request(2);
+		Assert.assertEquals(2, sub.items.size());
+		sub.subscription.request(3);
+		Assert.assertEquals(5, sub.items.size());
+		sub.subscription.cancel();
+		sub.subscription.request(3);
+		Assert.assertEquals(5, sub.items.size());
+		Assert.assertFalse(sub.complete);
+
+		// completion does not need demand, rejected records do not use demand
+		sub = new TestSubscriber();
+		RecordFilter filter = new RecordFilter(FieldPredicate.range("level", 2, 2));
+		new RecordPublisher<>(createReader(src), "items", RecordFilterTest.itemFactory, filter, Runnable::run).subscribe(sub);
+		sub.subscription.request(7);
+		Assert.assertEquals(6, sub.items.size());
+		Assert.assertTrue(sub.complete);
+		for(int i = 0; i < sub.items.size(); i++) {
+			Assert.assertEquals(i * 3 + 2, sub.items.get(i).id);
+		}
+
+		// only one subscriber, invalid requests are errors
+		TestSubscriber sub2 = new TestSubscriber();
+		RecordPublisher<Item> pub = new RecordPublisher<>(createReader(src), "items", RecordFilterTest.itemFactory, Runnable::run);
+		pub.subscribe(sub);
+		pub.subscribe(sub2);
+		Assert.assertTrue(sub2.error instanceof IllegalStateException);
+		sub = new TestSubscriber();
+		new RecordPublisher<>(createReader(src), "items", RecordFilterTest.itemFactory, Runnable::run).subscribe(sub);
+		sub.subscription.request(0);
+		Assert.assertTrue(sub.error instanceof IllegalArgumentException);
+	}
+
+
+	@Test
+	public void decodeExecutor() throws Exception {
+		try(DecodeExecutor decoder = DecodeExecutor.newDefault()) {
+			for(DataTransferFormat format : DataTransferFormat.values()) {
+				List<CompletableFuture<Item>> futures = new ArrayList<>();
+				for(int i = 0; i < 200; i++) {
+					futures.add(decoder.submit(format, new ByteArrayInputStream(writeItem(format, new Item(i, "role" + i, i % 3, "tag"))), RecordFilterTest.itemFactory));
+				}
+				for(int i = 0; i < futures.size(); i++) {
+					Item item = futures.get(i).get(10, TimeUnit.SECONDS);
+					Assert.assertEquals(i, item.id);
+					Assert.assertEquals("role" + i, item.role);
+				}
+			}
+
+			// a pooled reader is reset after a failed decode
+			try {
+				decoder.decode(DataTransferFormat.JSON, new ByteArrayInputStream("{ \"Item\": { \"id\": 1 } }".getBytes(StandardCharsets.UTF_8)), RecordFilterTest.itemFactory);
+				Assert.fail("expected incomplete record to fail");
+			} catch(IOException ioe) {
+				// expected
+			}
+			Assert.assertEquals(7, decoder.decode(DataTransferFormat.JSON, new ByteArrayInputStream(writeItem(DataTransferFormat.JSON, new Item(7, "r", 1))), RecordFilterTest.itemFactory).id);
+		}
+	}
+
+
+	private static DataTransferInput createReader(byte[] src) throws IOException {
+		return DataTransferableFactory.createReader(DataTransferFormat.JSON, new ByteArrayInputStream(src));
+	}
+
+
+	private static byte[] writeItem(DataTransferFormat format, Item item) throws IOException {
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		DataTransferOutput out = DataTransferableFactory.createWriter(format, buf);
+		RecordFilterTest.itemFactory.writeData(out, item);
+		out.close();
+		return buf.toByteArray();
+	}
+
+
+	private static byte[] writeItems(DataTransferFormat format, int count) throws IOException {
+		List<Item> items = new ArrayList<>();
+		for(int i = 0; i < count; i++) {
+			items.add(new Item(i, "role" + i, i % 3, "tag" + i));
+		}
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		DataTransferOutput out = DataTransferableFactory.createWriter(format, buf);
+		DataTransferableFactory.writeBlock(out, "items", RecordFilterTest.itemFactory, items);
+		out.close();
+		return buf.toByteArray();
+	}
+
+
+
+	private static class TestSubscriber implements Flow.Subscriber<Item> {
+		Flow.Subscription subscription;
+		List<Item> items = new ArrayList<>();
+		boolean complete;
+		Throwable error;
+
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+		}
+
+
+		@Override
+		public void onNext(Item item) {
+			items.add(item);
+		}
+
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+		}
+
+
+		@Override
+		public void onComplete() {
+			complete = true;
+		}
+
+	}
+
+}
@@ -0,0 +1,84 @@
+package twg2.io.serialize.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.container.IndexedRecordReader;
+import twg2.io.serialize.container.IndexedRecordWriter;
+import twg2.io.serialize.test.RecordFilterTest.Item;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class IndexedRecordTest {
+
+	@Test
+	public void jsonIndexedRecords() throws IOException {
+		checkIndexedRecords(DataTransferFormat.JSON);
+	}
+
+
+	@Test
+	public void xmlIndexedRecords() throws IOException {
+		checkIndexedRecords(DataTransferFormat.XML);
+	}
+
+
+	@Test
+	public void binaryIndexedRecords() throws IOException {
+		checkIndexedRecords(DataTransferFormat.BINARY);
+	}
+
+
+	public void checkIndexedRecords(DataTransferFormat format) throws IOException {
+		List<Item> items = new ArrayList<>();
+		for(int i = 0; i < 2000; i++) {
+			items.add(new Item(i, "rôle" + i, i % 7, "tag" + (i % 5)));
+		}
+		Collections.shuffle(items, new Random(3));
+
+		File file = new File("rsc/indexed_test." + format.name().toLowerCase() + ".dti");
+		try(IndexedRecordWriter<Item> out = new IndexedRecordWriter<>(file, format, RecordFilterTest.itemFactory, (item) -> item.role)) {
+			for(Item item : items) {
+				out.write(item);
+			}
+			// a second record with an existing key, lookups return the first record written
+			out.write(new Item(-1, "rôle42", 0));
+			Assert.assertEquals(items.size() + 1, out.size());
+		}
+
+		try(IndexedRecordReader in = new IndexedRecordReader(file)) {
+			Assert.assertEquals(format, in.getFormat());
+			Assert.assertEquals(items.size() + 1, in.size());
+			for(int i = 1; i < in.size(); i++) {
+				Assert.assertTrue(in.getKey(i - 1).compareTo(in.getKey(i)) <= 0);
+			}
+
+			Random rand = new Random(5);
+			for(int i = 0; i < 200; i++) {
+				int id = rand.nextInt(items.size());
+				Item item = in.get("rôle" + id, RecordFilterTest.itemFactory);
+				Assert.assertEquals(id, item.id);
+				Assert.assertEquals(id % 7, item.level);
+				Assert.assertEquals(Collections.singletonList("tag" + (id % 5)), item.tags);
+			}
+			Assert.assertEquals(42, in.get("rôle42", RecordFilterTest.itemFactory).id);
+			Assert.assertEquals(-1, in.get(in.indexOf("rôle42") + 1, RecordFilterTest.itemFactory).id);
+
+			Assert.assertNull(in.get("missing", RecordFilterTest.itemFactory));
+			Assert.assertFalse(in.containsKey("rôle"));
+			Assert.assertEquals(-1, in.indexOf(""));
+			Assert.assertEquals(-in.size() - 1, in.indexOf("￿"));
+		}
+	}
+
+}
@@ -0,0 +1,65 @@
+package twg2.io.serialize.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.LazyRecord;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+import twg2.io.serialize.examples.Employee;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class LazyRecordTest {
+
+	@Test
+	public void jsonLazyRecords() throws IOException {
+		checkLazyRecords(DataTransferFormat.JSON);
+	}
+
+
+	@Test
+	public void binaryLazyRecords() throws IOException {
+		checkLazyRecords(DataTransferFormat.BINARY);
+	}
+
+
+	public void checkLazyRecords(DataTransferFormat format) throws IOException {
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		DataTransferOutput out = DataTransferableFactory.createWriter(format, buf);
+		out.writeStartBlock("header");
+		out.writeInt("version", 2);
+		out.writeEndBlock();
+		DataTransferableFactory.writeBlock(out, "employees", Arrays.asList(Employee.createEmployee(), Employee.createEmployee()));
+		out.close();
+
+		byte[] bytes = buf.toByteArray();
+		List<LazyRecord> records = DataTransferableFactory.readLazyBlock(format, bytes, "employees");
+		Assert.assertEquals(2, records.size());
+
+		LazyRecord empl = records.get(1);
+		Assert.assertEquals("Employee", empl.getName());
+		Assert.assertSame(bytes, empl.getBuffer());
+		Assert.assertEquals(22, empl.getInt("id"));
+		Assert.assertEquals("designer", empl.getString("role"));
+		Assert.assertTrue(empl.getBoolean("permanent"));
+		Assert.assertEquals("1111111111,2222222222,9999999999", empl.getString("phoneNumbers"));
+		// decoded values are cached
+		Assert.assertSame(empl.get("name"), empl.get("name"));
+		Assert.assertNull(empl.get("missing"));
+
+		LazyRecord cities = empl.getRecord("cities");
+		Assert.assertEquals(3, cities.getFieldCount());
+		Assert.assertEquals("City 2", cities.getValue(1));
+		Assert.assertEquals("1984-6-8", empl.getRecord("properties").getString("dob"));
+	}
+
+}
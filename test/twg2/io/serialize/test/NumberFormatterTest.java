@@ -0,0 +1,75 @@
+package twg2.io.serialize.test;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.base.writer.NumberFormatter;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class NumberFormatterTest {
+	private final char[] buf = new char[NumberFormatter.MAX_LENGTH];
+
+
+	@Test
+	public void formatIntegers() {
+		long[] values = { 0, 7, -7, 10, 99, 100, -101, 123456789, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE };
+		for(long value : values) {
+			Assert.assertEquals(Long.toString(value), new String(buf, 0, NumberFormatter.formatLong(value, buf, 0)));
+		}
+		Assert.assertEquals("-2147483648", new String(buf, 0, NumberFormatter.formatInt(Integer.MIN_VALUE, buf, 0)));
+	}
+
+
+	@Test
+	public void formatDoubles() {
+		String[][] expected = {
+			{ "0.0", "0.0" }, { "-0.0", "-0.0" }, { "1.0", "1.0" }, { "100.0", "100.0" }, { "0.1", "0.1" }, { "0.3", "0.3" },
+			{ "0.001", "0.001" }, { "9.99E-4", "9.99E-4" }, { "1234567.0", "1234567.0" }, { "1.0E7", "1.0E7" },
+			{ "4779.98", "4779.98" }, { "1.5E300", "1.5E300" }, { "4.9E-324", "4.9E-324" },
+			{ "1.7976931348623157E308", "1.7976931348623157E308" }, { "2.2250738585072014E-308", "2.2250738585072014E-308" },
+			{ "NaN", "NaN" }, { "-Infinity", "-Infinity" },
+			{ "2.0E-3", "0.002" }, { "1.0E-5", "1.0E-5" },
+			// Double.toString() before Java 19 prints 9.999999999999999E22
+			{ "1.0E23", "1.0E23" },
+		};
+		for(String[] pair : expected) {
+			double value = Double.parseDouble(pair[0]);
+			Assert.assertEquals(pair[1], new String(buf, 0, NumberFormatter.formatDouble(value, buf, 0)));
+		}
+
+		Random rand = new Random(42);
+		for(int i = 0; i < 20000; i++) {
+			double value = Double.longBitsToDouble(rand.nextLong());
+			String str = new String(buf, 0, NumberFormatter.formatDouble(value, buf, 0));
+			Assert.assertEquals(Double.doubleToLongBits(value), Double.doubleToLongBits(Double.parseDouble(str)));
+			Assert.assertTrue(str.length() <= Double.toString(value).length());
+		}
+	}
+
+
+	@Test
+	public void formatFloats() {
+		String[][] expected = {
+			{ "0.0", "0.0" }, { "1.0", "1.0" }, { "0.1", "0.1" }, { "4779.98", "4779.98" }, { "1.0E7", "1.0E7" },
+			{ "3.4028235E38", "3.4028235E38" }, { "1.4E-45", "1.4E-45" }, { "1.17549435E-38", "1.1754944E-38" },
+		};
+		for(String[] pair : expected) {
+			float value = Float.parseFloat(pair[0]);
+			Assert.assertEquals(pair[1], new String(buf, 0, NumberFormatter.formatFloat(value, buf, 0)));
+		}
+
+		Random rand = new Random(42);
+		for(int i = 0; i < 20000; i++) {
+			float value = Float.intBitsToFloat(rand.nextInt());
+			String str = new String(buf, 0, NumberFormatter.formatFloat(value, buf, 0));
+			Assert.assertEquals(Float.floatToIntBits(value), Float.floatToIntBits(Float.parseFloat(str)));
+			Assert.assertTrue(str.length() <= Float.toString(value).length());
+		}
+	}
+
+}
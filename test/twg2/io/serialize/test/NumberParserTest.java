@@ -0,0 +1,116 @@
+package twg2.io.serialize.test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.base.reader.NumberParser;
+import twg2.io.serialize.xml.XmlHandler;
+import twg2.io.serialize.xml.XmlInput;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class NumberParserTest {
+
+	@Test
+	public void parseIntegers() {
+		String[] values = { "0", "-0", "+7", " 42\n", "-2147483648", "2147483647", "123456789", "-9223372036854775808", "9223372036854775807" };
+		for(String value : values) {
+			char[] chars = value.toCharArray();
+			Assert.assertEquals(Long.parseLong(value.trim()), NumberParser.parseLong(chars, 0, chars.length));
+			if(value.length() < 12) {
+				Assert.assertEquals(Integer.parseInt(value.trim()), NumberParser.parseInt(chars, 0, chars.length));
+			}
+		}
+		char[] chars = "x-32768x".toCharArray();
+		Assert.assertEquals(Short.MIN_VALUE, NumberParser.parseShort(chars, 1, chars.length - 1));
+
+		String[] invalid = { "", "-", "1.5", "12a", "2147483648", "1 2" };
+		for(String value : invalid) {
+			try {
+				NumberParser.parseInt(value.toCharArray(), 0, value.length());
+				Assert.fail("expected '" + value + "' to be rejected");
+			} catch(NumberFormatException nfe) {
+				// expected
+			}
+		}
+		try {
+			NumberParser.parseShort("32768".toCharArray(), 0, 5);
+			Assert.fail("expected 32768 to be rejected");
+		} catch(NumberFormatException nfe) {
+			// expected
+		}
+	}
+
+
+	@Test
+	public void parseDoubles() {
+		String[] values = {
+			"0", "-0.0", "1", "0.1", "4779.98", ".5", "5.", "-.5e+3", "  1.25E-7 ", "1e23", "9007199254740993",
+			"2.2250738585072011e-308", "4.9e-324", "2.4703282292062327e-324", "2.4703282292062328e-324",
+			"1.7976931348623157e308", "1.7976931348623159e308", "1e-400", "1e400", "NaN", "-Infinity",
+			"0x1.8p1", "1.00000000000000011102230246251565404236316680908203125"
+		};
+		for(String value : values) {
+			checkDouble(value);
+			checkFloat(value);
+		}
+
+		Random rand = new Random(42);
+		for(int i = 0; i < 20000; i++) {
+			checkDouble(Double.toString(Double.longBitsToDouble(rand.nextLong())));
+			checkFloat(Float.toString(Float.intBitsToFloat(rand.nextInt())));
+			// random mantissas and exponents which are not the shortest representation of a double
+			String decimal = Long.toString(rand.nextLong() >>> 1) + "e" + (rand.nextInt(700) - 350);
+			checkDouble(decimal);
+			checkFloat(decimal);
+		}
+
+		try {
+			NumberParser.parseDouble("1.2.3".toCharArray(), 0, 5);
+			Assert.fail("expected '1.2.3' to be rejected");
+		} catch(NumberFormatException nfe) {
+			// expected
+		}
+	}
+
+
+	@Test
+	public void xmlNumbers() throws IOException {
+		String xml = "<root><a> 12 </a><b>-9223372036854775808</b><c>4779.98</c><d>&#49;.5</d><e>2.5e-3</e><f>x</f></root>";
+		XmlInput in = XmlHandler.createXMLReader(new StringReader(xml), false, true, true);
+		in.readStartBlock("root");
+		Assert.assertEquals(12, in.readInt("a"));
+		Assert.assertEquals(Long.MIN_VALUE, in.readLong("b"));
+		Assert.assertEquals(4779.98f, in.readFloat("c"), 0f);
+		Assert.assertEquals(1.5, in.readDouble("d"), 0);
+		Assert.assertEquals(0.0025, in.readDouble(), 0);
+		Assert.assertEquals("e", in.getCurrentElementName());
+		try {
+			in.readShort("f");
+			Assert.fail("expected 'x' to be rejected");
+		} catch(NumberFormatException nfe) {
+			// expected
+		}
+		in.readEndBlock();
+		in.close();
+	}
+
+
+	private static void checkDouble(String value) {
+		char[] chars = value.toCharArray();
+		Assert.assertEquals(value, Double.doubleToRawLongBits(Double.parseDouble(value)), Double.doubleToRawLongBits(NumberParser.parseDouble(chars, 0, chars.length)));
+	}
+
+
+	private static void checkFloat(String value) {
+		char[] chars = value.toCharArray();
+		Assert.assertEquals(value, Float.floatToRawIntBits(Float.parseFloat(value)), Float.floatToRawIntBits(NumberParser.parseFloat(chars, 0, chars.length)));
+	}
+
+}
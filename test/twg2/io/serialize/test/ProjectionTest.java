@@ -0,0 +1,109 @@
+package twg2.io.serialize.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.base.DataElement;
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.reader.FieldProjection;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+import twg2.io.serialize.examples.Employee;
+import twg2.io.serialize.xml.XmlHandler;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ProjectionTest {
+
+	@Test
+	public void fieldPaths() {
+		FieldProjection proj = FieldProjection.of("Employee/id", "Employee/cities");
+		Assert.assertTrue(proj.isWanted("Employee"));
+		Assert.assertTrue(proj.isWanted("Employee/id"));
+		Assert.assertTrue(proj.isWanted("Employee/cities/city"));
+		Assert.assertFalse(proj.isWanted("Employee/name"));
+		Assert.assertFalse(proj.isWanted("Widget"));
+	}
+
+
+	@Test
+	public void jsonProjection() throws IOException {
+		checkProjection(DataTransferFormat.JSON);
+	}
+
+
+	@Test
+	public void utf8JsonProjection() throws IOException {
+		DataTransferableFactory.setUseUtf8JsonReader(true);
+		try {
+			checkProjection(DataTransferFormat.JSON);
+		} finally {
+			DataTransferableFactory.setUseUtf8JsonReader(false);
+		}
+	}
+
+
+	@Test
+	public void xmlProjection() throws IOException {
+		checkProjection(DataTransferFormat.XML);
+	}
+
+
+	@Test
+	public void xmlTokenizerProjection() throws IOException {
+		XmlHandler.setUseXmlTokenizer(true);
+		try {
+			checkProjection(DataTransferFormat.XML);
+		} finally {
+			XmlHandler.setUseXmlTokenizer(false);
+		}
+	}
+
+
+	@Test
+	public void binaryProjection() throws IOException {
+		checkProjection(DataTransferFormat.BINARY);
+	}
+
+
+	public void checkProjection(DataTransferFormat format) throws IOException {
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		DataTransferOutput out = DataTransferableFactory.createWriter(format, buf);
+		Employee.createEmployee().writeData(out);
+		out.close();
+
+		DataTransferInput in = DataTransferableFactory.createReader(format, new ByteArrayInputStream(buf.toByteArray()));
+		in.setProjection(FieldProjection.of("Employee/id", "Employee/role", "Employee/cities"));
+
+		in.readStartBlock("Employee");
+		Assert.assertEquals(22, in.readInt("id"));
+		// 'name', 'permanent', 'address', and 'phoneNumbers' are skipped
+		DataElement role = in.readNext();
+		Assert.assertEquals("role", role.getName());
+		Assert.assertEquals("designer", role.getContent());
+
+		in.readStartBlock("cities");
+		List<String> cities = new ArrayList<>();
+		DataElement tag = in.readNext();
+		while(!tag.isEndBlock()) {
+			cities.add(tag.getContent());
+			tag = in.readNext();
+		}
+		Assert.assertEquals(Arrays.asList("City A", "City 2", "City C"), cities);
+
+		// 'properties' is skipped
+		in.readEndBlock();
+		in.close();
+	}
+
+}
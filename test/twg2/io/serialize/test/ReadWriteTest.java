@@ -1,12 +1,20 @@
 package twg2.io.serialize.test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -19,6 +27,10 @@ import twg2.io.serialize.base.writer.DataTransferOutput;
 import twg2.io.serialize.examples.Employee;
 import twg2.io.serialize.examples.SubWidget;
 import twg2.io.serialize.examples.Widget;
+import twg2.io.serialize.json.Utf8JsonReader;
+import twg2.io.serialize.xml.XmlHandler;
+import twg2.io.serialize.xml.XmlInput;
+import twg2.io.serialize.xml.XmlOutput;
 
 /**
  * @author TeamworkGuy2
@@ -40,6 +52,138 @@ public class ReadWriteTest {
 	}
 
 
+	@Test
+	public void checkUtf8JsonCustom() throws IOException {
+		DataTransferableFactory.setUseUtf8JsonReader(true);
+		try {
+			checkWriteReadCustom(DataTransferFormat.JSON, charset);
+		} finally {
+			DataTransferableFactory.setUseUtf8JsonReader(false);
+		}
+	}
+
+
+	@Test
+	public void checkUtf8JsonEmployee() throws IOException {
+		DataTransferableFactory.setUseUtf8JsonReader(true);
+		try {
+			checkWriteReadEmployee(DataTransferFormat.JSON, charset);
+		} finally {
+			DataTransferableFactory.setUseUtf8JsonReader(false);
+		}
+	}
+
+
+	@Test
+	public void checkUtf8JsonBuffer() throws IOException {
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		writeDataStream(DataTransferableFactory.createWriter(DataTransferFormat.JSON, buf));
+		byte[] bytes = buf.toByteArray();
+		readDataStream(DataTransferableFactory.createReader(DataTransferFormat.JSON, bytes, 0, bytes.length));
+	}
+
+
+	@Test
+	public void checkUtf8JsonValues() throws IOException {
+		Utf8JsonReader in = utf8Json("{\"l\":3000000000,\"d\":-1.5e3,\"f\":0.25,\"t\":true,\"n\":null,\"b\":-128}");
+		Assert.assertEquals(3000000000L, in.readLong("l"));
+		Assert.assertEquals(-1500.0, in.readDouble("d"), 0.0);
+		Assert.assertEquals(0.25f, in.readFloat("f"), 0.0f);
+		Assert.assertTrue(in.readBoolean("t"));
+		Assert.assertNull(in.readString("n"));
+		Assert.assertEquals(-128, in.readByte("b"));
+
+		// out of range integers
+		assertUtf8JsonError("{\"i\":3000000000}", (r) -> r.readInt("i"));
+		assertUtf8JsonError("{\"i\":-2147483649}", (r) -> r.readInt("i"));
+		assertUtf8JsonError("{\"s\":40000}", (r) -> r.readShort("s"));
+		assertUtf8JsonError("{\"b\":300}", (r) -> r.readByte("b"));
+		assertUtf8JsonError("{\"b\":\"-129\"}", (r) -> r.readByte("b"));
+		assertUtf8JsonError("{\"l\":1.7}", (r) -> r.readLong("l"));
+		assertUtf8JsonError("{\"i\":1e3}", (r) -> r.readInt("i"));
+
+		// invalid literals
+		assertUtf8JsonError("{\"t\":tomato}", (r) -> r.readBoolean("t"));
+		assertUtf8JsonError("{\"n\":nope}", (r) -> r.readString("n"));
+		assertUtf8JsonError("{\"f\":falsey}", (r) -> r.readBoolean("f"));
+		assertUtf8JsonError("{\"d\":12ab}", (r) -> r.readDouble("d"));
+		assertUtf8JsonError("{\"d\":01}", (r) -> r.readDouble("d"));
+		assertUtf8JsonError("{\"d\":1.}", (r) -> r.readDouble("d"));
+		assertUtf8JsonError("{\"d\":-}", (r) -> r.readDouble("d"));
+		assertUtf8JsonError("{\"x\":junk,\"i\":1}", (r) -> r.readInt("i"));
+	}
+
+
+	@Test
+	public void checkUtf8JsonLargeValues() throws IOException {
+		// values larger than the reader's buffer, read from a stream which returns a few bytes at a time
+		StringBuilder arr = new StringBuilder("[");
+		for(int i = 0; i < 5000; i++) {
+			arr.append(i > 0 ? "," : "").append(i);
+		}
+		String arrText = arr.append(']').toString();
+		StringBuilder str = new StringBuilder();
+		while(str.length() < 20000) {
+			str.append("value ").append(str.length()).append(' ');
+		}
+		byte[] json = ("{\"arr\":" + arrText + ",\"s\":\"" + str + "\",\"skip\":" + arrText + ",\"b\":1}").getBytes(charset);
+
+		Utf8JsonReader in = new Utf8JsonReader(new SlowInputStream(json, 100));
+		DataElement elem = in.readNext();
+		Assert.assertEquals("arr", elem.getName());
+		Assert.assertEquals(arrText, elem.getContent());
+		Assert.assertEquals(str.toString(), in.readString("s"));
+		Assert.assertEquals(1, in.readInt("b"));
+		in.close();
+
+		in = new Utf8JsonReader(new SlowInputStream(json, 100));
+		Assert.assertEquals(1, in.readInt("b"));
+		in.close();
+	}
+
+
+	@Test
+	public void checkUtf8JsonStreamedValues() throws IOException {
+		// streamed values larger than the reader's buffer, with escapes split across buffer refills
+		StringBuilder raw = new StringBuilder();
+		StringBuilder text = new StringBuilder();
+		for(int i = 0; text.length() < 40000; i++) {
+			raw.append("line ").append(i).append(" caf\\u00e9 \\ud83d\\ude00 \\\"q\\\" a\\/b\\n");
+			text.append("line ").append(i).append(" caf\u00e9 \ud83d\ude00 \"q\" a/b\n");
+		}
+		byte[] blob = new byte[30000];
+		new Random(7).nextBytes(blob);
+		String blobText = Base64.getEncoder().encodeToString(blob);
+		byte[] json = ("{\"s\":\"" + raw + "\",\"blob\":\"" + blobText + "\",\"partial\":\"" + raw + "\",\"n\":\"a\\tb\",\"b\":1}").getBytes(charset);
+
+		Utf8JsonReader in = new Utf8JsonReader(new SlowInputStream(json, 100));
+		Assert.assertEquals(text.toString(), readAll(in.openStringReader("s")));
+		try(InputStream blobIn = in.openBinaryStream("blob")) {
+			Assert.assertArrayEquals(blob, blobIn.readAllBytes());
+		}
+		// a partially read value is skipped by the next read
+		Reader partial = in.openStringReader("partial");
+		Assert.assertEquals('l', partial.read());
+		// a peeked value is read from the buffer
+		Assert.assertEquals("n", in.peekNext().getName());
+		Assert.assertEquals("a\tb", readAll(in.openStringReader("n")));
+		Assert.assertEquals(1, in.readInt("b"));
+		in.close();
+	}
+
+
+	@Test
+	public void checkBinaryCustom() throws IOException {
+		checkWriteReadCustom(DataTransferFormat.BINARY, charset);
+	}
+
+
+	@Test
+	public void checkBinaryEmployee() throws IOException {
+		checkWriteReadEmployee(DataTransferFormat.BINARY, charset);
+	}
+
+
 	@Test
 	public void checkXmlCustom() throws IOException {
 		checkWriteReadCustom(DataTransferFormat.XML, charset);
@@ -52,6 +196,157 @@ public class ReadWriteTest {
 	}
 
 
+	@Test
+	public void checkXmlTokenizerCustom() throws IOException {
+		XmlHandler.setUseXmlTokenizer(true);
+		try {
+			checkWriteReadCustom(DataTransferFormat.XML, charset);
+		} finally {
+			XmlHandler.setUseXmlTokenizer(false);
+		}
+	}
+
+
+	@Test
+	public void checkXmlTokenizerEmployee() throws IOException {
+		XmlHandler.setUseXmlTokenizer(true);
+		try {
+			checkWriteReadEmployee(DataTransferFormat.XML, charset);
+		} finally {
+			XmlHandler.setUseXmlTokenizer(false);
+		}
+	}
+
+
+	@Test
+	public void checkXmlBuffer() throws IOException {
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		writeDataStream(DataTransferableFactory.createWriter(DataTransferFormat.XML, buf));
+		byte[] bytes = buf.toByteArray();
+		readDataStream(DataTransferableFactory.createReader(DataTransferFormat.XML, bytes, 0, bytes.length));
+	}
+
+
+	@Test
+	public void checkXmlBinaryStream() throws IOException {
+		byte[] blob = new byte[1 << 20];
+		new Random(7).nextBytes(blob);
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		XmlOutput out = (XmlOutput)DataTransferableFactory.createWriter(DataTransferFormat.XML, buf);
+		out.writeStartBlock("root");
+		Assert.assertEquals(blob.length, out.writeBinary("blob", new ByteArrayInputStream(blob)));
+		out.write("range", blob, 5, 10);
+		out.writeInt("after", 3);
+		out.writeEndBlock();
+		out.close();
+		byte[] bytes = buf.toByteArray();
+
+		for(boolean tokenizer : new boolean[] { false, true }) {
+			XmlHandler.setUseXmlTokenizer(tokenizer);
+			try {
+				XmlInput in = (XmlInput)DataTransferableFactory.createReader(DataTransferFormat.XML, new ByteArrayInputStream(bytes));
+				in.readStartBlock("root");
+				ByteArrayOutputStream dst = new ByteArrayOutputStream();
+				Assert.assertEquals(blob.length, in.readBinary("blob", dst));
+				Assert.assertArrayEquals(blob, dst.toByteArray());
+				byte[] range = new byte[12];
+				in.read("range", range, 2, 10);
+				Assert.assertArrayEquals(Arrays.copyOfRange(blob, 5, 15), Arrays.copyOfRange(range, 2, 12));
+				Assert.assertEquals(3, in.readInt("after"));
+				in.readEndBlock();
+				in.close();
+			} finally {
+				XmlHandler.setUseXmlTokenizer(false);
+			}
+		}
+	}
+
+
+	@Test
+	public void checkStreamedFields() throws IOException {
+		checkStreamedFields(DataTransferFormat.JSON);
+		checkStreamedFields(DataTransferFormat.BINARY);
+		checkStreamedFields(DataTransferFormat.XML);
+		DataTransferableFactory.setUseUtf8JsonReader(true);
+		try {
+			checkStreamedFields(DataTransferFormat.JSON);
+		} finally {
+			DataTransferableFactory.setUseUtf8JsonReader(false);
+		}
+		XmlHandler.setUseXmlTokenizer(true);
+		try {
+			checkStreamedFields(DataTransferFormat.XML);
+		} finally {
+			XmlHandler.setUseXmlTokenizer(false);
+		}
+	}
+
+
+	public void checkStreamedFields(DataTransferFormat format) throws IOException {
+		byte[] blob = new byte[300000];
+		new Random(11).nextBytes(blob);
+		StringBuilder sb = new StringBuilder();
+		for(int i = 0; sb.length() < 100000; i++) {
+			sb.append("line ").append(i).append(" caf\u00e9 <\ud83d\ude00> & \"quoted\"\n");
+		}
+		String text = sb.toString();
+
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		DataTransferOutput out = DataTransferableFactory.createWriter(format, buf);
+		out.writeStartBlock("root");
+		Assert.assertEquals(text.length(), out.writeString("text", new StringReader(text)));
+		Assert.assertEquals(blob.length, out.writeBinary("blob", new ByteArrayInputStream(blob)));
+		out.writeBinary("skipped", new ByteArrayInputStream(blob));
+		out.writeInt("after", 3);
+		out.writeEndBlock();
+		out.close();
+		byte[] bytes = buf.toByteArray();
+
+		String msg = format + " " + DataTransferableFactory.isUseUtf8JsonReader() + " " + XmlHandler.isUseXmlTokenizer();
+		DataTransferInput in = DataTransferableFactory.createReader(format, bytes, 0, bytes.length);
+		in.readStartBlock("root");
+		Assert.assertEquals(msg, text, readAll(in.openStringReader("text")));
+		try(InputStream blobIn = in.openBinaryStream("blob")) {
+			Assert.assertArrayEquals(blob, blobIn.readAllBytes());
+		}
+		// a partially read stream skips the rest of its element when closed
+		InputStream partial = in.openBinaryStream("skipped");
+		Assert.assertEquals(blob[0], (byte)partial.read());
+		partial.close();
+		Assert.assertEquals(msg, 3, in.readInt("after"));
+		in.readEndBlock();
+		in.close();
+	}
+
+
+	private static Utf8JsonReader utf8Json(String json) throws IOException {
+		byte[] bytes = json.getBytes(charset);
+		return new Utf8JsonReader(bytes, 0, bytes.length);
+	}
+
+
+	private static void assertUtf8JsonError(String json, Utf8JsonRead read) {
+		try {
+			read.read(utf8Json(json));
+			Assert.fail("expected error reading " + json);
+		} catch(IOException e) {
+			// expected
+		}
+	}
+
+
+	private static String readAll(Reader src) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		char[] chars = new char[1000];
+		int n;
+		while((n = src.read(chars)) >= 0) {
+			sb.append(chars, 0, n);
+		}
+		src.close();
+		return sb.toString();
+	}
+
+
 	public void checkWriteReadCustom(DataTransferFormat format, Charset charset) throws IOException {
 		String formatName = format.name().toLowerCase();
 		File file = new File("rsc/" + formatName + "_test." + formatName);
@@ -196,4 +491,31 @@ public class ReadWriteTest {
 		in.close();
 	}
 
+
+
+	@FunctionalInterface
+	private static interface Utf8JsonRead {
+		public void read(Utf8JsonReader in) throws IOException;
+	}
+
+
+
+	/** Returns at most {@code chunk} bytes from each read, like a network stream
+	 */
+	static class SlowInputStream extends ByteArrayInputStream {
+		private final int chunk;
+
+
+		SlowInputStream(byte[] buf, int chunk) {
+			super(buf);
+			this.chunk = chunk;
+		}
+
+
+		@Override
+		public synchronized int read(byte[] b, int off, int len) {
+			return super.read(b, off, Math.min(len, chunk));
+		}
+	}
+
 }
@@ -0,0 +1,158 @@
+package twg2.io.serialize.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.reader.FieldPredicate;
+import twg2.io.serialize.base.reader.RecordFilter;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+import twg2.io.serialize.xml.XmlHandler;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class RecordFilterTest {
+
+	/** Simple record with a nested block between its fields */
+	static class Item {
+		int id;
+		String role;
+		List<String> tags;
+		int level;
+
+		Item(int id, String role, int level, String... tags) {
+			this.id = id;
+			this.role = role;
+			this.level = level;
+			this.tags = Arrays.asList(tags);
+		}
+	}
+
+
+	static final DataTransferFactory<Item> itemFactory = new DataTransferFactory<Item>() {
+		@Override
+		public void writeData(DataTransferOutput out, Item obj) throws IOException {
+			out.writeStartBlock("Item");
+			out.writeInt("id", obj.id);
+			out.writeString("role", obj.role);
+			DataTransferableFactory.writeBlock(out, "tags", "tag", obj.tags);
+			out.writeInt("level", obj.level);
+			out.writeEndBlock();
+		}
+
+		@Override
+		public Item readData(DataTransferInput in) throws IOException {
+			in.readStartBlock("Item");
+			int id = in.readInt("id");
+			String role = in.readString("role");
+			List<String> tags = DataTransferableFactory.readBlock(in, "tags", "tag");
+			int level = in.readInt("level");
+			in.readEndBlock();
+			return new Item(id, role, level, tags.toArray(new String[tags.size()]));
+		}
+	};
+
+
+	@Test
+	public void fieldPredicates() {
+		Assert.assertTrue(FieldPredicate.equal("id", 12).test("12"));
+		Assert.assertFalse(FieldPredicate.equal("id", 12).test("120"));
+		Assert.assertTrue(FieldPredicate.prefix("role", "dev").test("developer"));
+		Assert.assertFalse(FieldPredicate.prefix("role", "dev").test("de"));
+		Assert.assertTrue(FieldPredicate.range("level", 2, 4).test("4"));
+		Assert.assertTrue(FieldPredicate.range("level", 2, 4).test("2.5"));
+		Assert.assertFalse(FieldPredicate.greaterThan("level", 2).test("2"));
+		Assert.assertFalse(FieldPredicate.lessThan("level", 2).test("abc"));
+
+		RecordFilter filter = new RecordFilter(FieldPredicate.greaterThanOrEqual("id", 2), FieldPredicate.lessThan("id", 5));
+		Assert.assertTrue(filter.test("id", "4"));
+		Assert.assertFalse(filter.test("id", "5"));
+		Assert.assertTrue(filter.test("name", "5"));
+	}
+
+
+	@Test
+	public void jsonRecordFilter() throws IOException {
+		checkRecordFilter(DataTransferFormat.JSON);
+	}
+
+
+	@Test
+	public void utf8JsonRecordFilter() throws IOException {
+		DataTransferableFactory.setUseUtf8JsonReader(true);
+		try {
+			checkRecordFilter(DataTransferFormat.JSON);
+		} finally {
+			DataTransferableFactory.setUseUtf8JsonReader(false);
+		}
+	}
+
+
+	@Test
+	public void xmlRecordFilter() throws IOException {
+		checkRecordFilter(DataTransferFormat.XML);
+	}
+
+
+	@Test
+	public void xmlTokenizerRecordFilter() throws IOException {
+		XmlHandler.setUseXmlTokenizer(true);
+		try {
+			checkRecordFilter(DataTransferFormat.XML);
+		} finally {
+			XmlHandler.setUseXmlTokenizer(false);
+		}
+	}
+
+
+	@Test
+	public void binaryRecordFilter() throws IOException {
+		checkRecordFilter(DataTransferFormat.BINARY);
+	}
+
+
+	public void checkRecordFilter(DataTransferFormat format) throws IOException {
+		List<Item> items = Arrays.asList(
+			new Item(1, "developer", 3, "a", "b"),
+			new Item(2, "designer", 1, "c"),
+			new Item(3, "developer", 5),
+			new Item(4, "dev-ops", 2, "d", "e", "f"),
+			new Item(5, "tester", 2, "g")
+		);
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		DataTransferOutput out = DataTransferableFactory.createWriter(format, buf);
+		out.writeStartBlock("items");
+		for(Item item : items) {
+			itemFactory.writeData(out, item);
+		}
+		out.writeEndBlock();
+		out.close();
+
+		// 'role' is rejected before the nested 'tags' block, 'level' after it
+		RecordFilter filter = new RecordFilter(FieldPredicate.prefix("role", "dev"), FieldPredicate.range("level", 2, 4));
+		DataTransferInput in = DataTransferableFactory.createReader(format, new ByteArrayInputStream(buf.toByteArray()));
+		List<Item> res = DataTransferableFactory.readBlock(in, "items", itemFactory, filter);
+		in.close();
+
+		List<Integer> ids = new ArrayList<>();
+		for(Item item : res) {
+			ids.add(item.id);
+		}
+		Assert.assertEquals(Arrays.asList(1, 4), ids);
+		Assert.assertEquals(Arrays.asList("d", "e", "f"), res.get(1).tags);
+		Assert.assertEquals(2, res.get(1).level);
+	}
+
+}
@@ -0,0 +1,279 @@
+package twg2.io.serialize.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.base.BatchDataTransferFactory;
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class ReloadTest {
+
+	static class Part {
+		int id;
+		byte[] data;
+		Part sub;
+	}
+
+
+	/** Reads parts in place, reusing each part's nested part and data array */
+	static final DataTransferFactory<Part> partFactory = new DataTransferFactory<Part>() {
+		@Override
+		public boolean canReloadObjects() {
+			return true;
+		}
+
+		@Override
+		public void writeData(DataTransferOutput out, Part obj) throws IOException {
+			out.writeStartBlock("Part");
+			out.writeInt("id", obj.id);
+			out.write("data", obj.data);
+			out.writeBoolean("hasSub", obj.sub != null);
+			if(obj.sub != null) {
+				writeData(out, obj.sub);
+			}
+			out.writeEndBlock();
+		}
+
+		@Override
+		public Part readData(DataTransferInput in) throws IOException {
+			Part obj = new Part();
+			readData(in, obj);
+			return obj;
+		}
+
+		@Override
+		public void readData(DataTransferInput in, Part obj) throws IOException {
+			in.readStartBlock("Part");
+			obj.id = in.readInt("id");
+			obj.data = in.readBytes("data", obj.data);
+			obj.sub = (in.readBoolean("hasSub") ? DataTransferableFactory.reloadData(in, this, obj.sub) : null);
+			in.readEndBlock();
+		}
+	};
+
+
+	static final BatchDataTransferFactory<Part> partBatchFactory = new BatchDataTransferFactory<Part>() {
+		@Override
+		public boolean canReloadObjects() {
+			return true;
+		}
+
+		@Override
+		public Part[] newBatch(int size) {
+			return new Part[size];
+		}
+
+		@Override
+		public void writeData(DataTransferOutput out, Part obj) throws IOException {
+			partFactory.writeData(out, obj);
+		}
+
+		@Override
+		public Part readData(DataTransferInput in) throws IOException {
+			return partFactory.readData(in);
+		}
+
+		@Override
+		public void readData(DataTransferInput in, Part obj) throws IOException {
+			partFactory.readData(in, obj);
+		}
+	};
+
+
+	@Test
+	public void reloadPool() throws IOException {
+		List<Part> parts = createParts(40, 0);
+		for(DataTransferFormat format : DataTransferFormat.values()) {
+			byte[] src = write(format, parts);
+			List<Part> pool = new ArrayList<>();
+			Assert.assertEquals(parts.size(), reload(format, src, pool));
+			checkParts(parts, pool);
+			List<Part> first = new ArrayList<>(pool);
+			List<Part> firstSubs = new ArrayList<>();
+			List<byte[]> firstData = new ArrayList<>();
+			for(Part part : pool) {
+				firstSubs.add(part.sub);
+				firstData.add(part.data);
+			}
+
+			// re-reading the same shapes reuses every object and array
+			List<Part> parts2 = createParts(40, 1000);
+			Assert.assertEquals(parts2.size(), reload(format, write(format, parts2), pool));
+			checkParts(parts2, pool);
+			for(int i = 0; i < pool.size(); i++) {
+				Assert.assertSame(first.get(i), pool.get(i));
+				Assert.assertSame(firstSubs.get(i), pool.get(i).sub);
+				Assert.assertSame(firstData.get(i), pool.get(i).data);
+			}
+
+			// smaller blocks leave the rest of the pool untouched
+			Assert.assertEquals(10, reload(format, write(format, parts.subList(0, 10)), pool));
+			Assert.assertEquals(40, pool.size());
+			checkParts(parts.subList(0, 10), pool.subList(0, 10));
+			Assert.assertEquals(parts2.get(10).id, pool.get(10).id);
+		}
+	}
+
+
+	@Test
+	public void reloadArray() throws IOException {
+		List<Part> parts = createParts(25, 0);
+		for(DataTransferFormat format : DataTransferFormat.values()) {
+			byte[] src = write(format, parts);
+			for(DataTransferFactory<Part> factory : List.of(partFactory, partBatchFactory)) {
+				Part[] dst = new Part[30];
+				Part reused = new Part();
+				dst[3] = reused;
+				Assert.assertEquals(25, reloadArray(format, src, factory, dst, 2));
+				Assert.assertSame(reused, dst[3]);
+				checkParts(parts, Arrays.asList(dst).subList(2, 27));
+				Assert.assertNull(dst[27]);
+
+				Part[] copy = dst.clone();
+				Assert.assertEquals(25, reloadArray(format, src, factory, dst, 2));
+				for(int i = 0; i < dst.length; i++) {
+					Assert.assertSame(copy[i], dst[i]);
+				}
+
+				try {
+					reloadArray(format, src, factory, new Part[24], 0);
+					Assert.fail("expected too many records error");
+				} catch(IOException e) {
+					// expected
+				}
+			}
+		}
+	}
+
+
+	@Test
+	public void reloadEmptyBlock() throws IOException {
+		for(DataTransferFormat format : DataTransferFormat.values()) {
+			byte[] src = write(format, new ArrayList<>());
+			List<Part> pool = new ArrayList<>(createParts(2, 0));
+			Assert.assertEquals(0, reload(format, src, pool));
+			Assert.assertEquals(2, pool.size());
+			Assert.assertEquals(0, reloadArray(format, src, partFactory, new Part[2], 0));
+		}
+	}
+
+
+	@Test
+	public void reloadTransferables() throws IOException {
+		DataTransferFactory<Widget> factory = DataTransferableFactory.transferableFactory(Widget::new);
+		Assert.assertTrue(factory.canReloadObjects());
+		List<Widget> widgets = List.of(new Widget(), new Widget(), new Widget());
+		for(DataTransferFormat format : DataTransferFormat.values()) {
+			ByteArrayOutputStream buf = new ByteArrayOutputStream();
+			DataTransferOutput out = DataTransferableFactory.createWriter(format, buf);
+			DataTransferableFactory.writeBlock(out, "widgets", factory, widgets);
+			out.close();
+
+			List<Widget> pool = new ArrayList<>();
+			for(int round = 0; round < 2; round++) {
+				List<Widget> prev = new ArrayList<>(pool);
+				try(DataTransferInput in = DataTransferableFactory.createReader(format, new ByteArrayInputStream(buf.toByteArray()))) {
+					Assert.assertEquals(3, DataTransferableFactory.reloadBlock(in, "widgets", factory, pool));
+				}
+				for(int i = 0; i < prev.size(); i++) {
+					Assert.assertSame(prev.get(i), pool.get(i));
+				}
+				Assert.assertEquals(widgets.get(0).toString(), pool.get(2).toString());
+			}
+		}
+	}
+
+
+	@Test
+	public void readBytesReuse() throws IOException {
+		for(DataTransferFormat format : DataTransferFormat.values()) {
+			ByteArrayOutputStream buf = new ByteArrayOutputStream();
+			DataTransferOutput out = DataTransferableFactory.createWriter(format, buf);
+			out.writeStartBlock("values");
+			out.write("a", new byte[] { 1, 2, 3 });
+			out.write("b", new byte[] { 4, 5 });
+			out.write("c", new byte[] { 6, 7, 8, 9 });
+			out.write("d", new byte[] { 10 });
+			out.writeEndBlock();
+			out.close();
+
+			byte[] reuse = new byte[3];
+			try(DataTransferInput in = DataTransferableFactory.createReader(format, new ByteArrayInputStream(buf.toByteArray()))) {
+				in.readStartBlock("values");
+				Assert.assertSame(reuse, in.readBytes("a", reuse));
+				Assert.assertArrayEquals(new byte[] { 1, 2, 3 }, reuse);
+				Assert.assertArrayEquals(new byte[] { 4, 5 }, in.readBytes("b", reuse));
+				Assert.assertArrayEquals(new byte[] { 6, 7, 8, 9 }, in.readBytes("c", reuse));
+				Assert.assertArrayEquals(new byte[] { 10 }, in.readBytes("d", null));
+				in.readEndBlock();
+			}
+		}
+	}
+
+
+	private static int reload(DataTransferFormat format, byte[] src, List<Part> pool) throws IOException {
+		try(DataTransferInput in = DataTransferableFactory.createReader(format, new ByteArrayInputStream(src))) {
+			return DataTransferableFactory.reloadBlock(in, "parts", partFactory, pool);
+		}
+	}
+
+
+	private static int reloadArray(DataTransferFormat format, byte[] src, DataTransferFactory<Part> factory, Part[] dst, int off) throws IOException {
+		try(DataTransferInput in = DataTransferableFactory.createReader(format, new ByteArrayInputStream(src))) {
+			return DataTransferableFactory.reloadBlock(in, "parts", factory, dst, off);
+		}
+	}
+
+
+	private static byte[] write(DataTransferFormat format, List<Part> parts) throws IOException {
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		DataTransferOutput out = DataTransferableFactory.createWriter(format, buf);
+		DataTransferableFactory.writeBlock(out, "parts", partFactory, parts);
+		out.close();
+		return buf.toByteArray();
+	}
+
+
+	private static void checkParts(List<Part> expected, List<Part> actual) {
+		for(int i = 0; i < expected.size(); i++) {
+			Part expect = expected.get(i);
+			Part part = actual.get(i);
+			Assert.assertEquals(expect.id, part.id);
+			Assert.assertArrayEquals(expect.data, part.data);
+			Assert.assertEquals(expect.sub.id, part.sub.id);
+			Assert.assertArrayEquals(expect.sub.data, part.sub.data);
+			Assert.assertNull(part.sub.sub);
+		}
+	}
+
+
+	private static List<Part> createParts(int count, int seed) {
+		List<Part> parts = new ArrayList<>();
+		for(int i = 0; i < count; i++) {
+			Part part = new Part();
+			part.id = seed + i;
+			part.data = new byte[] { (byte)(seed + i), (byte)i, 3, 4 };
+			part.sub = new Part();
+			part.sub.id = -(seed + i);
+			part.sub.data = new byte[] { (byte)(seed - i), 9 };
+			parts.add(part);
+		}
+		return parts;
+	}
+
+}
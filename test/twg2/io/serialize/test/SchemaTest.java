@@ -0,0 +1,260 @@
+package twg2.io.serialize.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.base.DataTransferFactory;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+import twg2.io.serialize.schema.Schema;
+import twg2.io.serialize.schema.SchemaField;
+import twg2.io.serialize.schema.SchemaRecord;
+import twg2.io.serialize.schema.SchemaRecordReader;
+import twg2.io.serialize.schema.SchemaRecordWriter;
+import twg2.io.serialize.schema.SchemaRegistry;
+import twg2.io.serialize.schema.SchemaResolution;
+import twg2.simpleTypes.ioPrimitives.IoType;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class SchemaTest {
+
+	static class Point {
+		int id;
+		String name;
+		float score;
+		boolean active;
+		byte[] data;
+
+		Point(int id, String name, float score, boolean active, byte[] data) {
+			this.id = id;
+			this.name = name;
+			this.score = score;
+			this.active = active;
+			this.data = data;
+		}
+	}
+
+
+	static final DataTransferFactory<Point> pointFactory = new DataTransferFactory<Point>() {
+		@Override
+		public void writeData(DataTransferOutput out, Point obj) throws IOException {
+			out.writeStartBlock("Point");
+			out.writeInt("id", obj.id);
+			out.writeString("name", obj.name);
+			out.writeFloat("score", obj.score);
+			out.writeBoolean("active", obj.active);
+			out.write("data", obj.data);
+			out.writeEndBlock();
+		}
+
+		@Override
+		public Point readData(DataTransferInput in) throws IOException {
+			throw new UnsupportedOperationException();
+		}
+	};
+
+
+	@Test
+	public void deriveSchema() throws IOException {
+		Schema schema = Schema.derive(pointFactory, createPoints(1).get(0));
+		Assert.assertEquals("Point", schema.getName());
+		Assert.assertEquals(Arrays.asList(SchemaField.of("id", IoType.INT), SchemaField.of("name", IoType.STRING), SchemaField.of("score", IoType.FLOAT),
+				SchemaField.of("active", IoType.BOOLEAN), SchemaField.of("data", IoType.BINARY)), schema.getFields());
+		Assert.assertEquals(2, schema.indexOf("score"));
+		Assert.assertEquals(-1, schema.indexOf("level"));
+
+		// the fingerprint covers names, types, and order, but not default values
+		Schema same = Schema.of("Point", SchemaField.of("id", IoType.INT, 5), SchemaField.of("name", IoType.STRING), SchemaField.of("score", IoType.FLOAT),
+				SchemaField.of("active", IoType.BOOLEAN), SchemaField.of("data", IoType.BINARY));
+		Assert.assertEquals(schema.getFingerprint(), same.getFingerprint());
+		Assert.assertEquals(schema, same);
+		Assert.assertTrue(schema.getFingerprint() != Schema.of("Point", SchemaField.of("id", IoType.LONG)).getFingerprint());
+		Assert.assertTrue(Schema.of("Point", SchemaField.of("a", IoType.INT), SchemaField.of("b", IoType.INT)).getFingerprint() !=
+				Schema.of("Point", SchemaField.of("b", IoType.INT), SchemaField.of("a", IoType.INT)).getFingerprint());
+
+		// nested blocks cannot be described
+		try {
+			Schema.derive(RecordFilterTest.itemFactory, new RecordFilterTest.Item(1, "dev", 2, "a"));
+			Assert.fail("expected nested block error");
+		} catch(IllegalArgumentException e) {
+			// expected
+		}
+		try {
+			Schema.of("Point", SchemaField.of("id", IoType.INT), SchemaField.of("id", IoType.LONG));
+			Assert.fail("expected duplicate field error");
+		} catch(IllegalArgumentException e) {
+			// expected
+		}
+		try {
+			SchemaField.of("id", IoType.INT, "5");
+			Assert.fail("expected invalid default value error");
+		} catch(IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+
+	@Test
+	public void writeAndReadRecords() throws IOException {
+		List<Point> points = createPoints(500);
+		Schema schema = Schema.derive(pointFactory, points.get(0));
+		byte[] src = write(schema, points);
+
+		try(SchemaRecordReader in = new SchemaRecordReader(new ByteArrayInputStream(src), schema, null)) {
+			Assert.assertTrue(in.getResolution().isIdentity());
+			SchemaRecord rec = in.newRecord();
+			int id = rec.indexOf("id"), name = rec.indexOf("name"), score = rec.indexOf("score"), active = rec.indexOf("active"), data = rec.indexOf("data");
+			for(Point point : points) {
+				Assert.assertTrue(in.readRecord(rec));
+				Assert.assertEquals(point.id, rec.getInt(id));
+				Assert.assertEquals(point.name, rec.getString(name));
+				Assert.assertEquals(point.score, rec.getFloat(score), 0.0f);
+				Assert.assertEquals(point.active, rec.getBoolean(active));
+				Assert.assertArrayEquals(point.data, rec.getBytes(data));
+			}
+			Assert.assertFalse(in.readRecord(rec));
+		}
+	}
+
+
+	@Test
+	public void readEvolvedSchema() throws IOException {
+		File dir = emptyDir("rsc/schema_registry_test");
+		SchemaRegistry registry = new SchemaRegistry(dir);
+		List<Point> points = createPoints(200);
+		Schema writerSchema = Schema.derive(pointFactory, points.get(0));
+		Assert.assertEquals(writerSchema.getFingerprint(), registry.register(writerSchema));
+		byte[] src = write(writerSchema, points);
+
+		// 'active' and 'data' removed, fields reordered, 'id' and 'score' promoted, 'level' and 'note' added
+		Schema readerSchema = Schema.of("Point",
+				SchemaField.of("level", IoType.SHORT, (short)7),
+				SchemaField.of("score", IoType.DOUBLE),
+				SchemaField.of("note", IoType.STRING, "none"),
+				SchemaField.of("name", IoType.STRING),
+				SchemaField.of("id", IoType.LONG));
+
+		// load the writer schema from the files, not the registry's cache
+		SchemaRegistry reopened = new SchemaRegistry(dir);
+		Assert.assertTrue(reopened.contains(writerSchema.getFingerprint()));
+		Assert.assertEquals(writerSchema, reopened.get(writerSchema.getFingerprint()));
+
+		try(SchemaRecordReader in = new SchemaRecordReader(new ByteArrayInputStream(src), readerSchema, reopened)) {
+			SchemaResolution resolution = in.getResolution();
+			Assert.assertFalse(resolution.isIdentity());
+			Assert.assertEquals(4, resolution.getReaderIndex(0));
+			Assert.assertEquals(-1, resolution.getReaderIndex(3));
+			Assert.assertArrayEquals(new int[] { 0, 2 }, resolution.getDefaultedFields());
+
+			SchemaRecord rec = in.newRecord();
+			for(Point point : points) {
+				Assert.assertTrue(in.readRecord(rec));
+				Assert.assertEquals(7, rec.getShort(0));
+				Assert.assertEquals(point.score, rec.getDouble(1), 0.0);
+				Assert.assertEquals("none", rec.getString(2));
+				Assert.assertEquals(point.name, rec.getString(3));
+				Assert.assertEquals(point.id, rec.getLong(4));
+			}
+			Assert.assertFalse(in.readRecord(rec));
+		}
+
+		// defaults are stored in the schema files
+		Schema evolved = Schema.of("Point", SchemaField.of("id", IoType.INT, -3), SchemaField.of("ch", IoType.CHAR, 'x'), SchemaField.of("bin", IoType.BINARY, new byte[] { 1, 2 }));
+		registry.register(evolved);
+		Schema loaded = new SchemaRegistry(dir).get(evolved.getFingerprint());
+		Assert.assertEquals(-3, loaded.getField(0).getDefaultValue());
+		Assert.assertEquals('x', loaded.getField(1).getDefaultValue());
+		Assert.assertArrayEquals(new byte[] { 1, 2 }, (byte[])loaded.getField(2).getDefaultValue());
+	}
+
+
+	@Test
+	public void schemaErrors() throws IOException {
+		List<Point> points = createPoints(3);
+		Schema schema = Schema.derive(pointFactory, points.get(0));
+		byte[] src = write(schema, points);
+
+		// fields must be written in schema order
+		SchemaRecordWriter out = new SchemaRecordWriter(new ByteArrayOutputStream(), schema);
+		out.writeStartBlock("Point");
+		try {
+			out.writeString("name", "a");
+			Assert.fail("expected field order error");
+		} catch(IllegalStateException e) {
+			// expected
+		}
+
+		// incompatible field types
+		Schema narrowed = Schema.of("Point", SchemaField.of("name", IoType.INT));
+		try {
+			SchemaResolution.resolve(schema, narrowed);
+			Assert.fail("expected incompatible type error");
+		} catch(IllegalArgumentException e) {
+			// expected
+		}
+
+		// unknown writer schema
+		File dir = emptyDir("rsc/schema_registry_test");
+		try {
+			new SchemaRecordReader(new ByteArrayInputStream(src), narrowed, new SchemaRegistry(dir)).close();
+			Assert.fail("expected unknown schema error");
+		} catch(IOException e) {
+			// expected
+		}
+
+		// truncated record
+		try(SchemaRecordReader in = new SchemaRecordReader(new ByteArrayInputStream(Arrays.copyOf(src, src.length - 3)), schema, null)) {
+			SchemaRecord rec = in.newRecord();
+			Assert.assertTrue(in.readRecord(rec));
+			Assert.assertTrue(in.readRecord(rec));
+			in.readRecord(rec);
+			Assert.fail("expected end of stream error");
+		} catch(IOException e) {
+			// expected
+		}
+	}
+
+
+	private static byte[] write(Schema schema, List<Point> points) throws IOException {
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		SchemaRecordWriter out = new SchemaRecordWriter(buf, schema);
+		for(Point point : points) {
+			pointFactory.writeData(out, point);
+		}
+		out.close();
+		return buf.toByteArray();
+	}
+
+
+	private static List<Point> createPoints(int count) {
+		List<Point> points = new ArrayList<>();
+		for(int i = 0; i < count; i++) {
+			points.add(new Point(i * 37 - 1000, i % 9 == 0 ? null : "point-" + i, i * 0.25f - 3, i % 3 == 0, i % 4 == 0 ? null : new byte[] { (byte)i, (byte)(i >> 8) }));
+		}
+		return points;
+	}
+
+
+	private static File emptyDir(String path) {
+		File dir = new File(path);
+		File[] files = dir.listFiles();
+		if(files != null) {
+			for(File file : files) {
+				file.delete();
+			}
+		}
+		return dir;
+	}
+
+}
@@ -0,0 +1,159 @@
+package twg2.io.serialize.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.container.SegmentedLogFormat;
+import twg2.io.serialize.container.SegmentedLogReader;
+import twg2.io.serialize.container.SegmentedLogWriter;
+import twg2.io.serialize.test.RecordFilterTest.Item;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class SegmentedLogTest {
+
+	@Test
+	public void jsonLog() throws IOException {
+		checkLog(DataTransferFormat.JSON);
+	}
+
+
+	@Test
+	public void binaryLog() throws IOException {
+		checkLog(DataTransferFormat.BINARY);
+	}
+
+
+	@Test
+	public void groupCommit() throws Exception {
+		File dir = emptyDir("rsc/log_test_concurrent");
+		SegmentedLogWriter<Item> out = new SegmentedLogWriter<>(dir, DataTransferFormat.BINARY, RecordFilterTest.itemFactory, 2048);
+		List<Thread> threads = new ArrayList<>();
+		List<Throwable> errors = new ArrayList<>();
+		for(int t = 0; t < 4; t++) {
+			int threadIdx = t;
+			threads.add(new Thread(() -> {
+				try {
+					for(int i = 0; i < 50; i++) {
+						out.appendAndSync(new Item(threadIdx * 1000 + i, "t" + threadIdx, i));
+					}
+				} catch(Throwable e) {
+					synchronized(errors) {
+						errors.add(e);
+					}
+				}
+			}));
+		}
+		for(Thread thread : threads) {
+			thread.start();
+		}
+		for(Thread thread : threads) {
+			thread.join();
+		}
+		out.close();
+		Assert.assertEquals(errors.toString(), 0, errors.size());
+
+		List<Item> items = readAll(dir, 0);
+		Assert.assertEquals(200, items.size());
+		// each thread's records are in the order it appended them
+		int[] nextPerThread = new int[4];
+		for(Item item : items) {
+			int threadIdx = item.id / 1000;
+			Assert.assertEquals(nextPerThread[threadIdx]++, item.id % 1000);
+		}
+	}
+
+
+	public void checkLog(DataTransferFormat format) throws IOException {
+		File dir = emptyDir("rsc/log_test_" + format.name().toLowerCase());
+		try(SegmentedLogWriter<Item> out = new SegmentedLogWriter<>(dir, format, RecordFilterTest.itemFactory, 2048)) {
+			for(int i = 0; i < 300; i++) {
+				Assert.assertEquals(i, out.append(new Item(i, "role" + i, i % 7, "tag")));
+				if(i % 10 == 9) {
+					out.commit();
+				}
+			}
+		}
+		File[] segments = SegmentedLogFormat.listSegments(dir);
+		Assert.assertTrue(segments.length > 3);
+		checkItems(readAll(dir, 0), 0, 300);
+
+		// start reading part way through the log, earlier segments are skipped
+		checkItems(readAll(dir, 250), 250, 300);
+
+		// simulate a write interrupted after part of a record was written
+		File last = segments[segments.length - 1];
+		long validLength = last.length();
+		try(RandomAccessFile file = new RandomAccessFile(last, "rw")) {
+			file.seek(validLength);
+			file.writeInt(100);
+			file.writeInt(12345);
+			file.write(new byte[10]);
+		}
+		checkItems(readAll(dir, 0), 0, 300);
+
+		try(SegmentedLogWriter<Item> out = new SegmentedLogWriter<>(dir, format, RecordFilterTest.itemFactory, 2048)) {
+			Assert.assertEquals(validLength, last.length());
+			Assert.assertEquals(300, out.getNextSequence());
+			out.appendAndSync(new Item(300, "role300", 300 % 7, "tag"));
+		}
+		checkItems(readAll(dir, 0), 0, 301);
+
+		// a corrupt record in an earlier segment is an error
+		try(RandomAccessFile file = new RandomAccessFile(segments[1], "rw")) {
+			file.seek(SegmentedLogFormat.HEADER_SIZE + SegmentedLogFormat.RECORD_HEADER_SIZE + 2);
+			file.write(file.read() ^ 0xFF);
+		}
+		try {
+			readAll(dir, 0);
+			Assert.fail("expected corrupt segment to be rejected");
+		} catch(IOException ioe) {
+			// expected
+		}
+	}
+
+
+	private static void checkItems(List<Item> items, int from, int to) {
+		Assert.assertEquals(to - from, items.size());
+		for(int i = from; i < to; i++) {
+			Item item = items.get(i - from);
+			Assert.assertEquals(i, item.id);
+			Assert.assertEquals("role" + i, item.role);
+			Assert.assertEquals(i % 7, item.level);
+		}
+	}
+
+
+	private static List<Item> readAll(File dir, long fromSeq) throws IOException {
+		List<Item> items = new ArrayList<>();
+		try(SegmentedLogReader in = new SegmentedLogReader(dir, fromSeq)) {
+			Item item;
+			while((item = in.read(RecordFilterTest.itemFactory)) != null) {
+				items.add(item);
+			}
+		}
+		return items;
+	}
+
+
+	private static File emptyDir(String path) {
+		File dir = new File(path);
+		File[] files = dir.listFiles();
+		if(files != null) {
+			for(File file : files) {
+				file.delete();
+			}
+		}
+		return dir;
+	}
+
+}
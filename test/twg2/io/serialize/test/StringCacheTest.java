@@ -0,0 +1,150 @@
+package twg2.io.serialize.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.base.DataTransferFormat;
+import twg2.io.serialize.base.DataTransferableFactory;
+import twg2.io.serialize.base.reader.DataTransferInput;
+import twg2.io.serialize.base.reader.StringCache;
+import twg2.io.serialize.base.writer.DataTransferOutput;
+import twg2.io.serialize.json.JsonReader;
+import twg2.io.serialize.json.Utf8JsonReader;
+import twg2.io.serialize.test.RecordFilterTest.Item;
+import twg2.io.serialize.xml.XmlHandler;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class StringCacheTest {
+
+	@Test
+	public void cacheLookups() {
+		StringCache cache = new StringCache(4, 8);
+		char[] chars = "xdesignerx".toCharArray();
+		byte[] bytes = "designer".getBytes(StandardCharsets.UTF_8);
+		String str = cache.get(chars, 1, 8);
+		Assert.assertEquals("designer", str);
+		Assert.assertSame(str, cache.get(bytes, 0, bytes.length));
+		Assert.assertSame(str, cache.get(new String("designer")));
+
+		// non-ASCII bytes are decoded before being looked up
+		String accent = cache.get("rôle".getBytes(StandardCharsets.UTF_8), 0, 5);
+		Assert.assertEquals("rôle", accent);
+		Assert.assertSame(accent, cache.get("rôle".toCharArray(), 0, 4));
+
+		// values longer than the max length are not cached
+		String longStr = cache.get("developer".toCharArray(), 0, 9);
+		Assert.assertNotSame(longStr, cache.get("developer".toCharArray(), 0, 9));
+		Assert.assertEquals(2, cache.size());
+		Assert.assertSame("", cache.get(chars, 0, 0));
+	}
+
+
+	@Test
+	public void clockEviction() {
+		StringCache cache = new StringCache(4, 16);
+		String hot = cache.get("hot".toCharArray(), 0, 3);
+		for(int i = 0; i < 100; i++) {
+			// the referenced string gets a second chance each time the clock hand passes it
+			Assert.assertSame(hot, cache.get("hot".toCharArray(), 0, 3));
+			char[] cold = ("cold" + i).toCharArray();
+			cache.get(cold, 0, cold.length);
+			Assert.assertTrue(cache.size() <= 4);
+		}
+		Assert.assertEquals(4, cache.size());
+		String cold = cache.get("cold0".toCharArray(), 0, 5);
+		Assert.assertNotSame(cold, cache.get(new String("cold1")));
+		cache.clear();
+		Assert.assertEquals(0, cache.size());
+	}
+
+
+	@Test
+	public void readerValues() throws IOException {
+		for(DataTransferFormat format : DataTransferFormat.values()) {
+			checkReaderValues(format);
+		}
+		DataTransferableFactory.setUseUtf8JsonReader(true);
+		try {
+			checkReaderValues(DataTransferFormat.JSON);
+		} finally {
+			DataTransferableFactory.setUseUtf8JsonReader(false);
+		}
+		XmlHandler.setUseXmlTokenizer(true);
+		try {
+			checkReaderValues(DataTransferFormat.XML);
+		} finally {
+			XmlHandler.setUseXmlTokenizer(false);
+		}
+	}
+
+
+	@Test
+	public void jsonReadNextValues() throws IOException {
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		DataTransferOutput out = DataTransferableFactory.createWriter(DataTransferFormat.JSON, buf, StandardCharsets.UTF_8);
+		out.writeStartBlock("values");
+		for(int i = 0; i < 10; i++) {
+			out.writeString("role", (i % 2 == 0 ? "developer" : "designer"));
+		}
+		out.writeEndBlock();
+		out.close();
+
+		// values returned by readNext() and readString() are looked up in the cache
+		JsonReader in = new JsonReader(new ByteArrayInputStream(buf.toByteArray()));
+		in.setStringCache(new StringCache());
+		in.readStartBlock("values");
+		List<String> values = new ArrayList<>();
+		for(int i = 0; i < 5; i++) {
+			values.add(in.readNext().getContent());
+			values.add(in.readString("role"));
+		}
+		in.readEndBlock();
+		in.close();
+		for(int i = 2; i < values.size(); i++) {
+			Assert.assertSame(values.get(i % 2), values.get(i));
+		}
+	}
+
+
+	private void checkReaderValues(DataTransferFormat format) throws IOException {
+		List<Item> items = new ArrayList<>();
+		String[] roles = { "designer", "developer", "rôle", "a & b" };
+		for(int i = 0; i < 20; i++) {
+			items.add(new Item(i, roles[i % roles.length], i % 3, "tag"));
+		}
+		ByteArrayOutputStream buf = new ByteArrayOutputStream();
+		DataTransferOutput out = DataTransferableFactory.createWriter(format, buf, StandardCharsets.UTF_8);
+		DataTransferableFactory.writeBlock(out, "items", RecordFilterTest.itemFactory, items);
+		out.close();
+
+		DataTransferInput in = (format == DataTransferFormat.JSON && DataTransferableFactory.isUseUtf8JsonReader()
+				? new Utf8JsonReader(buf.toByteArray(), 0, buf.size())
+				: DataTransferableFactory.createReader(format, new ByteArrayInputStream(buf.toByteArray())));
+		in.setStringCache(new StringCache());
+		List<Item> res = DataTransferableFactory.readBlock(in, "items", RecordFilterTest.itemFactory);
+		in.close();
+
+		Assert.assertEquals(items.size(), res.size());
+		for(int i = 0; i < res.size(); i++) {
+			Assert.assertEquals(items.get(i).role, res.get(i).role);
+		}
+		// plain values are shared, XML values containing entity references are decoded each time
+		for(int i = roles.length; i < res.size(); i++) {
+			if(format != DataTransferFormat.XML || i % roles.length != 3) {
+				Assert.assertSame(res.get(i % roles.length).role, res.get(i).role);
+			}
+			Assert.assertSame(format + " tag", res.get(0).tags.get(0), res.get(i).tags.get(0));
+		}
+	}
+
+}
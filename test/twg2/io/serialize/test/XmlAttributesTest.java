@@ -0,0 +1,103 @@
+package twg2.io.serialize.test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.xml.XmlAttributes;
+import twg2.io.serialize.xml.XmlHandler;
+import twg2.io.serialize.xml.XmlInput;
+import twg2.io.serialize.xml.XmlOutputWriter;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class XmlAttributesTest {
+
+	@Test
+	public void primitiveAttributes() {
+		XmlAttributes attrs = new XmlAttributes();
+		attrs.addAttributeInt("count", -42);
+		attrs.addAttributeLong("id", Long.MIN_VALUE);
+		attrs.addAttributeFloat("ratio", 0.25f);
+		attrs.addAttributeDouble("scale", 1.5e300);
+		attrs.addAttributeBoolean("enabled", true);
+		attrs.addAttribute("label", "a \"b\"");
+		attrs.addAttribute("ids", Arrays.<Object>asList(1, 2, 3));
+
+		Assert.assertEquals(7, attrs.size());
+		Assert.assertEquals(-42, attrs.getAttributeInt(0));
+		Assert.assertEquals(Long.MIN_VALUE, attrs.getAttributeLong(1));
+		Assert.assertEquals(0.25f, attrs.getAttributeFloat(2), 0f);
+		Assert.assertEquals(1.5e300, attrs.getAttributeDouble(3), 0);
+		Assert.assertTrue(attrs.getAttributeBoolean(4));
+		Assert.assertEquals(XmlHandler.INT_TYPE | XmlHandler.ARRAY_TYPE, attrs.getAttributeType(6));
+		Assert.assertArrayEquals(new int[] { 1, 2, 3 }, (int[])attrs.getAttributeArray(6));
+		Assert.assertEquals(Arrays.asList("count", "id", "ratio", "scale", "enabled", "label", "ids"), attrs.getAttributeNames());
+		Assert.assertEquals(Integer.valueOf(-42), attrs.getAttributeValues().get(0));
+
+		attrs.clear();
+		Assert.assertEquals(0, attrs.size());
+		Assert.assertEquals(0, attrs.getAttributeNames().size());
+	}
+
+
+	@Test
+	public void writeReadAttributes() throws IOException {
+		XmlAttributes attrs = new XmlAttributes();
+		attrs.addAttributeInt("count", 12);
+		attrs.addAttributeLong("id", Long.MIN_VALUE);
+		attrs.addAttributeDouble("scale", 0.5);
+		attrs.addAttribute("label", "a & \"b\"");
+		attrs.addAttribute("ids", Arrays.<Object>asList(1, 2, 3));
+
+		StringWriter dst = new StringWriter();
+		XmlOutputWriter out = new XmlOutputWriter(dst, StandardCharsets.UTF_8);
+		out.writeStartBlock("root", attrs);
+		out.writeString("item", "text", attrs);
+		out.writeEndBlock();
+		out.close();
+		Assert.assertTrue(dst.toString().startsWith("<root count=\"12\" id=\"-9223372036854775808\" scale=\"0.5\" label=\"a &amp; &quot;b&quot;\" ids=\"1,2,3\">"));
+
+		XmlInput in = XmlHandler.createXMLReader(new StringReader(dst.toString()), false, true, true);
+		in.readStartBlock("root");
+		XmlAttributes res = in.getCurrentElementAttributes();
+		Assert.assertEquals(5, res.size());
+		Assert.assertEquals(12, res.getAttributeInt(0));
+		Assert.assertEquals(Long.MIN_VALUE, res.getAttributeLong(1));
+		Assert.assertEquals(0.5, res.getAttributeDouble(2), 0);
+		Assert.assertEquals("a & \"b\"", res.getAttributeString(3));
+		Assert.assertEquals("1,2,3", res.getAttributeString(4));
+		in.close();
+	}
+
+
+	@Test
+	public void writeArrayAttributes() throws IOException {
+		XmlAttributes attrs = new XmlAttributes();
+		attrs.addAttributeChar("quote", '"');
+		attrs.addAttribute("flags", Arrays.<Object>asList(true, false));
+		attrs.addAttribute("chars", Arrays.<Object>asList('a', '<', '&'));
+		attrs.addAttribute("bytes", Arrays.<Object>asList((byte)-1, (byte)2));
+		attrs.addAttribute("shorts", Arrays.<Object>asList((short)300, (short)-4));
+		attrs.addAttribute("longs", Arrays.<Object>asList(Long.MIN_VALUE, 7L));
+		attrs.addAttribute("floats", Arrays.<Object>asList(0.25f, -3f));
+		attrs.addAttribute("doubles", Arrays.<Object>asList(0.5, 2.75));
+		attrs.addAttribute("strs", Arrays.<Object>asList("x", "y & z"));
+
+		StringWriter dst = new StringWriter();
+		XmlOutputWriter out = new XmlOutputWriter(dst, StandardCharsets.UTF_8);
+		out.writeStartBlock("root", attrs);
+		out.writeEndBlock();
+		out.close();
+		Assert.assertTrue(dst.toString(), dst.toString().startsWith("<root quote=\"&quot;\" flags=\"true,false\" chars=\"a,&lt;,&amp;\" bytes=\"-1,2\" shorts=\"300,-4\"" +
+				" longs=\"-9223372036854775808,7\" floats=\"0.25,-3.0\" doubles=\"0.5,2.75\" strs=\"x,y &amp; z\">"));
+	}
+
+}
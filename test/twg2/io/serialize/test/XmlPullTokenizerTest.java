@@ -0,0 +1,128 @@
+package twg2.io.serialize.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import twg2.io.serialize.xml.XmlInput;
+import twg2.io.serialize.xml.XmlInputReader;
+import twg2.io.serialize.xml.XmlPullTokenizer;
+
+/**
+ * @author TeamworkGuy2
+ * @since 2026-10-19
+ */
+public class XmlPullTokenizerTest {
+	private static final String xml = "﻿<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+			"<!-- comment -->\n" +
+			"<root>\n" +
+			"\t<item id=\"7\" label='a &amp; b'>café &lt;&#x1F600;&gt; &quot;x&apos;</item>\n" +
+			"\t<empty flag=\"true\"/>\n" +
+			"\t<data><![CDATA[<raw> &amp;]]></data>\n" +
+			"</root>\n";
+
+
+	@Test
+	public void tokenize() throws IOException, XMLStreamException {
+		byte[] bytes = xml.getBytes(StandardCharsets.UTF_8);
+		checkEvents(new XmlPullTokenizer(bytes, 0, bytes.length));
+		// read a few bytes at a time to force the buffer to be refilled mid-token
+		InputStream slowIn = new FilterInputStream(new ByteArrayInputStream(bytes)) {
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				return super.read(b, off, Math.min(len, 3));
+			}
+		};
+		checkEvents(new XmlPullTokenizer(slowIn));
+	}
+
+
+	@Test
+	public void xmlInputReader() throws IOException {
+		byte[] bytes = xml.getBytes(StandardCharsets.UTF_8);
+		XmlInput in = new XmlInputReader(new XmlPullTokenizer(bytes, 0, bytes.length), true, true);
+		in.readStartBlock("root");
+		Assert.assertEquals("café <😀> \"x'", in.readString("item"));
+		Assert.assertEquals("a & b", in.getCurrentElementAttributes().getAttributeValues().get(1));
+		Assert.assertEquals("", in.readString("empty"));
+		Assert.assertEquals("true", in.getCurrentElementAttributes().getAttributeValues().get(0));
+		Assert.assertEquals("<raw> &", in.readString("data"));
+		in.readEndBlock();
+		in.close();
+	}
+
+
+	@Test
+	public void splitLongText() throws IOException, XMLStreamException {
+		StringBuilder expected = new StringBuilder();
+		StringBuilder xmlText = new StringBuilder("<root>");
+		for(int i = 0; expected.length() < 5 * XmlPullTokenizer.MAX_TEXT_CHUNK; i++) {
+			expected.append("caf\u00e9 <\ud83d\ude00> & ").append(i).append('\n');
+			xmlText.append("caf\u00e9 &lt;&#x1F600;&gt; &amp; ").append(i).append("\r\n");
+		}
+		xmlText.append("</root>");
+		byte[] bytes = xmlText.toString().getBytes(StandardCharsets.UTF_8);
+		XmlPullTokenizer tok = new XmlPullTokenizer(bytes, 0, bytes.length);
+		Assert.assertEquals(XMLStreamConstants.START_ELEMENT, tok.nextTag());
+		StringBuilder text = new StringBuilder();
+		int events = 0;
+		while(tok.next() == XMLStreamConstants.CHARACTERS) {
+			text.append(tok.getTextCharacters(), tok.getTextStart(), tok.getTextLength());
+			events++;
+		}
+		Assert.assertEquals(XMLStreamConstants.END_ELEMENT, tok.getEventType());
+		Assert.assertTrue(events > 1);
+		Assert.assertEquals(expected.toString(), text.toString());
+	}
+
+
+	@Test
+	public void rejectDtd() throws IOException {
+		byte[] bytes = "<!DOCTYPE root><root/>".getBytes(StandardCharsets.UTF_8);
+		try {
+			new XmlPullTokenizer(bytes, 0, bytes.length).next();
+			Assert.fail("expected DTD to be rejected");
+		} catch(XMLStreamException e) {
+			// expected
+		}
+	}
+
+
+	private static void checkEvents(XmlPullTokenizer tok) throws XMLStreamException {
+		Assert.assertEquals(XMLStreamConstants.START_ELEMENT, tok.nextTag());
+		Assert.assertEquals("root", tok.getLocalName());
+
+		Assert.assertEquals(XMLStreamConstants.START_ELEMENT, tok.nextTag());
+		Assert.assertEquals("item", tok.getLocalName());
+		Assert.assertEquals(2, tok.getAttributeCount());
+		Assert.assertEquals("7", tok.getAttributeValue(null, "id"));
+		Assert.assertEquals("a & b", tok.getAttributeValue(1));
+		Assert.assertEquals("café <😀> \"x'", tok.getElementText());
+
+		Assert.assertEquals(XMLStreamConstants.START_ELEMENT, tok.nextTag());
+		Assert.assertEquals("empty", tok.getLocalName());
+		Assert.assertEquals("true", tok.getAttributeValue(null, "flag"));
+		Assert.assertEquals(XMLStreamConstants.END_ELEMENT, tok.next());
+		Assert.assertEquals("empty", tok.getLocalName());
+
+		Assert.assertEquals(XMLStreamConstants.START_ELEMENT, tok.nextTag());
+		Assert.assertEquals("<raw> &amp;", tok.getElementText());
+
+		Assert.assertEquals(XMLStreamConstants.END_ELEMENT, tok.nextTag());
+		Assert.assertEquals("root", tok.getLocalName());
+		Assert.assertEquals(XMLStreamConstants.CHARACTERS, tok.next());
+		Assert.assertTrue(tok.isWhiteSpace());
+		Assert.assertEquals("\n", tok.getText());
+		Assert.assertEquals(XMLStreamConstants.END_DOCUMENT, tok.next());
+		Assert.assertFalse(tok.hasNext());
+	}
+
+}